@@ -0,0 +1,34 @@
+package juhmaran.challenge.bankingtransactionsapi.benchmarks;
+
+import juhmaran.challenge.bankingtransactionsapi.domain.entity.Account;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.response.AccountBalanceResponse;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.mapper.AccountMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversão de {@link Account} em {@link AccountBalanceResponse} pelo {@link AccountMapper} gerado pelo MapStruct,
+ * usada na consulta de saldo.
+ *
+ * @author Juliane Maran
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccountMapperBenchmark {
+
+  private final AccountMapper accountMapper = Mappers.getMapper(AccountMapper.class);
+  private final Account account = new Account(1L, "1001-1", Money.parse("1234.56"));
+
+  @Benchmark
+  public AccountBalanceResponse toResponse() {
+    return accountMapper.toResponse(account);
+  }
+
+}
@@ -0,0 +1,45 @@
+package juhmaran.challenge.bankingtransactionsapi.benchmarks;
+
+import juhmaran.challenge.bankingtransactionsapi.domain.entity.Account;
+import juhmaran.challenge.bankingtransactionsapi.domain.service.AccountOperationService;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Débito e crédito de {@link AccountOperationService} sobre uma conta em memória: validação do valor, verificação de
+ * saldo suficiente e atualização do saldo.
+ *
+ * @author Juliane Maran
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccountOperationBenchmark {
+
+  private final AccountOperationService accountOperationService = new AccountOperationService();
+  private final Money amount = Money.parse("12.34");
+  private Account account;
+
+  @Setup(Level.Iteration)
+  public void setUp() {
+    account = new Account(1L, "1001-1", Money.ofMinorUnits(Long.MAX_VALUE / 2));
+  }
+
+  @Benchmark
+  public Money applyCredit() {
+    accountOperationService.applyCredit(account, amount);
+    return account.getBalance();
+  }
+
+  @Benchmark
+  public Money applyDebit() {
+    accountOperationService.applyDebit(account, amount);
+    return account.getBalance();
+  }
+
+}
@@ -0,0 +1,41 @@
+package juhmaran.challenge.bankingtransactionsapi.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Ponto de entrada dos benchmarks. Aceita as mesmas opções de linha de comando do JMH e, quando nenhum formato de
+ * resultado é informado ({@code -rf}/{@code -rff}), grava os resultados em JSON em
+ * {@code target/jmh-results/<versão>-<data e hora>.json}, para comparar execuções entre versões da aplicação.
+ *
+ * @author Juliane Maran
+ */
+public final class BenchmarkRunner {
+
+  private BenchmarkRunner() {
+  }
+
+  public static void main(String[] args) throws Exception {
+    CommandLineOptions commandLine = new CommandLineOptions(args);
+    ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+    if (!commandLine.getResultFormat().hasValue() && !commandLine.getResult().hasValue()) {
+      Path directory = Path.of("target", "jmh-results");
+      Files.createDirectories(directory);
+      String version = System.getProperty("banking.version", "dev");
+      String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+      Path result = directory.resolve(version + "-" + timestamp + ".json");
+      options.resultFormat(ResultFormatType.JSON).result(result.toString());
+      System.out.println("Resultados em JSON: " + result.toAbsolutePath());
+    }
+    new Runner(options.build()).run();
+  }
+
+}
@@ -0,0 +1,99 @@
+package juhmaran.challenge.bankingtransactionsapi.benchmarks;
+
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Microbenchmark JMH do caminho quente de débito/crédito: {@link Money} (long em centavos) contra o
+ * {@link BigDecimal} usado anteriormente. Cada operação faz a validação de valor positivo, a comparação
+ * de saldo suficiente e a soma/subtração, como em {@code AccountOperationService}.
+ *
+ * @author Juliane Maran
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyArithmeticBenchmark {
+
+  private static final int OPERATIONS = 1_000;
+
+  private BigDecimal[] decimalAmounts;
+  private Money[] moneyAmounts;
+  private String[] amountTexts;
+
+  @Setup
+  public void setUp() {
+    decimalAmounts = new BigDecimal[OPERATIONS];
+    moneyAmounts = new Money[OPERATIONS];
+    amountTexts = new String[OPERATIONS];
+    for (int i = 0; i < OPERATIONS; i++) {
+      String text = (i % 500 + 1) + "." + String.format("%02d", i % 100);
+      amountTexts[i] = text;
+      decimalAmounts[i] = new BigDecimal(text);
+      moneyAmounts[i] = Money.parse(text);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(OPERATIONS)
+  public BigDecimal bigDecimalCreditDebit() {
+    BigDecimal balance = new BigDecimal("1000000.00");
+    for (int i = 0; i < OPERATIONS; i++) {
+      BigDecimal amount = decimalAmounts[i];
+      if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+        throw new IllegalStateException();
+      }
+      if ((i & 1) == 0) {
+        balance = balance.add(amount);
+      } else if (balance.compareTo(amount) >= 0) {
+        balance = balance.subtract(amount);
+      }
+    }
+    return balance;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(OPERATIONS)
+  public Money moneyCreditDebit() {
+    Money balance = Money.ofMinorUnits(100_000_000L);
+    for (int i = 0; i < OPERATIONS; i++) {
+      Money amount = moneyAmounts[i];
+      if (!amount.isPositive()) {
+        throw new IllegalStateException();
+      }
+      if ((i & 1) == 0) {
+        balance = balance.plus(amount);
+      } else if (!balance.isLessThan(amount)) {
+        balance = balance.minus(amount);
+      }
+    }
+    return balance;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(OPERATIONS)
+  public long bigDecimalParse() {
+    long checksum = 0L;
+    for (String text : amountTexts) {
+      checksum += new BigDecimal(text).unscaledValue().longValue();
+    }
+    return checksum;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(OPERATIONS)
+  public long moneyParse() {
+    long checksum = 0L;
+    for (String text : amountTexts) {
+      checksum += Money.parse(text).minorUnits();
+    }
+    return checksum;
+  }
+
+}
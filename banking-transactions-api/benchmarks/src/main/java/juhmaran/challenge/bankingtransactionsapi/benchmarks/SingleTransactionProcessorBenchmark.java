@@ -0,0 +1,74 @@
+package juhmaran.challenge.bankingtransactionsapi.benchmarks;
+
+import juhmaran.challenge.bankingtransactionsapi.BankingTransactionsApiApplication;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.AccountService;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.processor.SingleTransactionProcessor;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.enums.TransactionType;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.request.TransactionRequest;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SingleTransactionProcessor#process(TransactionRequest)} contra o H2 em memória, cada lançamento em uma
+ * transação própria: leitura da conta com lock pessimista, débito ou crédito e gravação no commit. A aplicação é
+ * iniciada sem servidor web e com logs reduzidos, para que o tempo medido seja o do acesso ao banco.
+ *
+ * @author Juliane Maran
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 8, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SingleTransactionProcessorBenchmark {
+
+  private static final String ACCOUNT = "JMH-1";
+
+  private ConfigurableApplicationContext context;
+  private SingleTransactionProcessor processor;
+  private TransactionTemplate transactionTemplate;
+  private TransactionRequest credit;
+  private TransactionRequest debit;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = new SpringApplicationBuilder(BankingTransactionsApiApplication.class)
+      .web(WebApplicationType.NONE)
+      .run(
+        "--spring.datasource.url=jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "--spring.jpa.show-sql=false",
+        "--logging.level.root=WARN",
+        "--logging.level.juhmaran.challenge.bankingtransactionsapi=WARN",
+        "--logging.level.org.hibernate.SQL=WARN",
+        "--logging.level.org.hibernate.orm.jdbc.bind=WARN",
+        "--logging.level.org.hibernate.orm.jdbc.batch=WARN");
+    processor = context.getBean(SingleTransactionProcessor.class);
+    transactionTemplate = context.getBean(TransactionTemplate.class);
+    context.getBean(AccountService.class).createAccountIfNotFound(ACCOUNT, Money.parse("1000000.00"));
+    credit = new TransactionRequest(ACCOUNT, Money.parse("1.00"), TransactionType.CREDIT);
+    debit = new TransactionRequest(ACCOUNT, Money.parse("1.00"), TransactionType.DEBIT);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  /**
+   * Um crédito seguido de um débito de mesmo valor, mantendo o saldo estável entre as iterações.
+   */
+  @Benchmark
+  @OperationsPerInvocation(2)
+  public void process() {
+    transactionTemplate.executeWithoutResult(status -> processor.process(credit));
+    transactionTemplate.executeWithoutResult(status -> processor.process(debit));
+  }
+
+}
@@ -0,0 +1,66 @@
+package juhmaran.challenge.bankingtransactionsapi.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.enums.TransactionType;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.request.TransactionRequest;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.json.MoneyJsonComponent;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização e desserialização JSON de listas de {@link TransactionRequest}, o corpo de
+ * {@code POST /accounts/transactions}. O {@link ObjectMapper} é montado como o da aplicação, com o
+ * {@link MoneyJsonComponent} para os valores.
+ *
+ * @author Juliane Maran
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionRequestJsonBenchmark {
+
+  private static final TypeReference<List<TransactionRequest>> REQUEST_LIST = new TypeReference<>() {
+  };
+
+  @Param({"1", "100", "10000"})
+  public int size;
+
+  private ObjectMapper objectMapper;
+  private List<TransactionRequest> transactions;
+  private byte[] json;
+
+  @Setup
+  public void setUp() throws IOException {
+    objectMapper = Jackson2ObjectMapperBuilder.json()
+      .serializerByType(Money.class, new MoneyJsonComponent.Serializer())
+      .deserializerByType(Money.class, new MoneyJsonComponent.Deserializer())
+      .build();
+    transactions = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      transactions.add(new TransactionRequest("10" + (i % 100) + "-" + (i % 10),
+        Money.ofMinorUnits(1 + i % 100_000), i % 2 == 0 ? TransactionType.CREDIT : TransactionType.DEBIT));
+    }
+    json = objectMapper.writeValueAsBytes(transactions);
+  }
+
+  @Benchmark
+  public byte[] serialize() throws IOException {
+    return objectMapper.writeValueAsBytes(transactions);
+  }
+
+  @Benchmark
+  public List<TransactionRequest> deserialize() throws IOException {
+    return objectMapper.readValue(json, REQUEST_LIST);
+  }
+
+}
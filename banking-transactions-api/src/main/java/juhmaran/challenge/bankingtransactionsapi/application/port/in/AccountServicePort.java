@@ -4,7 +4,11 @@ import juhmaran.challenge.bankingtransactionsapi.domain.entity.Account;
 import juhmaran.challenge.bankingtransactionsapi.domain.exception.AccountNotFoundException;
 import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.request.TransactionRequest;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Porta de entrada (Inbound Port) da camada de aplicação.
@@ -27,6 +31,34 @@ public interface AccountServicePort {
    */
   void performTransactions(List<TransactionRequest> transactions);
 
+  /**
+   * Executa um lote de transações com a atomicidade informada. Em {@link BatchAtomicity.Mode#ALL_OR_NOTHING} equivale
+   * a {@link #performTransactions(List)}: um item com erro lança a exceção e nenhum item é aplicado. Nos demais modos,
+   * itens com erro de domínio (conta inexistente, saldo insuficiente, tipo inválido) são desfeitos individualmente e
+   * reportados no resultado, e os demais itens são aplicados.
+   *
+   * @param transactions As transações a serem processadas. Pode ser nula ou vazia.
+   * @param atomicity    A atomicidade do lote.
+   * @return O desfecho de cada item, na ordem de envio.
+   */
+  TransactionBatchResult performTransactions(List<TransactionRequest> transactions, BatchAtomicity atomicity);
+
+  /**
+   * Como {@link #performTransactions(List, BatchAtomicity)}, entregando o resultado a {@code beforeCommit} dentro da
+   * transação de banco de dados que confirma os lançamentos, antes do commit. O que {@code beforeCommit} gravar
+   * nessa transação é confirmado ou desfeito junto com os lançamentos, e uma exceção lançada por ele desfaz o lote.
+   * Sem transação de banco de dados, {@code beforeCommit} é executado logo após os lançamentos.
+   *
+   * @param beforeCommit Recebe o desfecho do lote. Pode ser executado mais de uma vez, se a transação for repetida.
+   * @return O desfecho de cada item, na ordem de envio.
+   */
+  default TransactionBatchResult performTransactions(List<TransactionRequest> transactions, BatchAtomicity atomicity,
+                                                     Consumer<TransactionBatchResult> beforeCommit) {
+    TransactionBatchResult result = performTransactions(transactions, atomicity);
+    beforeCommit.accept(result);
+    return result;
+  }
+
   /**
    * Obtém o saldo atual de uma conta bancária específica.
    *
@@ -37,4 +69,47 @@ public interface AccountServicePort {
    */
   Account getAccountBalance(String accountNumber);
 
+  /**
+   * Obtém o saldo atual de várias contas. Contas inexistentes não interrompem a consulta: apenas ficam de fora do
+   * resultado.
+   *
+   * @param accountNumbers Os números das contas. Não deve conter itens nulos; duplicados são consultados uma vez.
+   * @return As contas encontradas, indexadas pelo número da conta.
+   */
+  default Map<String, Account> getAccountBalances(Collection<String> accountNumbers) {
+    Map<String, Account> accounts = new HashMap<>();
+    for (String accountNumber : accountNumbers) {
+      try {
+        accounts.putIfAbsent(accountNumber, getAccountBalance(accountNumber));
+      } catch (AccountNotFoundException e) {
+        // a conta fica de fora do resultado
+      }
+    }
+    return accounts;
+  }
+
+  /**
+   * Obtém o saldo de uma conta refletindo ao menos os lançamentos cobertos pelo token de consistência.
+   *
+   * @param accountNumber    O número da conta. Deve ser não nulo.
+   * @param consistencyToken Token obtido em {@link #consistencyToken()} após um lote, ou {@code null}.
+   * @return A entidade {@link Account} contendo o saldo.
+   * @throws AccountNotFoundException Se a conta com o número especificado não for encontrada.
+   * @throws IllegalArgumentException Se o token for inválido.
+   */
+  default Account getAccountBalance(String accountNumber, String consistencyToken) {
+    return getAccountBalance(accountNumber);
+  }
+
+  /**
+   * Token de consistência que cobre todos os lançamentos confirmados até o momento; informado em
+   * {@link #getAccountBalance(String, String)}, garante a leitura desses lançamentos mesmo que a consulta seja
+   * atendida por uma réplica.
+   *
+   * @return O token, ou {@code null} quando as consultas sempre refletem os lançamentos confirmados.
+   */
+  default String consistencyToken() {
+    return null;
+  }
+
 }
@@ -0,0 +1,49 @@
+package juhmaran.challenge.bankingtransactionsapi.application.port.in;
+
+/**
+ * Atomicidade de um lote de transações, escolhida por requisição.
+ *
+ * @param mode      Modo de atomicidade.
+ * @param chunkSize Itens por transação no modo {@link Mode#CHUNKED}; ignorado nos demais.
+ * @author Juliane Maran
+ */
+public record BatchAtomicity(Mode mode, int chunkSize) {
+
+  public enum Mode {
+    /**
+     * O lote inteiro em uma única transação: qualquer item com erro desfaz todos.
+     */
+    ALL_OR_NOTHING,
+    /**
+     * O lote inteiro em uma única transação, com um savepoint por item: apenas os itens com erro são desfeitos.
+     */
+    PER_ITEM,
+    /**
+     * Uma transação a cada {@code chunkSize} itens, com um savepoint por item. Confirmar a cada bloco limita o tempo
+     * em que os locks das contas ficam retidos.
+     */
+    CHUNKED
+  }
+
+  public BatchAtomicity {
+    if (mode == null) {
+      throw new IllegalArgumentException("Modo de atomicidade não pode ser nulo.");
+    }
+    if (mode == Mode.CHUNKED && chunkSize <= 0) {
+      throw new IllegalArgumentException("Tamanho do bloco deve ser positivo no modo CHUNKED: " + chunkSize);
+    }
+  }
+
+  public static BatchAtomicity allOrNothing() {
+    return new BatchAtomicity(Mode.ALL_OR_NOTHING, 0);
+  }
+
+  public static BatchAtomicity perItem() {
+    return new BatchAtomicity(Mode.PER_ITEM, 0);
+  }
+
+  public static BatchAtomicity chunked(int chunkSize) {
+    return new BatchAtomicity(Mode.CHUNKED, chunkSize);
+  }
+
+}
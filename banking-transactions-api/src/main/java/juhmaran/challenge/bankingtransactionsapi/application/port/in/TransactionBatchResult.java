@@ -0,0 +1,59 @@
+package juhmaran.challenge.bankingtransactionsapi.application.port.in;
+
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.request.TransactionRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado de um lote de transações, com o desfecho de cada item na ordem de envio.
+ *
+ * @author Juliane Maran
+ */
+public record TransactionBatchResult(BatchAtomicity.Mode atomicity, int applied, int failed, int duplicates,
+                                     List<ItemResult> items) {
+
+  public enum Outcome {
+    APPLIED,
+    FAILED,
+    /**
+     * Lançamento já aplicado anteriormente com a mesma chave de idempotência; não foi aplicado de novo.
+     */
+    DUPLICATE
+  }
+
+  /**
+   * @param index   Posição do item no lote enviado.
+   * @param message Motivo da falha; {@code null} para itens aplicados.
+   */
+  public record ItemResult(int index, String accountNumber, Outcome outcome, String message) {
+
+    public static ItemResult applied(int index, String accountNumber) {
+      return new ItemResult(index, accountNumber, Outcome.APPLIED, null);
+    }
+
+    public static ItemResult failed(int index, String accountNumber, String message) {
+      return new ItemResult(index, accountNumber, Outcome.FAILED, message);
+    }
+
+    public static ItemResult duplicate(int index, String accountNumber) {
+      return new ItemResult(index, accountNumber, Outcome.DUPLICATE, null);
+    }
+
+  }
+
+  public static TransactionBatchResult of(BatchAtomicity.Mode atomicity, List<ItemResult> items) {
+    int applied = (int) items.stream().filter(item -> item.outcome() == Outcome.APPLIED).count();
+    int failed = (int) items.stream().filter(item -> item.outcome() == Outcome.FAILED).count();
+    return new TransactionBatchResult(atomicity, applied, failed, items.size() - applied - failed, List.copyOf(items));
+  }
+
+  public static TransactionBatchResult allApplied(BatchAtomicity.Mode atomicity, List<TransactionRequest> transactions) {
+    List<ItemResult> items = new ArrayList<>(transactions.size());
+    for (int i = 0; i < transactions.size(); i++) {
+      items.add(ItemResult.applied(i, transactions.get(i).accountNumber()));
+    }
+    return of(atomicity, items);
+  }
+
+}
@@ -1,14 +1,25 @@
 package juhmaran.challenge.bankingtransactionsapi.application.port.out;
 
 import juhmaran.challenge.bankingtransactionsapi.domain.entity.Account;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.AccountKey;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Porta de saída (Outbound Port) da camada de aplicação. <br>
  * Define o contrato para as operações de persistência que a camada de aplicação precisa de um serviço externo
  * (neste caso, a camada de infraestrutura via o JPA Adapter). <br>
  * Abstrai a tecnologia de acesso a dados. Segue o princípio de Ports & Adapters.
+ * <p>
+ * Os métodos que recebem também a chave da conta ({@link AccountKey}) são usados pelos lançamentos, que interpretam
+ * o número da conta uma única vez, ao receber a requisição. Por padrão, eles ignoram a chave e usam o número da conta;
+ * adaptadores que indexam a chave os sobrescrevem.
+ * </p>
  *
  * @author Juliane Maran
  */
@@ -23,6 +34,14 @@ public interface AccountRepositoryPort {
    */
   Optional<Account> findByAccountNumber(String accountNumber);
 
+  /**
+   * Busca, sem bloqueio, todas as contas informadas com uma única consulta {@code SELECT ... IN (...)}.
+   *
+   * @param accountNumbers Os números das contas a serem buscadas. Duplicados são ignorados.
+   * @return As contas encontradas, em qualquer ordem. Contas inexistentes não aparecem na lista.
+   */
+  List<Account> findAllByAccountNumber(Collection<String> accountNumbers);
+
   /**
    * Busca uma conta bancária pelo número da conta e adquire um bloqueio pessimista de escrita
    * na linha correspondente no banco de dados. Essencial para garantir a {@code thread-safety}
@@ -38,6 +57,85 @@ public interface AccountRepositoryPort {
    */
   Optional<Account> findByAccountNumberWithLock(String accountNumber);
 
+  /**
+   * Como {@link #findByAccountNumberWithLock(String)}, com a chave do número da conta já interpretada.
+   *
+   * @param accountKey A chave de {@code accountNumber}, ou {@link AccountKey#NONE} fora do formato canônico.
+   */
+  default Optional<Account> findByAccountNumberWithLock(String accountNumber, long accountKey) {
+    return findByAccountNumberWithLock(accountNumber);
+  }
+
+  /**
+   * Busca e bloqueia ({@code PESSIMISTIC_WRITE}) todas as contas informadas com uma única consulta
+   * {@code SELECT ... FOR UPDATE ... IN (...)}.
+   * <p>
+   * As linhas são bloqueadas em uma ordem determinística, a mesma de {@link #findAllByAccountKeyWithLock(Map)}, o
+   * que evita {@code deadlocks} entre lotes concorrentes que envolvem contas em comum.
+   * </p>
+   *
+   * @param accountNumbers Os números das contas a serem buscadas e bloqueadas. Duplicados são ignorados.
+   * @return As contas encontradas, em qualquer ordem. Contas inexistentes não aparecem na lista.
+   */
+  List<Account> findAllByAccountNumberWithLock(Collection<String> accountNumbers);
+
+  /**
+   * Como {@link #findAllByAccountNumberWithLock(Collection)}, com as chaves dos números das contas já interpretadas.
+   *
+   * @param accountKeys A chave de cada número de conta, ou {@link AccountKey#NONE} fora do formato canônico.
+   */
+  default List<Account> findAllByAccountKeyWithLock(Map<String, Long> accountKeys) {
+    return findAllByAccountNumberWithLock(accountKeys.keySet());
+  }
+
+  /**
+   * Salva um conjunto de contas e sincroniza as alterações com o banco de dados em um único lote JDBC.
+   *
+   * @param accounts As contas a serem salvas.
+   * @return As contas salvas.
+   */
+  List<Account> saveAll(Collection<Account> accounts);
+
+  /**
+   * Debita o valor diretamente no banco com um único comando condicional
+   * ({@code UPDATE ... SET balance = balance - ? WHERE account_number = ? AND balance >= ?}),
+   * sem leitura prévia da conta.
+   *
+   * @param accountNumber O número da conta a ser debitada.
+   * @param amount        O valor do débito.
+   * @return A quantidade de linhas alteradas: {@code 1} se o débito foi aplicado, {@code 0} se a conta não existe
+   * ou não possui saldo suficiente.
+   */
+  int debitIfSufficientFunds(String accountNumber, Money amount);
+
+  /**
+   * Como {@link #debitIfSufficientFunds(String, Money)}, com a chave do número da conta já interpretada.
+   *
+   * @param accountKey A chave de {@code accountNumber}, ou {@link AccountKey#NONE} fora do formato canônico.
+   */
+  default int debitIfSufficientFunds(String accountNumber, long accountKey, Money amount) {
+    return debitIfSufficientFunds(accountNumber, amount);
+  }
+
+  /**
+   * Credita o valor diretamente no banco com um único comando
+   * ({@code UPDATE ... SET balance = balance + ? WHERE account_number = ?}), sem leitura prévia da conta.
+   *
+   * @param accountNumber O número da conta a ser creditada.
+   * @param amount        O valor do crédito.
+   * @return A quantidade de linhas alteradas: {@code 1} se o crédito foi aplicado, {@code 0} se a conta não existe.
+   */
+  int credit(String accountNumber, Money amount);
+
+  /**
+   * Como {@link #credit(String, Money)}, com a chave do número da conta já interpretada.
+   *
+   * @param accountKey A chave de {@code accountNumber}, ou {@link AccountKey#NONE} fora do formato canônico.
+   */
+  default int credit(String accountNumber, long accountKey, Money amount) {
+    return credit(accountNumber, amount);
+  }
+
   /**
    * Salva (insere ou atualiza) uma conta bancária no banco de dados.
    *
@@ -61,4 +159,31 @@ public interface AccountRepositoryPort {
    */
   boolean existsByAccountNumber(String accountNumber);
 
+  /**
+   * Como {@link #existsByAccountNumber(String)}, com a chave do número da conta já interpretada.
+   *
+   * @param accountKey A chave de {@code accountNumber}, ou {@link AccountKey#NONE} fora do formato canônico.
+   */
+  default boolean existsByAccountNumber(String accountNumber, long accountKey) {
+    return existsByAccountNumber(accountNumber);
+  }
+
+  /**
+   * Verifica quais das contas informadas já existem, com consultas {@code SELECT ... IN (...)} que retornam apenas o
+   * número da conta. Usado na importação de contas em massa.
+   *
+   * @param accountNumbers Os números das contas a serem verificados. Duplicados são ignorados.
+   * @return Os números das contas existentes.
+   */
+  Set<String> findExistingAccountNumbers(Collection<String> accountNumbers);
+
+  /**
+   * Insere contas novas com comandos {@code INSERT} agrupados em lotes JDBC, sem carregá-las em um contexto de
+   * persistência e sem verificar se já existem: uma conta existente viola a unicidade do número da conta.
+   *
+   * @param accounts As contas a serem inseridas, sem identificador.
+   * @return A quantidade de contas inseridas.
+   */
+  int insertAll(Collection<Account> accounts);
+
 }
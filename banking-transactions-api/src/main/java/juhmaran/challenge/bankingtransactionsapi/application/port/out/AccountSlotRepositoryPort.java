@@ -0,0 +1,81 @@
+package juhmaran.challenge.bankingtransactionsapi.application.port.out;
+
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Porta de saída para os slots de saldo de contas divididas. <br>
+ * O saldo de uma conta dividida é a soma do saldo da linha da conta com o de seus slots, numerados de {@code 0} a
+ * {@code K - 1}. Cada slot é uma linha própria, bloqueada de forma independente, de modo que lançamentos em slots
+ * diferentes da mesma conta não aguardam uns aos outros.
+ *
+ * @author Juliane Maran
+ */
+public interface AccountSlotRepositoryPort {
+
+  /**
+   * Cria, com saldo zero, os slots de {@code 0} a {@code slots - 1} que ainda não existem.
+   */
+  void createSlots(String accountNumber, int slots);
+
+  /**
+   * Lista os saldos dos slots sem bloqueio.
+   *
+   * @return Os saldos, na posição do número do slot. Vazia se a conta não for dividida.
+   */
+  List<Money> findSlotBalances(String accountNumber);
+
+  /**
+   * Lista e bloqueia ({@code SELECT ... FOR UPDATE}) todos os slots da conta, em ordem crescente de slot.
+   *
+   * @return Os saldos, na posição do número do slot. Vazia se a conta não for dividida.
+   */
+  List<Money> findSlotBalancesWithLock(String accountNumber);
+
+  /**
+   * Grava os saldos dos slots de {@code 0} a {@code balances.size() - 1} em um único lote JDBC.
+   */
+  void updateSlotBalances(String accountNumber, List<Money> balances);
+
+  /**
+   * Remove os slots a partir de {@code fromSlot}, inclusive.
+   */
+  void deleteSlotsFrom(String accountNumber, int fromSlot);
+
+  /**
+   * Credita o valor no slot com um único {@code UPDATE}.
+   *
+   * @return {@code 1} se o crédito foi aplicado, {@code 0} se o slot não existe.
+   */
+  int creditSlot(String accountNumber, int slot, Money amount);
+
+  /**
+   * Debita o valor do slot se ele tiver saldo suficiente, sem esperar pelo lock do slot.
+   *
+   * @return {@code 1} se o débito foi aplicado, {@code 0} se o slot não existe, não possui saldo suficiente ou está
+   * bloqueado por outra transação.
+   */
+  int debitSlotIfSufficientFunds(String accountNumber, int slot, Money amount);
+
+  /**
+   * Bloqueia a linha da conta, zera o seu saldo e retorna o valor retirado, para que seja transferido aos slots.
+   *
+   * @return O saldo retirado da linha da conta, ou {@link Money#ZERO} se a conta não existir.
+   */
+  Money takeAccountBalance(String accountNumber);
+
+  /**
+   * Soma, em uma única consulta, o saldo da linha da conta e o de seus slots.
+   *
+   * @return O saldo total, ou vazio se a conta não existir.
+   */
+  Optional<Money> findTotalBalance(String accountNumber);
+
+  /**
+   * Lista as contas que possuem slots.
+   */
+  List<String> findSplitAccountNumbers();
+
+}
@@ -0,0 +1,73 @@
+package juhmaran.challenge.bankingtransactionsapi.application.port.out;
+
+import juhmaran.challenge.bankingtransactionsapi.application.port.in.BatchAtomicity;
+import juhmaran.challenge.bankingtransactionsapi.application.port.in.TransactionBatchResult;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.request.TransactionRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Registro memorizado de uma chave de idempotência. <br>
+ * Para ocupar pouco espaço, guarda apenas a impressão digital da requisição, a quantidade de itens e os itens com
+ * erro; os demais itens foram aplicados. O resultado completo é reconstruído a partir dos lançamentos reenviados,
+ * que têm o mesmo conteúdo da requisição original (mesma impressão digital).
+ *
+ * @param fingerprint     Impressão digital do conteúdo da requisição original.
+ * @param completed       {@code false} enquanto a requisição original ainda está em processamento.
+ * @param atomicity       Atomicidade usada; {@code null} enquanto reservado.
+ * @param size            Quantidade de lançamentos da requisição original.
+ * @param failedIndexes   Posições dos lançamentos com erro, em ordem crescente.
+ * @param failureMessages Motivo da falha de cada posição de {@code failedIndexes}.
+ * @author Juliane Maran
+ */
+public record IdempotencyRecord(long fingerprint, boolean completed, BatchAtomicity.Mode atomicity, int size,
+                                int[] failedIndexes, String[] failureMessages) {
+
+  private static final int[] NO_INDEXES = new int[0];
+  private static final String[] NO_MESSAGES = new String[0];
+
+  public static IdempotencyRecord reserved(long fingerprint) {
+    return new IdempotencyRecord(fingerprint, false, null, 0, NO_INDEXES, NO_MESSAGES);
+  }
+
+  /**
+   * Registro de um único lançamento aplicado, usado pelas chaves de item.
+   */
+  public static IdempotencyRecord applied(long fingerprint) {
+    return new IdempotencyRecord(fingerprint, true, BatchAtomicity.Mode.ALL_OR_NOTHING, 1, NO_INDEXES, NO_MESSAGES);
+  }
+
+  public static IdempotencyRecord completed(long fingerprint, TransactionBatchResult result) {
+    List<TransactionBatchResult.ItemResult> failures = result.items().stream()
+      .filter(item -> item.outcome() == TransactionBatchResult.Outcome.FAILED)
+      .toList();
+    int[] indexes = new int[failures.size()];
+    String[] messages = new String[failures.size()];
+    for (int i = 0; i < failures.size(); i++) {
+      indexes[i] = failures.get(i).index();
+      messages[i] = failures.get(i).message();
+    }
+    return new IdempotencyRecord(fingerprint, true, result.atomicity(), result.items().size(),
+      failures.isEmpty() ? NO_INDEXES : indexes, failures.isEmpty() ? NO_MESSAGES : messages);
+  }
+
+  /**
+   * Reconstrói o resultado original. Os lançamentos aplicados na requisição original (inclusive os que ela mesma
+   * identificou como duplicados) são informados como aplicados.
+   */
+  public TransactionBatchResult toResult(List<TransactionRequest> transactions) {
+    List<TransactionBatchResult.ItemResult> items = new ArrayList<>(size);
+    int failure = 0;
+    for (int i = 0; i < size; i++) {
+      String accountNumber = transactions.get(i).accountNumber();
+      if (failure < failedIndexes.length && failedIndexes[failure] == i) {
+        items.add(TransactionBatchResult.ItemResult.failed(i, accountNumber, failureMessages[failure++]));
+      } else {
+        items.add(TransactionBatchResult.ItemResult.applied(i, accountNumber));
+      }
+    }
+    return TransactionBatchResult.of(atomicity, items);
+  }
+
+}
@@ -0,0 +1,43 @@
+package juhmaran.challenge.bankingtransactionsapi.application.port.out;
+
+import java.util.Optional;
+
+/**
+ * Porta de saída para o armazenamento de chaves de idempotência. <br>
+ * Cada chave passa por dois estados: reservada (lançamentos em processamento) e concluída (resultado memorizado).
+ * As chaves expiram após um tempo configurável e o armazenamento pode descartar as mais antigas para respeitar
+ * o seu limite de tamanho.
+ *
+ * @author Juliane Maran
+ */
+public interface IdempotencyStorePort {
+
+  /**
+   * Reserva a chave, de forma atômica, caso ela ainda não exista.
+   *
+   * @param fingerprint Impressão digital do conteúdo da requisição, comparada nas requisições seguintes.
+   * @return Vazio se a chave foi reservada por esta chamada; caso contrário, o registro já existente
+   * (reservado ou concluído).
+   */
+  Optional<IdempotencyRecord> reserve(String key, long fingerprint);
+
+  /**
+   * Substitui a reserva da chave pelo resultado concluído. A expiração passa a contar a partir deste momento.
+   */
+  void complete(String key, IdempotencyRecord record);
+
+  /**
+   * Remove a chave, permitindo que a requisição seja processada novamente.
+   */
+  void release(String key);
+
+  /**
+   * Indica se {@link #complete(String, IdempotencyRecord)} e {@link #release(String)} participam da transação de banco
+   * de dados corrente. Nesse caso, a conclusão é gravada na mesma transação dos lançamentos e só é confirmada com
+   * eles.
+   */
+  default boolean isTransactional() {
+    return false;
+  }
+
+}
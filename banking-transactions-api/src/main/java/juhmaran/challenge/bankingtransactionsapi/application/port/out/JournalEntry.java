@@ -0,0 +1,50 @@
+package juhmaran.challenge.bankingtransactionsapi.application.port.out;
+
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.request.TransactionRequest;
+
+/**
+ * Lançamento gravado no journal de transações.
+ *
+ * @param type          Tipo do lançamento.
+ * @param accountNumber Número da conta afetada.
+ * @param amount        Valor do lançamento ({@link Type#OPEN}: saldo inicial da conta).
+ * @author Juliane Maran
+ */
+public record JournalEntry(Type type, String accountNumber, Money amount) {
+
+  public enum Type {
+    /**
+     * Abertura da conta com saldo inicial.
+     */
+    OPEN,
+    CREDIT,
+    DEBIT,
+    /**
+     * Estorno de uma abertura: a conta deixa de existir no journal.
+     */
+    CLOSE
+  }
+
+  public static JournalEntry of(TransactionRequest transaction) {
+    Type type = switch (transaction.type()) {
+      case CREDIT -> Type.CREDIT;
+      case DEBIT -> Type.DEBIT;
+    };
+    return new JournalEntry(type, transaction.accountNumber(), transaction.amount());
+  }
+
+  /**
+   * Lançamento que desfaz este: crédito e débito se invertem, e a abertura vira {@link Type#CLOSE}.
+   */
+  public JournalEntry reversal() {
+    Type reversed = switch (type) {
+      case OPEN -> Type.CLOSE;
+      case CLOSE -> Type.OPEN;
+      case CREDIT -> Type.DEBIT;
+      case DEBIT -> Type.CREDIT;
+    };
+    return new JournalEntry(reversed, accountNumber, amount);
+  }
+
+}
@@ -0,0 +1,37 @@
+package juhmaran.challenge.bankingtransactionsapi.application.port.out;
+
+import java.util.function.Supplier;
+
+/**
+ * Porta de saída para consultas somente leitura em uma réplica do banco de dados. <br>
+ * A réplica só é usada enquanto a sua defasagem em relação ao banco principal estiver dentro do limite configurado;
+ * um token de consistência, obtido após um lote de lançamentos, exige ainda que a réplica já contenha esse lote.
+ *
+ * @author Juliane Maran
+ */
+public interface ReadReplicaPort {
+
+  /**
+   * Token que cobre todos os lançamentos confirmados no banco principal até o momento.
+   *
+   * @return O token, ou {@code null} quando não há réplica.
+   */
+  String consistencyToken();
+
+  /**
+   * Indica se a réplica pode atender a uma consulta agora.
+   *
+   * @param consistencyToken Token obtido em {@link #consistencyToken()}, ou {@code null} quando basta a defasagem
+   *                         máxima.
+   * @return {@code false} se não houver réplica, se ela estiver além da defasagem máxima ou se ainda não contiver os
+   * lançamentos cobertos pelo token.
+   * @throws IllegalArgumentException Se o token for inválido.
+   */
+  boolean canRead(String consistencyToken);
+
+  /**
+   * Executa a consulta em uma transação somente leitura na réplica.
+   */
+  <T> T read(Supplier<T> query);
+
+}
@@ -0,0 +1,37 @@
+package juhmaran.challenge.bankingtransactionsapi.application.port.out;
+
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Porta de saída para o journal de transações (write-ahead log). <br>
+ * Registra de forma durável cada débito, crédito e abertura de conta, permitindo reconstruir os saldos após
+ * um reinício mesmo quando o banco de dados não é persistente (como o H2 em memória).
+ *
+ * @author Juliane Maran
+ */
+public interface TransactionJournalPort {
+
+  /**
+   * Grava os lançamentos como um único registro atômico: na recuperação, ou todos são reaplicados ou nenhum.
+   * Retorna somente quando o registro está durável segundo a política de {@code fsync} configurada.
+   * <p>
+   * O registro é gravado antes de o lote se tornar visível (antes do commit da transação, ou da publicação dos saldos
+   * no ledger em memória). Um lote desfeito depois de gravado é anulado por um novo registro com os estornos
+   * ({@link JournalEntry#reversal()}).
+   * </p>
+   *
+   * @param entries Os lançamentos de um lote aplicado e ainda não confirmado.
+   */
+  void append(List<JournalEntry> entries);
+
+  /**
+   * Saldos das contas segundo o journal (último snapshot mais os registros posteriores a ele).
+   *
+   * @return Os saldos por número da conta. Vazio quando o journal está desativado ou ainda não possui registros.
+   */
+  Map<String, Money> balances();
+
+}
@@ -0,0 +1,27 @@
+package juhmaran.challenge.bankingtransactionsapi.application.port.out;
+
+/**
+ * Porta de saída para savepoints na transação de banco de dados corrente. <br>
+ * Permite desfazer um único item de um lote sem desfazer a transação inteira.
+ *
+ * @author Juliane Maran
+ */
+public interface TransactionSavepointPort {
+
+  /**
+   * Cria um savepoint na transação corrente. As alterações pendentes devem ter sido enviadas ao banco antes.
+   *
+   * @return O savepoint, a ser passado para {@link #rollbackToSavepoint(Object)} ou {@link #releaseSavepoint(Object)}.
+   * @throws IllegalStateException Se não houver transação ativa.
+   */
+  Object createSavepoint();
+
+  /**
+   * Desfaz no banco tudo o que foi feito após o savepoint e descarta o estado em memória das entidades carregadas,
+   * que passam a ser lidas novamente do banco.
+   */
+  void rollbackToSavepoint(Object savepoint);
+
+  void releaseSavepoint(Object savepoint);
+
+}
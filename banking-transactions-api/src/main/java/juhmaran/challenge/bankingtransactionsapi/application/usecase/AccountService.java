@@ -1,20 +1,51 @@
 package juhmaran.challenge.bankingtransactionsapi.application.usecase;
 
-import jakarta.transaction.Transactional;
 import juhmaran.challenge.bankingtransactionsapi.application.port.in.AccountServicePort;
+import juhmaran.challenge.bankingtransactionsapi.application.port.in.BatchAtomicity;
+import juhmaran.challenge.bankingtransactionsapi.application.port.in.TransactionBatchResult;
 import juhmaran.challenge.bankingtransactionsapi.application.port.out.AccountRepositoryPort;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.JournalEntry;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.ReadReplicaPort;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.TransactionJournalPort;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.TransactionSavepointPort;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.cache.AccountBalanceCache;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.coalescing.AccountRequestCoalescer;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.journal.JournalWriteAhead;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.lock.AccountLockManager;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.lock.DatabaseConcurrencyLimiter;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.metrics.TransactionMetrics;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.parallel.PartitionedBatchExecutor;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.processor.BulkTransactionProcessor;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.processor.DeltaTransactionProcessor;
 import juhmaran.challenge.bankingtransactionsapi.application.usecase.processor.SingleTransactionProcessor;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.processor.SplitBalanceTransactionProcessor;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.retry.OptimisticRetryExecutor;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.split.SplitBalanceManager;
 import juhmaran.challenge.bankingtransactionsapi.domain.entity.Account;
 import juhmaran.challenge.bankingtransactionsapi.domain.exception.AccountNotFoundException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.TransactionProcessingException;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.TransactionProperties;
 import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.request.TransactionRequest;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionOperations;
 
-import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -24,10 +55,71 @@ public class AccountService implements AccountServicePort {
 
   private final AccountRepositoryPort accountRepositoryPort;
   private final SingleTransactionProcessor singleTransactionProcessor;
+  private final BulkTransactionProcessor bulkTransactionProcessor;
+  private final DeltaTransactionProcessor deltaTransactionProcessor;
+  private final TransactionProperties transactionProperties;
+  private final AccountLockManager accountLockManager;
+  private final TransactionOperations transactionOperations;
+  private final OptimisticRetryExecutor optimisticRetryExecutor;
+  private final TransactionJournalPort transactionJournalPort;
+  private final AccountBalanceCache accountBalanceCache;
+  private final DatabaseConcurrencyLimiter databaseConcurrencyLimiter;
+  private final PartitionedBatchExecutor partitionedBatchExecutor;
+  private final TransactionSavepointPort transactionSavepointPort;
+  private final TransactionMetrics transactionMetrics;
+  private final AccountRequestCoalescer accountRequestCoalescer;
+  private final SplitBalanceManager splitBalanceManager;
+  private final SplitBalanceTransactionProcessor splitBalanceTransactionProcessor;
+  private final ReadReplicaPort readReplicaPort;
 
+  /**
+   * Processa o lote em uma única transação de banco de dados. Quando o {@link AccountLockManager} está ativo,
+   * os locks em memória das contas do lote são adquiridos antes de abrir a transação e liberados somente
+   * após o commit, de modo que a disputa entre threads da mesma JVM não chega ao banco. Na estratégia
+   * {@link TransactionProperties.Strategy#OPTIMISTIC}, o lote inteiro é executado novamente em caso de conflito
+   * de versão no commit.
+   * <p>
+   * Com o {@link DatabaseConcurrencyLimiter} ativo, a transação só é aberta depois de obter uma vaga no banco. A vaga
+   * é pedida após os locks em memória, para que lotes aguardando uma conta disputada não ocupem conexões.
+   * </p>
+   * <p>
+   * Com o {@link PartitionedBatchExecutor} ativo, os lançamentos de lotes grandes com várias contas são divididos por
+   * conta e aplicados em memória em paralelo, sobre as contas lidas com uma única consulta com lock, e gravados na
+   * transação do lote. Lotes com contas de saldo dividido seguem pelo caminho sequencial.
+   * </p>
+   * <p>
+   * Ao final da transação, com sucesso ou não, as contas do lote são removidas do {@link AccountBalanceCache}; a
+   * invalidação também em caso de erro cobre falhas cujo resultado do commit é incerto.
+   * </p>
+   * <p>
+   * O lote é gravado no {@link TransactionJournalPort journal de transações} antes do commit
+   * ({@link JournalWriteAhead}): a transação só é confirmada com o registro durável, e uma falha na gravação desfaz o
+   * lote.
+   * </p>
+   * <p>
+   * O tamanho, a duração e as falhas do lote, a espera pelos locks em memória e o commit são registrados no
+   * {@link TransactionMetrics}.
+   * </p>
+   * <p>
+   * Com o {@link AccountRequestCoalescer} ativo, lotes de uma única conta são agrupados com os lotes concorrentes da
+   * mesma conta e confirmados em um só commit, em vez de disputarem o lock da conta um a um.
+   * </p>
+   * <p>
+   * Itens de contas com saldo dividido ({@link SplitBalanceManager}) são aplicados nos slots da conta, sem lock em
+   * memória e sem agrupamento, qualquer que seja a estratégia; os demais itens seguem a estratégia configurada.
+   * </p>
+   */
   @Override
-  @Transactional
   public void performTransactions(List<TransactionRequest> transactions) {
+    performAllOrNothing(transactions, null);
+  }
+
+  /**
+   * @param beforeCommit Executado na transação do lote, antes do commit; {@code null} se não houver. Com ele, o lote
+   *                     não é agrupado pelo {@link AccountRequestCoalescer}, para que seja confirmado em uma transação
+   *                     própria.
+   */
+  private void performAllOrNothing(List<TransactionRequest> transactions, Runnable beforeCommit) {
     logger.info("Processando lote de {} transações.", transactions == null ? 0 : transactions.size());
 
     if (transactions == null || transactions.isEmpty()) {
@@ -35,45 +127,394 @@ public class AccountService implements AccountServicePort {
       return;
     }
 
-    for (TransactionRequest transaction : transactions) {
-      singleTransactionProcessor.process(transaction);
+    List<String> accountNumbers = transactions.stream().map(TransactionRequest::accountNumber).toList();
+    transactionMetrics.recordBatchSize(transactions.size());
+    long start = System.nanoTime();
+    try {
+      if (beforeCommit == null && accountRequestCoalescer.accepts(transactions)
+        && !splitBalanceManager.isSplit(transactions.get(0).accountNumber())) {
+        accountRequestCoalescer.submit(transactions);
+      } else {
+        executeLocked(transactions, accountNumbers, beforeCommit);
+      }
+    } catch (RuntimeException e) {
+      transactionMetrics.recordBatchFailure(e);
+      transactionMetrics.recordBatch(start, false);
+      throw e;
+    } finally {
+      accountBalanceCache.invalidateAll(accountNumbers);
     }
+    transactionMetrics.recordBatch(start, true);
 
     logger.info("Lote de transações concluído.");
   }
 
+  /**
+   * Nos modos {@link BatchAtomicity.Mode#PER_ITEM} e {@link BatchAtomicity.Mode#CHUNKED}, cada item é aplicado entre
+   * um savepoint e um {@code flush}: um erro de domínio volta ao savepoint e é registrado no resultado, enquanto
+   * erros de infraestrutura desfazem a transação corrente e são lançados. No modo {@code CHUNKED} cada bloco é uma
+   * transação própria, com seus locks em memória, e os blocos já confirmados permanecem aplicados se um bloco
+   * posterior falhar por erro de infraestrutura. Esses modos sempre executam sequencialmente, sem o
+   * {@link PartitionedBatchExecutor}.
+   */
+  @Override
+  public TransactionBatchResult performTransactions(List<TransactionRequest> transactions, BatchAtomicity atomicity) {
+    return perform(transactions, atomicity, null);
+  }
+
+  /**
+   * {@code beforeCommit} é executado na transação do último bloco, com o resultado do lote inteiro. No modo
+   * {@link BatchAtomicity.Mode#CHUNKED}, os blocos anteriores já foram confirmados nessa altura.
+   */
+  @Override
+  public TransactionBatchResult performTransactions(List<TransactionRequest> transactions, BatchAtomicity atomicity,
+                                                    Consumer<TransactionBatchResult> beforeCommit) {
+    Objects.requireNonNull(beforeCommit, "Ação anterior ao commit não pode ser nula.");
+    return perform(transactions, atomicity, beforeCommit);
+  }
+
+  private TransactionBatchResult perform(List<TransactionRequest> transactions, BatchAtomicity atomicity,
+                                         Consumer<TransactionBatchResult> beforeCommit) {
+    Objects.requireNonNull(atomicity, "Atomicidade do lote não pode ser nula.");
+    if (transactions == null || transactions.isEmpty() || atomicity.mode() == BatchAtomicity.Mode.ALL_OR_NOTHING) {
+      TransactionBatchResult result =
+        TransactionBatchResult.allApplied(atomicity.mode(), transactions == null ? List.of() : transactions);
+      if (beforeCommit == null) {
+        performAllOrNothing(transactions, null);
+      } else if (transactions == null || transactions.isEmpty()) {
+        beforeCommit.accept(result);
+      } else {
+        performAllOrNothing(transactions, () -> beforeCommit.accept(result));
+      }
+      return result;
+    }
+
+    logger.info("Processando lote de {} transações com atomicidade {}.", transactions.size(), atomicity.mode());
+    int chunkSize = atomicity.mode() == BatchAtomicity.Mode.CHUNKED ? atomicity.chunkSize() : transactions.size();
+    List<TransactionBatchResult.ItemResult> items = new ArrayList<>(transactions.size());
+    transactionMetrics.recordBatchSize(transactions.size());
+    long start = System.nanoTime();
+    try {
+      for (int from = 0; from < transactions.size(); from += chunkSize) {
+        int to = Math.min(from + chunkSize, transactions.size());
+        Consumer<List<TransactionBatchResult.ItemResult>> lastChunk = null;
+        if (beforeCommit != null && to == transactions.size()) {
+          List<TransactionBatchResult.ItemResult> previous = List.copyOf(items);
+          lastChunk = chunkItems -> {
+            List<TransactionBatchResult.ItemResult> all = new ArrayList<>(previous);
+            all.addAll(chunkItems);
+            beforeCommit.accept(TransactionBatchResult.of(atomicity.mode(), all));
+          };
+        }
+        items.addAll(executeWithSavepoints(transactions.subList(from, to), from, lastChunk));
+      }
+    } catch (RuntimeException e) {
+      transactionMetrics.recordBatchFailure(e);
+      transactionMetrics.recordBatch(start, false);
+      throw e;
+    }
+    transactionMetrics.recordBatch(start, true);
+    TransactionBatchResult result = TransactionBatchResult.of(atomicity.mode(), items);
+    logger.info("Lote concluído com atomicidade {}: {} aplicados, {} com erro.",
+      atomicity.mode(), result.applied(), result.failed());
+    return result;
+  }
+
+  private List<TransactionBatchResult.ItemResult> executeWithSavepoints(
+    List<TransactionRequest> chunk, int offset, Consumer<List<TransactionBatchResult.ItemResult>> beforeCommit) {
+    List<String> accountNumbers = chunk.stream().map(TransactionRequest::accountNumber).toList();
+    List<TransactionBatchResult.ItemResult> items;
+    try (AccountLockManager.AccountLocks ignored = lockAll(lockableAccounts(accountNumbers))) {
+      Supplier<List<TransactionBatchResult.ItemResult>> unitOfWork = () -> databaseConcurrencyLimiter.execute(
+        () -> executeInTransaction(status -> applyWithSavepoints(status, chunk, offset, beforeCommit)));
+      if (transactionProperties.strategy() == TransactionProperties.Strategy.OPTIMISTIC) {
+        AtomicReference<List<TransactionBatchResult.ItemResult>> attempt = new AtomicReference<>();
+        optimisticRetryExecutor.execute(() -> attempt.set(unitOfWork.get()));
+        items = attempt.get();
+      } else {
+        items = unitOfWork.get();
+      }
+    } finally {
+      accountBalanceCache.invalidateAll(accountNumbers);
+    }
+    return items;
+  }
+
+  private List<TransactionBatchResult.ItemResult> applyWithSavepoints(
+    TransactionStatus status, List<TransactionRequest> chunk, int offset,
+    Consumer<List<TransactionBatchResult.ItemResult>> beforeCommit) {
+    List<TransactionBatchResult.ItemResult> items = new ArrayList<>(chunk.size());
+    List<JournalEntry> applied = new ArrayList<>(chunk.size());
+    if (hasSplitItems(chunk)) {
+      splitBalanceTransactionProcessor.lockSlots(chunk);
+    }
+    for (int i = 0; i < chunk.size(); i++) {
+      TransactionRequest transaction = chunk.get(i);
+      Object savepoint = transactionSavepointPort.createSavepoint();
+      try {
+        processBatch(List.of(transaction));
+        status.flush();
+        transactionSavepointPort.releaseSavepoint(savepoint);
+        items.add(TransactionBatchResult.ItemResult.applied(offset + i, transaction.accountNumber()));
+        applied.add(JournalEntry.of(transaction));
+      } catch (TransactionProcessingException e) {
+        if (!e.isItemFailure()) {
+          throw e;
+        }
+        transactionSavepointPort.rollbackToSavepoint(savepoint);
+        items.add(TransactionBatchResult.ItemResult.failed(offset + i, transaction.accountNumber(), e.getMessage()));
+      }
+    }
+    JournalWriteAhead.appendBeforeCommit(transactionJournalPort, applied);
+    if (beforeCommit != null) {
+      beforeCommit.accept(items);
+    }
+    return items;
+  }
+
+  private void executeLocked(List<TransactionRequest> transactions, List<String> accountNumbers,
+                             Runnable beforeCommit) {
+    try (AccountLockManager.AccountLocks ignored = lockAll(lockableAccounts(accountNumbers))) {
+      if (transactionProperties.strategy() == TransactionProperties.Strategy.OPTIMISTIC) {
+        optimisticRetryExecutor.execute(() -> executeBatch(transactions, beforeCommit));
+      } else {
+        executeBatch(transactions, beforeCommit);
+      }
+    }
+  }
+
+  private void executeBatch(List<TransactionRequest> transactions, Runnable beforeCommit) {
+    databaseConcurrencyLimiter.run(() -> executeInTransaction(status -> {
+      if (hasSplitItems(transactions)) {
+        splitBalanceTransactionProcessor.lockSlots(transactions);
+        processBatch(transactions);
+      } else if (!partitionedBatchExecutor.tryProcess(transactions)) {
+        processBatch(transactions);
+      }
+      JournalWriteAhead.appendBeforeCommit(transactionJournalPort,
+        transactions.stream().map(JournalEntry::of).toList());
+      if (beforeCommit != null) {
+        beforeCommit.run();
+      }
+      return null;
+    }));
+  }
+
+  /**
+   * Executa o trabalho em uma transação e registra a duração do commit, do fim do trabalho até o fim da transação.
+   */
+  private <T> T executeInTransaction(Function<TransactionStatus, T> work) {
+    long[] workDone = new long[1];
+    T result = transactionOperations.execute(status -> {
+      T value = work.apply(status);
+      workDone[0] = System.nanoTime();
+      return value;
+    });
+    transactionMetrics.record(TransactionMetrics.Phase.COMMIT, workDone[0]);
+    return result;
+  }
+
+  private AccountLockManager.AccountLocks lockAll(List<String> accountNumbers) {
+    if (!accountLockManager.isEnabled()) {
+      return accountLockManager.lockAll(accountNumbers);
+    }
+    long start = System.nanoTime();
+    try {
+      return accountLockManager.lockAll(accountNumbers);
+    } finally {
+      transactionMetrics.record(TransactionMetrics.Phase.MEMORY_LOCK_WAIT, start);
+    }
+  }
+
+  /**
+   * Contas que passam pelos locks em memória: as contas com saldo dividido ficam de fora, pois seus lançamentos
+   * bloqueiam slots diferentes no banco e não devem ser serializados na JVM.
+   */
+  private List<String> lockableAccounts(List<String> accountNumbers) {
+    if (!splitBalanceManager.hasSplitAccounts()) {
+      return accountNumbers;
+    }
+    return accountNumbers.stream().filter(accountNumber -> !splitBalanceManager.isSplit(accountNumber)).toList();
+  }
+
+  private boolean hasSplitItems(List<TransactionRequest> transactions) {
+    if (!splitBalanceManager.hasSplitAccounts()) {
+      return false;
+    }
+    for (TransactionRequest transaction : transactions) {
+      if (transaction != null && splitBalanceManager.isSplit(transaction.accountNumber())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void processBatch(List<TransactionRequest> transactions) {
+    if (!splitBalanceManager.hasSplitAccounts()) {
+      processWithStrategy(transactions);
+      return;
+    }
+    // Os itens são aplicados na ordem do lote, para que o erro lançado seja o do primeiro item com falha.
+    List<TransactionRequest> regular = new ArrayList<>(transactions.size());
+    for (TransactionRequest transaction : transactions) {
+      if (transaction != null && splitBalanceManager.isSplit(transaction.accountNumber())) {
+        if (!regular.isEmpty()) {
+          processWithStrategy(regular);
+          regular = new ArrayList<>(transactions.size());
+        }
+        splitBalanceTransactionProcessor.process(transaction);
+      } else {
+        regular.add(transaction);
+      }
+    }
+    if (!regular.isEmpty()) {
+      processWithStrategy(regular);
+    }
+  }
+
+  private void processWithStrategy(List<TransactionRequest> transactions) {
+    switch (transactionProperties.strategy()) {
+      case BULK -> bulkTransactionProcessor.process(transactions);
+      case ATOMIC_DELTA -> {
+        for (TransactionRequest transaction : transactions) {
+          deltaTransactionProcessor.process(transaction);
+        }
+      }
+      case OPTIMISTIC -> {
+        for (TransactionRequest transaction : transactions) {
+          singleTransactionProcessor.processOptimistic(transaction);
+        }
+      }
+      default -> {
+        for (TransactionRequest transaction : transactions) {
+          singleTransactionProcessor.process(transaction);
+        }
+      }
+    }
+  }
+
   @Override
   public Account getAccountBalance(String accountNumber) {
+    return getAccountBalance(accountNumber, null);
+  }
+
+  /**
+   * Sem token, um saldo em cache é retornado diretamente; sem cache, a consulta vai à réplica de leitura
+   * ({@link ReadReplicaPort}) quando ela está dentro da defasagem máxima, ou ao banco principal. Os saldos lidos da
+   * réplica não são armazenados no cache: uma cópia anterior a um lote, lida após a invalidação, permaneceria em
+   * cache. Com token, o cache é ignorado, e a consulta só vai à réplica se ela já contiver os lançamentos cobertos
+   * pelo token.
+   */
+  @Override
+  public Account getAccountBalance(String accountNumber, String consistencyToken) {
     Objects.requireNonNull(accountNumber, "Número da conta não pode ser nulo.");
     logger.info("Buscando saldo para conta: {}", accountNumber);
 
-    Account account = accountRepositoryPort.findByAccountNumber(accountNumber)
-      .orElseThrow(() -> {
-        logger.warn("Conta não encontrada ao buscar saldo: {}", accountNumber);
-        return new AccountNotFoundException("Conta não encontrada: " + accountNumber);
-      });
+    Account account = consistencyToken == null ? accountBalanceCache.getIfPresent(accountNumber) : null;
+    if (account == null) {
+      if (readReplicaPort.canRead(consistencyToken)) {
+        account = readReplicaPort.read(() -> findAccount(accountNumber)).orElseThrow(() -> notFound(accountNumber));
+      } else if (consistencyToken != null) {
+        account = databaseConcurrencyLimiter.execute(() -> findAccount(accountNumber))
+          .orElseThrow(() -> notFound(accountNumber));
+      } else {
+        account = accountBalanceCache.get(accountNumber, number -> databaseConcurrencyLimiter.execute(
+          () -> findAccount(number)).orElseThrow(() -> notFound(number)));
+      }
+    }
 
     logger.info("Conta encontrada ao buscar saldo para {}. Saldo: {}", accountNumber, account.getBalance());
     return account;
   }
 
-  @Transactional
-  public void createAccountIfNotFound(String accountNumber, BigDecimal initialBalance) {
+  /**
+   * Os saldos em cache são retornados diretamente, e as demais contas são lidas com uma única consulta
+   * {@code IN (...)} ({@link AccountRepositoryPort#findAllByAccountNumber(Collection)}), na réplica de leitura quando
+   * ela está dentro da defasagem máxima. Os saldos lidos aqui não são armazenados no cache: a carga em lote não é
+   * atômica com a invalidação de cada conta, e um saldo lido antes de um commit poderia permanecer em cache.
+   */
+  @Override
+  public Map<String, Account> getAccountBalances(Collection<String> accountNumbers) {
+    Objects.requireNonNull(accountNumbers, "Números das contas não podem ser nulos.");
+    Map<String, Account> accounts = HashMap.newHashMap(accountNumbers.size());
+    List<String> missing = new ArrayList<>();
+    for (String accountNumber : new LinkedHashSet<>(accountNumbers)) {
+      Objects.requireNonNull(accountNumber, "Número da conta não pode ser nulo.");
+      Account cached = accountBalanceCache.getIfPresent(accountNumber);
+      if (cached != null) {
+        accounts.put(accountNumber, cached);
+      } else {
+        missing.add(accountNumber);
+      }
+    }
+    logger.info("Buscando saldo de {} contas ({} em cache).", accounts.size() + missing.size(), accounts.size());
+    if (missing.isEmpty()) {
+      return accounts;
+    }
+
+    List<Account> found = readReplicaPort.canRead(null)
+      ? readReplicaPort.read(() -> findAccounts(missing))
+      : databaseConcurrencyLimiter.execute(() -> findAccounts(missing));
+    for (Account account : found) {
+      accounts.put(account.getAccountNumber(), account);
+    }
+    return accounts;
+  }
+
+  @Override
+  public String consistencyToken() {
+    return readReplicaPort.consistencyToken();
+  }
+
+  private static AccountNotFoundException notFound(String accountNumber) {
+    logger.warn("Conta não encontrada ao buscar saldo: {}", accountNumber);
+    return new AccountNotFoundException("Conta não encontrada: " + accountNumber);
+  }
+
+  /**
+   * Busca a conta; para contas com saldo dividido, o saldo retornado é o da linha da conta somado ao dos slots.
+   */
+  private Optional<Account> findAccount(String accountNumber) {
+    return accountRepositoryPort.findByAccountNumber(accountNumber).map(this::withSplitTotal);
+  }
+
+  private List<Account> findAccounts(List<String> accountNumbers) {
+    return accountRepositoryPort.findAllByAccountNumber(accountNumbers).stream().map(this::withSplitTotal).toList();
+  }
+
+  private Account withSplitTotal(Account account) {
+    String accountNumber = account.getAccountNumber();
+    if (!splitBalanceManager.isSplit(accountNumber)) {
+      return account;
+    }
+    Money total = splitBalanceManager.findTotalBalance(accountNumber).orElse(account.getBalance());
+    return new Account(account.getId(), accountNumber, total, account.getVersion());
+  }
+
+  /**
+   * Cria a conta, caso ainda não exista, na transação do {@link TransactionOperations} usado pelos lotes, de modo que
+   * a verificação, a inserção e o registro no journal valem também com as contas particionadas entre shards.
+   */
+  public void createAccountIfNotFound(String accountNumber, Money initialBalance) {
     Objects.requireNonNull(accountNumber, "Número da conta não pode ser nulo.");
     Objects.requireNonNull(initialBalance, "Saldo inicial não pode ser nulo.");
     logger.debug("Tentando criar conta se não existir: {}", accountNumber);
 
-    boolean exists = accountRepositoryPort.existsByAccountNumber(accountNumber);
+    transactionOperations.executeWithoutResult(status -> {
+      boolean exists = accountRepositoryPort.existsByAccountNumber(accountNumber);
 
-    if (!exists) {
-      try {
-        Account newAccount = new Account(null, accountNumber, initialBalance);
-        accountRepositoryPort.save(newAccount);
-        logger.info("Conta '{}' criada com sucesso com saldo inicial: {}", accountNumber, initialBalance);
-      } catch (Exception e) {
-        logger.error("Erro ao salvar a conta '{}' durante a inicialização: {}", accountNumber, e.getMessage(), e);
+      if (!exists) {
+        try {
+          Account newAccount = new Account(null, accountNumber, initialBalance);
+          accountRepositoryPort.save(newAccount);
+          JournalWriteAhead.appendBeforeCommit(transactionJournalPort,
+            List.of(new JournalEntry(JournalEntry.Type.OPEN, accountNumber, initialBalance)));
+          logger.info("Conta '{}' criada com sucesso com saldo inicial: {}", accountNumber, initialBalance);
+        } catch (Exception e) {
+          logger.error("Erro ao salvar a conta '{}' durante a inicialização: {}", accountNumber, e.getMessage(), e);
+        }
       }
-    }
+    });
     logger.info("Conta '{}' já existe. Pulando criação.", accountNumber);
   }
 
@@ -0,0 +1,97 @@
+package juhmaran.challenge.bankingtransactionsapi.application.usecase.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import juhmaran.challenge.bankingtransactionsapi.domain.entity.Account;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.BalanceCacheProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * Cache limitado e concorrente dos saldos consultados em {@code GET /accounts/{accountNumber}/balance}. <br>
+ * A carga de uma conta ausente é atômica por chave, e a invalidação de uma chave em carga aguarda o término da
+ * carga antes de remover a entrada. Por isso, invalidar as contas após o commit de um lote garante que nenhum saldo
+ * lido antes do commit permaneça em cache depois dele.
+ * <p>
+ * As métricas {@code cache.gets} (tag {@code result=hit|miss}), {@code cache.evictions} e {@code cache.size}, com a
+ * tag {@code cache=account-balances}, ficam disponíveis em {@code /actuator/metrics}.
+ * </p>
+ *
+ * @author Juliane Maran
+ */
+@Component
+public class AccountBalanceCache {
+
+  static final String CACHE_NAME = "account-balances";
+
+  private static final Logger logger = LoggerFactory.getLogger(AccountBalanceCache.class);
+
+  private final Cache<String, Account> cache;
+
+  public AccountBalanceCache(BalanceCacheProperties properties, MeterRegistry meterRegistry) {
+    if (!properties.enabled()) {
+      this.cache = null;
+      logger.info("Cache de saldos desativado.");
+      return;
+    }
+    Caffeine<Object, Object> builder = Caffeine.newBuilder()
+      .maximumSize(properties.maximumSize())
+      .recordStats();
+    if (!properties.expireAfterWrite().isZero()) {
+      builder.expireAfterWrite(properties.expireAfterWrite());
+    }
+    this.cache = CaffeineCacheMetrics.monitor(meterRegistry, builder.build(), CACHE_NAME);
+    logger.info("Cache de saldos ativado com capacidade para {} contas.", properties.maximumSize());
+  }
+
+  /**
+   * Retorna uma cópia da conta em cache ou carrega a conta com o {@code loader} e a armazena.
+   * Exceções do {@code loader} (como conta inexistente) são propagadas e nada é armazenado.
+   */
+  public Account get(String accountNumber, Function<String, Account> loader) {
+    if (cache == null) {
+      return loader.apply(accountNumber);
+    }
+    return copyOf(cache.get(accountNumber, number -> copyOf(loader.apply(number))));
+  }
+
+  /**
+   * Retorna uma cópia da conta em cache, sem carregá-la, ou {@code null} se ela não estiver em cache.
+   */
+  public Account getIfPresent(String accountNumber) {
+    if (cache == null) {
+      return null;
+    }
+    Account account = cache.getIfPresent(accountNumber);
+    return account == null ? null : copyOf(account);
+  }
+
+  /**
+   * Remove as contas do cache. Deve ser chamado após o término da transação que alterou os saldos.
+   */
+  public void invalidateAll(Collection<String> accountNumbers) {
+    if (cache != null) {
+      cache.invalidateAll(accountNumbers);
+    }
+  }
+
+  /**
+   * Executa imediatamente as remoções pendentes, que normalmente ocorrem de forma incremental.
+   */
+  void cleanUp() {
+    if (cache != null) {
+      cache.cleanUp();
+    }
+  }
+
+  private static Account copyOf(Account account) {
+    return new Account(account.getId(), account.getAccountNumber(), account.getBalance(), account.getVersion());
+  }
+
+}
@@ -0,0 +1,370 @@
+package juhmaran.challenge.bankingtransactionsapi.application.usecase.coalescing;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.AccountRepositoryPort;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.JournalEntry;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.TransactionJournalPort;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.hotspot.HotAccountTracker;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.journal.JournalWriteAhead;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.lock.AccountLockManager;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.lock.DatabaseConcurrencyLimiter;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.metrics.TransactionMetrics;
+import juhmaran.challenge.bankingtransactionsapi.domain.entity.Account;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.AccountNotFoundException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.InsufficientFundsException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.InvalidTransactionTypeException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.TransactionProcessingException;
+import juhmaran.challenge.bankingtransactionsapi.domain.service.AccountOperationService;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.TransactionProperties;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.request.TransactionRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Agrupa lotes concorrentes de uma única conta e os aplica com um único lock, leitura, gravação e commit (group
+ * commit). <br>
+ * O primeiro lote de um grupo é o líder: ele aguarda a {@link TransactionProperties.Coalescing#window() janela}
+ * configurada, o lock em memória da conta e o lock da linha no banco. Os lotes que chegam nesse intervalo entram no
+ * mesmo grupo e aguardam o resultado. Com o lock obtido, o líder fecha o grupo, aplica os lotes em ordem de chegada
+ * sobre o saldo corrente e confirma a transação; novos lotes passam a formar o próximo grupo, que aguarda o lock
+ * enquanto este é gravado.
+ * <p>
+ * Cada lote continua atômico e recebe o próprio resultado: se um item falhar (por exemplo, um débito sem saldo
+ * suficiente depois dos lançamentos anteriores do grupo), o saldo volta ao valor anterior a esse lote, que recebe a
+ * {@link TransactionProcessingException}, e os demais lotes seguem. Erros de infraestrutura (timeout de lock, falha no
+ * commit) desfazem o grupo inteiro e são devolvidos a todos os lotes que não falharam por conta própria.
+ * </p>
+ * <p>
+ * Os lançamentos dos lotes aplicados são gravados no journal antes do commit do grupo ({@link JournalWriteAhead}).
+ * </p>
+ * <p>
+ * Métrica exposta: {@code banking.transactions.coalescing.group.size} (lotes por grupo).
+ * </p>
+ *
+ * @author Juliane Maran
+ */
+@Component
+public class AccountRequestCoalescer {
+
+  private static final Logger logger = LoggerFactory.getLogger(AccountRequestCoalescer.class);
+
+  private final boolean enabled;
+  private final long windowNanos;
+  private final int maxGroupSize;
+  private final AccountRepositoryPort accountRepositoryPort;
+  private final AccountOperationService accountOperationService;
+  private final AccountLockManager accountLockManager;
+  private final DatabaseConcurrencyLimiter databaseConcurrencyLimiter;
+  private final TransactionOperations transactionOperations;
+  private final TransactionJournalPort transactionJournalPort;
+  private final TransactionMetrics transactionMetrics;
+  private final HotAccountTracker hotAccountTracker;
+  private final DistributionSummary groupSize;
+  private final ConcurrentHashMap<String, Group> groups = new ConcurrentHashMap<>();
+
+  public AccountRequestCoalescer(TransactionProperties transactionProperties,
+                                 AccountRepositoryPort accountRepositoryPort,
+                                 AccountOperationService accountOperationService,
+                                 AccountLockManager accountLockManager,
+                                 DatabaseConcurrencyLimiter databaseConcurrencyLimiter,
+                                 TransactionOperations transactionOperations,
+                                 TransactionJournalPort transactionJournalPort,
+                                 TransactionMetrics transactionMetrics,
+                                 HotAccountTracker hotAccountTracker,
+                                 MeterRegistry meterRegistry) {
+    TransactionProperties.Coalescing properties = transactionProperties.coalescing();
+    if (properties.maxGroupSize() <= 0) {
+      throw new IllegalArgumentException("banking.transactions.coalescing.max-group-size deve ser positivo.");
+    }
+    this.enabled = properties.enabled();
+    this.windowNanos = properties.window().toNanos();
+    this.maxGroupSize = properties.maxGroupSize();
+    this.accountRepositoryPort = accountRepositoryPort;
+    this.accountOperationService = accountOperationService;
+    this.accountLockManager = accountLockManager;
+    this.databaseConcurrencyLimiter = databaseConcurrencyLimiter;
+    this.transactionOperations = transactionOperations;
+    this.transactionJournalPort = transactionJournalPort;
+    this.transactionMetrics = transactionMetrics;
+    this.hotAccountTracker = hotAccountTracker;
+    this.groupSize = DistributionSummary.builder("banking.transactions.coalescing.group.size")
+      .description("Lotes aplicados em cada grupo de uma conta")
+      .register(meterRegistry);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Indica se o lote pode ser agrupado: coalescência ativa e todos os itens na mesma conta.
+   */
+  public boolean accepts(List<TransactionRequest> transactions) {
+    if (!enabled || transactions.isEmpty() || transactions.get(0) == null) {
+      return false;
+    }
+    String accountNumber = transactions.get(0).accountNumber();
+    if (accountNumber == null) {
+      return false;
+    }
+    for (TransactionRequest transaction : transactions) {
+      if (transaction == null || !accountNumber.equals(transaction.accountNumber())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Aplica o lote junto com os lotes concorrentes da mesma conta e retorna após o commit do grupo.
+   *
+   * @param transactions Lote aceito por {@link #accepts(List)}.
+   * @throws TransactionProcessingException Se um item do lote falhar; apenas este lote é desfeito.
+   */
+  public void submit(List<TransactionRequest> transactions) {
+    String accountNumber = transactions.get(0).accountNumber();
+    Request request = new Request(transactions);
+    while (true) {
+      Group group = groups.computeIfAbsent(accountNumber, Group::new);
+      Join join = group.join(request, maxGroupSize);
+      if (join == Join.LEADER) {
+        lead(group);
+        break;
+      }
+      if (join == Join.FOLLOWER) {
+        break;
+      }
+      groups.remove(accountNumber, group);
+    }
+    request.await();
+  }
+
+  private void lead(Group group) {
+    boolean committed = false;
+    RuntimeException failure = null;
+    try {
+      if (windowNanos > 0) {
+        group.awaitFull(windowNanos);
+      }
+      try (AccountLockManager.AccountLocks ignored = lockAccount(group.accountNumber)) {
+        databaseConcurrencyLimiter.run(() -> transactionOperations.executeWithoutResult(status -> apply(group)));
+      }
+      committed = true;
+    } catch (RuntimeException e) {
+      logger.warn("Falha ao aplicar o grupo de lotes da conta {}: {}", group.accountNumber, e.getMessage());
+      failure = e;
+    } finally {
+      group.finish(committed ? null : failure != null ? failure : new TransactionProcessingException(
+        "Ocorreu um erro interno ao processar a transação para a conta " + group.accountNumber, null));
+    }
+  }
+
+  private AccountLockManager.AccountLocks lockAccount(String accountNumber) {
+    if (!accountLockManager.isEnabled()) {
+      return accountLockManager.lockAll(List.of(accountNumber));
+    }
+    long start = System.nanoTime();
+    try {
+      return accountLockManager.lockAll(List.of(accountNumber));
+    } finally {
+      transactionMetrics.record(TransactionMetrics.Phase.MEMORY_LOCK_WAIT, start);
+    }
+  }
+
+  /**
+   * Executado dentro da transação: bloqueia a linha da conta, fecha o grupo e aplica os lotes em ordem.
+   */
+  private void apply(Group group) {
+    String accountNumber = group.accountNumber;
+    long lockStart = System.nanoTime();
+    Optional<Account> found = accountRepositoryPort.findByAccountNumberWithLock(accountNumber);
+    long lockWait = System.nanoTime() - lockStart;
+
+    List<Request> members = group.close(groups);
+    groupSize.record(members.size());
+    hotAccountTracker.record(accountNumber, members.size(), lockWait);
+    logger.debug("Aplicando grupo de {} lotes na conta {}", members.size(), accountNumber);
+
+    if (found.isEmpty()) {
+      logger.warn("Conta não encontrada para processamento: {}", accountNumber);
+      for (Request member : members) {
+        member.fail(accountNumber, new AccountNotFoundException("Conta não encontrada: " + accountNumber),
+          member.transactions.getFirst(), System.nanoTime(), transactionMetrics);
+      }
+      return;
+    }
+
+    Account account = found.get();
+    List<JournalEntry> applied = new ArrayList<>();
+    for (Request member : members) {
+      Money before = account.getBalance();
+      long start = System.nanoTime();
+      TransactionRequest current = null;
+      try {
+        for (TransactionRequest transaction : member.transactions) {
+          current = transaction;
+          applyOperation(account, transaction);
+        }
+        transactionMetrics.record(TransactionMetrics.Phase.APPLY, start);
+        for (int i = 0; i < member.transactions.size(); i++) {
+          transactionMetrics.recordItem(TransactionMetrics.Outcome.APPLIED, start);
+        }
+        for (TransactionRequest transaction : member.transactions) {
+          applied.add(JournalEntry.of(transaction));
+        }
+      } catch (RuntimeException e) {
+        account.setBalance(before);
+        member.fail(accountNumber, e, current, start, transactionMetrics);
+      }
+    }
+
+    if (!applied.isEmpty()) {
+      long saveStart = System.nanoTime();
+      accountRepositoryPort.save(account);
+      transactionMetrics.record(TransactionMetrics.Phase.SAVE, saveStart);
+      JournalWriteAhead.appendBeforeCommit(transactionJournalPort, applied);
+    }
+  }
+
+  private void applyOperation(Account account, TransactionRequest transaction) {
+    if (transaction.type() == null) {
+      throw new InvalidTransactionTypeException(
+        "Tipo de transação não especificado para conta: " + transaction.accountNumber());
+    }
+    switch (transaction.type()) {
+      case DEBIT -> accountOperationService.applyDebit(account, transaction.amount());
+      case CREDIT -> accountOperationService.applyCredit(account, transaction.amount());
+    }
+  }
+
+  private enum Join {
+    LEADER, FOLLOWER, REJECTED
+  }
+
+  /**
+   * Lotes de uma conta aguardando o mesmo commit. Fechado pelo líder ao obter o lock da conta, ou ao atingir o
+   * tamanho máximo.
+   */
+  private static final class Group {
+
+    private final String accountNumber;
+    private final List<Request> members = new ArrayList<>();
+    private final CountDownLatch full = new CountDownLatch(1);
+    private boolean closed;
+
+    Group(String accountNumber) {
+      this.accountNumber = accountNumber;
+    }
+
+    synchronized Join join(Request request, int maxGroupSize) {
+      if (closed || members.size() >= maxGroupSize) {
+        return Join.REJECTED;
+      }
+      members.add(request);
+      if (members.size() >= maxGroupSize) {
+        full.countDown();
+      }
+      return members.size() == 1 ? Join.LEADER : Join.FOLLOWER;
+    }
+
+    void awaitFull(long timeoutNanos) {
+      try {
+        full.await(timeoutNanos, TimeUnit.NANOSECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    /**
+     * Impede a entrada de novos lotes e remove o grupo da conta, para que os próximos lotes formem outro grupo.
+     */
+    synchronized List<Request> close(ConcurrentHashMap<String, Group> groups) {
+      if (!closed) {
+        closed = true;
+        groups.remove(accountNumber, this);
+      }
+      return List.copyOf(members);
+    }
+
+    /**
+     * Libera todos os lotes do grupo. Com uma falha do grupo, ela é devolvida aos lotes que não falharam por conta
+     * própria.
+     */
+    void finish(RuntimeException failure) {
+      List<Request> all;
+      synchronized (this) {
+        closed = true;
+        all = List.copyOf(members);
+      }
+      for (Request member : all) {
+        if (failure != null && member.failure == null) {
+          member.failure = failure;
+        }
+        member.done.countDown();
+      }
+    }
+
+  }
+
+  private static final class Request {
+
+    private final List<TransactionRequest> transactions;
+    private final CountDownLatch done = new CountDownLatch(1);
+    private volatile RuntimeException failure;
+
+    Request(List<TransactionRequest> transactions) {
+      this.transactions = transactions;
+    }
+
+    void fail(String accountNumber, RuntimeException cause, TransactionRequest item, long start,
+              TransactionMetrics transactionMetrics) {
+      transactionMetrics.recordItem(TransactionMetrics.Outcome.of(cause), start);
+      if (cause instanceof AccountNotFoundException || cause instanceof InsufficientFundsException
+        || cause instanceof InvalidTransactionTypeException) {
+        logger.error("Erro de domínio ao processar transação para conta {}: {}", accountNumber, cause.getMessage());
+        failure = new TransactionProcessingException(
+          "Erro ao processar transação para conta " + accountNumber + ": " + cause.getMessage(), cause, item);
+      } else {
+        logger.error("Erro inesperado ao processar transação para conta {}: {}", accountNumber, cause.getMessage(),
+          cause);
+        failure = new TransactionProcessingException(
+          "Ocorreu um erro interno ao processar a transação para a conta " + accountNumber, cause);
+      }
+    }
+
+    /**
+     * Aguarda o fim do grupo sem interrupção: o lote pode já ter sido confirmado, e o resultado precisa chegar a quem
+     * o enviou.
+     */
+    void await() {
+      boolean interrupted = false;
+      while (true) {
+        try {
+          done.await();
+          break;
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+      if (failure != null) {
+        throw failure;
+      }
+    }
+
+  }
+
+}
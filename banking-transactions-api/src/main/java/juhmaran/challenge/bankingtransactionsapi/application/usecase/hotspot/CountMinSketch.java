@@ -0,0 +1,67 @@
+package juhmaran.challenge.bankingtransactionsapi.application.usecase.hotspot;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sketch count-min de tamanho fixo para somas por chave, atualizado sem locks. <br>
+ * Cada chave soma o valor em uma coluna de cada linha, escolhida por uma função de hash própria da linha; a
+ * estimativa é o menor valor entre as linhas. Colisões só aumentam os valores, portanto a estimativa nunca é menor
+ * que a soma real.
+ *
+ * @author Juliane Maran
+ */
+final class CountMinSketch {
+
+  private static final long[] SEEDS = {
+    0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+    0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x27D4EB2F165667C5L, 0x85EBCA77C2B2AE63L
+  };
+
+  private final int width;
+  private final int depth;
+  private final AtomicLongArray table;
+
+  CountMinSketch(int width, int depth) {
+    if (width <= 0 || depth <= 0 || depth > SEEDS.length) {
+      throw new IllegalArgumentException(
+        "Largura deve ser positiva e profundidade entre 1 e " + SEEDS.length + ".");
+    }
+    this.width = width;
+    this.depth = depth;
+    this.table = new AtomicLongArray(width * depth);
+  }
+
+  /**
+   * Soma o valor à chave e devolve a nova estimativa da chave.
+   */
+  long add(int hash, long value) {
+    long estimate = Long.MAX_VALUE;
+    for (int row = 0; row < depth; row++) {
+      estimate = Math.min(estimate, table.addAndGet(index(hash, row), value));
+    }
+    return estimate;
+  }
+
+  long estimate(int hash) {
+    long estimate = Long.MAX_VALUE;
+    for (int row = 0; row < depth; row++) {
+      estimate = Math.min(estimate, table.get(index(hash, row)));
+    }
+    return estimate;
+  }
+
+  void clear() {
+    for (int i = 0; i < table.length(); i++) {
+      table.set(i, 0);
+    }
+  }
+
+  private int index(int hash, int row) {
+    long mixed = hash ^ SEEDS[row];
+    mixed = (mixed ^ (mixed >>> 33)) * 0xFF51AFD7ED558CCDL;
+    mixed = (mixed ^ (mixed >>> 33)) * 0xC4CEB9FE1A85EC53L;
+    mixed ^= mixed >>> 33;
+    return row * width + (int) Math.floorMod(mixed, (long) width);
+  }
+
+}
@@ -0,0 +1,281 @@
+package juhmaran.challenge.bankingtransactionsapi.application.usecase.hotspot;
+
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.HotAccountProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Detecta as contas mais disputadas com memória constante, a partir das requisições e da espera por lock registradas
+ * no caminho das transações. <br>
+ * O período {@link HotAccountProperties#span()} é dividido em faixas de tempo reutilizadas em anel. Cada faixa tem
+ * dois {@link CountMinSketch sketches count-min} (requisições e nanossegundos de espera por lock por conta) e, para
+ * cada critério, até {@code 2 * topK} contas candidatas com as maiores estimativas (heavy hitters). Uma consulta
+ * soma, para as candidatas das faixas da janela pedida, as estimativas de cada faixa.
+ * <p>
+ * O registro atualiza os sketches sem locks. As candidatas são atualizadas com {@link ReentrantLock#tryLock()}: sob
+ * disputa, a atualização é descartada em vez de aguardar, pois uma conta realmente disputada é registrada de novo
+ * logo em seguida. O custo por registro é de algumas operações atômicas e, no máximo, uma varredura das candidatas.
+ * </p>
+ *
+ * @author Juliane Maran
+ */
+@Component
+public class HotAccountTracker {
+
+  private final boolean enabled;
+  private final long bucketMillis;
+  private final int topK;
+  private final Clock clock;
+  private final Bucket[] buckets;
+
+  @Autowired
+  public HotAccountTracker(HotAccountProperties properties) {
+    this(properties, Clock.systemUTC());
+  }
+
+  HotAccountTracker(HotAccountProperties properties, Clock clock) {
+    if (properties.buckets() <= 0 || properties.topK() <= 0 || properties.bucketWidth().toMillis() <= 0) {
+      throw new IllegalArgumentException("Faixas de tempo, top-K e largura das faixas devem ser positivos.");
+    }
+    this.enabled = properties.enabled();
+    this.bucketMillis = properties.bucketWidth().toMillis();
+    this.topK = properties.topK();
+    this.clock = clock;
+    this.buckets = new Bucket[enabled ? properties.buckets() : 0];
+    for (int i = 0; i < buckets.length; i++) {
+      buckets[i] = new Bucket(properties.width(), properties.depth(), 2 * topK);
+    }
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public int getTopK() {
+    return topK;
+  }
+
+  /**
+   * Maior janela disponível para consulta.
+   */
+  public Duration getSpan() {
+    return Duration.ofMillis(bucketMillis * buckets.length);
+  }
+
+  /**
+   * Registra uma requisição na conta.
+   *
+   * @param lockWaitNanos Tempo de espera pelo lock da conta no banco de dados, em nanossegundos.
+   */
+  public void record(String accountNumber, long lockWaitNanos) {
+    record(accountNumber, 1, lockWaitNanos);
+  }
+
+  /**
+   * Registra requisições e espera por lock na conta. Quando a detecção está desativada, não faz nada.
+   */
+  public void record(String accountNumber, int requests, long lockWaitNanos) {
+    if (!enabled || accountNumber == null) {
+      return;
+    }
+    bucket(clock.millis() / bucketMillis).record(accountNumber, requests, Math.max(0, lockWaitNanos));
+  }
+
+  /**
+   * Contas mais disputadas na janela informada, em ordem decrescente do critério.
+   *
+   * @param window  Janela consultada, arredondada para cima para um número inteiro de faixas e limitada ao
+   *                {@link #getSpan() período mantido}.
+   * @param ranking Critério de ordenação.
+   * @param limit   Quantidade máxima de contas.
+   */
+  public List<HotAccount> top(Duration window, Ranking ranking, int limit) {
+    if (!enabled) {
+      return List.of();
+    }
+    long current = clock.millis() / bucketMillis;
+    long count = Math.min(buckets.length, Math.max(1, (window.toMillis() + bucketMillis - 1) / bucketMillis));
+
+    List<Bucket> selected = new ArrayList<>();
+    Set<String> candidates = new HashSet<>();
+    for (long epoch = current - count + 1; epoch <= current; epoch++) {
+      Bucket bucket = buckets[(int) Math.floorMod(epoch, (long) buckets.length)];
+      if (bucket.collectCandidates(epoch, candidates)) {
+        selected.add(bucket);
+      }
+    }
+
+    List<HotAccount> accounts = new ArrayList<>(candidates.size());
+    for (String accountNumber : candidates) {
+      int hash = accountNumber.hashCode();
+      long requests = 0;
+      long lockWaitNanos = 0;
+      for (Bucket bucket : selected) {
+        requests += bucket.requests.estimate(hash);
+        lockWaitNanos += bucket.lockWait.estimate(hash);
+      }
+      accounts.add(new HotAccount(accountNumber, requests, lockWaitNanos / 1_000_000.0));
+    }
+    accounts.sort(ranking.comparator.reversed());
+    return accounts.size() > limit ? List.copyOf(accounts.subList(0, limit)) : accounts;
+  }
+
+  private Bucket bucket(long epoch) {
+    Bucket bucket = buckets[(int) Math.floorMod(epoch, (long) buckets.length)];
+    if (bucket.epoch != epoch) {
+      bucket.reset(epoch);
+    }
+    return bucket;
+  }
+
+  /**
+   * Conta disputada, com valores estimados: podem estar acima dos reais, nunca abaixo.
+   *
+   * @param requests       Requisições registradas na janela.
+   * @param lockWaitMillis Espera acumulada pelo lock da conta na janela, em milissegundos.
+   */
+  public record HotAccount(String accountNumber, long requests, double lockWaitMillis) {
+
+  }
+
+  public enum Ranking {
+
+    LOCK_WAIT(Comparator.comparingDouble(HotAccount::lockWaitMillis).thenComparingLong(HotAccount::requests)),
+    REQUESTS(Comparator.comparingLong(HotAccount::requests).thenComparingDouble(HotAccount::lockWaitMillis));
+
+    private final Comparator<HotAccount> comparator;
+
+    Ranking(Comparator<HotAccount> comparator) {
+      this.comparator = comparator;
+    }
+
+  }
+
+  private static final class Bucket {
+
+    private final CountMinSketch requests;
+    private final CountMinSketch lockWait;
+    private final Candidates byRequests;
+    private final Candidates byLockWait;
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile long epoch = -1;
+
+    Bucket(int width, int depth, int candidates) {
+      this.requests = new CountMinSketch(width, depth);
+      this.lockWait = new CountMinSketch(width, depth);
+      this.byRequests = new Candidates(candidates);
+      this.byLockWait = new Candidates(candidates);
+    }
+
+    void record(String accountNumber, int count, long lockWaitNanos) {
+      int hash = accountNumber.hashCode();
+      long requestEstimate = requests.add(hash, count);
+      long lockWaitEstimate = lockWaitNanos > 0 ? lockWait.add(hash, lockWaitNanos) : 0;
+      if (lock.tryLock()) {
+        try {
+          if (count > 0) {
+            byRequests.offer(accountNumber, requestEstimate);
+          }
+          if (lockWaitEstimate > 0) {
+            byLockWait.offer(accountNumber, lockWaitEstimate);
+          }
+        } finally {
+          lock.unlock();
+        }
+      }
+    }
+
+    /**
+     * Inicia a faixa de tempo informada, descartando os valores da faixa anterior que ocupava a mesma posição.
+     */
+    void reset(long newEpoch) {
+      lock.lock();
+      try {
+        if (newEpoch > epoch) {
+          requests.clear();
+          lockWait.clear();
+          byRequests.clear();
+          byLockWait.clear();
+          epoch = newEpoch;
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /**
+     * Adiciona as candidatas da faixa, se ela ainda corresponder à faixa de tempo informada.
+     */
+    boolean collectCandidates(long expectedEpoch, Set<String> candidates) {
+      lock.lock();
+      try {
+        if (epoch != expectedEpoch) {
+          return false;
+        }
+        candidates.addAll(byRequests.estimates.keySet());
+        candidates.addAll(byLockWait.estimates.keySet());
+        return true;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+  }
+
+  /**
+   * Contas com as maiores estimativas de um critério, limitadas a {@code capacity}. Uma conta nova só substitui a
+   * menor candidata quando sua estimativa é maior.
+   */
+  private static final class Candidates {
+
+    private final int capacity;
+    private final Map<String, Long> estimates;
+    private long minimum;
+
+    Candidates(int capacity) {
+      this.capacity = capacity;
+      this.estimates = new HashMap<>(capacity * 2);
+    }
+
+    void offer(String accountNumber, long estimate) {
+      if (estimates.containsKey(accountNumber) || estimates.size() < capacity) {
+        estimates.put(accountNumber, estimate);
+        return;
+      }
+      if (estimate <= minimum) {
+        return;
+      }
+      String smallest = null;
+      long smallestEstimate = Long.MAX_VALUE;
+      for (Map.Entry<String, Long> entry : estimates.entrySet()) {
+        if (entry.getValue() < smallestEstimate) {
+          smallest = entry.getKey();
+          smallestEstimate = entry.getValue();
+        }
+      }
+      minimum = smallestEstimate;
+      if (estimate > smallestEstimate) {
+        estimates.remove(smallest);
+        estimates.put(accountNumber, estimate);
+      }
+    }
+
+    void clear() {
+      estimates.clear();
+      minimum = 0;
+    }
+
+  }
+
+}
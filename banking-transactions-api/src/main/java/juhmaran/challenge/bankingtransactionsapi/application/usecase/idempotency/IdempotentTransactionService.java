@@ -0,0 +1,267 @@
+package juhmaran.challenge.bankingtransactionsapi.application.usecase.idempotency;
+
+import juhmaran.challenge.bankingtransactionsapi.application.port.in.AccountServicePort;
+import juhmaran.challenge.bankingtransactionsapi.application.port.in.BatchAtomicity;
+import juhmaran.challenge.bankingtransactionsapi.application.port.in.TransactionBatchResult;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.IdempotencyRecord;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.IdempotencyStorePort;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.IdempotencyKeyInProgressException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.IdempotencyKeyMismatchException;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.request.TransactionRequest;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Aplica lotes de lançamentos com chaves de idempotência, para que reenvios após falhas de rede ou timeouts não
+ * debitem nem creditem duas vezes. <br>
+ * A chave do lote ({@code Idempotency-Key}) memoriza o resultado do lote inteiro: um reenvio com o mesmo conteúdo
+ * recebe o resultado original sem nenhum acesso às contas. A chave de cada item
+ * ({@link TransactionRequest#idempotencyKey()}) faz com que apenas os itens ainda não aplicados sejam processados;
+ * os demais são informados como {@link TransactionBatchResult.Outcome#DUPLICATE}.
+ * <p>
+ * Apenas resultados concluídos são memorizados. Se o lote falhar com exceção (por exemplo, na atomicidade
+ * {@link BatchAtomicity.Mode#ALL_OR_NOTHING}), as chaves reservadas são liberadas e o reenvio é processado
+ * normalmente; itens com erro nas demais atomicidades também liberam as suas chaves de item. Reusar uma chave com
+ * outro conteúdo resulta em {@link IdempotencyKeyMismatchException}, e reenviar enquanto a requisição original
+ * ainda está em processamento, em {@link IdempotencyKeyInProgressException}.
+ * </p>
+ * <p>
+ * Com um armazenamento transacional ({@link IdempotencyStorePort#isTransactional()}), a conclusão das chaves é
+ * gravada na mesma transação que confirma os lançamentos
+ * ({@link AccountServicePort#performTransactions(List, BatchAtomicity, Consumer)}): uma queda entre o commit dos
+ * lançamentos e a gravação do resultado não deixa a chave reservada com o lote já aplicado. Nos demais
+ * armazenamentos, a conclusão é gravada logo após o lote.
+ * </p>
+ *
+ * @author Juliane Maran
+ */
+@Service
+@RequiredArgsConstructor
+public class IdempotentTransactionService {
+
+  private static final Logger logger = LoggerFactory.getLogger(IdempotentTransactionService.class);
+
+  static final int MAX_KEY_LENGTH = 128;
+  private static final String BATCH_PREFIX = "batch:";
+  private static final String ITEM_PREFIX = "item:";
+
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private final AccountServicePort accountServicePort;
+  private final IdempotencyStorePort idempotencyStorePort;
+
+  /**
+   * @param idempotencyKey Chave do lote; {@code null} ou em branco para não memorizar o resultado do lote.
+   */
+  public TransactionBatchResult performTransactions(String idempotencyKey, List<TransactionRequest> transactions,
+                                                    BatchAtomicity atomicity) {
+    if (idempotencyKey == null || idempotencyKey.isBlank()) {
+      return performWithItemKeys(transactions, atomicity, null);
+    }
+    if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+      throw new IllegalArgumentException(
+        "A chave de idempotência deve ter no máximo " + MAX_KEY_LENGTH + " caracteres.");
+    }
+
+    String key = BATCH_PREFIX + idempotencyKey;
+    long fingerprint = fingerprint(transactions, atomicity);
+    Optional<IdempotencyRecord> existing = idempotencyStorePort.reserve(key, fingerprint);
+    if (existing.isPresent()) {
+      return replay(idempotencyKey, existing.get(), fingerprint, transactions);
+    }
+
+    try {
+      return performWithItemKeys(transactions, atomicity,
+        result -> idempotencyStorePort.complete(key, IdempotencyRecord.completed(fingerprint, result)));
+    } catch (RuntimeException e) {
+      idempotencyStorePort.release(key);
+      throw e;
+    }
+  }
+
+  private TransactionBatchResult replay(String idempotencyKey, IdempotencyRecord record, long fingerprint,
+                                       List<TransactionRequest> transactions) {
+    if (record.fingerprint() != fingerprint) {
+      throw new IdempotencyKeyMismatchException(
+        "Chave de idempotência já utilizada com outro conteúdo: " + idempotencyKey);
+    }
+    if (!record.completed()) {
+      throw new IdempotencyKeyInProgressException(
+        "Lote com a mesma chave de idempotência ainda em processamento: " + idempotencyKey);
+    }
+    logger.info("Lote com chave de idempotência {} já processado. Retornando o resultado original.", idempotencyKey);
+    return record.toResult(transactions);
+  }
+
+  /**
+   * Reserva as chaves dos itens, processa apenas os itens não duplicados e memoriza as chaves dos itens aplicados.
+   *
+   * @param onResult Recebe o resultado do lote inteiro, junto com a conclusão das chaves dos itens; {@code null} se
+   *                 não houver chave do lote.
+   */
+  private TransactionBatchResult performWithItemKeys(List<TransactionRequest> transactions, BatchAtomicity atomicity,
+                                                     Consumer<TransactionBatchResult> onResult) {
+    if (transactions.stream().noneMatch(IdempotentTransactionService::hasItemKey)) {
+      return onResult == null
+        ? accountServicePort.performTransactions(transactions, atomicity)
+        : execute(transactions, atomicity, onResult);
+    }
+
+    int size = transactions.size();
+    TransactionBatchResult.ItemResult[] results = new TransactionBatchResult.ItemResult[size];
+    String[] reservedKeys = new String[size];
+    long[] fingerprints = new long[size];
+    List<TransactionRequest> pending = new ArrayList<>(size);
+    List<Integer> pendingIndexes = new ArrayList<>(size);
+
+    Consumer<TransactionBatchResult> completeItems = partial -> {
+      for (int j = 0; j < partial.items().size(); j++) {
+        TransactionBatchResult.ItemResult item = partial.items().get(j);
+        int index = pendingIndexes.get(j);
+        results[index] = new TransactionBatchResult.ItemResult(index, item.accountNumber(), item.outcome(),
+          item.message());
+      }
+      for (int i = 0; i < size; i++) {
+        if (reservedKeys[i] == null) {
+          continue;
+        }
+        if (results[i].outcome() == TransactionBatchResult.Outcome.APPLIED) {
+          idempotencyStorePort.complete(reservedKeys[i], IdempotencyRecord.applied(fingerprints[i]));
+        } else {
+          idempotencyStorePort.release(reservedKeys[i]);
+        }
+      }
+      if (onResult != null) {
+        onResult.accept(TransactionBatchResult.of(atomicity.mode(), Arrays.asList(results)));
+      }
+    };
+
+    try {
+      for (int i = 0; i < size; i++) {
+        TransactionRequest transaction = transactions.get(i);
+        if (!hasItemKey(transaction)) {
+          pending.add(transaction);
+          pendingIndexes.add(i);
+          continue;
+        }
+        String key = ITEM_PREFIX + transaction.idempotencyKey();
+        long fingerprint = fingerprint(List.of(transaction), null);
+        Optional<IdempotencyRecord> existing = idempotencyStorePort.reserve(key, fingerprint);
+        if (existing.isEmpty()) {
+          reservedKeys[i] = key;
+          fingerprints[i] = fingerprint;
+          pending.add(transaction);
+          pendingIndexes.add(i);
+        } else {
+          results[i] = resolveExistingItem(i, transaction, existing.get(), fingerprint, atomicity);
+        }
+      }
+
+      if (pending.isEmpty()) {
+        completeItems.accept(TransactionBatchResult.of(atomicity.mode(), List.of()));
+      } else {
+        execute(pending, atomicity, completeItems);
+      }
+    } catch (RuntimeException e) {
+      Arrays.stream(reservedKeys).filter(Objects::nonNull).forEach(idempotencyStorePort::release);
+      throw e;
+    }
+    return TransactionBatchResult.of(atomicity.mode(), Arrays.asList(results));
+  }
+
+  /**
+   * Aplica os lançamentos e entrega o resultado a {@code onResult}: na transação dos lançamentos, se o armazenamento
+   * das chaves for transacional, ou logo após o lote.
+   */
+  private TransactionBatchResult execute(List<TransactionRequest> transactions, BatchAtomicity atomicity,
+                                         Consumer<TransactionBatchResult> onResult) {
+    if (idempotencyStorePort.isTransactional()) {
+      return accountServicePort.performTransactions(transactions, atomicity, onResult);
+    }
+    TransactionBatchResult result = accountServicePort.performTransactions(transactions, atomicity);
+    onResult.accept(result);
+    return result;
+  }
+
+  /**
+   * Item cuja chave já existe: duplicado se já aplicado com o mesmo conteúdo; caso contrário, um conflito. Na
+   * atomicidade {@link BatchAtomicity.Mode#ALL_OR_NOTHING} o conflito interrompe o lote inteiro; nas demais, apenas
+   * o item é informado com erro.
+   */
+  private TransactionBatchResult.ItemResult resolveExistingItem(int index, TransactionRequest transaction,
+                                                                IdempotencyRecord record, long fingerprint,
+                                                                BatchAtomicity atomicity) {
+    String message;
+    RuntimeException conflict;
+    if (record.fingerprint() != fingerprint) {
+      message = "Chave de idempotência já utilizada com outro lançamento: " + transaction.idempotencyKey();
+      conflict = new IdempotencyKeyMismatchException(message);
+    } else if (!record.completed()) {
+      message = "Lançamento com a mesma chave de idempotência ainda em processamento: " + transaction.idempotencyKey();
+      conflict = new IdempotencyKeyInProgressException(message);
+    } else {
+      logger.debug("Lançamento com chave de idempotência {} já aplicado. Ignorando.", transaction.idempotencyKey());
+      return TransactionBatchResult.ItemResult.duplicate(index, transaction.accountNumber());
+    }
+    if (atomicity.mode() == BatchAtomicity.Mode.ALL_OR_NOTHING) {
+      throw conflict;
+    }
+    return TransactionBatchResult.ItemResult.failed(index, transaction.accountNumber(), message);
+  }
+
+  private static boolean hasItemKey(TransactionRequest transaction) {
+    return transaction.idempotencyKey() != null && !transaction.idempotencyKey().isBlank();
+  }
+
+  /**
+   * Impressão digital (FNV-1a de 64 bits) do conteúdo dos lançamentos e da atomicidade. O tamanho do bloco só é
+   * considerado na atomicidade {@link BatchAtomicity.Mode#CHUNKED}, a única em que altera o resultado.
+   */
+  static long fingerprint(List<TransactionRequest> transactions, BatchAtomicity atomicity) {
+    long hash = FNV_OFFSET_BASIS;
+    if (atomicity != null) {
+      hash = mix(hash, atomicity.mode().ordinal());
+      if (atomicity.mode() == BatchAtomicity.Mode.CHUNKED) {
+        hash = mix(hash, atomicity.chunkSize());
+      }
+    }
+    for (TransactionRequest transaction : transactions) {
+      hash = mix(hash, transaction.accountNumber());
+      hash = mix(hash, transaction.amount() != null ? transaction.amount().minorUnits() : -1L);
+      hash = mix(hash, transaction.type() != null ? transaction.type().ordinal() : -1L);
+      hash = mix(hash, transaction.idempotencyKey());
+    }
+    return hash;
+  }
+
+  private static long mix(long hash, long value) {
+    for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+      hash = (hash ^ ((value >>> shift) & 0xff)) * FNV_PRIME;
+    }
+    return hash;
+  }
+
+  private static long mix(long hash, String value) {
+    if (value == null) {
+      return mix(hash, -1L);
+    }
+    hash = mix(hash, value.length());
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      hash = (hash ^ (c & 0xff)) * FNV_PRIME;
+      hash = (hash ^ (c >>> 8)) * FNV_PRIME;
+    }
+    return hash;
+  }
+
+}
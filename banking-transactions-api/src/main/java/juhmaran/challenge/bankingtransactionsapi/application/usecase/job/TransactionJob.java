@@ -0,0 +1,163 @@
+package juhmaran.challenge.bankingtransactionsapi.application.usecase.job;
+
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.request.TransactionRequest;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lote de lançamentos enviado para processamento assíncrono. <br>
+ * Escrito apenas pela thread que processa o lote e lido a qualquer momento pelas consultas de situação, que recebem
+ * um {@link Snapshot} consistente o suficiente para acompanhar o progresso.
+ *
+ * @author Juliane Maran
+ */
+public class TransactionJob {
+
+  public enum Status {
+    QUEUED,
+    RUNNING,
+    /**
+     * Todos os lançamentos foram aplicados.
+     */
+    COMPLETED,
+    /**
+     * Um bloco falhou; os blocos anteriores permanecem aplicados e os seguintes não foram processados.
+     */
+    FAILED
+  }
+
+  public enum ItemOutcome {
+    PENDING,
+    APPLIED,
+    /**
+     * O lançamento falhou, e o seu bloco foi desfeito por inteiro.
+     */
+    REJECTED,
+    /**
+     * Desfeito com o restante do bloco, porque outro lançamento do bloco falhou ou por um erro de infraestrutura.
+     */
+    ROLLED_BACK,
+    /**
+     * Não processado porque um bloco anterior falhou.
+     */
+    SKIPPED
+  }
+
+  public record ItemResult(int index, String accountNumber, ItemOutcome outcome, String message) {
+  }
+
+  public record Snapshot(String id, Status status, int total, int applied, int rejected, int rolledBack, int skipped,
+                         int pending, Instant submittedAt, Instant startedAt, Instant finishedAt, String message,
+                         List<ItemResult> items) {
+  }
+
+  private final String id;
+  private final Instant submittedAt;
+  private final List<TransactionRequest> transactions;
+  private final AtomicReferenceArray<ItemResult> results;
+  private final AtomicInteger applied = new AtomicInteger();
+  private final AtomicInteger rejected = new AtomicInteger();
+  private final AtomicInteger rolledBack = new AtomicInteger();
+  private final AtomicInteger skipped = new AtomicInteger();
+  private volatile Status status = Status.QUEUED;
+  private volatile Instant startedAt;
+  private volatile Instant finishedAt;
+  private volatile String message;
+
+  TransactionJob(String id, List<TransactionRequest> transactions, Instant submittedAt) {
+    this.id = id;
+    this.transactions = transactions;
+    this.submittedAt = submittedAt;
+    this.results = new AtomicReferenceArray<>(transactions.size());
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public Status getStatus() {
+    return status;
+  }
+
+  List<TransactionRequest> transactions() {
+    return transactions;
+  }
+
+  Instant finishedAt() {
+    return finishedAt;
+  }
+
+  void start(Instant now) {
+    startedAt = now;
+    status = Status.RUNNING;
+  }
+
+  void markApplied(int fromIndex, int toIndex) {
+    for (int i = fromIndex; i < toIndex; i++) {
+      results.set(i, result(i, ItemOutcome.APPLIED, null));
+    }
+    applied.addAndGet(toIndex - fromIndex);
+  }
+
+  void markRejected(int index, String reason) {
+    results.set(index, result(index, ItemOutcome.REJECTED, reason));
+    rejected.incrementAndGet();
+  }
+
+  /**
+   * Marca como desfeitos os lançamentos do bloco que ainda não têm resultado.
+   */
+  void markRolledBack(int fromIndex, int toIndex, String reason) {
+    for (int i = fromIndex; i < toIndex; i++) {
+      if (results.get(i) == null) {
+        results.set(i, result(i, ItemOutcome.ROLLED_BACK, reason));
+        rolledBack.incrementAndGet();
+      }
+    }
+  }
+
+  void markSkipped(int fromIndex) {
+    for (int i = fromIndex; i < transactions.size(); i++) {
+      results.set(i, result(i, ItemOutcome.SKIPPED, null));
+    }
+    skipped.addAndGet(transactions.size() - fromIndex);
+  }
+
+  void finish(Status finalStatus, String reason, Instant now) {
+    message = reason;
+    finishedAt = now;
+    status = finalStatus;
+  }
+
+  /**
+   * @param includeItems Inclui o resultado de cada lançamento, na ordem de envio.
+   */
+  public Snapshot snapshot(boolean includeItems) {
+    Status currentStatus = status;
+    int appliedCount = applied.get();
+    int rejectedCount = rejected.get();
+    int rolledBackCount = rolledBack.get();
+    int skippedCount = skipped.get();
+    List<ItemResult> items = null;
+    if (includeItems) {
+      items = new ArrayList<>(transactions.size());
+      for (int i = 0; i < transactions.size(); i++) {
+        ItemResult item = results.get(i);
+        items.add(item != null ? item : result(i, ItemOutcome.PENDING, null));
+      }
+    }
+    int total = transactions.size();
+    return new Snapshot(id, currentStatus, total, appliedCount, rejectedCount, rolledBackCount, skippedCount,
+      total - appliedCount - rejectedCount - rolledBackCount - skippedCount, submittedAt, startedAt, finishedAt,
+      message, items);
+  }
+
+  private ItemResult result(int index, ItemOutcome outcome, String reason) {
+    return new ItemResult(index, transactions.get(index).accountNumber(), outcome, reason);
+  }
+
+}
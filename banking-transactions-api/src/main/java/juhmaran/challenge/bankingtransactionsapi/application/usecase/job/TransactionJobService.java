@@ -0,0 +1,208 @@
+package juhmaran.challenge.bankingtransactionsapi.application.usecase.job;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import juhmaran.challenge.bankingtransactionsapi.application.port.in.AccountServicePort;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.JobQueueFullException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.TransactionProcessingException;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.TransactionJobProperties;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.request.TransactionRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Processa lotes de lançamentos de forma assíncrona. <br>
+ * Os lotes enviados entram em uma fila limitada ({@link TransactionJobProperties#queueCapacity()}) consumida por um
+ * pool fixo de threads; com a fila cheia, o envio é rejeitado com {@link JobQueueFullException}. Lotes acima de
+ * {@link TransactionJobProperties#maxItems()} lançamentos são rejeitados no envio, de modo que a fila retém no máximo
+ * {@code queueCapacity * maxItems} lançamentos. Cada lote é
+ * processado em blocos de {@link TransactionJobProperties#chunkSize()} lançamentos pela {@link AccountServicePort},
+ * cada bloco como um lote independente. No primeiro bloco com erro o processamento é interrompido: o lançamento que
+ * falhou é marcado como {@link TransactionJob.ItemOutcome#REJECTED REJECTED}, com o motivo, e os demais lançamentos
+ * do bloco como {@link TransactionJob.ItemOutcome#ROLLED_BACK ROLLED_BACK}. Sem um lançamento identificado (erro de
+ * infraestrutura), todo o bloco é marcado como desfeito.
+ * <p>
+ * Os lotes finalizados ficam disponíveis para consulta por {@link TransactionJobProperties#retention()}, limitados a
+ * {@link TransactionJobProperties#maxRetainedJobs()}.
+ * </p>
+ *
+ * @author Juliane Maran
+ */
+@Service
+public class TransactionJobService {
+
+  private static final Logger logger = LoggerFactory.getLogger(TransactionJobService.class);
+
+  private final AccountServicePort accountServicePort;
+  private final TransactionJobProperties properties;
+  private final ThreadPoolExecutor executor;
+  private final Map<String, TransactionJob> jobs = new ConcurrentHashMap<>();
+  private final Deque<TransactionJob> finishedJobs = new ArrayDeque<>();
+  private final Counter rejectedCounter;
+
+  /**
+   * @param virtualThreads Com {@code spring.threads.virtual.enabled=true}, os lotes são processados em threads
+   *                       virtuais. A quantidade de lotes simultâneos continua limitada por
+   *                       {@link TransactionJobProperties#threads()}.
+   */
+  public TransactionJobService(AccountServicePort accountServicePort, TransactionJobProperties properties,
+                               MeterRegistry meterRegistry,
+                               @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+    if (properties.threads() <= 0 || properties.queueCapacity() <= 0 || properties.chunkSize() <= 0
+      || properties.maxItems() <= 0) {
+      throw new IllegalArgumentException(
+        "Threads, capacidade da fila, tamanho do bloco e lançamentos por lote devem ser positivos.");
+    }
+    this.accountServicePort = accountServicePort;
+    this.properties = properties;
+    AtomicInteger threadCount = new AtomicInteger();
+    ThreadFactory threadFactory = virtualThreads
+      ? Thread.ofVirtual().name("transaction-job-", 1).factory()
+      : runnable -> {
+      Thread thread = new Thread(runnable, "transaction-job-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+    this.executor = new ThreadPoolExecutor(properties.threads(), properties.threads(), 0L, TimeUnit.MILLISECONDS,
+      new ArrayBlockingQueue<>(properties.queueCapacity()), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+
+    Gauge.builder("banking.transactions.jobs.queued", executor, pool -> pool.getQueue().size())
+      .description("Lotes assíncronos aguardando processamento")
+      .register(meterRegistry);
+    Gauge.builder("banking.transactions.jobs.running", executor, ThreadPoolExecutor::getActiveCount)
+      .description("Lotes assíncronos em processamento")
+      .register(meterRegistry);
+    this.rejectedCounter = Counter.builder("banking.transactions.jobs.rejected")
+      .description("Lotes assíncronos rejeitados por fila cheia")
+      .register(meterRegistry);
+  }
+
+  /**
+   * Enfileira o lote e retorna imediatamente.
+   *
+   * @throws IllegalArgumentException Se o lote tiver mais de {@link TransactionJobProperties#maxItems()} lançamentos.
+   * @throws JobQueueFullException    Se a fila de lotes estiver cheia.
+   */
+  public TransactionJob submit(List<TransactionRequest> transactions) {
+    Objects.requireNonNull(transactions, "Lista de transações não pode ser nula.");
+    if (transactions.size() > properties.maxItems()) {
+      throw new IllegalArgumentException("No máximo " + properties.maxItems() + " lançamentos por lote assíncrono.");
+    }
+    evictExpiredJobs();
+
+    TransactionJob job = new TransactionJob(UUID.randomUUID().toString(), List.copyOf(transactions), Instant.now());
+    jobs.put(job.getId(), job);
+    try {
+      executor.execute(() -> run(job));
+    } catch (RejectedExecutionException e) {
+      jobs.remove(job.getId());
+      rejectedCounter.increment();
+      logger.warn("Fila de lotes assíncronos cheia. Lote com {} transações rejeitado.", transactions.size());
+      throw new JobQueueFullException(
+        "Fila de lotes assíncronos cheia (capacidade: " + properties.queueCapacity() + "). Tente novamente mais tarde.");
+    }
+    logger.info("Lote assíncrono {} enfileirado com {} transações.", job.getId(), transactions.size());
+    return job;
+  }
+
+  public Optional<TransactionJob> find(String jobId) {
+    return Optional.ofNullable(jobs.get(jobId));
+  }
+
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    executor.shutdown();
+    if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+      logger.warn("Lotes assíncronos não finalizaram a tempo; {} lotes na fila serão descartados.",
+        executor.getQueue().size());
+      executor.shutdownNow();
+    }
+  }
+
+  private void run(TransactionJob job) {
+    job.start(Instant.now());
+    List<TransactionRequest> transactions = job.transactions();
+    logger.info("Processando lote assíncrono {} com {} transações.", job.getId(), transactions.size());
+
+    for (int from = 0; from < transactions.size(); from += properties.chunkSize()) {
+      int to = Math.min(from + properties.chunkSize(), transactions.size());
+      List<TransactionRequest> chunk = transactions.subList(from, to);
+      try {
+        accountServicePort.performTransactions(chunk);
+        job.markApplied(from, to);
+      } catch (RuntimeException e) {
+        int failed = failedItemIndex(e, chunk);
+        if (failed < 0) {
+          logger.warn("Lote assíncrono {} interrompido no bloco do item {}: {}", job.getId(), from, e.getMessage());
+          job.markRolledBack(from, to, e.getMessage());
+        } else {
+          logger.warn("Lote assíncrono {} interrompido no item {}: {}", job.getId(), from + failed, e.getMessage());
+          job.markRejected(from + failed, e.getMessage());
+          job.markRolledBack(from, to, null);
+        }
+        job.markSkipped(to);
+        finish(job, TransactionJob.Status.FAILED, e.getMessage());
+        return;
+      }
+    }
+    finish(job, TransactionJob.Status.COMPLETED, null);
+    logger.info("Lote assíncrono {} concluído.", job.getId());
+  }
+
+  /**
+   * Posição no bloco do lançamento que causou a falha, ou {@code -1} se a falha não for de um item identificado
+   * (erro de infraestrutura, por exemplo).
+   */
+  private static int failedItemIndex(RuntimeException failure, List<TransactionRequest> chunk) {
+    if (!(failure instanceof TransactionProcessingException processing) || !processing.isItemFailure()) {
+      return -1;
+    }
+    TransactionRequest item = processing.getFailedItem().orElse(null);
+    for (int i = 0; item != null && i < chunk.size(); i++) {
+      if (chunk.get(i) == item) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private void finish(TransactionJob job, TransactionJob.Status status, String reason) {
+    job.finish(status, reason, Instant.now());
+    synchronized (finishedJobs) {
+      finishedJobs.addLast(job);
+    }
+    evictExpiredJobs();
+  }
+
+  private void evictExpiredJobs() {
+    Instant expiredBefore = Instant.now().minus(properties.retention());
+    synchronized (finishedJobs) {
+      while (!finishedJobs.isEmpty()
+        && (finishedJobs.size() > properties.maxRetainedJobs()
+        || finishedJobs.peekFirst().finishedAt().isBefore(expiredBefore))) {
+        jobs.remove(finishedJobs.removeFirst().getId());
+      }
+    }
+  }
+
+}
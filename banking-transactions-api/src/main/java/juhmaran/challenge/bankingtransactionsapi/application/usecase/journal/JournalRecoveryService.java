@@ -0,0 +1,118 @@
+package juhmaran.challenge.bankingtransactionsapi.application.usecase.journal;
+
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.AccountRepositoryPort;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.JournalEntry;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.TransactionJournalPort;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.split.SplitBalanceManager;
+import juhmaran.challenge.bankingtransactionsapi.domain.entity.Account;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.LedgerProperties;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reconcilia os saldos reconstruídos pelo journal de transações com os do banco de dados. <br>
+ * Contas do journal ausentes no banco (como após o reinício de um banco em memória) são recriadas com o saldo do
+ * journal. Para as contas presentes nos dois com saldos diferentes, a fonte de verdade depende do motor
+ * ({@link LedgerProperties#engine()}):
+ * <ul>
+ *   <li>{@code jpa}: o banco. O journal é gravado antes do commit e pode conter um lote cuja transação não foi
+ *   confirmada (queda entre a gravação e o commit, ou commit com resultado desconhecido). O saldo do banco é mantido,
+ *   e o journal é realinhado a ele com um registro de abertura ({@link JournalEntry.Type#OPEN}) por conta.</li>
+ *   <li>{@code sharded}: o journal. O ledger em memória grava no journal antes de publicar os saldos e só os persiste
+ *   no banco depois, de forma assíncrona; o banco pode estar atrasado e recebe o saldo do journal.</li>
+ * </ul>
+ * <p>
+ * O journal registra o saldo total de cada conta. Os slots das contas com saldo dividido ({@link SplitBalanceManager})
+ * são somados de volta à linha da conta antes da reconciliação, para que o total seja comparado (e, se for o caso,
+ * substituído) uma única vez; o rebalanceamento seguinte volta a dividir essas contas.
+ * </p>
+ *
+ * @author Juliane Maran
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "banking.journal", name = "enabled", havingValue = "true")
+public class JournalRecoveryService {
+
+  private static final Logger logger = LoggerFactory.getLogger(JournalRecoveryService.class);
+
+  private static final String SHARDED_ENGINE = "sharded";
+
+  private final TransactionJournalPort transactionJournalPort;
+  private final AccountRepositoryPort accountRepositoryPort;
+  private final LedgerProperties ledgerProperties;
+  private final SplitBalanceManager splitBalanceManager;
+  private final TransactionOperations transactionOperations;
+
+  /**
+   * Executa em uma transação do {@link TransactionOperations} usado pelos lotes: com as contas particionadas entre
+   * shards, a leitura com bloqueio e a gravação dos saldos ocorrem na transação dos shards.
+   *
+   * @return A quantidade de contas recriadas ou atualizadas no banco de dados.
+   */
+  public int restoreBalances() {
+    Integer restored = transactionOperations.execute(status -> reconcile());
+    return restored != null ? restored : 0;
+  }
+
+  private int reconcile() {
+    Map<String, Money> balances = transactionJournalPort.balances();
+    if (balances.isEmpty()) {
+      logger.info("Journal de transações sem saldos a restaurar.");
+      return 0;
+    }
+
+    int merged = splitBalanceManager.mergeSlots(balances.keySet());
+    if (merged > 0) {
+      logger.info("Slots de {} contas com saldo dividido somados de volta à conta para a reconciliação.", merged);
+    }
+    boolean journalLeads = SHARDED_ENGINE.equals(ledgerProperties.engine());
+    Map<String, Account> existing = accountRepositoryPort.findAllByAccountNumberWithLock(balances.keySet()).stream()
+      .collect(Collectors.toMap(Account::getAccountNumber, Function.identity()));
+    List<Account> accounts = new ArrayList<>();
+    List<JournalEntry> realigned = new ArrayList<>();
+    int divergent = 0;
+    for (Map.Entry<String, Money> entry : balances.entrySet()) {
+      String accountNumber = entry.getKey();
+      Money balance = entry.getValue();
+      Account account = existing.get(accountNumber);
+      if (account == null) {
+        accounts.add(new Account(null, accountNumber, balance));
+      } else if (!account.getBalance().equals(balance)) {
+        divergent++;
+        logger.debug("Saldo da conta {} diverge entre o journal ({}) e o banco de dados ({}).",
+          accountNumber, balance, account.getBalance());
+        if (journalLeads) {
+          account.setBalance(balance);
+          accounts.add(account);
+        } else {
+          realigned.add(new JournalEntry(JournalEntry.Type.OPEN, accountNumber, account.getBalance()));
+        }
+      }
+    }
+    if (!accounts.isEmpty()) {
+      accountRepositoryPort.saveAll(accounts);
+    }
+    JournalWriteAhead.appendBeforeCommit(transactionJournalPort, realigned);
+
+    if (divergent > 0) {
+      logger.warn("{} contas com saldo divergente entre o journal e o banco de dados; mantido o saldo {}.",
+        divergent, journalLeads ? "do journal" : "do banco de dados");
+    }
+    logger.info("Journal reconciliado com o banco de dados: {} contas, {} recriadas, {} divergentes.",
+      balances.size(), balances.size() - existing.size(), divergent);
+    return accounts.size();
+  }
+
+}
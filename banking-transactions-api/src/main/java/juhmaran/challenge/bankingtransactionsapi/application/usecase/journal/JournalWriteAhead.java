@@ -0,0 +1,93 @@
+package juhmaran.challenge.bankingtransactionsapi.application.usecase.journal;
+
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.JournalEntry;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.TransactionJournalPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Grava os lançamentos de uma transação de banco no {@link TransactionJournalPort journal} antes do commit
+ * (write-ahead). <br>
+ * O registro é gravado no {@code beforeCommit} da transação corrente, e o commit só acontece depois que ele está
+ * durável; uma falha na gravação desfaz a transação. Se a transação for desfeita depois da gravação (por exemplo, um
+ * conflito no {@code flush} do commit), os estornos dos lançamentos são gravados em seguida. Quando o resultado do
+ * commit é desconhecido, a divergência é resolvida pelo {@link JournalRecoveryService} na próxima inicialização.
+ *
+ * @author Juliane Maran
+ */
+public final class JournalWriteAhead {
+
+  private static final Logger logger = LoggerFactory.getLogger(JournalWriteAhead.class);
+
+  private JournalWriteAhead() {
+  }
+
+  /**
+   * Agenda a gravação dos lançamentos para o commit da transação corrente. Sem sincronização de transação ativa
+   * (execução sem transação), grava imediatamente.
+   */
+  public static void appendBeforeCommit(TransactionJournalPort journal, List<JournalEntry> entries) {
+    if (entries.isEmpty()) {
+      return;
+    }
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      journal.append(entries);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new WriteAheadSynchronization(journal,
+      List.copyOf(entries)));
+  }
+
+  /**
+   * Grava os estornos de lançamentos já gravados cujo lote foi desfeito, na ordem inversa.
+   */
+  public static void appendReversal(TransactionJournalPort journal, List<JournalEntry> entries) {
+    List<JournalEntry> reversal = new ArrayList<>(entries.size());
+    for (int i = entries.size() - 1; i >= 0; i--) {
+      reversal.add(entries.get(i).reversal());
+    }
+    try {
+      journal.append(reversal);
+    } catch (RuntimeException e) {
+      logger.error("Falha ao gravar o estorno de {} lançamentos no journal; a recuperação usará o banco de dados.",
+        entries.size(), e);
+    }
+  }
+
+  private static final class WriteAheadSynchronization implements TransactionSynchronization {
+
+    private final TransactionJournalPort journal;
+    private final List<JournalEntry> entries;
+    private boolean appended;
+
+    private WriteAheadSynchronization(TransactionJournalPort journal, List<JournalEntry> entries) {
+      this.journal = journal;
+      this.entries = entries;
+    }
+
+    @Override
+    public void beforeCommit(boolean readOnly) {
+      journal.append(entries);
+      appended = true;
+    }
+
+    @Override
+    public void afterCompletion(int status) {
+      if (!appended) {
+        return;
+      }
+      if (status == STATUS_ROLLED_BACK) {
+        appendReversal(journal, entries);
+      } else if (status == STATUS_UNKNOWN) {
+        logger.warn("Resultado do commit desconhecido para {} lançamentos já gravados no journal.", entries.size());
+      }
+    }
+
+  }
+
+}
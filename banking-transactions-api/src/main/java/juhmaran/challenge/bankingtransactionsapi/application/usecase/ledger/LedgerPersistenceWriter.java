@@ -0,0 +1,50 @@
+package juhmaran.challenge.bankingtransactionsapi.application.usecase.ledger;
+
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.AccountRepositoryPort;
+import juhmaran.challenge.bankingtransactionsapi.domain.entity.Account;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grava no banco de dados os saldos mantidos em memória pelo {@link ShardedLedgerService}.
+ * É o destino assíncrono de persistência do ledger: cada chamada grava um conjunto de saldos em uma única transação
+ * do {@link TransactionOperations} usado pelos lotes, que abrange os shards quando as contas são particionadas.
+ *
+ * @author Juliane Maran
+ */
+@Component
+@RequiredArgsConstructor
+public class LedgerPersistenceWriter {
+
+  private static final Logger logger = LoggerFactory.getLogger(LedgerPersistenceWriter.class);
+
+  private final AccountRepositoryPort accountRepositoryPort;
+  private final TransactionOperations transactionOperations;
+
+  public void persist(Map<String, Money> balances) {
+    if (balances.isEmpty()) {
+      return;
+    }
+    transactionOperations.executeWithoutResult(status -> write(balances));
+  }
+
+  private void write(Map<String, Money> balances) {
+    logger.debug("Gravando {} saldos do ledger em memória.", balances.size());
+    List<Account> accounts = accountRepositoryPort.findAllByAccountNumberWithLock(balances.keySet());
+    for (Account account : accounts) {
+      account.setBalance(balances.get(account.getAccountNumber()));
+    }
+    if (accounts.size() < balances.size()) {
+      logger.warn("{} contas não encontradas ao gravar saldos do ledger.", balances.size() - accounts.size());
+    }
+    accountRepositoryPort.saveAll(accounts);
+  }
+
+}
@@ -0,0 +1,252 @@
+package juhmaran.challenge.bankingtransactionsapi.application.usecase.ledger;
+
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.AccountRepositoryPort;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.JournalEntry;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.TransactionJournalPort;
+import juhmaran.challenge.bankingtransactionsapi.domain.entity.Account;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.AccountNotFoundException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.InsufficientFundsException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.InvalidTransactionTypeException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.TransactionProcessingException;
+import juhmaran.challenge.bankingtransactionsapi.domain.service.AccountOperationService;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.request.TransactionRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Partição do ledger em memória com um único escritor. <br>
+ * Todo o estado ({@link #accounts}, {@link #reserved} e {@link #dirty}) é acessado exclusivamente pela thread do
+ * shard, por isso débitos e créditos são aplicados sem nenhum lock. As demais threads apenas enfileiram tarefas.
+ * Cada sub-lote é gravado no {@link TransactionJournalPort journal} antes de os novos saldos serem publicados.
+ * <p>
+ * Os sub-lotes de um lote que envolve vários shards passam por duas fases: {@link #prepare} valida e reserva os
+ * débitos em cada shard, e só então o lote é publicado ({@link #commit}) ou descartado ({@link #abort}) em todos.
+ * </p>
+ *
+ * @author Juliane Maran
+ */
+class LedgerShard {
+
+  private static final Logger logger = LoggerFactory.getLogger(LedgerShard.class);
+
+  private final int index;
+  private final ExecutorService executor;
+  private final AccountRepositoryPort accountRepositoryPort;
+  private final AccountOperationService accountOperationService;
+  private final TransactionJournalPort transactionJournalPort;
+
+  private final Map<String, Account> accounts = new HashMap<>();
+  private final Map<String, Money> reserved = new HashMap<>();
+  private Map<String, Money> dirty = new HashMap<>();
+
+  LedgerShard(int index, AccountRepositoryPort accountRepositoryPort, AccountOperationService accountOperationService,
+              TransactionJournalPort transactionJournalPort) {
+    this.index = index;
+    this.accountRepositoryPort = accountRepositoryPort;
+    this.accountOperationService = accountOperationService;
+    this.transactionJournalPort = transactionJournalPort;
+    this.executor = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "ledger-shard-" + index);
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Aplica, em ordem, as transações do lote que pertencem a este shard.
+   * O sub-lote é atômico dentro do shard: se qualquer item falhar, ou a gravação no journal falhar, nenhum saldo do
+   * shard é alterado.
+   */
+  CompletableFuture<Void> apply(List<TransactionRequest> transactions) {
+    return CompletableFuture.runAsync(() -> {
+      Staged staged = stage(transactions);
+      try {
+        transactionJournalPort.append(transactions.stream().map(JournalEntry::of).toList());
+      } catch (RuntimeException e) {
+        logger.error("Erro ao gravar no journal o sub-lote do shard {}: {}", index, e.getMessage(), e);
+        throw new TransactionProcessingException("Ocorreu um erro interno ao registrar as transações no journal.", e);
+      }
+      publish(staged);
+    }, executor);
+  }
+
+  /**
+   * Primeira fase de um lote que envolve outros shards: valida as transações do shard sobre cópias das contas e
+   * reserva os débitos, sem publicar nenhum saldo. Enquanto a reserva existir, os demais lotes do shard só podem
+   * debitar o saldo não reservado. O resultado deve ser entregue depois a {@link #commit} ou a {@link #abort}.
+   */
+  CompletableFuture<Staged> prepare(List<TransactionRequest> transactions) {
+    return CompletableFuture.supplyAsync(() -> {
+      Staged staged = stage(transactions);
+      staged.reservations().forEach((accountNumber, amount) -> reserved.merge(accountNumber, amount, Money::plus));
+      return staged;
+    }, executor);
+  }
+
+  /**
+   * Libera as reservas de {@link #prepare} e publica as alterações do shard.
+   */
+  CompletableFuture<Void> commit(Staged staged) {
+    return CompletableFuture.runAsync(() -> {
+      release(staged);
+      publish(staged);
+    }, executor);
+  }
+
+  /**
+   * Libera as reservas de {@link #prepare} sem alterar nenhum saldo.
+   */
+  CompletableFuture<Void> abort(Staged staged) {
+    return CompletableFuture.runAsync(() -> release(staged), executor);
+  }
+
+  CompletableFuture<Account> read(String accountNumber) {
+    return CompletableFuture.supplyAsync(() -> {
+      Account account = loadAccount(accountNumber);
+      return new Account(account.getId(), account.getAccountNumber(), account.getBalance());
+    }, executor);
+  }
+
+  /**
+   * Entrega os saldos alterados desde a última chamada e reinicia o conjunto de alterações pendentes.
+   */
+  CompletableFuture<Map<String, Money>> drainDirty() {
+    return CompletableFuture.supplyAsync(() -> {
+      Map<String, Money> drained = dirty;
+      dirty = new HashMap<>();
+      return drained;
+    }, executor);
+  }
+
+  /**
+   * Devolve saldos cuja gravação falhou, sem sobrescrever alterações mais recentes do shard.
+   */
+  void restoreDirty(Map<String, Money> balances) {
+    executor.execute(() -> balances.forEach(dirty::putIfAbsent));
+  }
+
+  void shutdown() throws InterruptedException {
+    executor.shutdown();
+    if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+      logger.warn("Shard {} não finalizou as tarefas pendentes a tempo.", index);
+      executor.shutdownNow();
+    }
+  }
+
+  private Staged stage(List<TransactionRequest> transactions) {
+    Map<String, Staging> working = new LinkedHashMap<>();
+    for (TransactionRequest transaction : transactions) {
+      String accountNumber = transaction.accountNumber();
+      try {
+        Staging staging = working.computeIfAbsent(accountNumber, number -> {
+          Account current = loadAccount(number);
+          return new Staging(new Account(current.getId(), current.getAccountNumber(), available(current)));
+        });
+        if (transaction.type() == null) {
+          throw new InvalidTransactionTypeException("Tipo de transação não especificado para conta: " + accountNumber);
+        }
+        switch (transaction.type()) {
+          case DEBIT -> accountOperationService.applyDebit(staging.account, transaction.amount());
+          case CREDIT -> accountOperationService.applyCredit(staging.account, transaction.amount());
+        }
+        staging.track();
+      } catch (AccountNotFoundException | InsufficientFundsException | InvalidTransactionTypeException e) {
+        logger.error("Erro de domínio no shard {} ao processar transação para conta {}: {}",
+          index, accountNumber, e.getMessage());
+        throw new TransactionProcessingException(
+          "Erro ao processar transação para conta " + accountNumber + ": " + e.getMessage(), e, transaction
+        );
+      } catch (Exception e) {
+        logger.error("Erro inesperado no shard {} ao processar transação para conta {}: {}",
+          index, accountNumber, e.getMessage(), e);
+        throw new TransactionProcessingException(
+          "Ocorreu um erro interno ao processar a transação para a conta " + accountNumber, e
+        );
+      }
+    }
+
+    Map<String, Money> deltas = new LinkedHashMap<>();
+    Map<String, Money> reservations = new LinkedHashMap<>();
+    working.forEach((accountNumber, staging) -> {
+      deltas.put(accountNumber, staging.account.getBalance().minus(staging.start));
+      reservations.put(accountNumber, staging.start.minus(staging.lowest));
+    });
+    return new Staged(deltas, reservations);
+  }
+
+  private void publish(Staged staged) {
+    staged.deltas().forEach((accountNumber, delta) -> {
+      Account account = accounts.get(accountNumber);
+      account.setBalance(account.getBalance().plus(delta));
+      dirty.put(accountNumber, account.getBalance());
+    });
+  }
+
+  private void release(Staged staged) {
+    staged.reservations().forEach((accountNumber, amount) ->
+      reserved.computeIfPresent(accountNumber, (number, current) -> {
+        Money remaining = current.minus(amount);
+        return remaining.isPositive() ? remaining : null;
+      }));
+  }
+
+  private Money available(Account account) {
+    Money reservation = reserved.get(account.getAccountNumber());
+    return reservation == null ? account.getBalance() : account.getBalance().minus(reservation);
+  }
+
+  private Account loadAccount(String accountNumber) {
+    Account account = accounts.get(accountNumber);
+    if (account != null) {
+      return account;
+    }
+    logger.debug("Carregando conta {} do banco de dados para o shard {}", accountNumber, index);
+    account = accountRepositoryPort.findByAccountNumber(accountNumber)
+      .orElseThrow(() -> new AccountNotFoundException("Conta não encontrada: " + accountNumber));
+    Account owned = new Account(account.getId(), account.getAccountNumber(), account.getBalance());
+    accounts.put(accountNumber, owned);
+    return owned;
+  }
+
+  /**
+   * Alterações validadas de um sub-lote: a variação de saldo de cada conta e o quanto do saldo disponível o sub-lote
+   * consome no seu ponto mais baixo, que é reservado entre {@link #prepare} e {@link #commit}.
+   */
+  record Staged(Map<String, Money> deltas, Map<String, Money> reservations) {
+
+  }
+
+  /**
+   * Cópia de trabalho de uma conta, com o saldo disponível inicial e o menor saldo atingido pelo sub-lote.
+   */
+  private static final class Staging {
+
+    private final Account account;
+    private final Money start;
+    private Money lowest;
+
+    private Staging(Account account) {
+      this.account = account;
+      this.start = account.getBalance();
+      this.lowest = start;
+    }
+
+    private void track() {
+      if (account.getBalance().isLessThan(lowest)) {
+        lowest = account.getBalance();
+      }
+    }
+
+  }
+
+}
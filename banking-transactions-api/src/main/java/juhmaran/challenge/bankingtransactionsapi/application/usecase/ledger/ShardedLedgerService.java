@@ -0,0 +1,258 @@
+package juhmaran.challenge.bankingtransactionsapi.application.usecase.ledger;
+
+import jakarta.annotation.PreDestroy;
+import juhmaran.challenge.bankingtransactionsapi.application.port.in.AccountServicePort;
+import juhmaran.challenge.bankingtransactionsapi.application.port.in.BatchAtomicity;
+import juhmaran.challenge.bankingtransactionsapi.application.port.in.TransactionBatchResult;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.AccountRepositoryPort;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.JournalEntry;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.TransactionJournalPort;
+import juhmaran.challenge.bankingtransactionsapi.domain.entity.Account;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.TransactionProcessingException;
+import juhmaran.challenge.bankingtransactionsapi.domain.service.AccountOperationService;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.LedgerProperties;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.request.TransactionRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementação da {@link AccountServicePort} baseada em um ledger em memória particionado. <br>
+ * As contas são distribuídas pelo hash do número da conta entre N {@link LedgerShard shards}, cada um com uma única
+ * thread dona dos seus saldos. Débitos e créditos são aplicados em memória sem locks, e o banco de dados passa a ser
+ * apenas o destino assíncrono de persistência, gravado periodicamente pelo {@link LedgerPersistenceWriter}.
+ * <p>
+ * O lote é atômico mesmo quando envolve contas de shards diferentes: cada shard primeiro valida o seu sub-lote e
+ * reserva os débitos, e os novos saldos só são publicados depois que todos os shards aceitaram o lote e ele foi
+ * gravado no {@link TransactionJournalPort journal}. Se algum shard recusar, nenhum saldo é alterado.
+ * </p>
+ * Ativado com {@code banking.ledger.engine=sharded}.
+ *
+ * @author Juliane Maran
+ */
+@Service
+@Primary
+@ConditionalOnProperty(prefix = "banking.ledger", name = "engine", havingValue = "sharded")
+public class ShardedLedgerService implements AccountServicePort {
+
+  private static final Logger logger = LoggerFactory.getLogger(ShardedLedgerService.class);
+
+  private final LedgerShard[] shards;
+  private final LedgerPersistenceWriter persistenceWriter;
+  private final TransactionJournalPort transactionJournalPort;
+  private final ScheduledExecutorService flushScheduler;
+
+  public ShardedLedgerService(AccountRepositoryPort accountRepositoryPort,
+                              AccountOperationService accountOperationService,
+                              LedgerPersistenceWriter persistenceWriter,
+                              TransactionJournalPort transactionJournalPort,
+                              LedgerProperties ledgerProperties) {
+    int shardCount = ledgerProperties.effectiveShards();
+    this.persistenceWriter = persistenceWriter;
+    this.transactionJournalPort = transactionJournalPort;
+    this.shards = new LedgerShard[shardCount];
+    for (int i = 0; i < shardCount; i++) {
+      shards[i] = new LedgerShard(i, accountRepositoryPort, accountOperationService, transactionJournalPort);
+    }
+    this.flushScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "ledger-flush");
+      thread.setDaemon(true);
+      return thread;
+    });
+    long intervalMillis = ledgerProperties.flushInterval().toMillis();
+    flushScheduler.scheduleWithFixedDelay(this::flushSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    logger.info("Ledger em memória iniciado com {} shards e gravação a cada {} ms.", shardCount, intervalMillis);
+  }
+
+  @Override
+  public void performTransactions(List<TransactionRequest> transactions) {
+    logger.info("Processando lote de {} transações no ledger em memória.", transactions == null ? 0 : transactions.size());
+
+    if (transactions == null || transactions.isEmpty()) {
+      logger.warn("Recebido lote de transações vazio ou nulo.");
+      return;
+    }
+
+    List<List<TransactionRequest>> perShard = new ArrayList<>(shards.length);
+    for (int i = 0; i < shards.length; i++) {
+      perShard.add(new ArrayList<>());
+    }
+    for (TransactionRequest transaction : transactions) {
+      Objects.requireNonNull(transaction, "Transação não pode ser nula.");
+      perShard.get(shardIndex(transaction.accountNumber())).add(transaction);
+    }
+
+    List<Integer> involved = new ArrayList<>();
+    for (int i = 0; i < shards.length; i++) {
+      if (!perShard.get(i).isEmpty()) {
+        involved.add(i);
+      }
+    }
+    if (involved.size() == 1) {
+      int shard = involved.getFirst();
+      join(shards[shard].apply(perShard.get(shard)));
+    } else {
+      performAcrossShards(transactions, perShard, involved);
+    }
+
+    logger.info("Lote de transações concluído.");
+  }
+
+  /**
+   * Aplica um lote com contas de vários shards em duas fases: cada shard valida o seu sub-lote e reserva os débitos
+   * ({@link LedgerShard#prepare}); se todos forem aceitos, o lote inteiro é gravado no journal e publicado em todos os
+   * shards. Se algum shard recusar o sub-lote, ou a gravação no journal falhar, as reservas são liberadas e nenhum
+   * saldo é alterado.
+   */
+  private void performAcrossShards(List<TransactionRequest> transactions, List<List<TransactionRequest>> perShard,
+                                   List<Integer> involved) {
+    List<CompletableFuture<LedgerShard.Staged>> pending = new ArrayList<>(involved.size());
+    for (int shard : involved) {
+      pending.add(shards[shard].prepare(perShard.get(shard)));
+    }
+
+    List<LedgerShard.Staged> staged = new ArrayList<>(involved.size());
+    RuntimeException failure = null;
+    for (CompletableFuture<LedgerShard.Staged> future : pending) {
+      try {
+        staged.add(join(future));
+      } catch (RuntimeException e) {
+        staged.add(null);
+        if (failure == null) {
+          failure = e;
+        }
+      }
+    }
+    if (failure == null) {
+      try {
+        transactionJournalPort.append(transactions.stream().map(JournalEntry::of).toList());
+      } catch (RuntimeException e) {
+        logger.error("Erro ao gravar no journal o lote entre shards: {}", e.getMessage(), e);
+        failure = new TransactionProcessingException(
+          "Ocorreu um erro interno ao registrar as transações no journal.", e);
+      }
+    }
+
+    List<CompletableFuture<Void>> decisions = new ArrayList<>(involved.size());
+    for (int i = 0; i < involved.size(); i++) {
+      LedgerShard shard = shards[involved.get(i)];
+      if (staged.get(i) != null) {
+        decisions.add(failure == null ? shard.commit(staged.get(i)) : shard.abort(staged.get(i)));
+      }
+    }
+    decisions.forEach(ShardedLedgerService::join);
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  /**
+   * Nos modos {@link BatchAtomicity.Mode#PER_ITEM} e {@link BatchAtomicity.Mode#CHUNKED}, cada item é enviado ao seu
+   * shard como um sub-lote próprio, e só os itens com erro de domínio deixam de ser aplicados. Como o ledger não
+   * retém locks no banco, os blocos do modo {@code CHUNKED} não mudam o resultado e são tratados como {@code PER_ITEM}.
+   */
+  @Override
+  public TransactionBatchResult performTransactions(List<TransactionRequest> transactions, BatchAtomicity atomicity) {
+    Objects.requireNonNull(atomicity, "Atomicidade do lote não pode ser nula.");
+    if (transactions == null || transactions.isEmpty() || atomicity.mode() == BatchAtomicity.Mode.ALL_OR_NOTHING) {
+      performTransactions(transactions);
+      return TransactionBatchResult.allApplied(atomicity.mode(), transactions == null ? List.of() : transactions);
+    }
+
+    List<CompletableFuture<Void>> pending = new ArrayList<>(transactions.size());
+    for (TransactionRequest transaction : transactions) {
+      Objects.requireNonNull(transaction, "Transação não pode ser nula.");
+      pending.add(shards[shardIndex(transaction.accountNumber())].apply(List.of(transaction)));
+    }
+
+    List<TransactionBatchResult.ItemResult> items = new ArrayList<>(transactions.size());
+    RuntimeException failure = null;
+    for (int i = 0; i < transactions.size(); i++) {
+      TransactionRequest transaction = transactions.get(i);
+      try {
+        join(pending.get(i));
+        items.add(TransactionBatchResult.ItemResult.applied(i, transaction.accountNumber()));
+      } catch (TransactionProcessingException e) {
+        if (!e.isItemFailure() && failure == null) {
+          failure = e;
+        }
+        items.add(TransactionBatchResult.ItemResult.failed(i, transaction.accountNumber(), e.getMessage()));
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+    return TransactionBatchResult.of(atomicity.mode(), items);
+  }
+
+  @Override
+  public Account getAccountBalance(String accountNumber) {
+    Objects.requireNonNull(accountNumber, "Número da conta não pode ser nulo.");
+    logger.info("Buscando saldo para conta: {}", accountNumber);
+    return join(shards[shardIndex(accountNumber)].read(accountNumber));
+  }
+
+  /**
+   * Grava imediatamente no banco de dados todos os saldos alterados em memória.
+   */
+  public void flush() {
+    for (LedgerShard shard : shards) {
+      Map<String, Money> balances = join(shard.drainDirty());
+      try {
+        persistenceWriter.persist(balances);
+      } catch (RuntimeException e) {
+        shard.restoreDirty(balances);
+        throw e;
+      }
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    flushScheduler.shutdown();
+    flushScheduler.awaitTermination(5, TimeUnit.SECONDS);
+    flush();
+    for (LedgerShard shard : shards) {
+      shard.shutdown();
+    }
+    logger.info("Ledger em memória finalizado.");
+  }
+
+  private void flushSafely() {
+    try {
+      flush();
+    } catch (Exception e) {
+      logger.error("Erro ao gravar saldos do ledger em memória: {}", e.getMessage(), e);
+    }
+  }
+
+  private int shardIndex(String accountNumber) {
+    Objects.requireNonNull(accountNumber, "Número da conta não pode ser nulo.");
+    return Math.floorMod(accountNumber.hashCode(), shards.length);
+  }
+
+  private static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+}
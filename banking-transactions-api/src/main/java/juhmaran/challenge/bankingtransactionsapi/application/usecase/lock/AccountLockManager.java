@@ -0,0 +1,118 @@
+package juhmaran.challenge.bankingtransactionsapi.application.usecase.lock;
+
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.AccountLockTimeoutException;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.TransactionProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Gerenciador de locks em memória, particionado em {@code stripes} e indexado pelo número da conta. <br>
+ * Usado antes do banco de dados: threads da mesma JVM que disputam a mesma conta aguardam em um
+ * {@link ReentrantLock} barato, em vez de aguardar o lock de linha e o {@code lock timeout} do banco.
+ * <p>
+ * Os stripes de um lote são sempre adquiridos em ordem crescente de índice, o que evita {@code deadlocks}
+ * entre lotes concorrentes. Duas contas podem compartilhar o mesmo stripe; isso apenas serializa o acesso a elas.
+ * </p>
+ *
+ * @author Juliane Maran
+ */
+@Component
+public class AccountLockManager {
+
+  private static final Logger logger = LoggerFactory.getLogger(AccountLockManager.class);
+
+  private static final AccountLocks NO_LOCKS = () -> {
+  };
+
+  private final boolean enabled;
+  private final ReentrantLock[] stripes;
+  private final long timeoutNanos;
+
+  public AccountLockManager(TransactionProperties transactionProperties) {
+    TransactionProperties.StripedLocks properties = transactionProperties.stripedLocks();
+    this.enabled = properties.enabled();
+    int size = 1;
+    while (size < properties.stripes()) {
+      size <<= 1;
+    }
+    this.stripes = new ReentrantLock[enabled ? size : 0];
+    for (int i = 0; i < stripes.length; i++) {
+      stripes[i] = new ReentrantLock();
+    }
+    this.timeoutNanos = properties.timeout().toNanos();
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Adquire os locks de todas as contas informadas. Quando o gerenciador está desativado, não bloqueia nada.
+   *
+   * @param accountNumbers Números das contas a bloquear. Duplicados são ignorados.
+   * @return Os locks adquiridos, a serem liberados com {@link AccountLocks#close()}.
+   * @throws AccountLockTimeoutException Se algum lock não for obtido dentro do tempo configurado.
+   */
+  public AccountLocks lockAll(Collection<String> accountNumbers) {
+    if (!enabled) {
+      return NO_LOCKS;
+    }
+    TreeSet<Integer> indexes = new TreeSet<>();
+    for (String accountNumber : accountNumbers) {
+      indexes.add(stripeIndex(Objects.requireNonNull(accountNumber, "Número da conta não pode ser nulo.")));
+    }
+
+    Deque<ReentrantLock> acquired = new ArrayDeque<>(indexes.size());
+    long deadline = System.nanoTime() + timeoutNanos;
+    try {
+      for (int index : indexes) {
+        ReentrantLock lock = stripes[index];
+        if (!lock.tryLock(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+          logger.warn("Tempo esgotado aguardando lock em memória de {} contas.", indexes.size());
+          throw new AccountLockTimeoutException("Tempo esgotado aguardando o lock das contas do lote.");
+        }
+        acquired.push(lock);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      release(acquired);
+      throw new AccountLockTimeoutException("Interrompido aguardando o lock das contas do lote.");
+    } catch (RuntimeException e) {
+      release(acquired);
+      throw e;
+    }
+    return () -> release(acquired);
+  }
+
+  private int stripeIndex(String accountNumber) {
+    int hash = accountNumber.hashCode();
+    return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+  }
+
+  private static void release(Deque<ReentrantLock> acquired) {
+    while (!acquired.isEmpty()) {
+      acquired.pop().unlock();
+    }
+  }
+
+  /**
+   * Conjunto de locks adquiridos por {@link #lockAll(Collection)}.
+   */
+  @FunctionalInterface
+  public interface AccountLocks extends AutoCloseable {
+
+    @Override
+    void close();
+
+  }
+
+}
@@ -0,0 +1,109 @@
+package juhmaran.challenge.bankingtransactionsapi.application.usecase.lock;
+
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.metrics.TransactionMetrics;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.DatabaseBusyException;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.TransactionProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Limita a quantidade de operações simultâneas no banco de dados ao tamanho do pool de conexões. <br>
+ * Com threads virtuais, cada requisição tem sua própria thread e nada limita quantas delas chegam ao pool JDBC: as
+ * excedentes ficariam aguardando uma conexão até o {@code connectionTimeout} do pool. O limitador enfileira essas
+ * threads em um {@link Semaphore} justo (que não prende a thread portadora) e devolve {@link DatabaseBusyException}
+ * quando o tempo de espera configurado se esgota.
+ *
+ * @author Juliane Maran
+ */
+@Component
+public class DatabaseConcurrencyLimiter {
+
+  private static final Logger logger = LoggerFactory.getLogger(DatabaseConcurrencyLimiter.class);
+
+  private final Semaphore permits;
+  private final int maxConcurrent;
+  private final long timeoutNanos;
+  private final TransactionMetrics transactionMetrics;
+
+  public DatabaseConcurrencyLimiter(TransactionProperties transactionProperties,
+                                    @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                                    TransactionMetrics transactionMetrics) {
+    TransactionProperties.ConnectionLimit properties = transactionProperties.connectionLimit();
+    this.maxConcurrent = properties.maxConcurrent() > 0 ? properties.maxConcurrent() : poolSize;
+    this.permits = properties.enabled() ? new Semaphore(maxConcurrent, true) : null;
+    this.timeoutNanos = properties.timeout().toNanos();
+    this.transactionMetrics = transactionMetrics;
+  }
+
+  public boolean isEnabled() {
+    return permits != null;
+  }
+
+  public int getMaxConcurrent() {
+    return maxConcurrent;
+  }
+
+  /**
+   * Executa a operação ocupando uma das vagas do banco. Quando o limitador está desativado, apenas executa.
+   *
+   * @throws DatabaseBusyException Se nenhuma vaga for liberada dentro do tempo configurado.
+   */
+  public <T> T execute(Supplier<T> operation) {
+    if (permits == null) {
+      return operation.get();
+    }
+    long start = System.nanoTime();
+    try {
+      if (!permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS)) {
+        logger.warn("Tempo esgotado aguardando vaga no banco de dados ({} operações simultâneas).", maxConcurrent);
+        throw new DatabaseBusyException("Banco de dados ocupado. Tente novamente mais tarde.");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new DatabaseBusyException("Interrompido aguardando vaga no banco de dados.");
+    } finally {
+      transactionMetrics.record(TransactionMetrics.Phase.CONNECTION_WAIT, start);
+    }
+    try {
+      return operation.get();
+    } finally {
+      permits.release();
+    }
+  }
+
+  public void run(Runnable operation) {
+    execute(() -> {
+      operation.run();
+      return null;
+    });
+  }
+
+  /**
+   * Executa a operação ocupando {@code slots} vagas do banco, adquiridas de uma só vez e sem esperar. Quando o
+   * limitador está desativado, apenas executa.
+   *
+   * @return {@code false}, sem executar a operação, se não houver {@code slots} vagas livres no momento.
+   */
+  public boolean tryRun(int slots, Runnable operation) {
+    if (permits == null) {
+      operation.run();
+      return true;
+    }
+    if (!permits.tryAcquire(slots)) {
+      return false;
+    }
+    try {
+      operation.run();
+    } finally {
+      permits.release(slots);
+    }
+    return true;
+  }
+
+}
@@ -0,0 +1,204 @@
+package juhmaran.challenge.bankingtransactionsapi.application.usecase.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.LockTimeoutException;
+import jakarta.persistence.PessimisticLockException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.AccountLockTimeoutException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.AccountNotFoundException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.ConcurrentUpdateException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.DatabaseBusyException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.InsufficientFundsException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.InvalidTransactionTypeException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.TransactionProcessingException;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.TransactionProperties;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas por fase do processamento de lotes de transações. <br>
+ * Todas as métricas têm a tag {@code strategy} (estratégia configurada) e apenas tags de baixa cardinalidade: nenhum
+ * número de conta é usado como tag.
+ * <ul>
+ *   <li>{@code banking.transactions.batch.size}: quantidade de itens por lote;</li>
+ *   <li>{@code banking.transactions.batch}: duração do lote, dos locks em memória até o commit, com a tag
+ *   {@code outcome} ({@code success} ou {@code failure});</li>
+ *   <li>{@code banking.transactions.phase}: duração de cada fase, com a tag {@code phase} (ver {@link Phase});</li>
+ *   <li>{@code banking.transactions.item}: duração de cada item no processador, com a tag {@code outcome}. Na
+ *   estratégia {@code bulk}, a busca e a gravação das contas são feitas para o lote inteiro, e o item mede apenas a
+ *   aplicação em memória;</li>
+ *   <li>{@code banking.transactions.outcomes}: desfechos por tipo (ver {@link Outcome}). Conta os itens processados,
+ *   inclusive os desfeitos depois junto com o lote, e as falhas do lote ocorridas fora dos processadores (timeout de
+ *   lock em memória, banco ocupado, conflito no commit).</li>
+ * </ul>
+ * Os histogramas de percentis são habilitados em {@code management.metrics.distribution}.
+ *
+ * @author Juliane Maran
+ */
+@Component
+public class TransactionMetrics {
+
+  private final DistributionSummary batchSize;
+  private final Timer batchSucceeded;
+  private final Timer batchFailed;
+  private final Map<Phase, Timer> phases = new EnumMap<>(Phase.class);
+  private final Map<Outcome, Timer> items = new EnumMap<>(Outcome.class);
+  private final Map<Outcome, Counter> outcomes = new EnumMap<>(Outcome.class);
+
+  public TransactionMetrics(TransactionProperties transactionProperties, MeterRegistry meterRegistry) {
+    String strategy = transactionProperties.strategy().name().toLowerCase(Locale.ROOT).replace('_', '-');
+    this.batchSize = DistributionSummary.builder("banking.transactions.batch.size")
+      .baseUnit("items").tag("strategy", strategy).register(meterRegistry);
+    this.batchSucceeded = Timer.builder("banking.transactions.batch")
+      .tags("strategy", strategy, "outcome", "success").register(meterRegistry);
+    this.batchFailed = Timer.builder("banking.transactions.batch")
+      .tags("strategy", strategy, "outcome", "failure").register(meterRegistry);
+    for (Phase phase : Phase.values()) {
+      phases.put(phase, Timer.builder("banking.transactions.phase")
+        .tags("strategy", strategy, "phase", phase.tag).register(meterRegistry));
+    }
+    for (Outcome outcome : Outcome.values()) {
+      items.put(outcome, Timer.builder("banking.transactions.item")
+        .tags("strategy", strategy, "outcome", outcome.tag).register(meterRegistry));
+      outcomes.put(outcome, Counter.builder("banking.transactions.outcomes")
+        .tags("strategy", strategy, "outcome", outcome.tag).register(meterRegistry));
+    }
+  }
+
+  public void recordBatchSize(int size) {
+    batchSize.record(size);
+  }
+
+  /**
+   * @param startNanos Valor de {@link System#nanoTime()} no início do lote.
+   */
+  public void recordBatch(long startNanos, boolean succeeded) {
+    (succeeded ? batchSucceeded : batchFailed).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * @param startNanos Valor de {@link System#nanoTime()} no início da fase.
+   */
+  public void record(Phase phase, long startNanos) {
+    phases.get(phase).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Registra a duração e o desfecho de um item.
+   *
+   * @param startNanos Valor de {@link System#nanoTime()} no início do item.
+   */
+  public void recordItem(Outcome outcome, long startNanos) {
+    items.get(outcome).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    outcomes.get(outcome).increment();
+  }
+
+  /**
+   * Conta a falha de um lote. Falhas {@link TransactionProcessingException} já foram contadas no item pelos
+   * processadores e são ignoradas.
+   */
+  public void recordBatchFailure(Throwable failure) {
+    if (!(failure instanceof TransactionProcessingException)) {
+      outcomes.get(Outcome.of(failure)).increment();
+    }
+  }
+
+  /**
+   * Fases medidas em {@code banking.transactions.phase}.
+   */
+  public enum Phase {
+
+    /**
+     * Espera pelos locks em memória do {@code AccountLockManager}.
+     */
+    MEMORY_LOCK_WAIT("memory-lock-wait"),
+    /**
+     * Espera por uma vaga no {@code DatabaseConcurrencyLimiter}.
+     */
+    CONNECTION_WAIT("connection-wait"),
+    /**
+     * Consulta das contas com {@code SELECT ... FOR UPDATE}, incluindo a espera pelo lock de linha.
+     */
+    ROW_LOCK_WAIT("row-lock-wait"),
+    /**
+     * Aplicação do débito ou crédito na conta em memória.
+     */
+    APPLY("apply"),
+    /**
+     * Gravação das contas: {@code save}, {@code saveAllAndFlush} ou {@code UPDATE} condicional.
+     */
+    SAVE("save"),
+    /**
+     * Commit da transação, incluindo o {@code flush} das alterações pendentes.
+     */
+    COMMIT("commit");
+
+    private final String tag;
+
+    Phase(String tag) {
+      this.tag = tag;
+    }
+
+  }
+
+  /**
+   * Desfechos contados em {@code banking.transactions.outcomes}.
+   */
+  public enum Outcome {
+
+    APPLIED("applied"),
+    INSUFFICIENT_FUNDS("insufficient-funds"),
+    ACCOUNT_NOT_FOUND("account-not-found"),
+    INVALID_TYPE("invalid-type"),
+    LOCK_TIMEOUT("lock-timeout"),
+    CONCURRENT_UPDATE("concurrent-update"),
+    DATABASE_BUSY("database-busy"),
+    UNEXPECTED_ERROR("unexpected-error");
+
+    private final String tag;
+
+    Outcome(String tag) {
+      this.tag = tag;
+    }
+
+    /**
+     * Classifica a falha pela primeira causa reconhecida na cadeia de exceções.
+     */
+    public static Outcome of(Throwable failure) {
+      for (Throwable current = failure; current != null; current = current.getCause()) {
+        if (current instanceof InsufficientFundsException) {
+          return INSUFFICIENT_FUNDS;
+        }
+        if (current instanceof AccountNotFoundException) {
+          return ACCOUNT_NOT_FOUND;
+        }
+        if (current instanceof InvalidTransactionTypeException) {
+          return INVALID_TYPE;
+        }
+        if (current instanceof AccountLockTimeoutException
+          || current instanceof PessimisticLockingFailureException
+          || current instanceof PessimisticLockException
+          || current instanceof LockTimeoutException) {
+          return LOCK_TIMEOUT;
+        }
+        if (current instanceof ConcurrentUpdateException || current instanceof OptimisticLockingFailureException) {
+          return CONCURRENT_UPDATE;
+        }
+        if (current instanceof DatabaseBusyException) {
+          return DATABASE_BUSY;
+        }
+      }
+      return UNEXPECTED_ERROR;
+    }
+
+  }
+
+}
@@ -0,0 +1,305 @@
+package juhmaran.challenge.bankingtransactionsapi.application.usecase.parallel;
+
+import jakarta.annotation.PreDestroy;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.AccountRepositoryPort;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.metrics.TransactionMetrics;
+import juhmaran.challenge.bankingtransactionsapi.domain.entity.Account;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.AccountNotFoundException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.InsufficientFundsException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.InvalidTransactionTypeException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.TransactionProcessingException;
+import juhmaran.challenge.bankingtransactionsapi.domain.service.AccountOperationService;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.TransactionProperties;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.request.TransactionRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Aplica um lote em paralelo, particionado por conta, dentro da transação do chamador. <br>
+ * Os itens são agrupados por {@code accountNumber}, mantendo a ordem original dentro de cada conta, e os grupos são
+ * distribuídos em até {@link TransactionProperties.Parallel#parallelism()} partições equilibradas pela quantidade de
+ * itens.
+ * <p>
+ * Só a aplicação dos lançamentos em memória é paralela. As contas do lote são buscadas e bloqueadas com uma única
+ * consulta ordenada na transação do chamador, cada partição aplica os itens das suas contas sobre essas cópias em uma
+ * thread do pool, e as contas alteradas são gravadas de volta na mesma transação. O lote continua sendo confirmado
+ * ou desfeito com um único commit, e o resultado é o da execução sequencial: como as contas de uma partição não
+ * aparecem nas demais, cada conta recebe os seus itens na ordem original, e se algum item falhar é relançado o erro
+ * do item com a menor posição no lote, sem gravar nenhuma conta.
+ * </p>
+ * <p>
+ * As partições não usam conexões do banco. As threads do pool são reservadas de uma só vez para as partições de um
+ * lote; sem threads livres, o lote segue pelo caminho sequencial.
+ * </p>
+ *
+ * @author Juliane Maran
+ */
+@Component
+public class PartitionedBatchExecutor {
+
+  private static final Logger logger = LoggerFactory.getLogger(PartitionedBatchExecutor.class);
+
+  private final AccountRepositoryPort accountRepositoryPort;
+  private final AccountOperationService accountOperationService;
+  private final TransactionMetrics transactionMetrics;
+  private final boolean enabled;
+  private final int parallelism;
+  private final int minBatchSize;
+  private final Semaphore partitions;
+  private final ExecutorService executor;
+
+  public PartitionedBatchExecutor(TransactionProperties transactionProperties,
+                                  AccountRepositoryPort accountRepositoryPort,
+                                  AccountOperationService accountOperationService,
+                                  TransactionMetrics transactionMetrics) {
+    TransactionProperties.Parallel properties = transactionProperties.parallel();
+    this.accountRepositoryPort = accountRepositoryPort;
+    this.accountOperationService = accountOperationService;
+    this.transactionMetrics = transactionMetrics;
+    this.enabled = properties.enabled();
+    this.parallelism = properties.parallelism() > 0
+      ? properties.parallelism()
+      : Runtime.getRuntime().availableProcessors();
+    this.minBatchSize = Math.max(2, properties.minBatchSize());
+    this.partitions = new Semaphore(parallelism);
+    if (enabled) {
+      AtomicInteger threadCount = new AtomicInteger();
+      this.executor = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<>(), runnable -> {
+        Thread thread = new Thread(runnable, "batch-partition-" + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      });
+    } else {
+      this.executor = null;
+    }
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  /**
+   * Aplica o lote em paralelo na transação corrente, se estiver ativo e valer a pena.
+   *
+   * @return {@code false} se o lote não foi aplicado (desativado, lote pequeno, uma única conta ou sem partições
+   * livres); nesse caso o chamador deve seguir pelo caminho sequencial.
+   * @throws TransactionProcessingException O erro do item com a menor posição no lote; nenhuma conta é gravada.
+   */
+  public boolean tryProcess(List<TransactionRequest> transactions) {
+    if (!enabled || transactions.size() < minBatchSize) {
+      return false;
+    }
+    for (TransactionRequest transaction : transactions) {
+      if (transaction == null || transaction.accountNumber() == null) {
+        return false;
+      }
+    }
+    List<List<Integer>> buckets = partition(transactions, parallelism);
+    if (buckets.size() < 2) {
+      return false;
+    }
+    if (!partitions.tryAcquire(buckets.size())) {
+      logger.debug("Sem partições livres para o lote de {} transações; executando sequencialmente.",
+        transactions.size());
+      return false;
+    }
+    try {
+      process(transactions, buckets);
+    } finally {
+      partitions.release(buckets.size());
+    }
+    return true;
+  }
+
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    if (executor != null) {
+      executor.shutdown();
+      if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+        executor.shutdownNow();
+      }
+    }
+  }
+
+  /**
+   * Agrupa os itens por conta e distribui os grupos, do maior para o menor, sempre na partição com menos itens.
+   * Dentro de cada partição os grupos ficam na ordem em que as contas apareceram no lote.
+   *
+   * @return As posições no lote dos itens de cada partição.
+   */
+  static List<List<Integer>> partition(List<TransactionRequest> transactions, int maxPartitions) {
+    Map<String, AccountGroup> groups = new LinkedHashMap<>();
+    for (int i = 0; i < transactions.size(); i++) {
+      groups.computeIfAbsent(transactions.get(i).accountNumber(),
+        number -> new AccountGroup(groups.size(), new ArrayList<>())).items().add(i);
+    }
+    int partitionCount = Math.min(maxPartitions, groups.size());
+    List<List<AccountGroup>> assigned = new ArrayList<>(partitionCount);
+    int[] loads = new int[partitionCount];
+    for (int i = 0; i < partitionCount; i++) {
+      assigned.add(new ArrayList<>());
+    }
+    List<AccountGroup> bySize = new ArrayList<>(groups.values());
+    bySize.sort(Comparator.comparingInt((AccountGroup group) -> group.items().size()).reversed());
+    for (AccountGroup group : bySize) {
+      int lightest = 0;
+      for (int i = 1; i < partitionCount; i++) {
+        if (loads[i] < loads[lightest]) {
+          lightest = i;
+        }
+      }
+      assigned.get(lightest).add(group);
+      loads[lightest] += group.items().size();
+    }
+
+    List<List<Integer>> buckets = new ArrayList<>(partitionCount);
+    for (int i = 0; i < partitionCount; i++) {
+      List<AccountGroup> bucketGroups = assigned.get(i);
+      bucketGroups.sort(Comparator.comparingInt(AccountGroup::order));
+      List<Integer> bucket = new ArrayList<>(loads[i]);
+      for (AccountGroup group : bucketGroups) {
+        bucket.addAll(group.items());
+      }
+      buckets.add(bucket);
+    }
+    buckets.sort(Comparator.comparingInt(bucket -> bucket.get(0)));
+    return buckets;
+  }
+
+  private void process(List<TransactionRequest> transactions, List<List<Integer>> buckets) {
+    Map<String, Long> accountKeys = new HashMap<>();
+    for (TransactionRequest transaction : transactions) {
+      accountKeys.put(transaction.accountNumber(), transaction.accountKey());
+    }
+    Map<String, Account> accounts = new HashMap<>();
+    long lockStart = System.nanoTime();
+    for (Account account : accountRepositoryPort.findAllByAccountKeyWithLock(accountKeys)) {
+      accounts.put(account.getAccountNumber(), account);
+    }
+    transactionMetrics.record(TransactionMetrics.Phase.ROW_LOCK_WAIT, lockStart);
+
+    List<Future<ItemFailure>> futures = new ArrayList<>(buckets.size());
+    for (List<Integer> bucket : buckets) {
+      futures.add(executor.submit(() -> applyBucket(transactions, bucket, accounts)));
+    }
+    ItemFailure failure = null;
+    for (Future<ItemFailure> future : futures) {
+      ItemFailure bucketFailure = await(future);
+      if (bucketFailure != null && (failure == null || bucketFailure.index() < failure.index())) {
+        failure = bucketFailure;
+      }
+    }
+    if (failure != null) {
+      logger.debug("Lote paralelo desfeito no item {} de {}.", failure.index(), transactions.size());
+      throw failure.exception();
+    }
+
+    long saveStart = System.nanoTime();
+    accountRepositoryPort.saveAll(accounts.values());
+    transactionMetrics.record(TransactionMetrics.Phase.SAVE, saveStart);
+    logger.debug("Lote paralelo aplicado em {} partições.", buckets.size());
+  }
+
+  /**
+   * Aplica os itens de uma partição. Depois do primeiro erro de uma conta, os itens seguintes dessa conta são
+   * ignorados, mas as demais contas da partição continuam: o erro de uma conta posterior pode estar em uma posição
+   * anterior no lote.
+   *
+   * @return O erro com a menor posição no lote entre os itens da partição, ou {@code null} se não houver.
+   */
+  private ItemFailure applyBucket(List<TransactionRequest> transactions, List<Integer> bucket,
+                                  Map<String, Account> accounts) {
+    ItemFailure failure = null;
+    Set<String> failedAccounts = new HashSet<>();
+    for (int index : bucket) {
+      TransactionRequest transaction = transactions.get(index);
+      if (failedAccounts.contains(transaction.accountNumber())) {
+        continue;
+      }
+      try {
+        apply(accounts, transaction);
+      } catch (TransactionProcessingException e) {
+        failedAccounts.add(transaction.accountNumber());
+        if (failure == null || index < failure.index()) {
+          failure = new ItemFailure(index, e);
+        }
+      }
+    }
+    return failure;
+  }
+
+  private void apply(Map<String, Account> accounts, TransactionRequest transaction) {
+    String accountNumber = transaction.accountNumber();
+    long start = System.nanoTime();
+    try {
+      Account account = accounts.get(accountNumber);
+      if (account == null) {
+        logger.warn("Conta não encontrada para processamento: {}", accountNumber);
+        throw new AccountNotFoundException("Conta não encontrada: " + accountNumber);
+      }
+      if (transaction.type() == null) {
+        logger.warn("Tipo de transação é nulo para conta {}", accountNumber);
+        throw new InvalidTransactionTypeException("Tipo de transação não especificado para conta: " + accountNumber);
+      }
+      switch (transaction.type()) {
+        case DEBIT -> accountOperationService.applyDebit(account, transaction.amount());
+        case CREDIT -> accountOperationService.applyCredit(account, transaction.amount());
+      }
+      transactionMetrics.record(TransactionMetrics.Phase.APPLY, start);
+      transactionMetrics.recordItem(TransactionMetrics.Outcome.APPLIED, start);
+    } catch (AccountNotFoundException | InsufficientFundsException | InvalidTransactionTypeException e) {
+      transactionMetrics.recordItem(TransactionMetrics.Outcome.of(e), start);
+      logger.error("Erro de domínio ao processar transação para conta {}: {}", accountNumber, e.getMessage());
+      throw new TransactionProcessingException(
+        "Erro ao processar transação para conta " + accountNumber + ": " + e.getMessage(), e, transaction
+      );
+    } catch (Exception e) {
+      transactionMetrics.recordItem(TransactionMetrics.Outcome.of(e), start);
+      logger.error("Erro inesperado ao processar transação para conta {}: {}", accountNumber, e.getMessage(), e);
+      throw new TransactionProcessingException(
+        "Ocorreu um erro interno ao processar a transação para a conta " + accountNumber, e
+      );
+    }
+  }
+
+  private static ItemFailure await(Future<ItemFailure> future) {
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      throw new TransactionProcessingException("Falha inesperada em uma partição do lote.", e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new TransactionProcessingException("Interrompido aguardando as partições do lote.", e);
+    }
+  }
+
+  private record AccountGroup(int order, List<Integer> items) {
+  }
+
+  private record ItemFailure(int index, TransactionProcessingException exception) {
+  }
+
+}
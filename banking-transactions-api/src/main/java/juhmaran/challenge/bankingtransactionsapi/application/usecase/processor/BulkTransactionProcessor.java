@@ -0,0 +1,110 @@
+package juhmaran.challenge.bankingtransactionsapi.application.usecase.processor;
+
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.AccountRepositoryPort;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.hotspot.HotAccountTracker;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.metrics.TransactionMetrics;
+import juhmaran.challenge.bankingtransactionsapi.domain.entity.Account;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.AccountNotFoundException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.InsufficientFundsException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.InvalidTransactionTypeException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.TransactionProcessingException;
+import juhmaran.challenge.bankingtransactionsapi.domain.service.AccountOperationService;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.request.TransactionRequest;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Processa um lote inteiro com um único bloqueio em massa. <br>
+ * As contas distintas do lote são buscadas e bloqueadas com uma consulta ordenada, os itens são aplicados
+ * em memória na ordem recebida e as contas alteradas são gravadas em um único lote JDBC.
+ * Deve ser executado dentro de uma transação.
+ *
+ * @author Juliane Maran
+ */
+@Component
+@RequiredArgsConstructor
+public class BulkTransactionProcessor {
+
+  private static final Logger logger = LoggerFactory.getLogger(BulkTransactionProcessor.class);
+
+  private final AccountRepositoryPort accountRepositoryPort;
+  private final AccountOperationService accountOperationService;
+  private final TransactionMetrics transactionMetrics;
+  private final HotAccountTracker hotAccountTracker;
+
+  public void process(List<TransactionRequest> transactions) {
+    Objects.requireNonNull(transactions, "Lote de transações não pode ser nulo.");
+
+    Map<String, Long> accountKeys = new HashMap<>();
+    for (TransactionRequest transaction : transactions) {
+      Objects.requireNonNull(transaction, "Transação não pode ser nula.");
+      accountKeys.put(Objects.requireNonNull(transaction.accountNumber(),
+        "Número da conta não pode ser nulo ao buscar."), transaction.accountKey());
+    }
+
+    logger.debug("Buscando e bloqueando {} contas distintas do lote.", accountKeys.size());
+    Map<String, Account> accounts = new HashMap<>();
+    long lockStart = System.nanoTime();
+    for (Account account : accountRepositoryPort.findAllByAccountKeyWithLock(accountKeys)) {
+      accounts.put(account.getAccountNumber(), account);
+    }
+    long lockWait = System.nanoTime() - lockStart;
+    transactionMetrics.record(TransactionMetrics.Phase.ROW_LOCK_WAIT, lockStart);
+    // A consulta bloqueia todas as contas de uma vez; a espera é atribuída a cada uma delas.
+    for (String accountNumber : accountKeys.keySet()) {
+      hotAccountTracker.record(accountNumber, 0, lockWait);
+    }
+
+    for (TransactionRequest transaction : transactions) {
+      hotAccountTracker.record(transaction.accountNumber(), 0);
+      apply(accounts, transaction);
+    }
+
+    logger.debug("Gravando {} contas alteradas em lote.", accounts.size());
+    long saveStart = System.nanoTime();
+    accountRepositoryPort.saveAll(accounts.values());
+    transactionMetrics.record(TransactionMetrics.Phase.SAVE, saveStart);
+  }
+
+  private void apply(Map<String, Account> accounts, TransactionRequest transaction) {
+    String accountNumber = transaction.accountNumber();
+    long start = System.nanoTime();
+    try {
+      Account account = accounts.get(accountNumber);
+      if (account == null) {
+        logger.warn("Conta não encontrada para processamento: {}", accountNumber);
+        throw new AccountNotFoundException("Conta não encontrada: " + accountNumber);
+      }
+      if (transaction.type() == null) {
+        logger.warn("Tipo de transação é nulo para conta {}", accountNumber);
+        throw new InvalidTransactionTypeException("Tipo de transação não especificado para conta: " + accountNumber);
+      }
+      switch (transaction.type()) {
+        case DEBIT -> accountOperationService.applyDebit(account, transaction.amount());
+        case CREDIT -> accountOperationService.applyCredit(account, transaction.amount());
+      }
+      transactionMetrics.record(TransactionMetrics.Phase.APPLY, start);
+      transactionMetrics.recordItem(TransactionMetrics.Outcome.APPLIED, start);
+    } catch (AccountNotFoundException | InsufficientFundsException | InvalidTransactionTypeException e) {
+      transactionMetrics.recordItem(TransactionMetrics.Outcome.of(e), start);
+      logger.error("Erro de domínio ao processar transação para conta {}: {}", accountNumber, e.getMessage());
+      throw new TransactionProcessingException(
+        "Erro ao processar transação para conta " + accountNumber + ": " + e.getMessage(), e, transaction
+      );
+    } catch (Exception e) {
+      transactionMetrics.recordItem(TransactionMetrics.Outcome.of(e), start);
+      logger.error("Erro inesperado ao processar transação para conta {}: {}", accountNumber, e.getMessage(), e);
+      throw new TransactionProcessingException(
+        "Ocorreu um erro interno ao processar a transação para a conta " + accountNumber, e
+      );
+    }
+  }
+
+}
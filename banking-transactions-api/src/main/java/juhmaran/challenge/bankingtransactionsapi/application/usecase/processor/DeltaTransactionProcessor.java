@@ -0,0 +1,92 @@
+package juhmaran.challenge.bankingtransactionsapi.application.usecase.processor;
+
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.AccountRepositoryPort;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.hotspot.HotAccountTracker;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.metrics.TransactionMetrics;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.AccountNotFoundException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.InsufficientFundsException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.InvalidTransactionTypeException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.TransactionProcessingException;
+import juhmaran.challenge.bankingtransactionsapi.domain.service.AccountOperationService;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.request.TransactionRequest;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * Aplica cada transação como um único comando condicional de atualização no banco, sem ler a conta antes. <br>
+ * Não há {@code SELECT} nem tempo de lock entre a leitura e a escrita: o lock da linha é obtido pelo próprio
+ * {@code UPDATE}. Quando nenhuma linha é alterada, uma consulta de existência distingue conta inexistente
+ * de saldo insuficiente (apenas no caminho de erro).
+ *
+ * @author Juliane Maran
+ */
+@Component
+@RequiredArgsConstructor
+public class DeltaTransactionProcessor {
+
+  private static final Logger logger = LoggerFactory.getLogger(DeltaTransactionProcessor.class);
+
+  private final AccountRepositoryPort accountRepositoryPort;
+  private final AccountOperationService accountOperationService;
+  private final TransactionMetrics transactionMetrics;
+  private final HotAccountTracker hotAccountTracker;
+
+  public void process(TransactionRequest transaction) {
+    Objects.requireNonNull(transaction, "Transação não pode ser nula.");
+    String accountNumber = Objects.requireNonNull(transaction.accountNumber(),
+      "Número da conta não pode ser nulo ao buscar.");
+    Money amount = transaction.amount();
+    logger.debug("Aplicando transação {} de {} diretamente no banco para conta {}",
+      transaction.type(), amount, accountNumber);
+
+    long start = System.nanoTime();
+    long updatedAt = 0;
+    try {
+      if (transaction.type() == null) {
+        logger.warn("Tipo de transação é nulo para conta {}", accountNumber);
+        throw new InvalidTransactionTypeException("Tipo de transação não especificado para conta: " + accountNumber);
+      }
+      int updated = switch (transaction.type()) {
+        case DEBIT -> {
+          accountOperationService.validateDebitAmount(amount);
+          yield accountRepositoryPort.debitIfSufficientFunds(accountNumber, transaction.accountKey(), amount);
+        }
+        case CREDIT -> {
+          accountOperationService.validateCreditAmount(amount);
+          yield accountRepositoryPort.credit(accountNumber, transaction.accountKey(), amount);
+        }
+      };
+      updatedAt = System.nanoTime();
+      if (updated == 0) {
+        if (!accountRepositoryPort.existsByAccountNumber(accountNumber, transaction.accountKey())) {
+          logger.warn("Conta não encontrada para processamento: {}", accountNumber);
+          throw new AccountNotFoundException("Conta não encontrada: " + accountNumber);
+        }
+        throw new InsufficientFundsException(
+          "Saldo insuficiente para a conta " + accountNumber + ". Débito solicitado: " + amount);
+      }
+      transactionMetrics.recordItem(TransactionMetrics.Outcome.APPLIED, start);
+    } catch (AccountNotFoundException | InsufficientFundsException | InvalidTransactionTypeException e) {
+      transactionMetrics.recordItem(TransactionMetrics.Outcome.of(e), start);
+      logger.error("Erro de domínio ao processar transação para conta {}: {}", accountNumber, e.getMessage());
+      throw new TransactionProcessingException(
+        "Erro ao processar transação para conta " + accountNumber + ": " + e.getMessage(), e, transaction
+      );
+    } catch (Exception e) {
+      transactionMetrics.recordItem(TransactionMetrics.Outcome.of(e), start);
+      logger.error("Erro inesperado ao processar transação para conta {}: {}", accountNumber, e.getMessage(), e);
+      throw new TransactionProcessingException(
+        "Ocorreu um erro interno ao processar a transação para a conta " + accountNumber, e
+      );
+    } finally {
+      // O UPDATE condicional aguarda o lock da linha; se falhou, toda a espera até a falha é contada.
+      hotAccountTracker.record(accountNumber, (updatedAt == 0 ? System.nanoTime() : updatedAt) - start);
+    }
+  }
+
+}
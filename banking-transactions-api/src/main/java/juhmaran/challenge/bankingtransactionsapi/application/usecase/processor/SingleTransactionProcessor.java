@@ -1,12 +1,15 @@
 package juhmaran.challenge.bankingtransactionsapi.application.usecase.processor;
 
 import juhmaran.challenge.bankingtransactionsapi.application.port.out.AccountRepositoryPort;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.hotspot.HotAccountTracker;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.metrics.TransactionMetrics;
 import juhmaran.challenge.bankingtransactionsapi.domain.entity.Account;
 import juhmaran.challenge.bankingtransactionsapi.domain.exception.AccountNotFoundException;
 import juhmaran.challenge.bankingtransactionsapi.domain.exception.InsufficientFundsException;
 import juhmaran.challenge.bankingtransactionsapi.domain.exception.InvalidTransactionTypeException;
 import juhmaran.challenge.bankingtransactionsapi.domain.exception.TransactionProcessingException;
 import juhmaran.challenge.bankingtransactionsapi.domain.service.AccountOperationService;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
 import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.enums.TransactionType;
 import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.request.TransactionRequest;
 import lombok.RequiredArgsConstructor;
@@ -14,7 +17,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
 import java.util.Objects;
 
 @Component
@@ -25,35 +27,74 @@ public class SingleTransactionProcessor {
 
   private final AccountRepositoryPort accountRepositoryPort;
   private final AccountOperationService accountOperationService;
+  private final TransactionMetrics transactionMetrics;
+  private final HotAccountTracker hotAccountTracker;
 
   public void process(TransactionRequest transaction) {
+    process(transaction, true);
+  }
+
+  /**
+   * Processa a transação lendo a conta sem lock. A consistência depende da coluna de versão de {@link Account}:
+   * uma atualização concorrente na mesma conta faz o commit falhar com conflito de versão.
+   */
+  public void processOptimistic(TransactionRequest transaction) {
+    process(transaction, false);
+  }
+
+  private void process(TransactionRequest transaction, boolean lock) {
     Objects.requireNonNull(transaction, "Transação não pode ser nula.");
     logger.debug("Iniciando processamento de transação para conta {}", transaction.accountNumber());
 
+    long start = System.nanoTime();
+    long locked = 0;
     try {
-      Account account = findAndLockAccount(transaction.accountNumber());
+      Account account = lock
+        ? findAndLockAccount(transaction.accountNumber(), transaction.accountKey())
+        : findAccount(transaction.accountNumber());
+      locked = System.nanoTime();
       validateTransactionType(transaction.type(), transaction.accountNumber());
+      long applyStart = System.nanoTime();
       applyOperation(account, transaction.amount(), transaction.type());
+      transactionMetrics.record(TransactionMetrics.Phase.APPLY, applyStart);
       saveAccount(account);
+      transactionMetrics.recordItem(TransactionMetrics.Outcome.APPLIED, start);
       logger.debug("Processamento de transação concluído com sucesso para conta {}", account.getAccountNumber());
     } catch (AccountNotFoundException | InsufficientFundsException | InvalidTransactionTypeException e) {
+      transactionMetrics.recordItem(TransactionMetrics.Outcome.of(e), start);
       logger.error("Erro de domínio ao processar transação para conta {}: {}", transaction.accountNumber(), e.getMessage());
       throw new TransactionProcessingException(
-        "Erro ao processar transação para conta " + transaction.accountNumber() + ": " + e.getMessage(), e
+        "Erro ao processar transação para conta " + transaction.accountNumber() + ": " + e.getMessage(), e,
+        transaction
       );
     } catch (Exception e) {
+      transactionMetrics.recordItem(TransactionMetrics.Outcome.of(e), start);
       logger.error("Erro inesperado ao processar transação para conta {}: {}",
         transaction.accountNumber(), e.getMessage(), e);
       throw new TransactionProcessingException(
         "Ocorreu um erro interno ao processar a transação para a conta " + transaction.accountNumber(), e
       );
+    } finally {
+      // Se a busca com lock falhou (por exemplo, por lock timeout), toda a espera até a falha é contada.
+      long lockWait = lock ? (locked == 0 ? System.nanoTime() : locked) - start : 0;
+      hotAccountTracker.record(transaction.accountNumber(), lockWait);
     }
   }
 
-  private Account findAndLockAccount(String accountNumber) {
+  private Account findAndLockAccount(String accountNumber, long accountKey) {
     Objects.requireNonNull(accountNumber, "Número da conta não pode ser nulo ao buscar.");
     logger.debug("Buscando e bloqueando conta: {}", accountNumber);
-    return accountRepositoryPort.findByAccountNumberWithLock(accountNumber)
+    return accountRepositoryPort.findByAccountNumberWithLock(accountNumber, accountKey)
+      .orElseThrow(() -> {
+        logger.warn("Conta não encontrada para processamento: {}", accountNumber);
+        return new AccountNotFoundException("Conta não encontrada: " + accountNumber);
+      });
+  }
+
+  private Account findAccount(String accountNumber) {
+    Objects.requireNonNull(accountNumber, "Número da conta não pode ser nulo ao buscar.");
+    logger.debug("Buscando conta sem lock: {}", accountNumber);
+    return accountRepositoryPort.findByAccountNumber(accountNumber)
       .orElseThrow(() -> {
         logger.warn("Conta não encontrada para processamento: {}", accountNumber);
         return new AccountNotFoundException("Conta não encontrada: " + accountNumber);
@@ -67,7 +108,7 @@ public class SingleTransactionProcessor {
     }
   }
 
-  private void applyOperation(Account account, BigDecimal amount, TransactionType type) {
+  private void applyOperation(Account account, Money amount, TransactionType type) {
     Objects.requireNonNull(account, "Conta não pode ser nula ao aplicar operação.");
     Objects.requireNonNull(amount, "Valor não pode ser nulo ao aplicar operação.");
     Objects.requireNonNull(type, "Tipo não pode ser nulo ao aplicar operação.");
@@ -93,7 +134,9 @@ public class SingleTransactionProcessor {
   private void saveAccount(Account account) {
     Objects.requireNonNull(account, "Conta não pode ser nula ao salvar.");
     logger.debug("Salvando conta {}", account.getAccountNumber());
+    long start = System.nanoTime();
     accountRepositoryPort.save(account);
+    transactionMetrics.record(TransactionMetrics.Phase.SAVE, start);
   }
 
 }
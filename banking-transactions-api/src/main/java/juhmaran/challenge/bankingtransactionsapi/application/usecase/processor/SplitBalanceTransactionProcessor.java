@@ -0,0 +1,172 @@
+package juhmaran.challenge.bankingtransactionsapi.application.usecase.processor;
+
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.AccountRepositoryPort;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.AccountSlotRepositoryPort;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.hotspot.HotAccountTracker;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.metrics.TransactionMetrics;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.split.SplitBalanceManager;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.AccountNotFoundException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.InsufficientFundsException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.InvalidTransactionTypeException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.TransactionProcessingException;
+import juhmaran.challenge.bankingtransactionsapi.domain.service.AccountOperationService;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.request.TransactionRequest;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Aplica transações em contas com saldo dividido em slots (veja {@link SplitBalanceManager}). <br>
+ * Créditos são um único {@code UPDATE} no slot da thread. Débitos tentam primeiro o mesmo slot, sem esperar pelo
+ * lock dele; sem saldo suficiente nele (ou com ele bloqueado), todos os slots da conta são bloqueados em ordem, e o
+ * valor é reunido a partir do slot da thread. Somente quando a soma dos slots (e da linha da conta) não cobre o
+ * débito, ele é rejeitado por saldo insuficiente.
+ * <p>
+ * O bloqueio de todos os slots em ordem só evita {@code deadlock} se a transação ainda não tiver nenhum slot. Em
+ * lotes com mais de um item, um item anterior pode ter bloqueado o slot da thread ou o de outra conta dividida; por
+ * isso esses lotes bloqueiam antes todos os slots das suas contas divididas ({@link #lockSlots(List)}).
+ * </p>
+ *
+ * @author Juliane Maran
+ */
+@Component
+@RequiredArgsConstructor
+public class SplitBalanceTransactionProcessor {
+
+  private static final Logger logger = LoggerFactory.getLogger(SplitBalanceTransactionProcessor.class);
+
+  private final AccountSlotRepositoryPort accountSlotRepositoryPort;
+  private final AccountRepositoryPort accountRepositoryPort;
+  private final SplitBalanceManager splitBalanceManager;
+  private final AccountOperationService accountOperationService;
+  private final TransactionMetrics transactionMetrics;
+  private final HotAccountTracker hotAccountTracker;
+
+  public void process(TransactionRequest transaction) {
+    Objects.requireNonNull(transaction, "Transação não pode ser nula.");
+    String accountNumber = Objects.requireNonNull(transaction.accountNumber(),
+      "Número da conta não pode ser nulo ao buscar.");
+    Money amount = transaction.amount();
+    int slot = splitBalanceManager.slotFor(accountNumber);
+    logger.debug("Aplicando transação {} de {} no slot {} da conta {}", transaction.type(), amount, slot,
+      accountNumber);
+
+    long start = System.nanoTime();
+    long updatedAt = 0;
+    try {
+      if (transaction.type() == null) {
+        logger.warn("Tipo de transação é nulo para conta {}", accountNumber);
+        throw new InvalidTransactionTypeException("Tipo de transação não especificado para conta: " + accountNumber);
+      }
+      switch (transaction.type()) {
+        case DEBIT -> {
+          accountOperationService.validateDebitAmount(amount);
+          if (accountSlotRepositoryPort.debitSlotIfSufficientFunds(accountNumber, slot, amount) == 0) {
+            debitFromAllSlots(accountNumber, transaction.accountKey(), slot, amount);
+          }
+        }
+        case CREDIT -> {
+          accountOperationService.validateCreditAmount(amount);
+          // Sem o slot (slots removidos após mudança de configuração), o crédito vai para a linha da conta.
+          if (accountSlotRepositoryPort.creditSlot(accountNumber, slot, amount) == 0
+            && accountRepositoryPort.credit(accountNumber, transaction.accountKey(), amount) == 0) {
+            logger.warn("Conta não encontrada para processamento: {}", accountNumber);
+            throw new AccountNotFoundException("Conta não encontrada: " + accountNumber);
+          }
+        }
+      }
+      updatedAt = System.nanoTime();
+      transactionMetrics.recordItem(TransactionMetrics.Outcome.APPLIED, start);
+    } catch (AccountNotFoundException | InsufficientFundsException | InvalidTransactionTypeException e) {
+      transactionMetrics.recordItem(TransactionMetrics.Outcome.of(e), start);
+      logger.error("Erro de domínio ao processar transação para conta {}: {}", accountNumber, e.getMessage());
+      throw new TransactionProcessingException(
+        "Erro ao processar transação para conta " + accountNumber + ": " + e.getMessage(), e, transaction
+      );
+    } catch (Exception e) {
+      transactionMetrics.recordItem(TransactionMetrics.Outcome.of(e), start);
+      logger.error("Erro inesperado ao processar transação para conta {}: {}", accountNumber, e.getMessage(), e);
+      throw new TransactionProcessingException(
+        "Ocorreu um erro interno ao processar a transação para a conta " + accountNumber, e
+      );
+    } finally {
+      hotAccountTracker.record(accountNumber, (updatedAt == 0 ? System.nanoTime() : updatedAt) - start);
+    }
+  }
+
+  /**
+   * Bloqueia todos os slots das contas divididas de um lote com mais de um item, em ordem de número da conta e de
+   * slot. Deve ser chamado no início da transação, antes de qualquer lançamento e de qualquer savepoint: os itens
+   * seguintes passam a usar apenas slots já bloqueados pela própria transação.
+   */
+  public void lockSlots(List<TransactionRequest> transactions) {
+    if (transactions.size() < 2) {
+      return;
+    }
+    Set<String> accountNumbers = new TreeSet<>();
+    for (TransactionRequest transaction : transactions) {
+      if (transaction != null && transaction.accountNumber() != null
+        && splitBalanceManager.isSplit(transaction.accountNumber())) {
+        accountNumbers.add(transaction.accountNumber());
+      }
+    }
+    for (String accountNumber : accountNumbers) {
+      accountSlotRepositoryPort.findSlotBalancesWithLock(accountNumber);
+    }
+  }
+
+  /**
+   * Reúne o valor do débito a partir do slot da thread, seguindo pelos demais slots, com todos eles bloqueados. O
+   * saldo ainda na linha da conta (antes do próximo rebalanceamento) também é considerado.
+   */
+  private void debitFromAllSlots(String accountNumber, long accountKey, int slot, Money amount) {
+    splitBalanceManager.recordDebitFallback();
+    List<Money> balances = new ArrayList<>(accountSlotRepositoryPort.findSlotBalancesWithLock(accountNumber));
+    if (balances.isEmpty()) {
+      if (accountRepositoryPort.debitIfSufficientFunds(accountNumber, accountKey, amount) == 1) {
+        return;
+      }
+      if (!accountRepositoryPort.existsByAccountNumber(accountNumber, accountKey)) {
+        logger.warn("Conta não encontrada para processamento: {}", accountNumber);
+        throw new AccountNotFoundException("Conta não encontrada: " + accountNumber);
+      }
+      throw insufficientFunds(accountNumber, amount);
+    }
+
+    long total = 0;
+    for (Money balance : balances) {
+      total += balance.minorUnits();
+    }
+    if (total < amount.minorUnits()) {
+      Money taken = accountSlotRepositoryPort.takeAccountBalance(accountNumber);
+      balances.set(0, balances.get(0).plus(taken));
+      total += taken.minorUnits();
+      if (total < amount.minorUnits()) {
+        throw insufficientFunds(accountNumber, amount);
+      }
+    }
+
+    long remaining = amount.minorUnits();
+    for (int i = 0; i < balances.size() && remaining > 0; i++) {
+      int current = (slot + i) % balances.size();
+      long taken = Math.min(balances.get(current).minorUnits(), remaining);
+      balances.set(current, Money.ofMinorUnits(balances.get(current).minorUnits() - taken));
+      remaining -= taken;
+    }
+    accountSlotRepositoryPort.updateSlotBalances(accountNumber, balances);
+  }
+
+  private static InsufficientFundsException insufficientFunds(String accountNumber, Money amount) {
+    return new InsufficientFundsException(
+      "Saldo insuficiente para a conta " + accountNumber + ". Débito solicitado: " + amount);
+  }
+
+}
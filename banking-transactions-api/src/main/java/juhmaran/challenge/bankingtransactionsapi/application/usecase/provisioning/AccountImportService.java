@@ -0,0 +1,80 @@
+package juhmaran.challenge.bankingtransactionsapi.application.usecase.provisioning;
+
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.AccountRepositoryPort;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.JournalEntry;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.TransactionJournalPort;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.journal.JournalWriteAhead;
+import juhmaran.challenge.bankingtransactionsapi.domain.entity.Account;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Criação de contas em massa, em blocos. <br>
+ * Em vez de uma verificação e de um {@code INSERT} por conta, como em
+ * {@code AccountService.createAccountIfNotFound}, cada bloco faz uma consulta por conjunto para descobrir as contas
+ * que já existem e insere as demais com lotes JDBC ({@link AccountRepositoryPort#insertAll}), em uma única transação.
+ * Contas existentes, e números repetidos dentro do bloco, são ignorados; o saldo delas não é alterado.
+ *
+ * @author Juliane Maran
+ */
+@Service
+@RequiredArgsConstructor
+public class AccountImportService {
+
+  private final AccountRepositoryPort accountRepositoryPort;
+  private final TransactionJournalPort transactionJournalPort;
+  private final TransactionOperations transactionOperations;
+
+  /**
+   * Cria as contas do bloco que ainda não existem, em uma transação do {@link TransactionOperations} usado pelos
+   * lotes; com as contas particionadas entre shards, o bloco é confirmado ou desfeito em todos os shards acessados.
+   *
+   * @param initialBalances Saldo inicial por número da conta, na ordem de leitura.
+   * @return As quantidades de contas criadas e ignoradas.
+   */
+  public ChunkResult importChunk(List<Map.Entry<String, Money>> initialBalances) {
+    return transactionOperations.execute(status -> insertMissing(initialBalances));
+  }
+
+  private ChunkResult insertMissing(List<Map.Entry<String, Money>> initialBalances) {
+    Map<String, Money> distinct = new LinkedHashMap<>();
+    for (Map.Entry<String, Money> entry : initialBalances) {
+      Objects.requireNonNull(entry.getKey(), "Número da conta não pode ser nulo.");
+      Objects.requireNonNull(entry.getValue(), "Saldo inicial não pode ser nulo.");
+      distinct.putIfAbsent(entry.getKey(), entry.getValue());
+    }
+    Set<String> existing = accountRepositoryPort.findExistingAccountNumbers(distinct.keySet());
+
+    List<Account> accounts = new ArrayList<>(distinct.size() - existing.size());
+    List<JournalEntry> entries = new ArrayList<>(distinct.size() - existing.size());
+    distinct.forEach((accountNumber, balance) -> {
+      if (!existing.contains(accountNumber)) {
+        accounts.add(new Account(null, accountNumber, balance));
+        entries.add(new JournalEntry(JournalEntry.Type.OPEN, accountNumber, balance));
+      }
+    });
+    if (!accounts.isEmpty()) {
+      accountRepositoryPort.insertAll(accounts);
+      JournalWriteAhead.appendBeforeCommit(transactionJournalPort, entries);
+    }
+    return new ChunkResult(accounts.size(), initialBalances.size() - accounts.size());
+  }
+
+  /**
+   * @param imported Contas criadas.
+   * @param skipped  Contas ignoradas por já existirem ou por se repetirem no bloco.
+   */
+  public record ChunkResult(int imported, int skipped) {
+
+  }
+
+}
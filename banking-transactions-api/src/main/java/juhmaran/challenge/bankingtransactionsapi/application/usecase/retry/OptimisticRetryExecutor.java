@@ -0,0 +1,110 @@
+package juhmaran.challenge.bankingtransactionsapi.application.usecase.retry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.ConcurrentUpdateException;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.TransactionProperties;
+import org.hibernate.StaleStateException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executa uma unidade de trabalho transacional e a repete quando o commit falha por conflito de versão
+ * (concorrência otimista). <br>
+ * A espera entre tentativas é exponencial com jitter completo: um valor aleatório entre zero e
+ * {@code min(maxBackoff, initialBackoff * 2^(tentativa - 1))}.
+ * <p>
+ * Métricas expostas: {@code banking.transactions.optimistic.attempts}, {@code .conflicts}, {@code .retries}
+ * e {@code .exhausted}. A taxa de conflito é {@code conflicts / attempts}.
+ * </p>
+ *
+ * @author Juliane Maran
+ */
+@Component
+public class OptimisticRetryExecutor {
+
+  private static final Logger logger = LoggerFactory.getLogger(OptimisticRetryExecutor.class);
+
+  private final int maxAttempts;
+  private final long initialBackoffNanos;
+  private final long maxBackoffNanos;
+
+  private final Counter attempts;
+  private final Counter conflicts;
+  private final Counter retries;
+  private final Counter exhausted;
+
+  public OptimisticRetryExecutor(TransactionProperties transactionProperties, MeterRegistry meterRegistry) {
+    TransactionProperties.Optimistic properties = transactionProperties.optimistic();
+    this.maxAttempts = Math.max(1, properties.maxAttempts());
+    this.initialBackoffNanos = properties.initialBackoff().toNanos();
+    this.maxBackoffNanos = properties.maxBackoff().toNanos();
+    this.attempts = meterRegistry.counter("banking.transactions.optimistic.attempts");
+    this.conflicts = meterRegistry.counter("banking.transactions.optimistic.conflicts");
+    this.retries = meterRegistry.counter("banking.transactions.optimistic.retries");
+    this.exhausted = meterRegistry.counter("banking.transactions.optimistic.exhausted");
+  }
+
+  /**
+   * @param unitOfWork Unidade de trabalho que abre e confirma a própria transação.
+   * @throws ConcurrentUpdateException Se todas as tentativas terminarem em conflito de versão.
+   */
+  public void execute(Runnable unitOfWork) {
+    for (int attempt = 1; ; attempt++) {
+      attempts.increment();
+      try {
+        unitOfWork.run();
+        return;
+      } catch (RuntimeException e) {
+        if (!isOptimisticConflict(e)) {
+          throw e;
+        }
+        conflicts.increment();
+        if (attempt >= maxAttempts) {
+          exhausted.increment();
+          logger.warn("Conflito de concorrência persistente após {} tentativas: {}", attempt, e.getMessage());
+          throw new ConcurrentUpdateException(
+            "Conflito de atualização concorrente após " + attempt + " tentativas. Tente novamente.", e);
+        }
+        retries.increment();
+        logger.debug("Conflito de versão na tentativa {}. Tentando novamente.", attempt);
+        sleep(backoffNanos(attempt));
+      }
+    }
+  }
+
+  static boolean isOptimisticConflict(Throwable throwable) {
+    for (Throwable current = throwable; current != null; current = current.getCause()) {
+      if (current instanceof OptimisticLockingFailureException
+        || current instanceof OptimisticLockException
+        || current instanceof StaleStateException) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private long backoffNanos(int attempt) {
+    long ceiling = initialBackoffNanos << Math.min(attempt - 1, 30);
+    if (ceiling <= 0 || ceiling > maxBackoffNanos) {
+      ceiling = maxBackoffNanos;
+    }
+    return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+  }
+
+  private static void sleep(long nanos) {
+    try {
+      TimeUnit.NANOSECONDS.sleep(nanos);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ConcurrentUpdateException("Interrompido aguardando nova tentativa após conflito de versão.", e);
+    }
+  }
+
+}
@@ -0,0 +1,255 @@
+package juhmaran.challenge.bankingtransactionsapi.application.usecase.split;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.AccountRepositoryPort;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.AccountSlotRepositoryPort;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.SplitBalanceProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Mantém os slots das contas com saldo dividido ({@code banking.split-balance.*}). <br>
+ * O saldo de uma conta disputada é distribuído em {@code K} slots, linhas independentes da tabela de slots, para que
+ * lançamentos concorrentes na mesma conta bloqueiem linhas diferentes. Cada thread usa sempre o mesmo slot de uma
+ * conta ({@link #slotFor(String)}): as threads se distribuem de forma uniforme entre os slots, e uma transação com
+ * vários itens da mesma conta não alterna entre slots, o que reduz a chance de {@code deadlock} com os débitos que
+ * bloqueiam todos os slots.
+ * <p>
+ * Em segundo plano, a cada {@link SplitBalanceProperties#rebalanceInterval()}, os slots de cada conta são criados, o
+ * saldo da linha da conta é transferido para eles e, quando algum slot fica abaixo da metade da média, o total é
+ * redistribuído igualmente. Uma conta só passa a ser tratada como dividida após o primeiro rebalanceamento; contas
+ * que deixaram de ser configuradas têm os slots somados de volta à linha da conta.
+ * </p>
+ * <p>
+ * Métricas expostas: {@code banking.split-balance.rebalances} e {@code banking.split-balance.debit.fallbacks}
+ * (débitos que precisaram reunir saldo de vários slots).
+ * </p>
+ *
+ * @author Juliane Maran
+ */
+@Component
+public class SplitBalanceManager {
+
+  private static final Logger logger = LoggerFactory.getLogger(SplitBalanceManager.class);
+
+  private final boolean enabled;
+  private final Map<String, Integer> slotsByAccount;
+  private final long rebalanceMillis;
+  private final AccountSlotRepositoryPort accountSlotRepositoryPort;
+  private final AccountRepositoryPort accountRepositoryPort;
+  private final TransactionOperations transactionOperations;
+  private final Set<String> splitAccounts = ConcurrentHashMap.newKeySet();
+  private final Counter rebalances;
+  private final Counter debitFallbacks;
+  private ScheduledExecutorService rebalancer;
+
+  public SplitBalanceManager(SplitBalanceProperties properties,
+                             AccountSlotRepositoryPort accountSlotRepositoryPort,
+                             AccountRepositoryPort accountRepositoryPort,
+                             TransactionOperations transactionOperations,
+                             MeterRegistry meterRegistry) {
+    if (properties.rebalanceInterval().toMillis() <= 0) {
+      throw new IllegalArgumentException("banking.split-balance.rebalance-interval deve ser positivo.");
+    }
+    this.enabled = properties.enabled();
+    this.slotsByAccount = properties.enabled()
+      ? properties.accounts().entrySet().stream().filter(entry -> entry.getValue() != null && entry.getValue() > 1)
+      .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, Map.Entry::getValue))
+      : Map.of();
+    this.rebalanceMillis = properties.rebalanceInterval().toMillis();
+    this.accountSlotRepositoryPort = accountSlotRepositoryPort;
+    this.accountRepositoryPort = accountRepositoryPort;
+    this.transactionOperations = transactionOperations;
+    this.rebalances = Counter.builder("banking.split-balance.rebalances")
+      .description("Redistribuições do saldo entre os slots de uma conta")
+      .register(meterRegistry);
+    this.debitFallbacks = Counter.builder("banking.split-balance.debit.fallbacks")
+      .description("Débitos sem saldo no slot da thread, aplicados com o saldo de todos os slots")
+      .register(meterRegistry);
+  }
+
+  /**
+   * Prepara os slots após a inicialização dos dados e agenda o rebalanceamento. Slots de contas retiradas de
+   * {@link SplitBalanceProperties#accounts()} são somados de volta às contas. Com a divisão desativada, a tabela de
+   * slots não é consultada: para desfazer a divisão, retire as contas da configuração antes de desativá-la.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    rebalanceAll();
+    if (enabled && !slotsByAccount.isEmpty()) {
+      rebalancer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "split-balance-rebalancer");
+        thread.setDaemon(true);
+        return thread;
+      });
+      rebalancer.scheduleWithFixedDelay(this::rebalanceAll, rebalanceMillis, rebalanceMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (rebalancer != null) {
+      rebalancer.shutdownNow();
+    }
+  }
+
+  /**
+   * Indica se há alguma conta dividida; permite ao caminho das transações pular as demais verificações.
+   */
+  public boolean hasSplitAccounts() {
+    return !splitAccounts.isEmpty();
+  }
+
+  public boolean isSplit(String accountNumber) {
+    return accountNumber != null && splitAccounts.contains(accountNumber);
+  }
+
+  /**
+   * Slot da conta usado pela thread corrente.
+   */
+  public int slotFor(String accountNumber) {
+    int slots = slotsByAccount.getOrDefault(accountNumber, 1);
+    return (int) Math.floorMod(Thread.currentThread().threadId(), (long) slots);
+  }
+
+  /**
+   * Saldo da linha da conta somado ao de seus slots.
+   */
+  public Optional<Money> findTotalBalance(String accountNumber) {
+    return accountSlotRepositoryPort.findTotalBalance(accountNumber);
+  }
+
+  public void recordDebitFallback() {
+    debitFallbacks.increment();
+  }
+
+  /**
+   * Rebalanceia todas as contas configuradas e devolve à linha da conta os slots das contas não configuradas. Falhas
+   * em uma conta são registradas e não interrompem as demais.
+   */
+  public void rebalanceAll() {
+    try {
+      for (String accountNumber : accountSlotRepositoryPort.findSplitAccountNumbers()) {
+        if (!slotsByAccount.containsKey(accountNumber)) {
+          merge(accountNumber);
+        }
+      }
+      for (Map.Entry<String, Integer> entry : slotsByAccount.entrySet()) {
+        rebalance(entry.getKey(), entry.getValue());
+      }
+    } catch (RuntimeException e) {
+      logger.warn("Falha ao rebalancear os slots de saldo: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Cria os slots da conta, transfere para eles o saldo da linha da conta e redistribui o total igualmente, quando
+   * necessário.
+   *
+   * @return {@code true} se os saldos foram redistribuídos.
+   */
+  boolean rebalance(String accountNumber, int slots) {
+    if (splitAccounts.contains(accountNumber) && !needsRebalance(accountNumber, slots)) {
+      return false;
+    }
+    Boolean rebalanced = transactionOperations.execute(status -> {
+      if (!accountRepositoryPort.existsByAccountNumber(accountNumber)) {
+        return false;
+      }
+      accountSlotRepositoryPort.createSlots(accountNumber, slots);
+      List<Money> balances = accountSlotRepositoryPort.findSlotBalancesWithLock(accountNumber);
+      long total = accountSlotRepositoryPort.takeAccountBalance(accountNumber).minorUnits();
+      for (Money balance : balances) {
+        total += balance.minorUnits();
+      }
+      List<Money> target = new ArrayList<>(slots);
+      for (int slot = 0; slot < slots; slot++) {
+        target.add(Money.ofMinorUnits(total / slots + (slot < total % slots ? 1 : 0)));
+      }
+      accountSlotRepositoryPort.updateSlotBalances(accountNumber, target);
+      if (balances.size() > slots) {
+        accountSlotRepositoryPort.deleteSlotsFrom(accountNumber, slots);
+      }
+      return true;
+    });
+    if (!Boolean.TRUE.equals(rebalanced)) {
+      return false;
+    }
+    if (splitAccounts.add(accountNumber)) {
+      logger.info("Saldo da conta {} dividido em {} slots.", accountNumber, slots);
+    }
+    rebalances.increment();
+    return true;
+  }
+
+  /**
+   * Soma de volta à linha da conta o saldo dos slots das contas informadas que estão divididas e remove os slots. Na
+   * recuperação do journal, que conhece apenas o saldo total de cada conta, a linha passa a conter esse total; o
+   * próximo rebalanceamento volta a dividir as contas configuradas. Participa da transação corrente, se houver.
+   *
+   * @return A quantidade de contas cujos slots foram somados de volta.
+   */
+  public int mergeSlots(Collection<String> accountNumbers) {
+    int merged = 0;
+    for (String accountNumber : accountSlotRepositoryPort.findSplitAccountNumbers()) {
+      if (accountNumbers.contains(accountNumber)) {
+        merge(accountNumber);
+        merged++;
+      }
+    }
+    return merged;
+  }
+
+  /**
+   * Há slots faltando ou sobrando, saldo na linha da conta ou algum slot abaixo da metade da média.
+   */
+  private boolean needsRebalance(String accountNumber, int slots) {
+    List<Money> balances = accountSlotRepositoryPort.findSlotBalances(accountNumber);
+    if (balances.size() != slots) {
+      return true;
+    }
+    long sum = 0;
+    long min = Long.MAX_VALUE;
+    for (Money balance : balances) {
+      sum += balance.minorUnits();
+      min = Math.min(min, balance.minorUnits());
+    }
+    long total = findTotalBalance(accountNumber).map(Money::minorUnits).orElse(sum);
+    return total != sum || min * 2 * slots < total;
+  }
+
+  private void merge(String accountNumber) {
+    splitAccounts.remove(accountNumber);
+    transactionOperations.executeWithoutResult(status -> {
+      long total = 0;
+      for (Money balance : accountSlotRepositoryPort.findSlotBalancesWithLock(accountNumber)) {
+        total += balance.minorUnits();
+      }
+      accountSlotRepositoryPort.deleteSlotsFrom(accountNumber, 0);
+      if (total > 0) {
+        accountRepositoryPort.credit(accountNumber, Money.ofMinorUnits(total));
+      }
+    });
+    logger.info("Slots da conta {} somados de volta ao saldo da conta.", accountNumber);
+  }
+
+}
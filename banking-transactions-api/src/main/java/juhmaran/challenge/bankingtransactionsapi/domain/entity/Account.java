@@ -1,29 +1,74 @@
 package juhmaran.challenge.bankingtransactionsapi.domain.entity;
 
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.AccountKey;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.repository.converter.MoneyAttributeConverter;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-import java.math.BigDecimal;
-
 @Entity
 @Table(name = "accounts")
 @Getter
 @Setter
 @NoArgsConstructor
-@AllArgsConstructor
 public class Account {
 
+  /**
+   * Sequência dos identificadores. Cada valor obtido reserva um bloco de {@value #ID_ALLOCATION_SIZE}
+   * identificadores terminado nele (otimizador {@code pooled} do Hibernate), de modo que as inserções não precisam
+   * de um comando por identificador e podem ser agrupadas em lotes JDBC.
+   */
+  public static final String ID_SEQUENCE = "accounts_seq";
+  public static final int ID_ALLOCATION_SIZE = 50;
+
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+  @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
   private Long id;
 
   @Column(name = "account_number", unique = true, nullable = false)
   private String accountNumber;
 
+  /**
+   * Chave numérica do número da conta ({@link AccountKey}), indexada para as buscas por chave primária; nula para
+   * números fora do formato canônico.
+   */
+  @Setter(AccessLevel.NONE)
+  @Column(name = "account_key", unique = true, updatable = false)
+  private Long accountKey;
+
+  /**
+   * Saldo em unidades mínimas, persistido como {@code BIGINT}.
+   */
+  @Convert(converter = MoneyAttributeConverter.class)
   @Column(name = "balance", nullable = false)
-  private BigDecimal balance;
+  private Money balance;
+
+  /**
+   * Versão da linha, usada pelo controle de concorrência otimista para detectar atualizações conflitantes no commit.
+   */
+  @Version
+  @Column(name = "version")
+  private Long version;
+
+  public Account(Long id, String accountNumber, Money balance, Long version) {
+    this.id = id;
+    this.balance = balance;
+    this.version = version;
+    setAccountNumber(accountNumber);
+  }
+
+  public Account(Long id, String accountNumber, Money balance) {
+    this(id, accountNumber, balance, null);
+  }
+
+  public void setAccountNumber(String accountNumber) {
+    this.accountNumber = accountNumber;
+    long key = AccountKey.parse(accountNumber);
+    this.accountKey = key == AccountKey.NONE ? null : key;
+  }
 
 }
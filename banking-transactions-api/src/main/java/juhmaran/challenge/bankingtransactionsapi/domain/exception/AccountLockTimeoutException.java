@@ -0,0 +1,9 @@
+package juhmaran.challenge.bankingtransactionsapi.domain.exception;
+
+public class AccountLockTimeoutException extends RuntimeException {
+
+  public AccountLockTimeoutException(String message) {
+    super(message);
+  }
+
+}
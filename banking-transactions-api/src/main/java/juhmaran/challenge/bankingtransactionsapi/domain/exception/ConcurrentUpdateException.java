@@ -0,0 +1,9 @@
+package juhmaran.challenge.bankingtransactionsapi.domain.exception;
+
+public class ConcurrentUpdateException extends RuntimeException {
+
+  public ConcurrentUpdateException(String message, Throwable cause) {
+    super(message, cause);
+  }
+
+}
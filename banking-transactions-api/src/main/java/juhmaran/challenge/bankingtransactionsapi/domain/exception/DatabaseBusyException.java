@@ -0,0 +1,9 @@
+package juhmaran.challenge.bankingtransactionsapi.domain.exception;
+
+public class DatabaseBusyException extends RuntimeException {
+
+  public DatabaseBusyException(String message) {
+    super(message);
+  }
+
+}
@@ -0,0 +1,9 @@
+package juhmaran.challenge.bankingtransactionsapi.domain.exception;
+
+public class IdempotencyKeyInProgressException extends RuntimeException {
+
+  public IdempotencyKeyInProgressException(String message) {
+    super(message);
+  }
+
+}
@@ -0,0 +1,9 @@
+package juhmaran.challenge.bankingtransactionsapi.domain.exception;
+
+public class IdempotencyKeyMismatchException extends RuntimeException {
+
+  public IdempotencyKeyMismatchException(String message) {
+    super(message);
+  }
+
+}
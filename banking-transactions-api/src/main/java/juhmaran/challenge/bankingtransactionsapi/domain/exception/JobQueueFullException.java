@@ -0,0 +1,9 @@
+package juhmaran.challenge.bankingtransactionsapi.domain.exception;
+
+public class JobQueueFullException extends RuntimeException {
+
+  public JobQueueFullException(String message) {
+    super(message);
+  }
+
+}
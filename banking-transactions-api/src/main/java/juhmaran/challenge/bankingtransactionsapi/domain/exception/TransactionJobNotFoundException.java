@@ -0,0 +1,9 @@
+package juhmaran.challenge.bankingtransactionsapi.domain.exception;
+
+public class TransactionJobNotFoundException extends RuntimeException {
+
+  public TransactionJobNotFoundException(String message) {
+    super(message);
+  }
+
+}
@@ -1,9 +1,38 @@
 package juhmaran.challenge.bankingtransactionsapi.domain.exception;
 
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.request.TransactionRequest;
+
+import java.util.Optional;
+
 public class TransactionProcessingException extends RuntimeException {
 
+  private final transient TransactionRequest failedItem;
+
   public TransactionProcessingException(String message, Throwable cause) {
+    this(message, cause, null);
+  }
+
+  /**
+   * @param failedItem O lançamento do lote que causou a falha, quando conhecido. É a mesma instância recebida no
+   *                   lote, de modo que quem o enviou localiza a posição do item por identidade.
+   */
+  public TransactionProcessingException(String message, Throwable cause, TransactionRequest failedItem) {
     super(message, cause);
+    this.failedItem = failedItem;
+  }
+
+  /**
+   * Indica se a falha foi causada pelo próprio item (conta inexistente, saldo insuficiente ou tipo inválido), e não
+   * por um erro de infraestrutura. Só essas falhas podem ser isoladas no item sem comprometer o restante do lote.
+   */
+  public boolean isItemFailure() {
+    return getCause() instanceof AccountNotFoundException
+      || getCause() instanceof InsufficientFundsException
+      || getCause() instanceof InvalidTransactionTypeException;
+  }
+
+  public Optional<TransactionRequest> getFailedItem() {
+    return Optional.ofNullable(failedItem);
   }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,57 @@
+package juhmaran.challenge.bankingtransactionsapi.domain.valueobject;
+
+/**
+ * Chave numérica compacta de um número de conta no formato canônico {@code numero-digito} (ex: {@code 1001-1}). <br>
+ * A chave é o número seguido do dígito verificador em um {@code long} ({@code 1001-1} vira {@code 10011}), e é
+ * indexada no banco no lugar da coluna de texto: as buscas comparam um inteiro, sem hash nem comparação de
+ * {@link String}.
+ * <p>
+ * O formato canônico exige de 1 a {@value #MAX_NUMBER_DIGITS} dígitos sem zeros à esquerda, um hífen e exatamente um
+ * dígito verificador, de modo que cada chave corresponde a um único número de conta. Números de conta fora desse
+ * formato continuam válidos, mas não têm chave ({@link #NONE}) e são buscados pelo texto.
+ * </p>
+ *
+ * @author Juliane Maran
+ */
+public final class AccountKey {
+
+  /**
+   * Valor de {@link #parse(CharSequence)} para números de conta fora do formato canônico.
+   */
+  public static final long NONE = -1L;
+
+  static final int MAX_NUMBER_DIGITS = 17;
+
+  private AccountKey() {
+  }
+
+  /**
+   * Interpreta o número da conta sem criar objetos intermediários.
+   *
+   * @return A chave, ou {@link #NONE} se o número for nulo ou estiver fora do formato canônico.
+   */
+  public static long parse(CharSequence accountNumber) {
+    if (accountNumber == null) {
+      return NONE;
+    }
+    int length = accountNumber.length();
+    int separator = length - 2;
+    if (separator < 1 || separator > MAX_NUMBER_DIGITS || accountNumber.charAt(separator) != '-'
+      || (separator > 1 && accountNumber.charAt(0) == '0')) {
+      return NONE;
+    }
+    long key = 0L;
+    for (int i = 0; i < length; i++) {
+      if (i == separator) {
+        continue;
+      }
+      int digit = accountNumber.charAt(i) - '0';
+      if (digit < 0 || digit > 9) {
+        return NONE;
+      }
+      key = key * 10 + digit;
+    }
+    return key;
+  }
+
+}
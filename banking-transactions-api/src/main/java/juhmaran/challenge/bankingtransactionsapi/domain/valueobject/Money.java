@@ -0,0 +1,184 @@
+package juhmaran.challenge.bankingtransactionsapi.domain.valueobject;
+
+import java.math.BigDecimal;
+
+/**
+ * Valor monetário de escala fixa ({@value #SCALE} casas decimais) representado em unidades mínimas (centavos)
+ * em um {@code long}. <br>
+ * Substitui {@link BigDecimal} no caminho quente das transações: soma, subtração e comparação são operações
+ * primitivas, sem alinhamento de escala nem alocação de objetos intermediários.
+ * <p>
+ * Estouro de capacidade e valores com mais de {@value #SCALE} casas decimais significativas são rejeitados com
+ * {@link IllegalArgumentException}.
+ * </p>
+ *
+ * @param minorUnits O valor em unidades mínimas (ex: {@code 12345} representa {@code 123.45}).
+ * @author Juliane Maran
+ */
+public record Money(long minorUnits) implements Comparable<Money> {
+
+  public static final int SCALE = 2;
+  public static final Money ZERO = new Money(0L);
+
+  private static final long MINOR_UNITS_PER_UNIT = 100L;
+
+  public static Money ofMinorUnits(long minorUnits) {
+    return minorUnits == 0L ? ZERO : new Money(minorUnits);
+  }
+
+  /**
+   * Converte um {@link BigDecimal}. Zeros à direita além da escala são aceitos ({@code 10.500} vira {@code 10.50}).
+   *
+   * @throws IllegalArgumentException Se o valor tiver mais de {@value #SCALE} casas decimais significativas
+   *                                  ou não couber em um {@code long} de unidades mínimas.
+   */
+  public static Money of(BigDecimal amount) {
+    if (amount == null) {
+      throw new IllegalArgumentException("Valor monetário não pode ser nulo.");
+    }
+    BigDecimal scaled = amount.movePointRight(SCALE);
+    try {
+      return ofMinorUnits(scaled.longValueExact());
+    } catch (ArithmeticException e) {
+      if (scaled.stripTrailingZeros().scale() > 0) {
+        throw new IllegalArgumentException(tooManyDecimalsMessage(amount.toPlainString()));
+      }
+      throw new IllegalArgumentException(overflowMessage());
+    }
+  }
+
+  public static Money parse(CharSequence text) {
+    if (text == null) {
+      throw new IllegalArgumentException("Valor monetário não pode ser nulo.");
+    }
+    char[] chars = new char[text.length()];
+    for (int i = 0; i < chars.length; i++) {
+      chars[i] = text.charAt(i);
+    }
+    return parse(chars, 0, chars.length);
+  }
+
+  /**
+   * Interpreta um número decimal simples ({@code [-]digitos[.digitos]}) diretamente para unidades mínimas,
+   * sem criar {@link BigDecimal} nem {@link String} intermediários. Usado na leitura do JSON das requisições.
+   *
+   * @throws IllegalArgumentException Se o texto não for um número decimal simples, tiver mais de {@value #SCALE}
+   *                                  casas decimais significativas ou estourar a capacidade.
+   */
+  public static Money parse(char[] chars, int offset, int length) {
+    int end = offset + length;
+    int i = offset;
+    boolean negative = false;
+    if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+      negative = chars[i] == '-';
+      i++;
+    }
+    if (i >= end) {
+      throw new IllegalArgumentException(invalidFormatMessage(chars, offset, length));
+    }
+
+    long units = 0L;
+    boolean hasDigits = false;
+    while (i < end && chars[i] != '.') {
+      int digit = chars[i] - '0';
+      if (digit < 0 || digit > 9) {
+        throw new IllegalArgumentException(invalidFormatMessage(chars, offset, length));
+      }
+      units = accumulate(units, digit);
+      hasDigits = true;
+      i++;
+    }
+
+    long fraction = 0L;
+    int fractionDigits = 0;
+    if (i < end) {
+      i++;
+      while (i < end) {
+        int digit = chars[i] - '0';
+        if (digit < 0 || digit > 9) {
+          throw new IllegalArgumentException(invalidFormatMessage(chars, offset, length));
+        }
+        if (fractionDigits < SCALE) {
+          fraction = fraction * 10 + digit;
+        } else if (digit != 0) {
+          throw new IllegalArgumentException(tooManyDecimalsMessage(new String(chars, offset, length)));
+        }
+        fractionDigits++;
+        hasDigits = true;
+        i++;
+      }
+    }
+    if (!hasDigits) {
+      throw new IllegalArgumentException(invalidFormatMessage(chars, offset, length));
+    }
+    for (int d = Math.min(fractionDigits, SCALE); d < SCALE; d++) {
+      fraction *= 10;
+    }
+
+    try {
+      long minorUnits = Math.addExact(Math.multiplyExact(units, MINOR_UNITS_PER_UNIT), fraction);
+      return ofMinorUnits(negative ? -minorUnits : minorUnits);
+    } catch (ArithmeticException e) {
+      throw new IllegalArgumentException(overflowMessage());
+    }
+  }
+
+  public Money plus(Money other) {
+    try {
+      return ofMinorUnits(Math.addExact(minorUnits, other.minorUnits));
+    } catch (ArithmeticException e) {
+      throw new IllegalArgumentException(overflowMessage());
+    }
+  }
+
+  public Money minus(Money other) {
+    try {
+      return ofMinorUnits(Math.subtractExact(minorUnits, other.minorUnits));
+    } catch (ArithmeticException e) {
+      throw new IllegalArgumentException(overflowMessage());
+    }
+  }
+
+  public boolean isPositive() {
+    return minorUnits > 0L;
+  }
+
+  public boolean isLessThan(Money other) {
+    return minorUnits < other.minorUnits;
+  }
+
+  public BigDecimal toBigDecimal() {
+    return BigDecimal.valueOf(minorUnits, SCALE);
+  }
+
+  @Override
+  public int compareTo(Money other) {
+    return Long.compare(minorUnits, other.minorUnits);
+  }
+
+  @Override
+  public String toString() {
+    return toBigDecimal().toPlainString();
+  }
+
+  private static long accumulate(long units, int digit) {
+    try {
+      return Math.addExact(Math.multiplyExact(units, 10L), digit);
+    } catch (ArithmeticException e) {
+      throw new IllegalArgumentException(overflowMessage());
+    }
+  }
+
+  private static String tooManyDecimalsMessage(String value) {
+    return "Valor monetário com mais de " + SCALE + " casas decimais: " + value;
+  }
+
+  private static String invalidFormatMessage(char[] chars, int offset, int length) {
+    return "Valor monetário inválido: " + new String(chars, offset, length);
+  }
+
+  private static String overflowMessage() {
+    return "Valor monetário excede o limite suportado.";
+  }
+
+}
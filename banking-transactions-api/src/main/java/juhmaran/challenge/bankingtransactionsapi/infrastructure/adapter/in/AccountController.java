@@ -1,25 +1,48 @@
 package juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.in;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import juhmaran.challenge.bankingtransactionsapi.application.port.in.AccountServicePort;
+import juhmaran.challenge.bankingtransactionsapi.application.port.in.BatchAtomicity;
+import juhmaran.challenge.bankingtransactionsapi.application.port.in.TransactionBatchResult;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.idempotency.IdempotentTransactionService;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.job.TransactionJob;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.job.TransactionJobService;
 import juhmaran.challenge.bankingtransactionsapi.domain.entity.Account;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.TransactionJobNotFoundException;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.in.stream.AccountStreamImporter;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.in.stream.TransactionStreamIngestor;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.BalanceLookupProperties;
 import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.request.TransactionRequest;
 import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.response.AccountBalanceResponse;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.response.AccountImportProgress;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.response.AccountBalancesResponse;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.response.TransactionBatchResponse;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.response.TransactionJobResponse;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.response.TransactionStreamProgress;
 import juhmaran.challenge.bankingtransactionsapi.infrastructure.error.ErrorResponse;
 import juhmaran.challenge.bankingtransactionsapi.infrastructure.mapper.AccountMapper;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/accounts")
@@ -27,44 +50,144 @@ import java.util.List;
 @Validated
 public class AccountController {
 
+  static final String CONSISTENCY_TOKEN_HEADER = "Consistency-Token";
+
   private static final Logger logger = LoggerFactory.getLogger(AccountController.class);
 
   private final AccountServicePort accountServicePort;
   private final AccountMapper accountMapper;
+  private final TransactionStreamIngestor transactionStreamIngestor;
+  private final TransactionJobService transactionJobService;
+  private final IdempotentTransactionService idempotentTransactionService;
+  private final BalanceLookupProperties balanceLookupProperties;
+  private final AccountStreamImporter accountStreamImporter;
 
   @Operation(summary = "Realizar lançamentos (débito/crédito)",
-    description = "Executa uma lista de operações de débito ou crédito em contas específicas.", tags = {"Contas"})
-  @ApiResponse(responseCode = "200", description = "Lançamentos processados com sucesso",
-    content = @Content(mediaType = "application/json"))
+    description = "Executa uma lista de operações de débito ou crédito em contas específicas. O parâmetro atomicity "
+      + "escolhe a atomicidade do lote: ALL_OR_NOTHING (padrão) desfaz o lote inteiro no primeiro erro; PER_ITEM "
+      + "desfaz apenas os itens com erro (savepoints); CHUNKED confirma a cada chunkSize itens, também desfazendo "
+      + "apenas os itens com erro. A resposta traz o desfecho de cada item, para reenviar apenas os que falharam. "
+      + "Com o cabeçalho Idempotency-Key, um reenvio do mesmo lote recebe o resultado original sem aplicar os "
+      + "lançamentos de novo; com idempotencyKey em um item, apenas aquele item deixa de ser reaplicado (DUPLICATE). "
+      + "Com a réplica de leitura ativa, o cabeçalho Consistency-Token da resposta pode ser enviado na consulta de "
+      + "saldo para que ela reflita estes lançamentos.",
+    tags = {"Contas"})
+  @ApiResponse(responseCode = "200", description = "Lançamentos processados; o desfecho de cada item está na resposta",
+    content = @Content(mediaType = "application/json",
+      schema = @Schema(implementation = TransactionBatchResponse.class)))
   @ApiResponse(responseCode = "400", description = "Requisição inválida (erros de validação ou argumentos inválidos)",
     content = @Content(mediaType = "application/json",
       schema = @Schema(implementation = ErrorResponse.class)))
   @ApiResponse(responseCode = "404", description = "Conta não encontrada",
     content = @Content(mediaType = "application/json",
       schema = @Schema(implementation = ErrorResponse.class)))
-  @ApiResponse(responseCode = "409", description = "Conflito (saldo insuficiente ou recurso duplicado)",
+  @ApiResponse(responseCode = "409", description = "Conflito (saldo insuficiente, recurso duplicado ou lote com a "
+    + "mesma chave de idempotência ainda em processamento)",
     content = @Content(mediaType = "application/json",
       schema = @Schema(implementation = ErrorResponse.class)))
-  @ApiResponse(responseCode = "422", description = "Conteúdo semântico inválido (ex: valor zero/negativo)",
+  @ApiResponse(responseCode = "422", description = "Conteúdo semântico inválido (ex: valor zero/negativo ou chave de "
+    + "idempotência reutilizada com outro conteúdo)",
     content = @Content(mediaType = "application/json",
       schema = @Schema(implementation = ErrorResponse.class)))
   @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
     content = @Content(mediaType = "application/json",
       schema = @Schema(implementation = ErrorResponse.class)))
   @PostMapping("/transactions")
-  public ResponseEntity<Void> performTransactions(@Valid @RequestBody List<TransactionRequest> transactions) {
-    logger.info("Recebida requisição para realizar lançamentos. Quantidade: {}",
+  public ResponseEntity<TransactionBatchResponse> performTransactions(
+    @Valid @RequestBody List<TransactionRequest> transactions,
+    @RequestParam(defaultValue = "ALL_OR_NOTHING") BatchAtomicity.Mode atomicity,
+    @RequestParam(defaultValue = "100") int chunkSize,
+    @Parameter(description = "Chave de idempotência do lote (opcional), com no máximo 128 caracteres.")
+    @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey) {
+    logger.info("Recebida requisição para realizar lançamentos. Quantidade: {}, atomicidade: {}",
+      transactions != null ? transactions.size() : 0, atomicity);
+    TransactionBatchResult result = idempotentTransactionService.performTransactions(idempotencyKey, transactions,
+      new BatchAtomicity(atomicity, chunkSize));
+    logger.info("Lançamentos processados. Aplicados: {}, com erro: {}, duplicados: {}",
+      result.applied(), result.failed(), result.duplicates());
+    String consistencyToken = accountServicePort.consistencyToken();
+    ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK);
+    if (consistencyToken != null) {
+      response.header(CONSISTENCY_TOKEN_HEADER, consistencyToken);
+    }
+    return response.body(TransactionBatchResponse.from(result));
+  }
+
+  @Operation(summary = "Realizar lançamentos em fluxo (NDJSON)",
+    description = "Recebe os lançamentos como NDJSON (um objeto JSON por linha) ou como um array JSON, lendo e validando "
+      + "item a item sem carregar o corpo inteiro em memória. Os itens são processados em blocos de tamanho fixo "
+      + "(banking.streaming.chunk-size), cada um como um lote independente, e a resposta traz uma linha NDJSON de "
+      + "progresso por bloco. No primeiro erro a ingestão é interrompida: os blocos anteriores permanecem aplicados e a "
+      + "última linha tem status FAILED; caso contrário, COMPLETED.", tags = {"Contas"})
+  @ApiResponse(responseCode = "200", description = "Progresso da ingestão, uma linha por bloco",
+    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+      schema = @Schema(implementation = TransactionStreamProgress.class)))
+  @PostMapping(value = "/transactions/stream",
+    consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE},
+    produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public void performTransactionsStream(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    logger.info("Recebida requisição para realizar lançamentos em fluxo.");
+    response.setStatus(HttpStatus.OK.value());
+    response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    TransactionStreamProgress result = transactionStreamIngestor.ingest(request.getInputStream(),
+      response.getOutputStream());
+    logger.info("Lançamentos em fluxo finalizados com status {}. Processados: {}", result.status(), result.processed());
+  }
+
+  @Operation(summary = "Enviar lançamentos para processamento assíncrono",
+    description = "Enfileira o lote e retorna imediatamente 202 com o identificador do lote. O lote é processado em "
+      + "blocos (banking.jobs.chunk-size), cada um como um lote independente; no primeiro bloco com erro o "
+      + "processamento é interrompido. Acompanhe o progresso pelo endereço do cabeçalho Location. Aceita até "
+      + "banking.jobs.max-items lançamentos por lote (padrão 10000).", tags = {"Contas"})
+  @ApiResponse(responseCode = "202", description = "Lote aceito e enfileirado",
+    content = @Content(mediaType = "application/json",
+      schema = @Schema(implementation = TransactionJobResponse.class)))
+  @ApiResponse(responseCode = "400",
+    description = "Requisição inválida (erros de validação, argumentos inválidos ou lançamentos acima do limite)",
+    content = @Content(mediaType = "application/json",
+      schema = @Schema(implementation = ErrorResponse.class)))
+  @ApiResponse(responseCode = "429", description = "Fila de lotes assíncronos cheia",
+    content = @Content(mediaType = "application/json",
+      schema = @Schema(implementation = ErrorResponse.class)))
+  @PostMapping("/transactions/jobs")
+  public ResponseEntity<TransactionJobResponse> submitTransactionJob(
+    @Valid @RequestBody List<TransactionRequest> transactions) {
+    logger.info("Recebida requisição de lote assíncrono. Quantidade: {}",
       transactions != null ? transactions.size() : 0);
-    accountServicePort.performTransactions(transactions);
-    logger.info("Lançamentos processados com sucesso.");
-    return ResponseEntity.status(HttpStatus.OK).build();
+    TransactionJob job = transactionJobService.submit(transactions);
+    URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+      .path("/{jobId}").buildAndExpand(job.getId()).toUri();
+    return ResponseEntity.accepted().location(location).body(TransactionJobResponse.from(job.snapshot(false)));
+  }
+
+  @Operation(summary = "Consultar lote assíncrono",
+    description = "Retorna a situação, as contagens de progresso e, opcionalmente, o resultado de cada lançamento "
+      + "de um lote enviado para processamento assíncrono.", tags = {"Contas"})
+  @ApiResponse(responseCode = "200", description = "Situação do lote",
+    content = @Content(mediaType = "application/json",
+      schema = @Schema(implementation = TransactionJobResponse.class)))
+  @ApiResponse(responseCode = "404", description = "Lote não encontrado ou já expirado",
+    content = @Content(mediaType = "application/json",
+      schema = @Schema(implementation = ErrorResponse.class)))
+  @GetMapping("/transactions/jobs/{jobId}")
+  public ResponseEntity<TransactionJobResponse> getTransactionJob(
+    @PathVariable String jobId, @RequestParam(defaultValue = "true") boolean includeItems) {
+    TransactionJob job = transactionJobService.find(jobId)
+      .orElseThrow(() -> new TransactionJobNotFoundException("Lote não encontrado: " + jobId));
+    return ResponseEntity.ok(TransactionJobResponse.from(job.snapshot(includeItems)));
   }
 
   @Operation(summary = "Obter saldo da conta",
-    description = "Retorna o saldo atual de uma conta específica.", tags = {"Contas"})
+    description = "Retorna o saldo atual de uma conta específica. Com a réplica de leitura ativa, o saldo pode estar "
+      + "defasado até banking.read-replica.max-staleness; o cabeçalho Consistency-Token, recebido em um lançamento, "
+      + "garante que o saldo reflita aquele lote.", tags = {"Contas"})
   @ApiResponse(responseCode = "200", description = "Saldo retornado com sucesso",
     content = @Content(mediaType = "application/json",
       schema = @Schema(implementation = AccountBalanceResponse.class)))
+  @ApiResponse(responseCode = "400", description = "Token de consistência inválido",
+    content = @Content(mediaType = "application/json",
+      schema = @Schema(implementation = ErrorResponse.class)))
   @ApiResponse(responseCode = "404", description = "Conta não encontrada",
     content = @Content(mediaType = "application/json",
       schema = @Schema(implementation = ErrorResponse.class)))
@@ -72,12 +195,73 @@ public class AccountController {
     content = @Content(mediaType = "application/json",
       schema = @Schema(implementation = ErrorResponse.class)))
   @GetMapping("/{accountNumber}/balance")
-  public ResponseEntity<AccountBalanceResponse> getAccountBalance(@PathVariable String accountNumber) {
+  public ResponseEntity<AccountBalanceResponse> getAccountBalance(
+    @PathVariable String accountNumber,
+    @Parameter(description = "Token de consistência recebido em POST /accounts/transactions (opcional).")
+    @RequestHeader(name = CONSISTENCY_TOKEN_HEADER, required = false) String consistencyToken) {
     logger.info("Recebida requisição para obter saldo da conta: {}", accountNumber);
-    Account account = accountServicePort.getAccountBalance(accountNumber);
+    Account account = accountServicePort.getAccountBalance(accountNumber, consistencyToken);
     AccountBalanceResponse response = accountMapper.toResponse(account);
     logger.info("Saldo da conta {} retornado: {}", accountNumber, response.accountNumber() + "/" + response.balance());
     return ResponseEntity.ok(response);
   }
 
+  @Operation(summary = "Obter saldo de várias contas",
+    description = "Retorna o saldo de até banking.balance-lookup.max-accounts contas (padrão 1000), enviadas como um "
+      + "array JSON de números de conta. As contas fora do cache são lidas com uma única consulta ao banco. Contas "
+      + "inexistentes não interrompem a consulta: aparecem na resposta com status NOT_FOUND.", tags = {"Contas"})
+  @ApiResponse(responseCode = "200", description = "Saldo ou ausência de cada conta, na ordem de envio",
+    content = @Content(mediaType = "application/json",
+      schema = @Schema(implementation = AccountBalancesResponse.class)))
+  @ApiResponse(responseCode = "400", description = "Lista vazia, com números de conta em branco ou acima do limite",
+    content = @Content(mediaType = "application/json",
+      schema = @Schema(implementation = ErrorResponse.class)))
+  @PostMapping("/balances")
+  public ResponseEntity<AccountBalancesResponse> getAccountBalances(@RequestBody List<String> accountNumbers) {
+    if (accountNumbers == null || accountNumbers.isEmpty()) {
+      throw new IllegalArgumentException("Informe ao menos um número de conta.");
+    }
+    if (accountNumbers.size() > balanceLookupProperties.maxAccounts()) {
+      throw new IllegalArgumentException("No máximo " + balanceLookupProperties.maxAccounts()
+        + " contas por consulta.");
+    }
+    if (accountNumbers.stream().anyMatch(accountNumber -> accountNumber == null || accountNumber.isBlank())) {
+      throw new IllegalArgumentException("Números de conta não podem ser nulos ou em branco.");
+    }
+    logger.info("Recebida requisição para obter saldo de {} contas.", accountNumbers.size());
+    Map<String, Account> accounts = accountServicePort.getAccountBalances(accountNumbers);
+    AccountBalancesResponse response = accountMapper.toBalancesResponse(accountNumbers, accounts);
+    logger.info("Saldos retornados: {} encontradas, {} não encontradas.", response.found(), response.notFound());
+    return ResponseEntity.ok(response);
+  }
+
+  @Operation(summary = "Importar contas em massa (CSV ou NDJSON)",
+    description = "Cria as contas enviadas como CSV (text/csv, uma conta por linha no formato numeroDaConta,saldo, "
+      + "com cabeçalho accountNumber,balance opcional) ou como NDJSON/array JSON de objetos {accountNumber, balance}, "
+      + "lendo o corpo à medida que chega. As contas são processadas em blocos (banking.account-import.chunk-size): "
+      + "as existentes são ignoradas, sem alterar o saldo, e as demais são inseridas em lotes. A resposta traz uma "
+      + "linha NDJSON de progresso por bloco, com a vazão em contas por segundo. No primeiro erro a importação é "
+      + "interrompida: os blocos anteriores permanecem gravados e a última linha tem status FAILED; caso contrário, "
+      + "COMPLETED.", tags = {"Contas"})
+  @ApiResponse(responseCode = "200", description = "Progresso da importação, uma linha por bloco",
+    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+      schema = @Schema(implementation = AccountImportProgress.class)))
+  @PostMapping(value = "/import",
+    consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE},
+    produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public void importAccounts(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    AccountStreamImporter.Format format = MediaType.parseMediaType(request.getContentType())
+      .isCompatibleWith(MediaType.valueOf("text/csv"))
+      ? AccountStreamImporter.Format.CSV
+      : AccountStreamImporter.Format.NDJSON;
+    logger.info("Recebida requisição de importação de contas ({}).", format);
+    response.setStatus(HttpStatus.OK.value());
+    response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    AccountImportProgress result = accountStreamImporter.importAccounts(request.getInputStream(), format,
+      response.getOutputStream());
+    logger.info("Importação de contas finalizada com status {}. Criadas: {}, ignoradas: {}", result.status(),
+      result.imported(), result.skipped());
+  }
+
 }
@@ -0,0 +1,61 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.in;
+
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.hotspot.HotAccountTracker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Endpoint {@code /actuator/hotaccounts}: contas mais disputadas em uma janela recente, segundo o
+ * {@link HotAccountTracker}.
+ * <p>
+ * Parâmetros opcionais: {@code window} (por exemplo {@code 30s} ou {@code 1m}; padrão, o período inteiro mantido),
+ * {@code sort} ({@code lock-wait}, padrão, ou {@code requests}) e {@code limit} (padrão, o {@code top-k}
+ * configurado).
+ * </p>
+ *
+ * @author Juliane Maran
+ */
+@Component
+@Endpoint(id = "hotaccounts")
+@RequiredArgsConstructor
+public class HotAccountsEndpoint {
+
+  private final HotAccountTracker hotAccountTracker;
+
+  @ReadOperation
+  public HotAccountsReport hotAccounts(@Nullable Duration window, @Nullable String sort, @Nullable Integer limit) {
+    Duration span = hotAccountTracker.getSpan();
+    Duration effectiveWindow = window == null || window.compareTo(span) > 0 ? span : window;
+    HotAccountTracker.Ranking ranking = sort == null ? HotAccountTracker.Ranking.LOCK_WAIT : ranking(sort);
+    int effectiveLimit = limit == null || limit <= 0 ? hotAccountTracker.getTopK() : limit;
+    return new HotAccountsReport(hotAccountTracker.isEnabled(), effectiveWindow.toSeconds(),
+      ranking.name().toLowerCase(Locale.ROOT).replace('_', '-'),
+      hotAccountTracker.top(effectiveWindow, ranking, effectiveLimit));
+  }
+
+  private static HotAccountTracker.Ranking ranking(String sort) {
+    try {
+      return HotAccountTracker.Ranking.valueOf(sort.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+    } catch (IllegalArgumentException e) {
+      throw new InvalidEndpointRequestException("Ordenação inválida: " + sort, "Use lock-wait ou requests.");
+    }
+  }
+
+  /**
+   * @param windowSeconds Janela consultada, em segundos.
+   * @param sortedBy      Critério de ordenação.
+   */
+  public record HotAccountsReport(boolean enabled, long windowSeconds, String sortedBy,
+                                  List<HotAccountTracker.HotAccount> accounts) {
+
+  }
+
+}
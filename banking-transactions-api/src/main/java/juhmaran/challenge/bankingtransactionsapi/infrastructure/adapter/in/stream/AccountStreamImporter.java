@@ -0,0 +1,253 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.in.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.provisioning.AccountImportService;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.AccountImportProperties;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.request.AccountImportRequest;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.response.AccountImportProgress;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Lê contas de um fluxo CSV ({@code numeroDaConta,saldo}, uma conta por linha, com cabeçalho
+ * {@code accountNumber,balance} opcional) ou JSON (NDJSON, um objeto por linha, ou um único array JSON) à medida que
+ * chegam, e as entrega ao {@link AccountImportService} em blocos de {@link AccountImportProperties#chunkSize()}
+ * contas. <br>
+ * Apenas um bloco fica em memória por vez, independentemente do tamanho do arquivo. Após cada bloco, uma linha de
+ * {@link AccountImportProgress} é entregue com os totais e a vazão da importação em contas por segundo.
+ * <p>
+ * No primeiro registro inválido ou bloco com erro, a importação é interrompida: os blocos já processados permanecem
+ * gravados, e o bloco atual e os seguintes são descartados. Como as contas existentes são ignoradas, a importação pode
+ * ser repetida com o mesmo arquivo após a correção.
+ * </p>
+ *
+ * @author Juliane Maran
+ */
+@Component
+public class AccountStreamImporter {
+
+  private static final Logger logger = LoggerFactory.getLogger(AccountStreamImporter.class);
+
+  private static final String CSV_HEADER = "accountNumber,";
+
+  public enum Format {
+    CSV,
+    NDJSON
+  }
+
+  private final AccountImportService accountImportService;
+  private final Validator validator;
+  private final ObjectMapper objectMapper;
+  private final ObjectReader accountReader;
+  private final int chunkSize;
+
+  public AccountStreamImporter(AccountImportService accountImportService, Validator validator,
+                               ObjectMapper objectMapper, AccountImportProperties accountImportProperties) {
+    if (accountImportProperties.chunkSize() <= 0) {
+      throw new IllegalArgumentException(
+        "O tamanho do bloco deve ser positivo: " + accountImportProperties.chunkSize());
+    }
+    this.accountImportService = accountImportService;
+    this.validator = validator;
+    this.objectMapper = objectMapper;
+    this.accountReader = objectMapper.readerFor(AccountImportRequest.class);
+    this.chunkSize = accountImportProperties.chunkSize();
+  }
+
+  /**
+   * Consome todo o fluxo de entrada, escrevendo o progresso em {@code output} como NDJSON.
+   *
+   * @return A última linha de progresso ({@link AccountImportProgress.Status#COMPLETED} ou
+   * {@link AccountImportProgress.Status#FAILED}).
+   */
+  public AccountImportProgress importAccounts(InputStream input, Format format, OutputStream output)
+    throws IOException {
+    try {
+      return importAccounts(input, format, progress -> write(output, progress));
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * Consome todo o fluxo de entrada, entregando cada linha de progresso a {@code listener}.
+   *
+   * @return A última linha de progresso ({@link AccountImportProgress.Status#COMPLETED} ou
+   * {@link AccountImportProgress.Status#FAILED}).
+   */
+  public AccountImportProgress importAccounts(InputStream input, Format format,
+                                              Consumer<AccountImportProgress> listener) throws IOException {
+    Progress progress = new Progress(listener);
+    AccountImportProgress failure = format == Format.CSV ? readCsv(input, progress) : readJson(input, progress);
+    if (failure == null) {
+      failure = progress.flush();
+    }
+    return failure != null ? failure : progress.complete();
+  }
+
+  private AccountImportProgress readCsv(InputStream input, Progress progress) throws IOException {
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+      long lineNumber = 0;
+      String line;
+      while ((line = reader.readLine()) != null) {
+        lineNumber++;
+        if (line.isBlank() || (lineNumber == 1 && line.regionMatches(true, 0, CSV_HEADER, 0, CSV_HEADER.length()))) {
+          continue;
+        }
+        int separator = line.indexOf(',');
+        String accountNumber = separator < 0 ? "" : line.substring(0, separator).trim();
+        if (accountNumber.isEmpty()) {
+          return progress.fail("Linha " + lineNumber + ": esperado numeroDaConta,saldo.");
+        }
+        Money balance;
+        try {
+          balance = Money.parse(line.substring(separator + 1).trim());
+        } catch (IllegalArgumentException e) {
+          return progress.fail("Linha " + lineNumber + ": " + e.getMessage());
+        }
+        AccountImportProgress failure = progress.add(accountNumber, balance);
+        if (failure != null) {
+          return failure;
+        }
+      }
+    }
+    return null;
+  }
+
+  private AccountImportProgress readJson(InputStream input, Progress progress) throws IOException {
+    long item = 0;
+    try (MappingIterator<AccountImportRequest> iterator = accountReader.readValues(input)) {
+      while (true) {
+        AccountImportRequest account;
+        try {
+          if (!iterator.hasNextValue()) {
+            return null;
+          }
+          account = iterator.nextValue();
+        } catch (JsonProcessingException e) {
+          return progress.fail("Item " + (item + 1) + ": JSON inválido (" + e.getOriginalMessage() + ").");
+        }
+        item++;
+
+        String violations = violationsOf(account);
+        if (violations != null) {
+          return progress.fail("Item " + item + ": " + violations);
+        }
+        AccountImportProgress failure = progress.add(account.accountNumber(), account.balance());
+        if (failure != null) {
+          return failure;
+        }
+      }
+    }
+  }
+
+  private String violationsOf(AccountImportRequest account) {
+    if (account == null) {
+      return "Conta não pode ser nula.";
+    }
+    Set<ConstraintViolation<AccountImportRequest>> violations = validator.validate(account);
+    if (violations.isEmpty()) {
+      return null;
+    }
+    return violations.stream()
+      .map(ConstraintViolation::getMessage)
+      .sorted()
+      .collect(Collectors.joining(" "));
+  }
+
+  private void write(OutputStream output, AccountImportProgress progress) {
+    try {
+      output.write(objectMapper.writeValueAsBytes(progress));
+      output.write('\n');
+      output.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Bloco em leitura e totais de uma importação.
+   */
+  private final class Progress {
+
+    private final Consumer<AccountImportProgress> listener;
+    private final List<Map.Entry<String, Money>> chunk = new ArrayList<>(chunkSize);
+    private final long startNanos = System.nanoTime();
+    private long chunkNumber = 1;
+    private long imported;
+    private long skipped;
+
+    private Progress(Consumer<AccountImportProgress> listener) {
+      this.listener = listener;
+    }
+
+    private AccountImportProgress add(String accountNumber, Money balance) {
+      chunk.add(Map.entry(accountNumber, balance));
+      return chunk.size() == chunkSize ? flush() : null;
+    }
+
+    private AccountImportProgress flush() {
+      if (chunk.isEmpty()) {
+        return null;
+      }
+      try {
+        AccountImportService.ChunkResult result = accountImportService.importChunk(chunk);
+        imported += result.imported();
+        skipped += result.skipped();
+      } catch (RuntimeException e) {
+        return fail(e.getMessage());
+      }
+      listener.accept(AccountImportProgress.chunkProcessed(chunkNumber, imported, skipped, accountsPerSecond()));
+      chunkNumber++;
+      chunk.clear();
+      return null;
+    }
+
+    private AccountImportProgress fail(String message) {
+      logger.warn("Importação de contas interrompida no bloco {} após {} contas criadas: {}", chunkNumber, imported,
+        message);
+      AccountImportProgress failed = AccountImportProgress.failed(chunkNumber, imported, skipped,
+        accountsPerSecond(), message);
+      listener.accept(failed);
+      return failed;
+    }
+
+    private AccountImportProgress complete() {
+      long accountsPerSecond = accountsPerSecond();
+      AccountImportProgress completed = AccountImportProgress.completed(chunkNumber - 1, imported, skipped,
+        accountsPerSecond);
+      listener.accept(completed);
+      logger.info("Importação de contas concluída: {} criadas e {} ignoradas em {} blocos ({} contas/s).",
+        imported, skipped, chunkNumber - 1, accountsPerSecond);
+      return completed;
+    }
+
+    private long accountsPerSecond() {
+      long elapsedNanos = System.nanoTime() - startNanos;
+      return elapsedNanos <= 0 ? 0 : (imported + skipped) * 1_000_000_000L / elapsedNanos;
+    }
+
+  }
+
+}
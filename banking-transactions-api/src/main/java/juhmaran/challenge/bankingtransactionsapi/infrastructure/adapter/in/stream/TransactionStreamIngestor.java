@@ -0,0 +1,159 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.in.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import juhmaran.challenge.bankingtransactionsapi.application.port.in.AccountServicePort;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.StreamingProperties;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.request.TransactionRequest;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.response.TransactionStreamProgress;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Lê lançamentos de um fluxo JSON (NDJSON, um objeto por linha, ou um único array JSON) com o parser incremental do
+ * Jackson, valida cada item com Bean Validation à medida que é lido e entrega os itens à {@link AccountServicePort} em
+ * blocos de {@link StreamingProperties#chunkSize()} lançamentos. <br>
+ * Apenas um bloco fica em memória por vez, independentemente do tamanho do envio. Após cada bloco, uma linha de
+ * {@link TransactionStreamProgress} é escrita e enviada imediatamente ao cliente.
+ * <p>
+ * Cada bloco é um lote independente. No primeiro item inválido ou bloco com erro, a ingestão é interrompida: os blocos
+ * já processados permanecem aplicados, e o bloco atual e os seguintes são descartados.
+ * </p>
+ *
+ * @author Juliane Maran
+ */
+@Component
+public class TransactionStreamIngestor {
+
+  private static final Logger logger = LoggerFactory.getLogger(TransactionStreamIngestor.class);
+
+  private final AccountServicePort accountServicePort;
+  private final Validator validator;
+  private final ObjectMapper objectMapper;
+  private final ObjectReader transactionReader;
+  private final int chunkSize;
+
+  public TransactionStreamIngestor(AccountServicePort accountServicePort, Validator validator,
+                                   ObjectMapper objectMapper, StreamingProperties streamingProperties) {
+    if (streamingProperties.chunkSize() <= 0) {
+      throw new IllegalArgumentException("O tamanho do bloco deve ser positivo: " + streamingProperties.chunkSize());
+    }
+    this.accountServicePort = accountServicePort;
+    this.validator = validator;
+    this.objectMapper = objectMapper;
+    this.transactionReader = objectMapper.readerFor(TransactionRequest.class);
+    this.chunkSize = streamingProperties.chunkSize();
+  }
+
+  /**
+   * Consome todo o fluxo de entrada, escrevendo o progresso em {@code output}.
+   *
+   * @return A última linha de progresso ({@link TransactionStreamProgress.Status#COMPLETED} ou
+   * {@link TransactionStreamProgress.Status#FAILED}).
+   */
+  public TransactionStreamProgress ingest(InputStream input, OutputStream output) throws IOException {
+    List<TransactionRequest> chunk = new ArrayList<>(chunkSize);
+    long chunkNumber = 1;
+    long processed = 0;
+    long item = 0;
+
+    try (MappingIterator<TransactionRequest> iterator = transactionReader.readValues(input)) {
+      while (true) {
+        TransactionRequest transaction;
+        try {
+          if (!iterator.hasNextValue()) {
+            break;
+          }
+          transaction = iterator.nextValue();
+        } catch (JsonProcessingException e) {
+          return fail(output, chunkNumber, chunk.size(), processed,
+            "Item " + (item + 1) + ": JSON inválido (" + e.getOriginalMessage() + ").");
+        }
+        item++;
+
+        String violations = violationsOf(transaction);
+        if (violations != null) {
+          return fail(output, chunkNumber, chunk.size(), processed, "Item " + item + ": " + violations);
+        }
+
+        chunk.add(transaction);
+        if (chunk.size() == chunkSize) {
+          TransactionStreamProgress failure = processChunk(chunk, chunkNumber, processed, output);
+          if (failure != null) {
+            return failure;
+          }
+          processed += chunk.size();
+          chunkNumber++;
+          chunk = new ArrayList<>(chunkSize);
+        }
+      }
+    }
+
+    if (!chunk.isEmpty()) {
+      TransactionStreamProgress failure = processChunk(chunk, chunkNumber, processed, output);
+      if (failure != null) {
+        return failure;
+      }
+      processed += chunk.size();
+      chunkNumber++;
+    }
+
+    TransactionStreamProgress completed = TransactionStreamProgress.completed(chunkNumber - 1, processed);
+    write(output, completed);
+    logger.info("Ingestão em fluxo concluída: {} lançamentos em {} blocos.", processed, chunkNumber - 1);
+    return completed;
+  }
+
+  private TransactionStreamProgress processChunk(List<TransactionRequest> chunk, long chunkNumber, long processed,
+                                                 OutputStream output) throws IOException {
+    try {
+      accountServicePort.performTransactions(chunk);
+    } catch (RuntimeException e) {
+      return fail(output, chunkNumber, chunk.size(), processed, e.getMessage());
+    }
+    write(output, TransactionStreamProgress.chunkProcessed(chunkNumber, chunk.size(), processed + chunk.size()));
+    return null;
+  }
+
+  private TransactionStreamProgress fail(OutputStream output, long chunkNumber, int chunkSize, long processed,
+                                         String message) throws IOException {
+    logger.warn("Ingestão em fluxo interrompida no bloco {} após {} lançamentos: {}", chunkNumber, processed, message);
+    TransactionStreamProgress failed = TransactionStreamProgress.failed(chunkNumber, chunkSize, processed, message);
+    write(output, failed);
+    return failed;
+  }
+
+  private String violationsOf(TransactionRequest transaction) {
+    if (transaction == null) {
+      return "Lançamento não pode ser nulo.";
+    }
+    Set<ConstraintViolation<TransactionRequest>> violations = validator.validate(transaction);
+    if (violations.isEmpty()) {
+      return null;
+    }
+    return violations.stream()
+      .map(ConstraintViolation::getMessage)
+      .sorted()
+      .collect(Collectors.joining(" "));
+  }
+
+  private void write(OutputStream output, TransactionStreamProgress progress) throws IOException {
+    output.write(objectMapper.writeValueAsBytes(progress));
+    output.write('\n');
+    output.flush();
+  }
+
+}
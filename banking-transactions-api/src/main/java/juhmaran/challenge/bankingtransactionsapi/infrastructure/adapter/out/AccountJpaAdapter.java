@@ -1,32 +1,194 @@
 package juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.out;
 
-import jakarta.persistence.LockModeType;
 import juhmaran.challenge.bankingtransactionsapi.application.port.out.AccountRepositoryPort;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.metrics.TransactionMetrics;
 import juhmaran.challenge.bankingtransactionsapi.domain.entity.Account;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.AccountKey;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
 import juhmaran.challenge.bankingtransactionsapi.infrastructure.repository.AccountJpaRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.jpa.repository.Lock;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+/**
+ * Contas no banco principal pelo JPA. <br>
+ * Números de conta no formato canônico ({@link AccountKey}) são resolvidos para o identificador da linha pelo
+ * {@link AccountKeyIndex}: a consulta de saldo, o bloqueio da conta e os lançamentos diretos no banco são comandos
+ * pela chave primária, e os bloqueios em lote usam o índice da coluna {@code account_key}. Os demais números são
+ * buscados pela coluna {@code account_number}. Toda conta é gravada pela entidade {@link Account}, que preenche a
+ * coluna {@code account_key}: para números canônicos, a ausência da chave indica que a conta não existe.
+ * <p>
+ * Os lançamentos chegam com a chave já interpretada ({@code TransactionRequest#accountKey()}); os métodos que
+ * recebem apenas o número da conta o interpretam aqui.
+ * </p>
+ * <p>
+ * A importação em massa ({@link #insertAll(Collection)}) grava as mesmas colunas com comandos JDBC em lote, fora do
+ * contexto de persistência, com identificadores reservados na sequência da entidade.
+ * </p>
+ *
+ * @author Juliane Maran
+ */
 @Component
+@ConditionalOnProperty(prefix = "banking.shards", name = "enabled", havingValue = "false", matchIfMissing = true)
 @RequiredArgsConstructor
 public class AccountJpaAdapter implements AccountRepositoryPort {
 
+  /**
+   * Limite de parâmetros por cláusula {@code IN}; listas maiores são divididas em consultas sequenciais,
+   * mantendo a ordem crescente dos números de conta entre elas.
+   */
+  private static final int IN_CLAUSE_LIMIT = 1000;
+
   private final AccountJpaRepository accountJpaRepository;
+  private final TransactionMetrics transactionMetrics;
+  private final AccountKeyIndex accountKeyIndex;
+  private final JdbcTemplate jdbcTemplate;
 
   @Override
   public Optional<Account> findByAccountNumber(String accountNumber) {
-    return accountJpaRepository.findByAccountNumber(accountNumber);
+    long key = AccountKey.parse(accountNumber);
+    if (key == AccountKey.NONE) {
+      return accountJpaRepository.findByAccountNumber(accountNumber);
+    }
+    long id = idOf(key);
+    return id == AccountKeyIndex.ABSENT ? Optional.empty() : accountJpaRepository.findById(id);
+  }
+
+  @Override
+  public List<Account> findAllByAccountNumber(Collection<String> accountNumbers) {
+    List<String> distinct = new ArrayList<>(new HashSet<>(accountNumbers));
+    List<Account> accounts = new ArrayList<>(distinct.size());
+    for (int from = 0; from < distinct.size(); from += IN_CLAUSE_LIMIT) {
+      accounts.addAll(accountJpaRepository.findAllByAccountNumberIn(
+        distinct.subList(from, Math.min(from + IN_CLAUSE_LIMIT, distinct.size()))));
+    }
+    return accounts;
   }
 
   @Override
   @Transactional
-  @Lock(LockModeType.PESSIMISTIC_WRITE)
   public Optional<Account> findByAccountNumberWithLock(String accountNumber) {
-    return accountJpaRepository.findByAccountNumber(accountNumber);
+    return findByAccountNumberWithLock(accountNumber, AccountKey.parse(accountNumber));
+  }
+
+  @Override
+  @Transactional
+  public Optional<Account> findByAccountNumberWithLock(String accountNumber, long key) {
+    long start = System.nanoTime();
+    try {
+      if (key == AccountKey.NONE) {
+        return accountJpaRepository.findByAccountNumberWithLock(accountNumber);
+      }
+      long id = idOf(key);
+      return id == AccountKeyIndex.ABSENT ? Optional.empty() : accountJpaRepository.findByIdWithLock(id);
+    } finally {
+      transactionMetrics.record(TransactionMetrics.Phase.ROW_LOCK_WAIT, start);
+    }
+  }
+
+  @Override
+  @Transactional
+  public List<Account> findAllByAccountNumberWithLock(Collection<String> accountNumbers) {
+    Map<String, Long> accountKeys = new HashMap<>();
+    for (String accountNumber : accountNumbers) {
+      accountKeys.put(accountNumber, AccountKey.parse(accountNumber));
+    }
+    return findAllByAccountKeyWithLock(accountKeys);
+  }
+
+  /**
+   * Bloqueia primeiro as contas com chave, em ordem crescente de chave, e depois as demais, em ordem crescente de
+   * número da conta.
+   */
+  @Override
+  @Transactional
+  public List<Account> findAllByAccountKeyWithLock(Map<String, Long> accountKeys) {
+    List<Long> keys = new ArrayList<>();
+    List<String> others = new ArrayList<>();
+    accountKeys.forEach((accountNumber, key) -> {
+      if (key == AccountKey.NONE) {
+        others.add(accountNumber);
+      } else {
+        keys.add(key);
+      }
+    });
+    keys.sort(null);
+    others.sort(null);
+    List<Account> accounts = new ArrayList<>(accountKeys.size());
+    for (int from = 0; from < keys.size(); from += IN_CLAUSE_LIMIT) {
+      List<Long> chunk = keys.subList(from, Math.min(from + IN_CLAUSE_LIMIT, keys.size()));
+      accounts.addAll(accountJpaRepository.findAllByAccountKeyInWithLock(chunk));
+    }
+    for (int from = 0; from < others.size(); from += IN_CLAUSE_LIMIT) {
+      List<String> chunk = others.subList(from, Math.min(from + IN_CLAUSE_LIMIT, others.size()));
+      accounts.addAll(accountJpaRepository.findAllByAccountNumberInWithLock(chunk));
+    }
+    return accounts;
+  }
+
+  @Override
+  @Transactional
+  public List<Account> saveAll(Collection<Account> accounts) {
+    return accountJpaRepository.saveAllAndFlush(accounts);
+  }
+
+  @Override
+  @Transactional
+  public int debitIfSufficientFunds(String accountNumber, Money amount) {
+    return debitIfSufficientFunds(accountNumber, AccountKey.parse(accountNumber), amount);
+  }
+
+  @Override
+  @Transactional
+  public int debitIfSufficientFunds(String accountNumber, long key, Money amount) {
+    long start = System.nanoTime();
+    try {
+      if (key == AccountKey.NONE) {
+        return accountJpaRepository.debitIfSufficientFunds(accountNumber, amount.minorUnits());
+      }
+      long id = idOf(key);
+      if (id == AccountKeyIndex.ABSENT) {
+        return 0;
+      }
+      return accountJpaRepository.debitByIdIfSufficientFunds(id, amount.minorUnits());
+    } finally {
+      transactionMetrics.record(TransactionMetrics.Phase.SAVE, start);
+    }
+  }
+
+  @Override
+  @Transactional
+  public int credit(String accountNumber, Money amount) {
+    return credit(accountNumber, AccountKey.parse(accountNumber), amount);
+  }
+
+  @Override
+  @Transactional
+  public int credit(String accountNumber, long key, Money amount) {
+    long start = System.nanoTime();
+    try {
+      if (key == AccountKey.NONE) {
+        return accountJpaRepository.credit(accountNumber, amount.minorUnits());
+      }
+      long id = idOf(key);
+      if (id == AccountKeyIndex.ABSENT) {
+        return 0;
+      }
+      return accountJpaRepository.creditById(id, amount.minorUnits());
+    } finally {
+      transactionMetrics.record(TransactionMetrics.Phase.SAVE, start);
+    }
   }
 
   @Override
@@ -36,7 +198,67 @@ public class AccountJpaAdapter implements AccountRepositoryPort {
 
   @Override
   public boolean existsByAccountNumber(String accountNumber) {
-    return accountJpaRepository.existsByAccountNumber(accountNumber);
+    return existsByAccountNumber(accountNumber, AccountKey.parse(accountNumber));
+  }
+
+  @Override
+  public boolean existsByAccountNumber(String accountNumber, long key) {
+    if (key == AccountKey.NONE) {
+      return accountJpaRepository.existsByAccountNumber(accountNumber);
+    }
+    return idOf(key) != AccountKeyIndex.ABSENT;
+  }
+
+  @Override
+  public Set<String> findExistingAccountNumbers(Collection<String> accountNumbers) {
+    List<String> distinct = new ArrayList<>(new HashSet<>(accountNumbers));
+    Set<String> existing = new HashSet<>();
+    for (int from = 0; from < distinct.size(); from += IN_CLAUSE_LIMIT) {
+      existing.addAll(accountJpaRepository.findAccountNumbersIn(
+        distinct.subList(from, Math.min(from + IN_CLAUSE_LIMIT, distinct.size()))));
+    }
+    return existing;
+  }
+
+  /**
+   * Cada valor da sequência reserva os identificadores de {@code valor - ID_ALLOCATION_SIZE + 1} a {@code valor},
+   * como o otimizador {@code pooled} usado pelo Hibernate, e as contas inseridas aqui e pelo JPA nunca recebem o
+   * mesmo identificador. O primeiro valor da sequência ({@code 1}) reserva apenas ele mesmo.
+   */
+  @Override
+  @Transactional
+  public int insertAll(Collection<Account> accounts) {
+    List<Object[]> rows = new ArrayList<>(accounts.size());
+    long nextId = 0L;
+    long lastId = -1L;
+    for (Account account : accounts) {
+      if (nextId > lastId) {
+        lastId = accountJpaRepository.nextIdSequenceValue();
+        nextId = Math.max(1L, lastId - Account.ID_ALLOCATION_SIZE + 1);
+      }
+      account.setId(nextId++);
+      account.setVersion(0L);
+      rows.add(new Object[]{account.getId(), account.getAccountNumber(), account.getAccountKey(),
+        account.getBalance().minorUnits(), account.getVersion()});
+    }
+    jdbcTemplate.batchUpdate("insert into accounts (id, account_number, account_key, balance, version) "
+      + "values (?, ?, ?, ?, ?)", rows);
+    return rows.size();
+  }
+
+  /**
+   * Identificador da conta com a chave informada, pelo {@link AccountKeyIndex} ou, na primeira busca, pelo índice da
+   * coluna {@code account_key}. Contas inexistentes não são memorizadas.
+   */
+  private long idOf(long key) {
+    long id = accountKeyIndex.get(key);
+    if (id == AccountKeyIndex.ABSENT) {
+      id = accountJpaRepository.findIdByAccountKey(key).orElse(AccountKeyIndex.ABSENT);
+      if (id != AccountKeyIndex.ABSENT) {
+        accountKeyIndex.put(key, id);
+      }
+    }
+    return id;
   }
 
 }
@@ -0,0 +1,102 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.out;
+
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.AccountKey;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.AccountKeyProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Mapa em memória da chave numérica da conta ({@link AccountKey}) para o identificador da linha em {@code accounts},
+ * com chaves e valores primitivos: uma tabela de endereçamento aberto em dois {@link AtomicLongArray}, sem objetos
+ * por entrada. <br>
+ * As entradas só são incluídas, nunca alteradas ou removidas, pois o identificador de uma conta não muda. A inclusão
+ * reserva a posição com {@code compareAndSet} e em seguida grava o identificador; quem lê a posição antes disso a
+ * trata como ausente. Ao atingir {@code banking.account-keys.cache-size} entradas, novas contas deixam de ser
+ * incluídas e continuam sendo resolvidas pelo índice da coluna {@code account_key}.
+ *
+ * @author Juliane Maran
+ */
+@Component
+@ConditionalOnProperty(prefix = "banking.shards", name = "enabled", havingValue = "false", matchIfMissing = true)
+public class AccountKeyIndex {
+
+  /**
+   * Valor de {@link #get(long)} para chaves ausentes; os identificadores gerados pelo banco começam em 1.
+   */
+  public static final long ABSENT = 0L;
+
+  private static final long EMPTY = 0L;
+
+  private final AtomicLongArray keys;
+  private final AtomicLongArray ids;
+  private final int mask;
+  private final int maxSize;
+  private final AtomicInteger size = new AtomicInteger();
+
+  public AccountKeyIndex(AccountKeyProperties properties) {
+    if (properties.cacheSize() < 1) {
+      throw new IllegalArgumentException("banking.account-keys.cache-size deve ser positivo.");
+    }
+    int capacity = Integer.highestOneBit(Math.max(2, properties.cacheSize() * 2 - 1)) << 1;
+    this.keys = new AtomicLongArray(capacity);
+    this.ids = new AtomicLongArray(capacity);
+    this.mask = capacity - 1;
+    this.maxSize = properties.cacheSize();
+  }
+
+  /**
+   * @return O identificador da conta, ou {@link #ABSENT}.
+   */
+  public long get(long key) {
+    long stored = key + 1;
+    for (int slot = slotOf(stored), probes = 0; probes <= mask; slot = (slot + 1) & mask, probes++) {
+      long current = keys.get(slot);
+      if (current == stored) {
+        return ids.get(slot);
+      }
+      if (current == EMPTY) {
+        return ABSENT;
+      }
+    }
+    return ABSENT;
+  }
+
+  /**
+   * Inclui a conta, se ainda houver espaço.
+   */
+  public void put(long key, long id) {
+    long stored = key + 1;
+    for (int slot = slotOf(stored), probes = 0; probes <= mask; slot = (slot + 1) & mask, probes++) {
+      long current = keys.get(slot);
+      if (current == EMPTY) {
+        if (size.get() >= maxSize) {
+          return;
+        }
+        if (!keys.compareAndSet(slot, EMPTY, stored)) {
+          current = keys.get(slot);
+        } else {
+          size.incrementAndGet();
+          ids.set(slot, id);
+          return;
+        }
+      }
+      if (current == stored) {
+        ids.set(slot, id);
+        return;
+      }
+    }
+  }
+
+  public int size() {
+    return size.get();
+  }
+
+  private int slotOf(long stored) {
+    long hash = stored * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32)) & mask;
+  }
+
+}
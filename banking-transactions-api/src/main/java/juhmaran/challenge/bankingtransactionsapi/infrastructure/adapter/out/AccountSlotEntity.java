@@ -0,0 +1,49 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.out;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Mapeamento da tabela {@code account_slots}, para que ela seja criada e validada junto com o restante do esquema
+ * ({@code spring.jpa.hibernate.ddl-auto}). As leituras e gravações são feitas pelo {@link AccountSlotJdbcAdapter}.
+ *
+ * @author Juliane Maran
+ */
+@Entity
+@Table(name = "account_slots")
+@IdClass(AccountSlotEntity.Key.class)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+class AccountSlotEntity {
+
+  @Id
+  @Column(name = "account_number", nullable = false)
+  private String accountNumber;
+
+  @Id
+  @Column(name = "slot", nullable = false)
+  private int slot;
+
+  /**
+   * Saldo do slot em unidades mínimas.
+   */
+  @Column(name = "balance", nullable = false)
+  private long balance;
+
+  @EqualsAndHashCode
+  @NoArgsConstructor
+  static class Key implements Serializable {
+
+    private String accountNumber;
+    private int slot;
+
+  }
+
+}
@@ -0,0 +1,135 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.out;
+
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.AccountSlotRepositoryPort;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Slots de saldo na tabela {@code account_slots}, com chave primária {@code (account_number, slot)}. <br>
+ * Todas as operações usam comandos SQL diretos pelo {@link JdbcTemplate}, que participam da transação JPA corrente.
+ * Nenhuma entidade é carregada: as contas divididas não passam pelo contexto de persistência do Hibernate, e uma
+ * alteração feita por {@code UPDATE} não pode ser sobrescrita por uma entidade desatualizada no {@code flush}.
+ * <p>
+ * A tabela é mapeada por {@link AccountSlotEntity} e criada com o restante do esquema. Ativado com
+ * {@code banking.split-balance.enabled=true}; caso contrário, {@link NoOpAccountSlotAdapter}.
+ * </p>
+ *
+ * @author Juliane Maran
+ */
+@Component
+@ConditionalOnProperty(prefix = "banking.split-balance", name = "enabled", havingValue = "true")
+public class AccountSlotJdbcAdapter implements AccountSlotRepositoryPort {
+
+  private static final RowMapper<Money> BALANCE = (rs, rowNum) -> Money.ofMinorUnits(rs.getLong(1));
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public AccountSlotJdbcAdapter(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public void createSlots(String accountNumber, int slots) {
+    List<Object[]> args = new ArrayList<>(slots);
+    for (int slot = 0; slot < slots; slot++) {
+      args.add(new Object[]{accountNumber, slot, accountNumber, slot});
+    }
+    jdbcTemplate.batchUpdate("insert into account_slots (account_number, slot, balance) select ?, ?, 0 "
+      + "where not exists (select 1 from account_slots where account_number = ? and slot = ?)", args);
+  }
+
+  @Override
+  public List<Money> findSlotBalances(String accountNumber) {
+    return jdbcTemplate.query("select balance from account_slots where account_number = ? order by slot",
+      BALANCE, accountNumber);
+  }
+
+  @Override
+  public List<Money> findSlotBalancesWithLock(String accountNumber) {
+    return jdbcTemplate.query("select balance from account_slots where account_number = ? order by slot for update",
+      BALANCE, accountNumber);
+  }
+
+  @Override
+  public void updateSlotBalances(String accountNumber, List<Money> balances) {
+    List<Object[]> args = new ArrayList<>(balances.size());
+    for (int slot = 0; slot < balances.size(); slot++) {
+      args.add(new Object[]{balances.get(slot).minorUnits(), accountNumber, slot});
+    }
+    jdbcTemplate.batchUpdate("update account_slots set balance = ? where account_number = ? and slot = ?", args);
+  }
+
+  @Override
+  public void deleteSlotsFrom(String accountNumber, int fromSlot) {
+    jdbcTemplate.update("delete from account_slots where account_number = ? and slot >= ?", accountNumber, fromSlot);
+  }
+
+  @Override
+  public int creditSlot(String accountNumber, int slot, Money amount) {
+    return jdbcTemplate.update("update account_slots set balance = balance + ? where account_number = ? and slot = ?",
+      amount.minorUnits(), accountNumber, slot);
+  }
+
+  /**
+   * O slot só é bloqueado se estiver livre e com saldo suficiente ({@code SKIP LOCKED}); caso contrário, nada fica
+   * bloqueado e o débito segue para o caminho que bloqueia todos os slots da conta em ordem. Um {@code UPDATE}
+   * condicional esperaria o lock de outra transação e, se o saldo deixasse de ser suficiente, manteria o lock mesmo
+   * sem alterar a linha, fora da ordem dos slots, causando {@code deadlocks} com esse caminho.
+   * <p>
+   * O H2 bloqueia a linha antes de conferir de novo o saldo e mantém o lock quando a conferência falha (o slot foi
+   * debitado por outra transação entre a leitura e o bloqueio). Por isso a consulta roda após um savepoint, desfeito
+   * quando nenhuma linha é retornada, o que libera esse lock.
+   * </p>
+   */
+  @Override
+  public int debitSlotIfSufficientFunds(String accountNumber, int slot, Money amount) {
+    return jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+      Savepoint savepoint = connection.setSavepoint();
+      List<Money> locked = jdbcTemplate.query("select balance from account_slots "
+          + "where account_number = ? and slot = ? and balance >= ? for update skip locked",
+        BALANCE, accountNumber, slot, amount.minorUnits());
+      if (locked.isEmpty()) {
+        connection.rollback(savepoint);
+        return 0;
+      }
+      connection.releaseSavepoint(savepoint);
+      return jdbcTemplate.update("update account_slots set balance = balance - ? where account_number = ? and slot = ?",
+        amount.minorUnits(), accountNumber, slot);
+    });
+  }
+
+  @Override
+  public Money takeAccountBalance(String accountNumber) {
+    List<Money> balance = jdbcTemplate.query("select balance from accounts where account_number = ? for update",
+      BALANCE, accountNumber);
+    if (balance.isEmpty() || !balance.get(0).isPositive()) {
+      return Money.ZERO;
+    }
+    jdbcTemplate.update("update accounts set balance = 0, version = version + 1 where account_number = ?",
+      accountNumber);
+    return balance.get(0);
+  }
+
+  @Override
+  public Optional<Money> findTotalBalance(String accountNumber) {
+    List<Money> total = jdbcTemplate.query("select a.balance + coalesce((select sum(s.balance) from account_slots s "
+      + "where s.account_number = a.account_number), 0) from accounts a where a.account_number = ?",
+      BALANCE, accountNumber);
+    return total.stream().findFirst();
+  }
+
+  @Override
+  public List<String> findSplitAccountNumbers() {
+    return jdbcTemplate.queryForList("select distinct account_number from account_slots", String.class);
+  }
+
+}
@@ -0,0 +1,68 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.out;
+
+import jakarta.persistence.EntityManager;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.TransactionSavepointPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.datasource.ConnectionHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+
+/**
+ * Savepoints JDBC na conexão da transação JPA corrente. <br>
+ * O dialeto JPA do Hibernate não expõe savepoints pelo {@code TransactionStatus} do Spring, mas o
+ * {@code JpaTransactionManager} publica a conexão JDBC da transação associada ao {@link DataSource}; os savepoints
+ * são criados diretamente nela. Como o rollback para um savepoint não altera as entidades já carregadas pelo
+ * Hibernate, o contexto de persistência é limpo em seguida.
+ *
+ * @author Juliane Maran
+ */
+@Component
+@ConditionalOnProperty(prefix = "banking.shards", name = "enabled", havingValue = "false", matchIfMissing = true)
+@RequiredArgsConstructor
+public class JdbcTransactionSavepointAdapter implements TransactionSavepointPort {
+
+  private final DataSource dataSource;
+  private final EntityManager entityManager;
+
+  @Override
+  public Object createSavepoint() {
+    try {
+      return connectionHolder().getConnection().setSavepoint();
+    } catch (SQLException e) {
+      throw new TransactionSystemException("Não foi possível criar o savepoint.", e);
+    }
+  }
+
+  @Override
+  public void rollbackToSavepoint(Object savepoint) {
+    try {
+      connectionHolder().getConnection().rollback((Savepoint) savepoint);
+    } catch (SQLException e) {
+      throw new TransactionSystemException("Não foi possível voltar ao savepoint.", e);
+    }
+    entityManager.clear();
+  }
+
+  @Override
+  public void releaseSavepoint(Object savepoint) {
+    try {
+      connectionHolder().getConnection().releaseSavepoint((Savepoint) savepoint);
+    } catch (SQLException e) {
+      throw new TransactionSystemException("Não foi possível liberar o savepoint.", e);
+    }
+  }
+
+  private ConnectionHolder connectionHolder() {
+    if (TransactionSynchronizationManager.getResource(dataSource) instanceof ConnectionHolder holder) {
+      return holder;
+    }
+    throw new IllegalStateException("Savepoints exigem uma transação de banco de dados ativa.");
+  }
+
+}
@@ -0,0 +1,76 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.out;
+
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.AccountSlotRepositoryPort;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Saldo dividido desativado ({@code banking.split-balance.enabled=false}, padrão): nenhuma conta possui slots, e a
+ * tabela {@code account_slots} não é consultada. As operações que só se aplicam a contas divididas são rejeitadas.
+ *
+ * @author Juliane Maran
+ */
+@Component
+@ConditionalOnProperty(prefix = "banking.split-balance", name = "enabled", havingValue = "false",
+  matchIfMissing = true)
+public class NoOpAccountSlotAdapter implements AccountSlotRepositoryPort {
+
+  @Override
+  public void createSlots(String accountNumber, int slots) {
+    throw disabled();
+  }
+
+  @Override
+  public List<Money> findSlotBalances(String accountNumber) {
+    return List.of();
+  }
+
+  @Override
+  public List<Money> findSlotBalancesWithLock(String accountNumber) {
+    return List.of();
+  }
+
+  @Override
+  public void updateSlotBalances(String accountNumber, List<Money> balances) {
+    throw disabled();
+  }
+
+  @Override
+  public void deleteSlotsFrom(String accountNumber, int fromSlot) {
+    // Nenhuma conta possui slots.
+  }
+
+  @Override
+  public int creditSlot(String accountNumber, int slot, Money amount) {
+    return 0;
+  }
+
+  @Override
+  public int debitSlotIfSufficientFunds(String accountNumber, int slot, Money amount) {
+    return 0;
+  }
+
+  @Override
+  public Money takeAccountBalance(String accountNumber) {
+    throw disabled();
+  }
+
+  @Override
+  public Optional<Money> findTotalBalance(String accountNumber) {
+    throw disabled();
+  }
+
+  @Override
+  public List<String> findSplitAccountNumbers() {
+    return List.of();
+  }
+
+  private static UnsupportedOperationException disabled() {
+    return new UnsupportedOperationException("Saldo dividido desativado (banking.split-balance.enabled=false).");
+  }
+
+}
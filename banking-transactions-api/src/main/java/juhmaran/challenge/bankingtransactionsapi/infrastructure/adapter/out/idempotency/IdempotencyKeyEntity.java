@@ -0,0 +1,52 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.out.idempotency;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Mapeamento da tabela {@code idempotency_keys}, para que ela seja criada e validada junto com o restante do esquema
+ * ({@code spring.jpa.hibernate.ddl-auto}). As leituras e gravações são feitas pelo {@link JdbcIdempotencyStore}.
+ *
+ * @author Juliane Maran
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at"))
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+class IdempotencyKeyEntity {
+
+  @Id
+  @Column(name = "idempotency_key", length = 160)
+  private String idempotencyKey;
+
+  @Column(name = "fingerprint", nullable = false)
+  private long fingerprint;
+
+  @Column(name = "completed", nullable = false)
+  private boolean completed;
+
+  @Column(name = "atomicity", length = 20)
+  private String atomicity;
+
+  @Column(name = "item_count", nullable = false)
+  private int itemCount;
+
+  /**
+   * Itens com erro, um por linha, no formato {@code posição:motivo}.
+   */
+  @Lob
+  @Column(name = "failures")
+  private String failures;
+
+  /**
+   * Expiração em milissegundos desde a época: o fim da reserva ou, depois de concluída, do {@code ttl}.
+   */
+  @Column(name = "expires_at", nullable = false)
+  private long expiresAt;
+
+}
@@ -0,0 +1,198 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.out.idempotency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.IdempotencyRecord;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.IdempotencyStorePort;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.IdempotencyProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Chaves de idempotência em memória, agrupadas em faixas de tempo ({@link IdempotencyProperties#bucketWidth()}). <br>
+ * Cada chave entra na faixa corrente; quando a faixa mais antiga passa de {@link IdempotencyProperties#ttl()}, ela é
+ * descartada inteira, sem percorrer as chaves uma a uma. Acima de {@link IdempotencyProperties#maxEntries()} chaves,
+ * as mais antigas são descartadas antes de expirar (primeiro a entrar, primeiro a sair), o que mantém a memória
+ * limitada mesmo sob um volume de chaves maior que o previsto.
+ * <p>
+ * As chaves valem apenas para esta instância da aplicação. Padrão, ou {@code banking.idempotency.store=memory}.
+ * </p>
+ *
+ * @author Juliane Maran
+ */
+@Component
+@ConditionalOnProperty(prefix = "banking.idempotency", name = "store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStorePort {
+
+  private static final Logger logger = LoggerFactory.getLogger(InMemoryIdempotencyStore.class);
+
+  private final long ttlMillis;
+  private final long bucketMillis;
+  private final int maxEntries;
+  private final Clock clock;
+  private final Counter evictionCounter;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Deque<Bucket> buckets = new ArrayDeque<>();
+  private int size;
+
+  @Autowired
+  public InMemoryIdempotencyStore(IdempotencyProperties properties, MeterRegistry meterRegistry) {
+    this(properties, meterRegistry, Clock.systemUTC());
+  }
+
+  InMemoryIdempotencyStore(IdempotencyProperties properties, MeterRegistry meterRegistry, Clock clock) {
+    if (properties.buckets() <= 0 || properties.maxEntries() <= 0 || properties.bucketWidth().toMillis() <= 0) {
+      throw new IllegalArgumentException("Faixas de tempo, limite de chaves e largura das faixas devem ser positivos.");
+    }
+    this.ttlMillis = properties.ttl().toMillis();
+    this.bucketMillis = properties.bucketWidth().toMillis();
+    this.maxEntries = properties.maxEntries();
+    this.clock = clock;
+    this.evictionCounter = Counter.builder("banking.idempotency.evictions")
+      .description("Chaves de idempotência descartadas antes de expirar pelo limite de tamanho")
+      .register(meterRegistry);
+    Gauge.builder("banking.idempotency.keys", this, InMemoryIdempotencyStore::size)
+      .description("Chaves de idempotência em memória")
+      .register(meterRegistry);
+  }
+
+  @Override
+  public Optional<IdempotencyRecord> reserve(String key, long fingerprint) {
+    lock.lock();
+    try {
+      long now = clock.millis();
+      expire(now);
+      IdempotencyRecord existing = find(key);
+      if (existing != null) {
+        return Optional.of(existing);
+      }
+      put(now, key, IdempotencyRecord.reserved(fingerprint));
+      return Optional.empty();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void complete(String key, IdempotencyRecord record) {
+    lock.lock();
+    try {
+      long now = clock.millis();
+      expire(now);
+      remove(key);
+      put(now, key, record);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void release(String key) {
+    lock.lock();
+    try {
+      remove(key);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  int size() {
+    lock.lock();
+    try {
+      return size;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private IdempotencyRecord find(String key) {
+    for (Bucket bucket : buckets) {
+      IdempotencyRecord record = bucket.entries.get(key);
+      if (record != null) {
+        return record;
+      }
+    }
+    return null;
+  }
+
+  private void remove(String key) {
+    for (Iterator<Bucket> iterator = buckets.iterator(); iterator.hasNext(); ) {
+      Bucket bucket = iterator.next();
+      if (bucket.entries.remove(key) != null) {
+        size--;
+        if (bucket.entries.isEmpty()) {
+          iterator.remove();
+        }
+        return;
+      }
+    }
+  }
+
+  private void put(long now, String key, IdempotencyRecord record) {
+    Bucket current = buckets.peekLast();
+    if (current == null || now >= current.start + bucketMillis) {
+      current = new Bucket(now - now % bucketMillis);
+      buckets.addLast(current);
+    }
+    current.entries.put(key, record);
+    size++;
+    evictOverflow();
+  }
+
+  /**
+   * Descarta as faixas cujas chaves já completaram o {@code ttl}.
+   */
+  private void expire(long now) {
+    Bucket oldest;
+    while ((oldest = buckets.peekFirst()) != null && oldest.start + bucketMillis + ttlMillis <= now) {
+      size -= oldest.entries.size();
+      buckets.removeFirst();
+    }
+  }
+
+  private void evictOverflow() {
+    int evicted = 0;
+    while (size > maxEntries) {
+      Bucket oldest = buckets.peekFirst();
+      Iterator<IdempotencyRecord> iterator = oldest.entries.values().iterator();
+      iterator.next();
+      iterator.remove();
+      size--;
+      evicted++;
+      if (oldest.entries.isEmpty()) {
+        buckets.removeFirst();
+      }
+    }
+    if (evicted > 0) {
+      evictionCounter.increment(evicted);
+      logger.debug("Limite de {} chaves de idempotência atingido; {} chave(s) descartada(s) antes de expirar.",
+        maxEntries, evicted);
+    }
+  }
+
+  private static final class Bucket {
+
+    private final long start;
+    private final Map<String, IdempotencyRecord> entries = new LinkedHashMap<>();
+
+    private Bucket(long start) {
+      this.start = start;
+    }
+
+  }
+
+}
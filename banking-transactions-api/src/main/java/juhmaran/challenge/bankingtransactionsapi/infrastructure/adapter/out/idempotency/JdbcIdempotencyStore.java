@@ -0,0 +1,164 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.out.idempotency;
+
+import jakarta.annotation.PreDestroy;
+import juhmaran.challenge.bankingtransactionsapi.application.port.in.BatchAtomicity;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.IdempotencyRecord;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.IdempotencyStorePort;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.IdempotencyProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chaves de idempotência na tabela {@code idempotency_keys} do banco de dados, compartilhadas entre as instâncias
+ * da aplicação. <br>
+ * A reserva é um {@code INSERT} na chave primária: entre requisições simultâneas com a mesma chave, apenas uma
+ * consegue inserir a linha. Ela é confirmada imediatamente e vale por {@link IdempotencyProperties#lease()}, de modo
+ * que a reserva de uma requisição interrompida não bloqueia a chave até o fim do {@code ttl}. A conclusão e a
+ * liberação participam da transação corrente ({@link #isTransactional()}): a conclusão é confirmada junto com os
+ * lançamentos e passa a valer por {@link IdempotencyProperties#ttl()}. As linhas expiradas são ignoradas nas
+ * consultas e removidas em lote a cada {@link IdempotencyProperties#bucketWidth()}.
+ * <p>
+ * A tabela é mapeada por {@link IdempotencyKeyEntity} e criada com o restante do esquema.
+ * </p>
+ * <p>
+ * Os itens com erro são gravados em uma única coluna de texto, um por linha, no formato {@code posição:motivo}.
+ * Ativado com {@code banking.idempotency.store=jdbc}. Não é suportado com {@code banking.shards.enabled=true}: a
+ * transação do lote passa a ser dos shards, e o {@link JdbcTemplate} do banco principal não participaria dela.
+ * </p>
+ *
+ * @author Juliane Maran
+ */
+@Component
+@ConditionalOnProperty(prefix = "banking.idempotency", name = "store", havingValue = "jdbc")
+public class JdbcIdempotencyStore implements IdempotencyStorePort {
+
+  private static final Logger logger = LoggerFactory.getLogger(JdbcIdempotencyStore.class);
+
+  private static final int MAX_RESERVE_ATTEMPTS = 3;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final long ttlMillis;
+  private final long leaseMillis;
+  private final Clock clock;
+  private final ScheduledExecutorService cleaner;
+
+  private final RowMapper<IdempotencyRecord> rowMapper = (rs, rowNum) -> {
+    String atomicity = rs.getString("atomicity");
+    List<Integer> indexes = new ArrayList<>();
+    List<String> messages = new ArrayList<>();
+    String failures = rs.getString("failures");
+    if (failures != null && !failures.isEmpty()) {
+      for (String line : failures.split("\n")) {
+        int separator = line.indexOf(':');
+        indexes.add(Integer.parseInt(line.substring(0, separator)));
+        messages.add(line.substring(separator + 1));
+      }
+    }
+    return new IdempotencyRecord(rs.getLong("fingerprint"), rs.getBoolean("completed"),
+      atomicity != null ? BatchAtomicity.Mode.valueOf(atomicity) : null, rs.getInt("item_count"),
+      indexes.stream().mapToInt(Integer::intValue).toArray(), messages.toArray(String[]::new));
+  };
+
+  @Autowired
+  public JdbcIdempotencyStore(JdbcTemplate jdbcTemplate, IdempotencyProperties properties) {
+    this(jdbcTemplate, properties, Clock.systemUTC());
+  }
+
+  JdbcIdempotencyStore(JdbcTemplate jdbcTemplate, IdempotencyProperties properties, Clock clock) {
+    if (properties.lease().toMillis() <= 0) {
+      throw new IllegalArgumentException("A validade da reserva deve ser positiva: " + properties.lease());
+    }
+    this.jdbcTemplate = jdbcTemplate;
+    this.ttlMillis = properties.ttl().toMillis();
+    this.leaseMillis = properties.lease().toMillis();
+    this.clock = clock;
+    long interval = properties.bucketWidth().toMillis();
+    this.cleaner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "idempotency-cleaner");
+      thread.setDaemon(true);
+      return thread;
+    });
+    cleaner.scheduleWithFixedDelay(this::deleteExpired, interval, interval, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public Optional<IdempotencyRecord> reserve(String key, long fingerprint) {
+    for (int attempt = 1; attempt <= MAX_RESERVE_ATTEMPTS; attempt++) {
+      long now = clock.millis();
+      try {
+        jdbcTemplate.update("insert into idempotency_keys "
+          + "(idempotency_key, fingerprint, completed, item_count, expires_at) values (?, ?, false, 0, ?)",
+          key, fingerprint, now + leaseMillis);
+        return Optional.empty();
+      } catch (DuplicateKeyException e) {
+        List<IdempotencyRecord> existing = jdbcTemplate.query(
+          "select * from idempotency_keys where idempotency_key = ? and expires_at > ?", rowMapper, key, now);
+        if (!existing.isEmpty()) {
+          return Optional.of(existing.get(0));
+        }
+        // A reserva ou o resultado expirou, ou a linha foi liberada entre o INSERT e a consulta: remove a expirada
+        // e tenta novamente.
+        jdbcTemplate.update("delete from idempotency_keys where idempotency_key = ? and expires_at <= ?", key, now);
+      }
+    }
+    throw new IllegalStateException("Não foi possível reservar a chave de idempotência: " + key);
+  }
+
+  @Override
+  public void complete(String key, IdempotencyRecord record) {
+    StringBuilder failures = new StringBuilder();
+    for (int i = 0; i < record.failedIndexes().length; i++) {
+      if (!failures.isEmpty()) {
+        failures.append('\n');
+      }
+      String message = record.failureMessages()[i];
+      failures.append(record.failedIndexes()[i]).append(':')
+        .append(message != null ? message.replace('\n', ' ') : "");
+    }
+    jdbcTemplate.update("update idempotency_keys set fingerprint = ?, completed = true, atomicity = ?, "
+        + "item_count = ?, failures = ?, expires_at = ? where idempotency_key = ?",
+      record.fingerprint(), record.atomicity() != null ? record.atomicity().name() : null, record.size(),
+      failures.isEmpty() ? null : failures.toString(), clock.millis() + ttlMillis, key);
+  }
+
+  @Override
+  public void release(String key) {
+    jdbcTemplate.update("delete from idempotency_keys where idempotency_key = ?", key);
+  }
+
+  @Override
+  public boolean isTransactional() {
+    return true;
+  }
+
+  void deleteExpired() {
+    try {
+      int deleted = jdbcTemplate.update("delete from idempotency_keys where expires_at <= ?", clock.millis());
+      if (deleted > 0) {
+        logger.debug("{} chave(s) de idempotência expirada(s) removida(s) do banco de dados.", deleted);
+      }
+    } catch (Exception e) {
+      logger.warn("Falha ao remover chaves de idempotência expiradas: {}", e.getMessage());
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    cleaner.shutdownNow();
+  }
+
+}
@@ -0,0 +1,170 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.out.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Segmento do journal: um arquivo de tamanho fixo mapeado em memória onde os registros são apenas acrescentados. <br>
+ * Cada registro é um quadro {@code [tamanho do conteúdo: int][CRC32C do conteúdo: int][conteúdo]}. O arquivo é
+ * pré-alocado com zeros, então um tamanho {@code 0} marca o fim dos registros, e um CRC inválido identifica um
+ * registro incompleto (escrita interrompida por uma queda).
+ * <p>
+ * Não é thread-safe: as escritas são serializadas pelo {@link MappedTransactionJournal}.
+ * </p>
+ *
+ * @author Juliane Maran
+ */
+final class JournalSegment implements AutoCloseable {
+
+  static final int HEADER_BYTES = Integer.BYTES * 2;
+
+  private static final int ZERO_CHUNK_BYTES = 64 * 1024;
+  private static final String FILE_PREFIX = "journal-";
+  private static final String FILE_SUFFIX = ".log";
+
+  private final long index;
+  private final FileChannel channel;
+  private final MappedByteBuffer buffer;
+  private final int capacity;
+  private int position;
+  private int forcedPosition;
+  private final ReentrantLock forceLock = new ReentrantLock();
+
+  private JournalSegment(long index, FileChannel channel, MappedByteBuffer buffer) {
+    this.index = index;
+    this.channel = channel;
+    this.buffer = buffer;
+    this.capacity = buffer.capacity();
+  }
+
+  static JournalSegment open(Path directory, long index, int size) throws IOException {
+    Path file = directory.resolve(fileName(index));
+    FileChannel channel = FileChannel.open(file,
+      StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    try {
+      long mappedSize = Math.max(size, channel.size());
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, mappedSize);
+      return new JournalSegment(index, channel, buffer);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  static String fileName(long index) {
+    return String.format("%s%020d%s", FILE_PREFIX, index, FILE_SUFFIX);
+  }
+
+  /**
+   * @return O índice do segmento representado pelo arquivo, ou {@code -1} se o arquivo não for um segmento.
+   */
+  static long indexOf(Path file) {
+    String name = file.getFileName().toString();
+    if (!name.startsWith(FILE_PREFIX) || !name.endsWith(FILE_SUFFIX)) {
+      return -1L;
+    }
+    try {
+      return Long.parseLong(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+    } catch (NumberFormatException e) {
+      return -1L;
+    }
+  }
+
+  static void delete(Path directory, long index) throws IOException {
+    Files.deleteIfExists(directory.resolve(fileName(index)));
+  }
+
+  long index() {
+    return index;
+  }
+
+  int position() {
+    return position;
+  }
+
+  boolean hasRoomFor(int frameLength) {
+    return capacity - position >= frameLength;
+  }
+
+  /**
+   * Acrescenta um quadro completo (cabeçalho já preenchido) na posição atual.
+   */
+  void append(byte[] frame) {
+    buffer.put(position, frame, 0, frame.length);
+    position += frame.length;
+  }
+
+  /**
+   * Sincroniza com o disco as páginas escritas até {@code end} e ainda não sincronizadas.
+   * Pode ser chamado por outra thread enquanto novos quadros são acrescentados depois de {@code end}.
+   */
+  void force(int end) {
+    forceLock.lock();
+    try {
+      if (end > forcedPosition) {
+        buffer.force(forcedPosition, end - forcedPosition);
+        forcedPosition = end;
+      }
+    } finally {
+      forceLock.unlock();
+    }
+  }
+
+  /**
+   * Percorre os registros válidos desde o início do segmento, entregando o conteúdo de cada um ao
+   * {@code consumer}, e posiciona o segmento logo após o último registro válido. Um registro incompleto
+   * no final é apagado para que as próximas escritas não deixem restos dele depois do novo fim.
+   *
+   * @return {@code true} se um registro incompleto foi encontrado.
+   */
+  boolean recover(Consumer<ByteBuffer> consumer) {
+    int offset = 0;
+    CRC32C crc = new CRC32C();
+    while (capacity - offset >= HEADER_BYTES) {
+      int length = buffer.getInt(offset);
+      if (length == 0) {
+        break;
+      }
+      if (length < 0 || length > capacity - offset - HEADER_BYTES) {
+        return truncateAt(offset);
+      }
+      ByteBuffer payload = buffer.slice(offset + HEADER_BYTES, length);
+      crc.reset();
+      crc.update(payload.duplicate());
+      if ((int) crc.getValue() != buffer.getInt(offset + Integer.BYTES)) {
+        return truncateAt(offset);
+      }
+      consumer.accept(payload);
+      offset += HEADER_BYTES + length;
+    }
+    position = offset;
+    forcedPosition = offset;
+    return false;
+  }
+
+  @Override
+  public void close() throws IOException {
+    force(position);
+    channel.close();
+  }
+
+  private boolean truncateAt(int offset) {
+    byte[] zeros = new byte[ZERO_CHUNK_BYTES];
+    for (int i = offset; i < capacity; i += zeros.length) {
+      buffer.put(i, zeros, 0, Math.min(zeros.length, capacity - i));
+    }
+    buffer.force(offset, capacity - offset);
+    position = offset;
+    forcedPosition = offset;
+    return true;
+  }
+
+}
@@ -0,0 +1,102 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.out.journal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+
+/**
+ * Snapshot dos saldos do journal em um ponto da sequência de registros. <br>
+ * Na recuperação, apenas os registros com sequência maior que {@link #lastSequence()}, a partir do segmento
+ * {@link #firstSegment()}, precisam ser reaplicados sobre os saldos do snapshot.
+ *
+ * @param lastSequence Sequência do último registro incluído nos saldos.
+ * @param firstSegment Primeiro segmento com registros posteriores ao snapshot.
+ * @param balances     Saldos em unidades mínimas por número da conta.
+ * @author Juliane Maran
+ */
+record JournalSnapshot(long lastSequence, long firstSegment, Map<String, Long> balances) {
+
+  static final JournalSnapshot EMPTY = new JournalSnapshot(0L, 0L, Map.of());
+
+  private static final String FILE_NAME = "snapshot.bin";
+  private static final String TEMP_FILE_NAME = "snapshot.bin.tmp";
+  private static final int MAGIC = 0x534E4150;
+  private static final int MIN_BYTES = Integer.BYTES + Long.BYTES * 2 + Integer.BYTES * 2;
+
+  /**
+   * Grava o snapshot em um arquivo temporário, sincroniza com o disco e o renomeia atomicamente sobre o anterior,
+   * de modo que uma queda durante a gravação preserva o snapshot antigo.
+   */
+  void write(Path directory) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(32 + balances.size() * 24);
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeInt(MAGIC);
+    out.writeLong(lastSequence);
+    out.writeLong(firstSegment);
+    out.writeInt(balances.size());
+    for (Map.Entry<String, Long> entry : balances.entrySet()) {
+      out.writeUTF(entry.getKey());
+      out.writeLong(entry.getValue());
+    }
+    CRC32C crc = new CRC32C();
+    crc.update(bytes.toByteArray());
+    out.writeInt((int) crc.getValue());
+
+    Path temp = directory.resolve(TEMP_FILE_NAME);
+    try (FileChannel channel = FileChannel.open(temp,
+      StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      ByteBuffer content = ByteBuffer.wrap(bytes.toByteArray());
+      while (content.hasRemaining()) {
+        channel.write(content);
+      }
+      channel.force(true);
+    }
+    Files.move(temp, directory.resolve(FILE_NAME), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  /**
+   * @throws IllegalStateException Se o snapshot existir mas estiver corrompido. Os segmentos anteriores a ele já
+   *                               podem ter sido removidos, então a recuperação não pode prosseguir sem ele.
+   */
+  static Optional<JournalSnapshot> read(Path directory) throws IOException {
+    Path file = directory.resolve(FILE_NAME);
+    if (!Files.exists(file)) {
+      return Optional.empty();
+    }
+    byte[] content = Files.readAllBytes(file);
+    if (content.length < MIN_BYTES) {
+      throw new IllegalStateException("Snapshot do journal inválido: " + file);
+    }
+    CRC32C crc = new CRC32C();
+    crc.update(content, 0, content.length - Integer.BYTES);
+    if ((int) crc.getValue() != ByteBuffer.wrap(content, content.length - Integer.BYTES, Integer.BYTES).getInt()) {
+      throw new IllegalStateException("Snapshot do journal corrompido (CRC inválido): " + file);
+    }
+
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(content));
+    if (in.readInt() != MAGIC) {
+      throw new IllegalStateException("Snapshot do journal inválido: " + file);
+    }
+    long lastSequence = in.readLong();
+    long firstSegment = in.readLong();
+    int count = in.readInt();
+    Map<String, Long> balances = new HashMap<>(Math.max(16, count * 2));
+    for (int i = 0; i < count; i++) {
+      balances.put(in.readUTF(), in.readLong());
+    }
+    return Optional.of(new JournalSnapshot(lastSequence, firstSegment, balances));
+  }
+
+}
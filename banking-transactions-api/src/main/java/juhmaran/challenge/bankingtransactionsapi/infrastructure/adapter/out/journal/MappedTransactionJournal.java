@@ -0,0 +1,475 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.out.journal;
+
+import jakarta.annotation.PreDestroy;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.JournalEntry;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.TransactionJournalPort;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.JournalProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Journal de transações em arquivos mapeados em memória ({@link JournalSegment segmentos}), somente de acréscimo. <br>
+ * Cada chamada de {@link #append(List)} vira um registro com sequência crescente e CRC, escrito diretamente na
+ * memória mapeada do segmento atual. Com {@link JournalProperties.Fsync#GROUP}, uma thread dedicada sincroniza
+ * com o disco todos os registros acumulados desde o último {@code fsync} e libera de uma só vez os chamadores
+ * que aguardavam por eles (group commit).
+ * <p>
+ * O journal mantém em memória os saldos resultantes dos registros. Periodicamente esses saldos são gravados em um
+ * {@link JournalSnapshot snapshot}, e os segmentos anteriores a ele são removidos; assim, a recuperação na
+ * inicialização lê o snapshot e reaplica apenas os registros posteriores. Registros incompletos no final de um
+ * segmento (escrita interrompida por uma queda) são descartados.
+ * </p>
+ * Créditos e débitos de contas sem registro de abertura ({@link JournalEntry.Type#OPEN}) no journal, como contas
+ * criadas antes da sua ativação, não alteram os saldos reconstruídos.
+ * <p>
+ * Ativado com {@code banking.journal.enabled=true}.
+ * </p>
+ *
+ * @author Juliane Maran
+ */
+@Component
+@ConditionalOnProperty(prefix = "banking.journal", name = "enabled", havingValue = "true")
+public class MappedTransactionJournal implements TransactionJournalPort {
+
+  private static final Logger logger = LoggerFactory.getLogger(MappedTransactionJournal.class);
+
+  private static final byte TYPE_OPEN = 1;
+  private static final byte TYPE_CREDIT = 2;
+  private static final byte TYPE_DEBIT = 3;
+  private static final byte TYPE_CLOSE = 4;
+
+  private final Path directory;
+  private final int segmentSize;
+  private final JournalProperties.Fsync fsync;
+
+  private final ReentrantLock appendLock = new ReentrantLock();
+  private final Map<String, Long> balances = new HashMap<>();
+  private JournalSegment segment;
+  private long sequence;
+
+  private final ReentrantLock durabilityLock = new ReentrantLock();
+  private final Condition durabilityChanged = durabilityLock.newCondition();
+  private long appendedSequence;
+  private long durableSequence;
+  private volatile boolean closed;
+  private volatile RuntimeException fsyncFailure;
+
+  private final ReentrantLock snapshotLock = new ReentrantLock();
+  private long snapshotSequence;
+  private long recoveredRecords;
+
+  private final Thread fsyncThread;
+  private final ScheduledExecutorService snapshotScheduler;
+
+  public MappedTransactionJournal(JournalProperties properties) {
+    long configuredSegmentSize = properties.segmentSize().toBytes();
+    if (configuredSegmentSize < 1024 || configuredSegmentSize > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException(
+        "Tamanho de segmento do journal deve estar entre 1KB e 2GB: " + properties.segmentSize());
+    }
+    this.directory = properties.directory();
+    this.segmentSize = (int) configuredSegmentSize;
+    this.fsync = properties.fsync();
+
+    try {
+      Files.createDirectories(directory);
+      recover();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Não foi possível abrir o journal em " + directory.toAbsolutePath(), e);
+    }
+
+    if (fsync == JournalProperties.Fsync.GROUP) {
+      fsyncThread = new Thread(this::runFsyncLoop, "journal-fsync");
+      fsyncThread.setDaemon(true);
+      fsyncThread.start();
+    } else {
+      fsyncThread = null;
+    }
+
+    long snapshotMillis = properties.snapshotInterval().toMillis();
+    if (snapshotMillis > 0) {
+      snapshotScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "journal-snapshot");
+        thread.setDaemon(true);
+        return thread;
+      });
+      snapshotScheduler.scheduleWithFixedDelay(this::snapshotSafely, snapshotMillis, snapshotMillis,
+        TimeUnit.MILLISECONDS);
+    } else {
+      snapshotScheduler = null;
+    }
+  }
+
+  @Override
+  public void append(List<JournalEntry> entries) {
+    if (entries == null || entries.isEmpty()) {
+      return;
+    }
+    byte[] frame = encode(entries);
+    if (frame.length > segmentSize) {
+      throw new IllegalArgumentException(
+        "Registro do journal com " + frame.length + " bytes excede o tamanho do segmento (" + segmentSize + ").");
+    }
+
+    long recordSequence;
+    appendLock.lock();
+    try {
+      ensureOpen();
+      recordSequence = ++sequence;
+      seal(frame, recordSequence);
+      if (!segment.hasRoomFor(frame.length)) {
+        roll();
+      }
+      segment.append(frame);
+      for (JournalEntry entry : entries) {
+        apply(entry.type(), entry.accountNumber(), entry.amount().minorUnits());
+      }
+      durabilityLock.lock();
+      try {
+        appendedSequence = recordSequence;
+        durabilityChanged.signalAll();
+      } finally {
+        durabilityLock.unlock();
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Erro ao gravar no journal de transações.", e);
+    } finally {
+      appendLock.unlock();
+    }
+
+    if (fsync == JournalProperties.Fsync.GROUP) {
+      awaitDurable(recordSequence);
+    }
+  }
+
+  @Override
+  public Map<String, Money> balances() {
+    appendLock.lock();
+    try {
+      Map<String, Money> copy = new HashMap<>(Math.max(16, balances.size() * 2));
+      balances.forEach((accountNumber, minorUnits) -> copy.put(accountNumber, Money.ofMinorUnits(minorUnits)));
+      return copy;
+    } finally {
+      appendLock.unlock();
+    }
+  }
+
+  /**
+   * Grava um snapshot dos saldos atuais e remove os segmentos que ele torna desnecessários.
+   * Não faz nada se nenhum registro foi acrescentado desde o último snapshot.
+   */
+  public void snapshot() {
+    snapshotLock.lock();
+    try {
+      JournalSnapshot snapshot;
+      appendLock.lock();
+      try {
+        ensureOpen();
+        if (sequence == snapshotSequence) {
+          return;
+        }
+        if (segment.position() > 0) {
+          roll();
+        }
+        snapshot = new JournalSnapshot(sequence, segment.index(), new HashMap<>(balances));
+      } catch (IOException e) {
+        throw new UncheckedIOException("Erro ao iniciar um novo segmento do journal.", e);
+      } finally {
+        appendLock.unlock();
+      }
+
+      try {
+        snapshot.write(directory);
+        for (long index : segmentIndexes()) {
+          if (index < snapshot.firstSegment()) {
+            JournalSegment.delete(directory, index);
+          }
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException("Erro ao gravar o snapshot do journal.", e);
+      }
+      snapshotSequence = snapshot.lastSequence();
+      logger.info("Snapshot do journal gravado na sequência {} com {} contas.",
+        snapshot.lastSequence(), snapshot.balances().size());
+    } finally {
+      snapshotLock.unlock();
+    }
+  }
+
+  /**
+   * @return Quantidade de registros reaplicados após o snapshot na última recuperação.
+   */
+  public long recoveredRecords() {
+    return recoveredRecords;
+  }
+
+  @PreDestroy
+  public void close() {
+    if (snapshotScheduler != null) {
+      snapshotScheduler.shutdown();
+    }
+    durabilityLock.lock();
+    try {
+      closed = true;
+      durabilityChanged.signalAll();
+    } finally {
+      durabilityLock.unlock();
+    }
+    if (fsyncThread != null) {
+      try {
+        fsyncThread.join(TimeUnit.SECONDS.toMillis(5));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    appendLock.lock();
+    try {
+      segment.close();
+      logger.info("Journal de transações encerrado na sequência {}.", sequence);
+    } catch (IOException e) {
+      logger.error("Erro ao encerrar o journal de transações: {}", e.getMessage(), e);
+    } finally {
+      appendLock.unlock();
+    }
+  }
+
+  private void recover() throws IOException {
+    long started = System.nanoTime();
+    JournalSnapshot snapshot = JournalSnapshot.read(directory).orElse(JournalSnapshot.EMPTY);
+    balances.putAll(snapshot.balances());
+    sequence = snapshot.lastSequence();
+    snapshotSequence = snapshot.lastSequence();
+
+    List<Long> indexes = segmentIndexes().stream()
+      .filter(index -> index >= snapshot.firstSegment())
+      .toList();
+    for (int i = 0; i < indexes.size(); i++) {
+      JournalSegment current = JournalSegment.open(directory, indexes.get(i), segmentSize);
+      if (current.recover(payload -> replay(payload, snapshot.lastSequence()))) {
+        logger.warn("Registro incompleto descartado no segmento {} do journal, posição {}.",
+          current.index(), current.position());
+      }
+      if (i < indexes.size() - 1) {
+        current.close();
+      } else {
+        segment = current;
+      }
+    }
+    if (segment == null) {
+      segment = JournalSegment.open(directory, snapshot.firstSegment(), segmentSize);
+    }
+    appendedSequence = sequence;
+    durableSequence = sequence;
+
+    logger.info("Journal recuperado em {} ms: snapshot na sequência {}, {} registros reaplicados, {} contas.",
+      TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), snapshot.lastSequence(), recoveredRecords,
+      balances.size());
+  }
+
+  private void replay(ByteBuffer payload, long snapshotLastSequence) {
+    long recordSequence = payload.getLong();
+    if (recordSequence <= snapshotLastSequence) {
+      return;
+    }
+    int count = payload.getInt();
+    for (int i = 0; i < count; i++) {
+      byte type = payload.get();
+      byte[] name = new byte[payload.getShort() & 0xFFFF];
+      payload.get(name);
+      apply(decodeType(type), new String(name, StandardCharsets.UTF_8), payload.getLong());
+    }
+    sequence = Math.max(sequence, recordSequence);
+    recoveredRecords++;
+  }
+
+  private void apply(JournalEntry.Type type, String accountNumber, long minorUnits) {
+    switch (type) {
+      case OPEN -> balances.put(accountNumber, minorUnits);
+      case CREDIT -> balances.computeIfPresent(accountNumber, (key, balance) -> Math.addExact(balance, minorUnits));
+      case DEBIT -> balances.computeIfPresent(accountNumber, (key, balance) -> Math.subtractExact(balance, minorUnits));
+      case CLOSE -> balances.remove(accountNumber);
+    }
+  }
+
+  private void roll() throws IOException {
+    JournalSegment previous = segment;
+    segment = JournalSegment.open(directory, previous.index() + 1, segmentSize);
+    previous.close();
+    logger.debug("Journal iniciou o segmento {}.", segment.index());
+  }
+
+  private void runFsyncLoop() {
+    while (true) {
+      durabilityLock.lock();
+      try {
+        while (appendedSequence <= durableSequence && !closed) {
+          durabilityChanged.await();
+        }
+        if (appendedSequence <= durableSequence) {
+          return;
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } finally {
+        durabilityLock.unlock();
+      }
+
+      JournalSegment target;
+      int end;
+      long covered;
+      appendLock.lock();
+      try {
+        target = segment;
+        end = segment.position();
+        covered = sequence;
+      } finally {
+        appendLock.unlock();
+      }
+
+      try {
+        target.force(end);
+      } catch (RuntimeException e) {
+        logger.error("Erro ao sincronizar o journal com o disco: {}", e.getMessage(), e);
+        durabilityLock.lock();
+        try {
+          fsyncFailure = e;
+          durabilityChanged.signalAll();
+        } finally {
+          durabilityLock.unlock();
+        }
+        return;
+      }
+      durabilityLock.lock();
+      try {
+        durableSequence = Math.max(durableSequence, covered);
+        durabilityChanged.signalAll();
+      } finally {
+        durabilityLock.unlock();
+      }
+    }
+  }
+
+  private void awaitDurable(long recordSequence) {
+    durabilityLock.lock();
+    try {
+      while (durableSequence < recordSequence) {
+        if (fsyncFailure != null) {
+          throw new IllegalStateException("Falha ao sincronizar o journal com o disco.", fsyncFailure);
+        }
+        if (closed && (fsyncThread == null || !fsyncThread.isAlive())) {
+          throw new IllegalStateException("Journal encerrado antes de sincronizar o registro " + recordSequence + ".");
+        }
+        durabilityChanged.await();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrompido aguardando a sincronização do journal.", e);
+    } finally {
+      durabilityLock.unlock();
+    }
+  }
+
+  private void ensureOpen() {
+    if (closed) {
+      throw new IllegalStateException("Journal de transações encerrado.");
+    }
+    if (fsyncFailure != null) {
+      throw new IllegalStateException("Journal de transações indisponível após falha de sincronização.", fsyncFailure);
+    }
+  }
+
+  private void snapshotSafely() {
+    try {
+      snapshot();
+    } catch (Exception e) {
+      logger.error("Erro ao gravar o snapshot do journal: {}", e.getMessage(), e);
+    }
+  }
+
+  private List<Long> segmentIndexes() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.map(JournalSegment::indexOf)
+        .filter(index -> index >= 0)
+        .sorted()
+        .toList();
+    }
+  }
+
+  /**
+   * Monta o quadro do registro: cabeçalho do {@link JournalSegment} seguido de
+   * {@code [sequência: long][quantidade: int]} e, para cada lançamento,
+   * {@code [tipo: byte][tamanho da conta: short][conta: UTF-8][valor em unidades mínimas: long]}.
+   * A sequência e o CRC são preenchidos por {@link #seal(byte[], long)}.
+   */
+  private static byte[] encode(List<JournalEntry> entries) {
+    byte[][] names = new byte[entries.size()][];
+    int payloadLength = Long.BYTES + Integer.BYTES;
+    for (int i = 0; i < names.length; i++) {
+      names[i] = entries.get(i).accountNumber().getBytes(StandardCharsets.UTF_8);
+      if (names[i].length > 0xFFFF) {
+        throw new IllegalArgumentException("Número da conta excede o tamanho suportado pelo journal.");
+      }
+      payloadLength += Byte.BYTES + Short.BYTES + names[i].length + Long.BYTES;
+    }
+
+    ByteBuffer frame = ByteBuffer.allocate(JournalSegment.HEADER_BYTES + payloadLength);
+    frame.putInt(payloadLength).putInt(0).putLong(0L).putInt(entries.size());
+    for (int i = 0; i < names.length; i++) {
+      JournalEntry entry = entries.get(i);
+      frame.put(encodeType(entry.type()))
+        .putShort((short) names[i].length)
+        .put(names[i])
+        .putLong(entry.amount().minorUnits());
+    }
+    return frame.array();
+  }
+
+  private static void seal(byte[] frame, long recordSequence) {
+    ByteBuffer buffer = ByteBuffer.wrap(frame);
+    buffer.putLong(JournalSegment.HEADER_BYTES, recordSequence);
+    CRC32C crc = new CRC32C();
+    crc.update(frame, JournalSegment.HEADER_BYTES, frame.length - JournalSegment.HEADER_BYTES);
+    buffer.putInt(Integer.BYTES, (int) crc.getValue());
+  }
+
+  private static byte encodeType(JournalEntry.Type type) {
+    return switch (type) {
+      case OPEN -> TYPE_OPEN;
+      case CREDIT -> TYPE_CREDIT;
+      case DEBIT -> TYPE_DEBIT;
+      case CLOSE -> TYPE_CLOSE;
+    };
+  }
+
+  private static JournalEntry.Type decodeType(byte type) {
+    return switch (type) {
+      case TYPE_OPEN -> JournalEntry.Type.OPEN;
+      case TYPE_CREDIT -> JournalEntry.Type.CREDIT;
+      case TYPE_DEBIT -> JournalEntry.Type.DEBIT;
+      case TYPE_CLOSE -> JournalEntry.Type.CLOSE;
+      default -> throw new IllegalStateException("Tipo de lançamento desconhecido no journal: " + type);
+    };
+  }
+
+}
@@ -0,0 +1,31 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.out.journal;
+
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.JournalEntry;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.TransactionJournalPort;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Journal desativado ({@code banking.journal.enabled=false}, padrão): os lançamentos não são registrados.
+ *
+ * @author Juliane Maran
+ */
+@Component
+@ConditionalOnProperty(prefix = "banking.journal", name = "enabled", havingValue = "false", matchIfMissing = true)
+public class NoOpTransactionJournal implements TransactionJournalPort {
+
+  @Override
+  public void append(List<JournalEntry> entries) {
+    // Journal desativado.
+  }
+
+  @Override
+  public Map<String, Money> balances() {
+    return Map.of();
+  }
+
+}
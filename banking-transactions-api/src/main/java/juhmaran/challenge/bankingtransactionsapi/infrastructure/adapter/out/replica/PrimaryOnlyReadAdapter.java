@@ -0,0 +1,34 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.out.replica;
+
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.ReadReplicaPort;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Sem réplica de leitura: todas as consultas usam o banco principal. Ativo enquanto
+ * {@code banking.read-replica.enabled} não for {@code true}.
+ *
+ * @author Juliane Maran
+ */
+@Component
+@ConditionalOnProperty(prefix = "banking.read-replica", name = "enabled", havingValue = "false", matchIfMissing = true)
+public class PrimaryOnlyReadAdapter implements ReadReplicaPort {
+
+  @Override
+  public String consistencyToken() {
+    return null;
+  }
+
+  @Override
+  public boolean canRead(String consistencyToken) {
+    return false;
+  }
+
+  @Override
+  public <T> T read(Supplier<T> query) {
+    return query.get();
+  }
+
+}
@@ -0,0 +1,105 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.out.replica;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.ReadReplicaPort;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.ReadReplicaProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Consultas na réplica de leitura pelo {@link ReplicaRoutingDataSource}. <br>
+ * O token de consistência é o instante do banco principal, em milissegundos, em que foi emitido: a réplica atende a
+ * consulta com o token apenas depois de receber uma cópia iniciada após esse instante.
+ * <p>
+ * As métricas {@code banking.read-replica.reads}, {@code banking.read-replica.fallbacks} (tag
+ * {@code reason=stale|token}) e {@code banking.read-replica.lag} (segundos) ficam disponíveis em
+ * {@code /actuator/metrics}. Ativado com {@code banking.read-replica.enabled=true}.
+ * </p>
+ *
+ * @author Juliane Maran
+ */
+@Component
+@ConditionalOnProperty(prefix = "banking.read-replica", name = "enabled", havingValue = "true")
+public class ReadReplicaAdapter implements ReadReplicaPort {
+
+  private final ReplicationStatus replicationStatus;
+  private final long maxStalenessMillis;
+  private final TransactionTemplate readOnlyTransaction;
+  private final Counter reads;
+  private final Counter staleFallbacks;
+  private final Counter tokenFallbacks;
+
+  public ReadReplicaAdapter(ReadReplicaProperties properties, ReplicationStatus replicationStatus,
+                            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+    if (properties.maxStaleness().toMillis() <= 0) {
+      throw new IllegalArgumentException("banking.read-replica.max-staleness deve ser positivo.");
+    }
+    this.replicationStatus = replicationStatus;
+    this.maxStalenessMillis = properties.maxStaleness().toMillis();
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    readOnlyTransaction.setReadOnly(true);
+    this.reads = Counter.builder("banking.read-replica.reads")
+      .description("Consultas atendidas pela réplica de leitura")
+      .register(meterRegistry);
+    this.staleFallbacks = fallbackCounter(meterRegistry, "stale");
+    this.tokenFallbacks = fallbackCounter(meterRegistry, "token");
+    Gauge.builder("banking.read-replica.lag", this, adapter -> adapter.lagMillis() / 1000.0)
+      .description("Defasagem da réplica de leitura em relação ao banco principal")
+      .baseUnit("seconds")
+      .register(meterRegistry);
+  }
+
+  @Override
+  public String consistencyToken() {
+    return Long.toString(System.currentTimeMillis());
+  }
+
+  @Override
+  public boolean canRead(String consistencyToken) {
+    long replicatedThrough = replicationStatus.replicatedThroughMillis();
+    if (consistencyToken != null && replicatedThrough <= parse(consistencyToken)) {
+      tokenFallbacks.increment();
+      return false;
+    }
+    if (System.currentTimeMillis() - replicatedThrough > maxStalenessMillis) {
+      staleFallbacks.increment();
+      return false;
+    }
+    return true;
+  }
+
+  @Override
+  public <T> T read(Supplier<T> query) {
+    reads.increment();
+    return ReplicaRoutingDataSource.onReplica(() -> readOnlyTransaction.execute(status -> query.get()));
+  }
+
+  private long lagMillis() {
+    long replicatedThrough = replicationStatus.replicatedThroughMillis();
+    return replicatedThrough == 0 ? 0 : Math.max(0, System.currentTimeMillis() - replicatedThrough);
+  }
+
+  private static long parse(String consistencyToken) {
+    try {
+      return Long.parseLong(consistencyToken);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Token de consistência inválido: " + consistencyToken);
+    }
+  }
+
+  private static Counter fallbackCounter(MeterRegistry meterRegistry, String reason) {
+    return Counter.builder("banking.read-replica.fallbacks")
+      .description("Consultas encaminhadas ao banco principal por defasagem da réplica")
+      .tag("reason", reason)
+      .register(meterRegistry);
+  }
+
+}
@@ -0,0 +1,72 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.out.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * {@code DataSource} da aplicação com a réplica de leitura ativa: entrega conexões do banco principal, exceto dentro
+ * de {@link #onReplica(Supplier)}, que entrega conexões da réplica. <br>
+ * A escolha é feita ao obter a conexão; por isso a transação da consulta deve ser aberta dentro de
+ * {@link #onReplica(Supplier)}, e uma transação já aberta continua no banco em que começou.
+ *
+ * @author Juliane Maran
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+  private static final ThreadLocal<Boolean> REPLICA = new ThreadLocal<>();
+
+  private final HikariDataSource primary;
+  private final HikariDataSource replica;
+
+  public ReplicaRoutingDataSource(HikariDataSource primary, HikariDataSource replica) {
+    this.primary = primary;
+    this.replica = replica;
+    setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+    setDefaultTargetDataSource(primary);
+    afterPropertiesSet();
+  }
+
+  /**
+   * Executa o trabalho com as novas conexões da thread corrente vindas da réplica.
+   */
+  public static <T> T onReplica(Supplier<T> work) {
+    Boolean previous = REPLICA.get();
+    REPLICA.set(Boolean.TRUE);
+    try {
+      return work.get();
+    } finally {
+      if (previous == null) {
+        REPLICA.remove();
+      } else {
+        REPLICA.set(previous);
+      }
+    }
+  }
+
+  public HikariDataSource primary() {
+    return primary;
+  }
+
+  public HikariDataSource replica() {
+    return replica;
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    return REPLICA.get() != null ? Target.REPLICA : Target.PRIMARY;
+  }
+
+  @Override
+  public void close() {
+    replica.close();
+    primary.close();
+  }
+
+  private enum Target {
+    PRIMARY, REPLICA
+  }
+
+}
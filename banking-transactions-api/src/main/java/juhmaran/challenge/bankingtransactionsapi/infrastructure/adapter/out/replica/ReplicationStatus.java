@@ -0,0 +1,16 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.out.replica;
+
+/**
+ * Posição da réplica de leitura em relação ao banco principal.
+ *
+ * @author Juliane Maran
+ */
+public interface ReplicationStatus {
+
+  /**
+   * Instante (em milissegundos desde a época) até o qual todos os commits do banco principal já estão na réplica, ou
+   * {@code 0} se a réplica ainda não recebeu nenhuma cópia.
+   */
+  long replicatedThroughMillis();
+
+}
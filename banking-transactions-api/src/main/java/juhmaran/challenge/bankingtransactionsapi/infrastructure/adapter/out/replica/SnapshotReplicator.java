@@ -0,0 +1,141 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.out.replica;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replicação local do banco principal para a réplica de leitura, para ambientes sem replicação no banco (como o H2
+ * em memória). <br>
+ * A cada intervalo, as tabelas {@code accounts} e {@code account_slots} são lidas por inteiro do banco principal e
+ * substituem as da réplica; quem lê a réplica vê a cópia anterior até o commit. O instante registrado para cada cópia
+ * é o do início da leitura, de modo que todo commit concluído antes dele está na cópia.
+ * A cópia completa só é adequada a bancos pequenos, de desenvolvimento e testes.
+ *
+ * @author Juliane Maran
+ */
+public class SnapshotReplicator implements ReplicationStatus {
+
+  private static final Logger logger = LoggerFactory.getLogger(SnapshotReplicator.class);
+
+  private static final List<Table> TABLES = List.of(
+    new Table("accounts", "id, account_number, account_key, balance, version", "create table if not exists accounts ("
+      + "id bigint primary key, "
+      + "account_number varchar(255) not null unique, "
+      + "account_key bigint unique, "
+      + "balance bigint not null, "
+      + "version bigint)"),
+    new Table("account_slots", "account_number, slot, balance", "create table if not exists account_slots ("
+      + "account_number varchar(255) not null, "
+      + "slot integer not null, "
+      + "balance bigint not null, "
+      + "primary key (account_number, slot))"));
+
+  private final JdbcTemplate primary;
+  private final JdbcTemplate replica;
+  private final TransactionTemplate primaryTransaction;
+  private final TransactionTemplate replicaTransaction;
+  private final long intervalMillis;
+  private volatile long replicatedThroughMillis;
+  private ScheduledExecutorService scheduler;
+
+  public SnapshotReplicator(DataSource primary, DataSource replica, Duration interval) {
+    if (interval.toMillis() <= 0) {
+      throw new IllegalArgumentException("banking.read-replica.replication-interval deve ser positivo.");
+    }
+    this.primary = new JdbcTemplate(primary);
+    this.replica = new JdbcTemplate(replica);
+    this.primaryTransaction = new TransactionTemplate(new DataSourceTransactionManager(primary));
+    primaryTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    primaryTransaction.setReadOnly(true);
+    this.replicaTransaction = new TransactionTemplate(new DataSourceTransactionManager(replica));
+    this.intervalMillis = interval.toMillis();
+    for (Table table : TABLES) {
+      this.replica.execute(table.ddl());
+    }
+  }
+
+  /**
+   * Inicia a replicação após a criação do esquema e dos dados iniciais no banco principal.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "read-replica-replicator");
+      thread.setDaemon(true);
+      return thread;
+    });
+    scheduler.scheduleWithFixedDelay(this::replicateSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+    }
+  }
+
+  /**
+   * Copia as tabelas do banco principal para a réplica. As tabelas são lidas em uma mesma transação
+   * {@code REPEATABLE READ}, com uma visão única do banco principal, e gravadas em uma mesma transação na réplica.
+   */
+  public synchronized void replicate() {
+    long startedAt = System.currentTimeMillis();
+    List<List<Object[]>> snapshot = primaryTransaction.execute(status -> {
+      List<List<Object[]>> tables = new ArrayList<>(TABLES.size());
+      for (Table table : TABLES) {
+        tables.add(primary.query("select " + table.columns() + " from " + table.name(), (rs, rowNum) -> {
+          Object[] row = new Object[rs.getMetaData().getColumnCount()];
+          for (int i = 0; i < row.length; i++) {
+            row[i] = rs.getObject(i + 1);
+          }
+          return row;
+        }));
+      }
+      return tables;
+    });
+    replicaTransaction.executeWithoutResult(status -> {
+      for (int i = 0; i < TABLES.size(); i++) {
+        Table table = TABLES.get(i);
+        String placeholders = String.join(", ", Collections.nCopies(table.columns().split(",").length, "?"));
+        replica.update("delete from " + table.name());
+        replica.batchUpdate("insert into " + table.name() + " (" + table.columns() + ") values (" + placeholders
+          + ")", snapshot.get(i));
+      }
+    });
+    replicatedThroughMillis = startedAt;
+  }
+
+  @Override
+  public long replicatedThroughMillis() {
+    return replicatedThroughMillis;
+  }
+
+  private void replicateSafely() {
+    try {
+      replicate();
+    } catch (RuntimeException e) {
+      logger.warn("Falha ao copiar o banco principal para a réplica de leitura: {}", e.getMessage());
+    }
+  }
+
+  private record Table(String name, String columns, String ddl) {
+
+  }
+
+}
@@ -0,0 +1,190 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.out.shard;
+
+import org.springframework.jdbc.datasource.ConnectionHolder;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+
+/**
+ * Conexões dos shards incluídos em uma transação do {@link ShardedTransactionManager}. <br>
+ * Cada shard é incluído no primeiro acesso ({@link #enlist(int)}): a conexão é aberta sem {@code autocommit} e
+ * associada ao {@link DataSource} do shard, de modo que o {@link org.springframework.jdbc.core.JdbcTemplate} do shard
+ * passa a usá-la até o fim da transação.
+ *
+ * @author Juliane Maran
+ */
+final class ShardConnections {
+
+  private final ShardedDataSources dataSources;
+  private final ConnectionHolder[] holders;
+  private boolean rollbackOnly;
+
+  ShardConnections(ShardedDataSources dataSources) {
+    this.dataSources = dataSources;
+    this.holders = new ConnectionHolder[dataSources.size()];
+  }
+
+  void enlist(int shard) {
+    if (holders[shard] != null) {
+      return;
+    }
+    try {
+      Connection connection = dataSources.dataSource(shard).getConnection();
+      connection.setAutoCommit(false);
+      ConnectionHolder holder = new ConnectionHolder(connection);
+      holder.setSynchronizedWithTransaction(true);
+      TransactionSynchronizationManager.bindResource(dataSources.dataSource(shard), holder);
+      holders[shard] = holder;
+    } catch (SQLException e) {
+      throw new CannotCreateTransactionException("Não foi possível abrir a conexão do shard " + shard + ".", e);
+    }
+  }
+
+  boolean isRollbackOnly() {
+    return rollbackOnly;
+  }
+
+  void setRollbackOnly() {
+    rollbackOnly = true;
+  }
+
+  /**
+   * Confirma os shards em ordem crescente. Se um commit falhar, os shards seguintes são desfeitos; os anteriores já
+   * estão confirmados, e a exceção informa quais.
+   */
+  void commit() {
+    StringBuilder committed = new StringBuilder();
+    for (int shard = 0; shard < holders.length; shard++) {
+      if (holders[shard] == null) {
+        continue;
+      }
+      try {
+        holders[shard].getConnection().commit();
+        committed.append(committed.isEmpty() ? "" : ", ").append(shard);
+      } catch (SQLException e) {
+        rollbackFrom(shard);
+        throw new TransactionSystemException(committed.isEmpty()
+          ? "Falha no commit do shard " + shard + "; nenhum shard foi confirmado."
+          : "Falha no commit do shard " + shard + " após confirmar os shards " + committed + ".", e);
+      }
+    }
+  }
+
+  void rollback() {
+    SQLException failure = rollbackFrom(0);
+    if (failure != null) {
+      throw new TransactionSystemException("Falha ao desfazer a transação dos shards.", failure);
+    }
+  }
+
+  private SQLException rollbackFrom(int first) {
+    SQLException failure = null;
+    for (int shard = first; shard < holders.length; shard++) {
+      if (holders[shard] == null) {
+        continue;
+      }
+      try {
+        holders[shard].getConnection().rollback();
+      } catch (SQLException e) {
+        failure = failure == null ? e : failure;
+      }
+    }
+    return failure;
+  }
+
+  /**
+   * Cria um savepoint em cada shard já incluído. Os shards incluídos depois não têm savepoint: todo o trabalho deles
+   * é posterior, e voltar ao savepoint desfaz a transação inteira desses shards.
+   */
+  Object createSavepoint() {
+    Savepoint[] savepoints = new Savepoint[holders.length];
+    try {
+      for (int shard = 0; shard < holders.length; shard++) {
+        if (holders[shard] != null) {
+          savepoints[shard] = holders[shard].getConnection().setSavepoint();
+        }
+      }
+    } catch (SQLException e) {
+      throw new TransactionSystemException("Não foi possível criar o savepoint.", e);
+    }
+    return savepoints;
+  }
+
+  void rollbackToSavepoint(Object savepoint) {
+    Savepoint[] savepoints = (Savepoint[]) savepoint;
+    try {
+      for (int shard = 0; shard < holders.length; shard++) {
+        if (holders[shard] == null) {
+          continue;
+        }
+        if (savepoints[shard] != null) {
+          holders[shard].getConnection().rollback(savepoints[shard]);
+        } else {
+          holders[shard].getConnection().rollback();
+        }
+      }
+    } catch (SQLException e) {
+      throw new TransactionSystemException("Não foi possível voltar ao savepoint.", e);
+    }
+  }
+
+  void releaseSavepoint(Object savepoint) {
+    Savepoint[] savepoints = (Savepoint[]) savepoint;
+    try {
+      for (int shard = 0; shard < holders.length; shard++) {
+        if (savepoints[shard] != null && holders[shard] != null) {
+          holders[shard].getConnection().releaseSavepoint(savepoints[shard]);
+        }
+      }
+    } catch (SQLException e) {
+      throw new TransactionSystemException("Não foi possível liberar o savepoint.", e);
+    }
+  }
+
+  void unbindShards() {
+    for (int shard = 0; shard < holders.length; shard++) {
+      if (holders[shard] != null) {
+        TransactionSynchronizationManager.unbindResource(dataSources.dataSource(shard));
+      }
+    }
+  }
+
+  void bindShards() {
+    for (int shard = 0; shard < holders.length; shard++) {
+      if (holders[shard] != null) {
+        TransactionSynchronizationManager.bindResource(dataSources.dataSource(shard), holders[shard]);
+      }
+    }
+  }
+
+  /**
+   * Desassocia e devolve ao pool as conexões dos shards.
+   */
+  void close() {
+    for (int shard = 0; shard < holders.length; shard++) {
+      if (holders[shard] == null) {
+        continue;
+      }
+      TransactionSynchronizationManager.unbindResourceIfPossible(dataSources.dataSource(shard));
+      Connection connection = holders[shard].getConnection();
+      holders[shard].clear();
+      holders[shard] = null;
+      try {
+        connection.setAutoCommit(true);
+      } catch (SQLException ignored) {
+        // A conexão é devolvida ao pool mesmo assim; o pool restaura o autocommit padrão.
+      }
+      try {
+        connection.close();
+      } catch (SQLException ignored) {
+        // Nada a fazer: a transação já terminou.
+      }
+    }
+  }
+
+}
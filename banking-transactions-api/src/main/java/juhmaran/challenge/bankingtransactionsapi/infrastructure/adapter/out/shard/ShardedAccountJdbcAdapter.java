@@ -0,0 +1,237 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.out.shard;
+
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.AccountRepositoryPort;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.metrics.TransactionMetrics;
+import juhmaran.challenge.bankingtransactionsapi.domain.entity.Account;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Contas particionadas entre os bancos dos shards ({@link ShardedDataSources}), com comandos SQL diretos. <br>
+ * Cada operação é executada no shard da conta; consultas com várias contas são divididas por shard. As contas
+ * retornadas não são gerenciadas por um contexto de persistência: {@link #save(Account)} grava imediatamente, com
+ * controle de versão ({@code WHERE version = ?}), e um conflito é informado com
+ * {@link ObjectOptimisticLockingFailureException}, como no commit do JPA. Os identificadores são gerados por shard e
+ * só são únicos dentro dele. Ativado com {@code banking.shards.enabled=true}.
+ *
+ * @author Juliane Maran
+ */
+@Component
+@ConditionalOnProperty(prefix = "banking.shards", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ShardedAccountJdbcAdapter implements AccountRepositoryPort {
+
+  private static final int IN_CLAUSE_LIMIT = 1000;
+  private static final String COLUMNS = "select id, account_number, balance, version from accounts ";
+
+  private static final RowMapper<Account> ACCOUNT = (rs, rowNum) -> {
+    Account account = new Account(rs.getLong("id"), rs.getString("account_number"),
+      Money.ofMinorUnits(rs.getLong("balance")));
+    long version = rs.getLong("version");
+    account.setVersion(rs.wasNull() ? null : version);
+    return account;
+  };
+
+  private final ShardedDataSources shardedDataSources;
+  private final TransactionMetrics transactionMetrics;
+
+  @Override
+  public Optional<Account> findByAccountNumber(String accountNumber) {
+    return shard(accountNumber).query(COLUMNS + "where account_number = ?", ACCOUNT, accountNumber)
+      .stream().findFirst();
+  }
+
+  @Override
+  public List<Account> findAllByAccountNumber(Collection<String> accountNumbers) {
+    List<List<String>> byShard = byShard(new HashSet<>(accountNumbers));
+    List<Account> accounts = new ArrayList<>(accountNumbers.size());
+    for (int shard = 0; shard < byShard.size(); shard++) {
+      accounts.addAll(queryInChunks(shard, byShard.get(shard), ""));
+    }
+    return accounts;
+  }
+
+  @Override
+  public Optional<Account> findByAccountNumberWithLock(String accountNumber) {
+    long start = System.nanoTime();
+    try {
+      return shard(accountNumber).query(COLUMNS + "where account_number = ? for update", ACCOUNT, accountNumber)
+        .stream().findFirst();
+    } finally {
+      transactionMetrics.record(TransactionMetrics.Phase.ROW_LOCK_WAIT, start);
+    }
+  }
+
+  /**
+   * Bloqueia as contas de cada shard em ordem crescente de número da conta, percorrendo os shards em ordem
+   * crescente; a ordem fixa evita {@code deadlocks} entre lotes concorrentes.
+   */
+  @Override
+  public List<Account> findAllByAccountNumberWithLock(Collection<String> accountNumbers) {
+    List<List<String>> byShard = byShard(new TreeSet<>(accountNumbers));
+    List<Account> accounts = new ArrayList<>(accountNumbers.size());
+    for (int shard = 0; shard < byShard.size(); shard++) {
+      accounts.addAll(queryInChunks(shard, byShard.get(shard), " order by account_number for update"));
+    }
+    accounts.sort(Comparator.comparing(Account::getAccountNumber));
+    return accounts;
+  }
+
+  @Override
+  public List<Account> saveAll(Collection<Account> accounts) {
+    List<Account> saved = new ArrayList<>(accounts.size());
+    for (Account account : accounts) {
+      saved.add(save(account));
+    }
+    return saved;
+  }
+
+  @Override
+  public int debitIfSufficientFunds(String accountNumber, Money amount) {
+    long start = System.nanoTime();
+    try {
+      return shard(accountNumber).update("update accounts set balance = balance - ?, version = version + 1 "
+        + "where account_number = ? and balance >= ?", amount.minorUnits(), accountNumber, amount.minorUnits());
+    } finally {
+      transactionMetrics.record(TransactionMetrics.Phase.SAVE, start);
+    }
+  }
+
+  @Override
+  public int credit(String accountNumber, Money amount) {
+    long start = System.nanoTime();
+    try {
+      return shard(accountNumber).update("update accounts set balance = balance + ?, version = version + 1 "
+        + "where account_number = ?", amount.minorUnits(), accountNumber);
+    } finally {
+      transactionMetrics.record(TransactionMetrics.Phase.SAVE, start);
+    }
+  }
+
+  @Override
+  public Account save(Account account) {
+    JdbcTemplate jdbcTemplate = shard(account.getAccountNumber());
+    if (account.getId() == null) {
+      KeyHolder keyHolder = new GeneratedKeyHolder();
+      jdbcTemplate.update(connection -> {
+        PreparedStatement statement = connection.prepareStatement(
+          "insert into accounts (account_number, balance, version) values (?, ?, 0)", Statement.RETURN_GENERATED_KEYS);
+        statement.setString(1, account.getAccountNumber());
+        statement.setLong(2, account.getBalance().minorUnits());
+        return statement;
+      }, keyHolder);
+      account.setId(keyHolder.getKeyAs(Long.class));
+      account.setVersion(0L);
+      return account;
+    }
+    long version = account.getVersion() == null ? 0L : account.getVersion();
+    int updated = jdbcTemplate.update("update accounts set balance = ?, version = ? "
+        + "where account_number = ? and coalesce(version, 0) = ?",
+      account.getBalance().minorUnits(), version + 1, account.getAccountNumber(), version);
+    if (updated == 0) {
+      throw new ObjectOptimisticLockingFailureException(Account.class, account.getAccountNumber());
+    }
+    account.setVersion(version + 1);
+    return account;
+  }
+
+  @Override
+  public boolean existsByAccountNumber(String accountNumber) {
+    Integer count = shard(accountNumber).queryForObject(
+      "select count(*) from accounts where account_number = ?", Integer.class, accountNumber);
+    return count != null && count > 0;
+  }
+
+  @Override
+  public Set<String> findExistingAccountNumbers(Collection<String> accountNumbers) {
+    List<List<String>> byShard = byShard(new HashSet<>(accountNumbers));
+    Set<String> existing = new HashSet<>();
+    for (int shard = 0; shard < byShard.size(); shard++) {
+      List<String> shardAccounts = byShard.get(shard);
+      JdbcTemplate jdbcTemplate = shardedDataSources.enlist(shard);
+      for (int from = 0; from < shardAccounts.size(); from += IN_CLAUSE_LIMIT) {
+        List<String> chunk = shardAccounts.subList(from, Math.min(from + IN_CLAUSE_LIMIT, shardAccounts.size()));
+        String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+        existing.addAll(jdbcTemplate.queryForList("select account_number from accounts where account_number in ("
+          + placeholders + ")", String.class, chunk.toArray()));
+      }
+    }
+    return existing;
+  }
+
+  /**
+   * Insere as contas de cada shard em um lote JDBC; os identificadores são gerados pelo banco de cada shard e não
+   * são atribuídos às contas.
+   */
+  @Override
+  public int insertAll(Collection<Account> accounts) {
+    List<List<Object[]>> byShard = new ArrayList<>(shardedDataSources.size());
+    for (int shard = 0; shard < shardedDataSources.size(); shard++) {
+      byShard.add(new ArrayList<>());
+    }
+    for (Account account : accounts) {
+      byShard.get(shardedDataSources.shardOf(account.getAccountNumber()))
+        .add(new Object[]{account.getAccountNumber(), account.getBalance().minorUnits()});
+    }
+    for (int shard = 0; shard < byShard.size(); shard++) {
+      if (!byShard.get(shard).isEmpty()) {
+        shardedDataSources.enlist(shard).batchUpdate("insert into accounts (account_number, balance, version) "
+          + "values (?, ?, 0)", byShard.get(shard));
+      }
+    }
+    return accounts.size();
+  }
+
+  /**
+   * Divide as contas por shard, mantendo em cada shard a ordem de iteração recebida.
+   */
+  private List<List<String>> byShard(Collection<String> accountNumbers) {
+    List<List<String>> byShard = new ArrayList<>(shardedDataSources.size());
+    for (int shard = 0; shard < shardedDataSources.size(); shard++) {
+      byShard.add(new ArrayList<>());
+    }
+    for (String accountNumber : accountNumbers) {
+      byShard.get(shardedDataSources.shardOf(accountNumber)).add(accountNumber);
+    }
+    return byShard;
+  }
+
+  private List<Account> queryInChunks(int shard, List<String> accountNumbers, String suffix) {
+    if (accountNumbers.isEmpty()) {
+      return List.of();
+    }
+    JdbcTemplate jdbcTemplate = shardedDataSources.enlist(shard);
+    List<Account> accounts = new ArrayList<>(accountNumbers.size());
+    for (int from = 0; from < accountNumbers.size(); from += IN_CLAUSE_LIMIT) {
+      List<String> chunk = accountNumbers.subList(from, Math.min(from + IN_CLAUSE_LIMIT, accountNumbers.size()));
+      String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+      accounts.addAll(jdbcTemplate.query(COLUMNS + "where account_number in (" + placeholders + ")" + suffix,
+        ACCOUNT, chunk.toArray()));
+    }
+    return accounts;
+  }
+
+  private JdbcTemplate shard(String accountNumber) {
+    return shardedDataSources.enlist(shardedDataSources.shardOf(accountNumber));
+  }
+
+}
@@ -0,0 +1,90 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.out.shard;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.ShardProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Bancos dos shards de contas, cada um com o seu pool de conexões, e o roteamento de cada conta ao seu shard. <br>
+ * O shard de uma conta é o hash do número da conta ({@link String#hashCode()}, cujo valor é fixado pela
+ * especificação da linguagem, misturado para distribuir números sequenciais) módulo a quantidade de shards; é o mesmo
+ * em todas as instâncias e execuções enquanto a lista de bancos não mudar.
+ * <p>
+ * Cada banco recebe a tabela {@code accounts} na inicialização, caso ainda não exista.
+ * </p>
+ *
+ * @author Juliane Maran
+ */
+public class ShardedDataSources implements AutoCloseable {
+
+  private final HikariDataSource[] dataSources;
+  private final JdbcTemplate[] jdbcTemplates;
+
+  public ShardedDataSources(ShardProperties properties) {
+    List<ShardProperties.Shard> shards = properties.datasources();
+    if (shards.isEmpty()) {
+      throw new IllegalArgumentException("banking.shards.datasources deve ter ao menos um banco.");
+    }
+    this.dataSources = new HikariDataSource[shards.size()];
+    this.jdbcTemplates = new JdbcTemplate[shards.size()];
+    for (int i = 0; i < shards.size(); i++) {
+      ShardProperties.Shard shard = shards.get(i);
+      HikariConfig config = new HikariConfig();
+      config.setPoolName("shard-" + i);
+      config.setJdbcUrl(shard.url());
+      config.setUsername(shard.username());
+      config.setPassword(shard.password());
+      config.setMaximumPoolSize(shard.maximumPoolSize());
+      dataSources[i] = new HikariDataSource(config);
+      jdbcTemplates[i] = new JdbcTemplate(dataSources[i]);
+      jdbcTemplates[i].execute("create table if not exists accounts ("
+        + "id bigint generated by default as identity primary key, "
+        + "account_number varchar(255) not null unique, "
+        + "balance bigint not null, "
+        + "version bigint)");
+    }
+  }
+
+  public int size() {
+    return dataSources.length;
+  }
+
+  public int shardOf(String accountNumber) {
+    int hash = accountNumber.hashCode();
+    hash ^= hash >>> 16;
+    hash *= 0x85ebca6b;
+    hash ^= hash >>> 13;
+    hash *= 0xc2b2ae35;
+    hash ^= hash >>> 16;
+    return Math.floorMod(hash, dataSources.length);
+  }
+
+  public DataSource dataSource(int shard) {
+    return dataSources[shard];
+  }
+
+  /**
+   * {@link JdbcTemplate} do shard. Dentro de uma transação do {@link ShardedTransactionManager}, o shard é incluído
+   * nela e os comandos usam a conexão da transação; fora dela, cada comando é confirmado imediatamente.
+   */
+  public JdbcTemplate enlist(int shard) {
+    Object transaction = TransactionSynchronizationManager.getResource(this);
+    if (transaction instanceof ShardConnections connections) {
+      connections.enlist(shard);
+    }
+    return jdbcTemplates[shard];
+  }
+
+  @Override
+  public void close() {
+    for (HikariDataSource dataSource : dataSources) {
+      dataSource.close();
+    }
+  }
+
+}
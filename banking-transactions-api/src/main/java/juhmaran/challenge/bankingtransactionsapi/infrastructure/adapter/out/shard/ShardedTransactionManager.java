@@ -0,0 +1,102 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.out.shard;
+
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.SmartTransactionObject;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Gerenciador de transações sobre os bancos dos shards. <br>
+ * Uma transação inclui apenas os shards acessados por ela (veja {@link ShardedDataSources#enlist(int)}), cada um na
+ * sua própria conexão. Um lote com contas de vários shards é aplicado em uma transação por shard, todas abertas até o
+ * fim do lote: um erro em qualquer item desfaz todos os shards. No commit, os shards são confirmados em ordem
+ * crescente; uma falha no commit de um shard desfaz os seguintes, mas não os já confirmados (não há commit em duas
+ * fases).
+ *
+ * @author Juliane Maran
+ */
+public class ShardedTransactionManager extends AbstractPlatformTransactionManager {
+
+  private final transient ShardedDataSources dataSources;
+
+  public ShardedTransactionManager(ShardedDataSources dataSources) {
+    this.dataSources = dataSources;
+  }
+
+  @Override
+  protected Object doGetTransaction() {
+    return new ShardedTransactionObject((ShardConnections) TransactionSynchronizationManager.getResource(dataSources));
+  }
+
+  @Override
+  protected boolean isExistingTransaction(Object transaction) {
+    return ((ShardedTransactionObject) transaction).connections != null;
+  }
+
+  @Override
+  protected void doBegin(Object transaction, TransactionDefinition definition) {
+    ShardConnections connections = new ShardConnections(dataSources);
+    TransactionSynchronizationManager.bindResource(dataSources, connections);
+    ((ShardedTransactionObject) transaction).connections = connections;
+  }
+
+  @Override
+  protected Object doSuspend(Object transaction) {
+    ((ShardedTransactionObject) transaction).connections = null;
+    ShardConnections connections = (ShardConnections) TransactionSynchronizationManager.unbindResource(dataSources);
+    connections.unbindShards();
+    return connections;
+  }
+
+  @Override
+  protected void doResume(Object transaction, Object suspendedResources) {
+    ShardConnections connections = (ShardConnections) suspendedResources;
+    connections.bindShards();
+    TransactionSynchronizationManager.bindResource(dataSources, connections);
+  }
+
+  @Override
+  protected void doCommit(DefaultTransactionStatus status) {
+    ((ShardedTransactionObject) status.getTransaction()).connections.commit();
+  }
+
+  @Override
+  protected void doRollback(DefaultTransactionStatus status) {
+    ((ShardedTransactionObject) status.getTransaction()).connections.rollback();
+  }
+
+  @Override
+  protected void doSetRollbackOnly(DefaultTransactionStatus status) {
+    ((ShardedTransactionObject) status.getTransaction()).connections.setRollbackOnly();
+  }
+
+  @Override
+  protected void doCleanupAfterCompletion(Object transaction) {
+    TransactionSynchronizationManager.unbindResourceIfPossible(dataSources);
+    ShardedTransactionObject shardedTransaction = (ShardedTransactionObject) transaction;
+    shardedTransaction.connections.close();
+    shardedTransaction.connections = null;
+  }
+
+  private static final class ShardedTransactionObject implements SmartTransactionObject {
+
+    private ShardConnections connections;
+
+    ShardedTransactionObject(ShardConnections connections) {
+      this.connections = connections;
+    }
+
+    @Override
+    public boolean isRollbackOnly() {
+      return connections != null && connections.isRollbackOnly();
+    }
+
+    @Override
+    public void flush() {
+      // Os comandos JDBC são enviados ao banco imediatamente; não há nada pendente.
+    }
+
+  }
+
+}
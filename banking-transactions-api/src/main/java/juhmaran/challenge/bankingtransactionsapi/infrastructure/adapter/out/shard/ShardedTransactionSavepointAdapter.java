@@ -0,0 +1,44 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.out.shard;
+
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.TransactionSavepointPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Savepoints na transação corrente do {@link ShardedTransactionManager}, um por shard já incluído nela. Voltar ao
+ * savepoint desfaz por inteiro os shards incluídos depois dele. Ativado com {@code banking.shards.enabled=true}.
+ *
+ * @author Juliane Maran
+ */
+@Component
+@ConditionalOnProperty(prefix = "banking.shards", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ShardedTransactionSavepointAdapter implements TransactionSavepointPort {
+
+  private final ShardedDataSources shardedDataSources;
+
+  @Override
+  public Object createSavepoint() {
+    return connections().createSavepoint();
+  }
+
+  @Override
+  public void rollbackToSavepoint(Object savepoint) {
+    connections().rollbackToSavepoint(savepoint);
+  }
+
+  @Override
+  public void releaseSavepoint(Object savepoint) {
+    connections().releaseSavepoint(savepoint);
+  }
+
+  private ShardConnections connections() {
+    if (TransactionSynchronizationManager.getResource(shardedDataSources) instanceof ShardConnections connections) {
+      return connections;
+    }
+    throw new IllegalStateException("Savepoints exigem uma transação de banco de dados ativa.");
+  }
+
+}
@@ -0,0 +1,21 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configurações da importação de contas em massa ({@code banking.account-import.*}).
+ *
+ * @param chunkSize Contas por bloco; cada bloco é verificado com uma consulta por conjunto e inserido em uma única
+ *                  transação, com lotes JDBC. A memória usada pela importação fica limitada a um bloco.
+ * @param file      Arquivo importado na inicialização da aplicação (opcional), por exemplo
+ *                  {@code --banking.account-import.file=contas.csv}. Arquivos terminados em {@code .csv} são lidos
+ *                  como CSV; os demais, como NDJSON.
+ * @author Juliane Maran
+ */
+@ConfigurationProperties(prefix = "banking.account-import")
+public record AccountImportProperties(
+  @DefaultValue("5000") int chunkSize,
+  String file
+) {
+}
@@ -0,0 +1,59 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.config;
+
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.in.stream.AccountStreamImporter;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.response.AccountImportProgress;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Importa as contas do arquivo {@code banking.account-import.file} na inicialização da aplicação, por exemplo com
+ * {@code java -jar app.jar --banking.account-import.file=contas.csv}. O progresso de cada bloco é registrado no log.
+ *
+ * @author Juliane Maran
+ */
+@Component
+@ConditionalOnProperty(prefix = "banking.account-import", name = "file")
+@RequiredArgsConstructor
+public class AccountImportRunner implements CommandLineRunner {
+
+  private static final Logger logger = LoggerFactory.getLogger(AccountImportRunner.class);
+
+  private final AccountStreamImporter accountStreamImporter;
+  private final AccountImportProperties accountImportProperties;
+
+  @Override
+  public void run(String... args) {
+    Path file = Path.of(accountImportProperties.file());
+    AccountStreamImporter.Format format = file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".csv")
+      ? AccountStreamImporter.Format.CSV
+      : AccountStreamImporter.Format.NDJSON;
+    logger.info("Importando contas do arquivo {} ({}).", file, format);
+
+    AccountImportProgress result;
+    try (InputStream input = Files.newInputStream(file)) {
+      result = accountStreamImporter.importAccounts(input, format, progress -> {
+        if (progress.status() == AccountImportProgress.Status.CHUNK_PROCESSED) {
+          logger.info("Importação de contas, bloco {}: {} criadas, {} ignoradas ({} contas/s).",
+            progress.chunk(), progress.imported(), progress.skipped(), progress.accountsPerSecond());
+        }
+      });
+    } catch (IOException e) {
+      throw new UncheckedIOException("Falha ao ler o arquivo de contas " + file + ".", e);
+    }
+    if (result.status() == AccountImportProgress.Status.FAILED) {
+      logger.error("Importação do arquivo {} interrompida: {}", file, result.message());
+    }
+  }
+
+}
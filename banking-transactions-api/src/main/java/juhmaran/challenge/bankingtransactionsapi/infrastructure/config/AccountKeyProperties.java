@@ -0,0 +1,17 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configurações das chaves numéricas das contas ({@code banking.account-keys.*}).
+ *
+ * @param cacheSize Contas cuja chave numérica é mapeada em memória para o identificador da linha; acima disso, as
+ *                  demais contas são resolvidas pelo índice da coluna {@code account_key} a cada busca.
+ * @author Juliane Maran
+ */
+@ConfigurationProperties(prefix = "banking.account-keys")
+public record AccountKeyProperties(
+  @DefaultValue("65536") int cacheSize
+) {
+}
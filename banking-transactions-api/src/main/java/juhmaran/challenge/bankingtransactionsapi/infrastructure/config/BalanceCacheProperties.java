@@ -0,0 +1,25 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configurações do cache de saldos da consulta {@code GET /accounts/{accountNumber}/balance}
+ * ({@code banking.balance-cache.*}).
+ *
+ * @param enabled          Ativa o cache de saldos.
+ * @param maximumSize      Quantidade máxima de contas em cache. Ao atingir o limite, as entradas menos usadas são
+ *                         removidas.
+ * @param expireAfterWrite Tempo máximo de uma entrada em cache ({@code 0} = sem expiração). Limita a defasagem em
+ *                         relação a lançamentos feitos por outras instâncias da aplicação.
+ * @author Juliane Maran
+ */
+@ConfigurationProperties(prefix = "banking.balance-cache")
+public record BalanceCacheProperties(
+  @DefaultValue("true") boolean enabled,
+  @DefaultValue("10000") long maximumSize,
+  @DefaultValue("0s") Duration expireAfterWrite
+) {
+}
@@ -0,0 +1,16 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configurações da consulta de saldos de várias contas ({@code banking.balance-lookup.*}).
+ *
+ * @param maxAccounts Quantidade máxima de contas por requisição em {@code POST /accounts/balances}.
+ * @author Juliane Maran
+ */
+@ConfigurationProperties(prefix = "banking.balance-lookup")
+public record BalanceLookupProperties(
+  @DefaultValue("1000") int maxAccounts
+) {
+}
@@ -1,6 +1,7 @@
 package juhmaran.challenge.bankingtransactionsapi.infrastructure.config;
 
 import juhmaran.challenge.bankingtransactionsapi.application.usecase.AccountService;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -8,7 +9,6 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.Arrays;
 import java.util.List;
@@ -26,16 +26,16 @@ public class DataInitializer implements CommandLineRunner {
   public void run(String... args) {
     logger.info("Iniciando inicialização de dados...");
 
-    List<SimpleEntry<String, BigDecimal>> accountsToInitialize = Arrays.asList(
-      new SimpleEntry<>("1001-1", new BigDecimal("1000.00")),
-      new SimpleEntry<>("1002-2", new BigDecimal("500.00")),
-      new SimpleEntry<>("1003-3", new BigDecimal("0.00")),
-      new SimpleEntry<>("1004-4", new BigDecimal("2500.75"))
+    List<SimpleEntry<String, Money>> accountsToInitialize = Arrays.asList(
+      new SimpleEntry<>("1001-1", Money.parse("1000.00")),
+      new SimpleEntry<>("1002-2", Money.parse("500.00")),
+      new SimpleEntry<>("1003-3", Money.parse("0.00")),
+      new SimpleEntry<>("1004-4", Money.parse("2500.75"))
     );
 
-    for (SimpleEntry<String, BigDecimal> accountEntry : accountsToInitialize) {
+    for (SimpleEntry<String, Money> accountEntry : accountsToInitialize) {
       String accountNumber = accountEntry.getKey();
-      BigDecimal initialBalance = accountEntry.getValue();
+      Money initialBalance = accountEntry.getValue();
       try {
         accountService.createAccountIfNotFound(accountNumber, initialBalance);
       } catch (Exception e) {
@@ -0,0 +1,35 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configurações da detecção de contas disputadas ({@code banking.hot-accounts.*}).
+ *
+ * @param enabled Ativa o registro das contas no caminho das transações.
+ * @param span    Período total mantido em memória; é a maior janela que pode ser consultada.
+ * @param buckets Quantidade de faixas de tempo em que o {@code span} é dividido. A janela consultada é arredondada
+ *                para um número inteiro de faixas, e a faixa corrente é incluída enquanto ainda está sendo preenchida.
+ * @param width   Colunas de cada linha do sketch de frequência. O erro de cada estimativa é de até
+ *                {@code e / width} do total registrado na faixa.
+ * @param depth   Linhas (funções de hash) do sketch; a probabilidade de a estimativa passar do erro é {@code e^-depth}.
+ * @param topK    Contas candidatas mantidas por faixa e por critério (requisições e espera por lock).
+ * @author Juliane Maran
+ */
+@ConfigurationProperties(prefix = "banking.hot-accounts")
+public record HotAccountProperties(
+  @DefaultValue("true") boolean enabled,
+  @DefaultValue("5m") Duration span,
+  @DefaultValue("30") int buckets,
+  @DefaultValue("1024") int width,
+  @DefaultValue("4") int depth,
+  @DefaultValue("20") int topK
+) {
+
+  public Duration bucketWidth() {
+    return span.dividedBy(buckets);
+  }
+
+}
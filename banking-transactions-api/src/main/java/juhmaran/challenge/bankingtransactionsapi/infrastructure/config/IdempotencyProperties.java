@@ -0,0 +1,36 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configurações das chaves de idempotência de {@code POST /accounts/transactions} ({@code banking.idempotency.*}).
+ *
+ * @param store      Armazenamento das chaves: {@code memory} (padrão, local à instância) ou {@code jdbc} (tabela
+ *                   {@code idempotency_keys} no banco de dados, compartilhada entre instâncias).
+ * @param ttl        Tempo mínimo durante o qual uma chave concluída é lembrada.
+ * @param lease      Validade de uma reserva ainda não concluída (apenas {@code jdbc}). Uma reserva abandonada, por
+ *                   exemplo pela queda da instância que a fez, deixa de bloquear a chave após esse tempo. Deve ser
+ *                   maior que a duração do lote mais longo: vencido o prazo, um reenvio processa o lote novamente.
+ * @param buckets    Quantidade de faixas de tempo em que o {@code ttl} é dividido. As chaves expiram por faixa
+ *                   inteira, portanto permanecem entre {@code ttl} e {@code ttl + ttl / buckets}.
+ * @param maxEntries Quantidade máxima de chaves em memória (apenas {@code memory}). Ao atingir o limite, as chaves
+ *                   mais antigas são descartadas antes de expirar.
+ * @author Juliane Maran
+ */
+@ConfigurationProperties(prefix = "banking.idempotency")
+public record IdempotencyProperties(
+  @DefaultValue("memory") String store,
+  @DefaultValue("24h") Duration ttl,
+  @DefaultValue("5m") Duration lease,
+  @DefaultValue("24") int buckets,
+  @DefaultValue("100000") int maxEntries
+) {
+
+  public Duration bucketWidth() {
+    return ttl.dividedBy(buckets);
+  }
+
+}
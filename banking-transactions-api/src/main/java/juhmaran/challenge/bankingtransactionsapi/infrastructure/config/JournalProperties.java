@@ -0,0 +1,42 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configurações do journal de transações ({@code banking.journal.*}).
+ *
+ * @param enabled          Ativa o journal em arquivo e a recuperação dos saldos na inicialização.
+ * @param directory        Diretório dos segmentos e do snapshot.
+ * @param segmentSize      Tamanho de cada segmento mapeado em memória. Ao encher, um novo segmento é criado.
+ * @param fsync            Política de sincronização com o disco.
+ * @param snapshotInterval Intervalo entre snapshots dos saldos. Segmentos anteriores ao snapshot são removidos.
+ * @author Juliane Maran
+ */
+@ConfigurationProperties(prefix = "banking.journal")
+public record JournalProperties(
+  @DefaultValue("false") boolean enabled,
+  @DefaultValue("data/journal") Path directory,
+  @DefaultValue("64MB") DataSize segmentSize,
+  @DefaultValue("group") Fsync fsync,
+  @DefaultValue("1m") Duration snapshotInterval
+) {
+
+  public enum Fsync {
+    /**
+     * Group commit: uma thread dedicada executa um único {@code fsync} para todos os registros gravados
+     * enquanto o anterior estava em andamento, e cada chamador aguarda o {@code fsync} que cobre o seu registro.
+     */
+    GROUP,
+    /**
+     * Retorna logo após a escrita no arquivo mapeado. Sobrevive à queda do processo, mas não à do sistema
+     * operacional; o {@code fsync} ocorre apenas na troca de segmento e no encerramento.
+     */
+    NONE
+  }
+
+}
@@ -0,0 +1,28 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.config;
+
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.journal.JournalRecoveryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Restaura os saldos do journal de transações na inicialização. <br>
+ * Executa assim que todos os beans são criados, antes de o servidor web aceitar requisições e antes do
+ * {@link DataInitializer}, para que as contas recuperadas não sejam recriadas com o saldo inicial.
+ *
+ * @author Juliane Maran
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "banking.journal", name = "enabled", havingValue = "true")
+public class JournalRecoveryInitializer implements SmartInitializingSingleton {
+
+  private final JournalRecoveryService journalRecoveryService;
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    journalRecoveryService.restoreBalances();
+  }
+
+}
@@ -0,0 +1,29 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configurações do motor de processamento de lançamentos ({@code banking.ledger.*}).
+ *
+ * @param engine        Motor usado pela porta {@code AccountServicePort}: {@code jpa} (padrão, lock no banco)
+ *                      ou {@code sharded} (ledger em memória particionado por shards de escrita única).
+ * @param shards        Quantidade de shards do motor {@code sharded}. Valores menores ou iguais a zero usam
+ *                      a quantidade de processadores disponíveis.
+ * @param flushInterval Intervalo entre as gravações assíncronas dos saldos alterados no banco de dados.
+ * @author Juliane Maran
+ */
+@ConfigurationProperties(prefix = "banking.ledger")
+public record LedgerProperties(
+  @DefaultValue("jpa") String engine,
+  @DefaultValue("0") int shards,
+  @DefaultValue("200ms") Duration flushInterval
+) {
+
+  public int effectiveShards() {
+    return shards > 0 ? shards : Runtime.getRuntime().availableProcessors();
+  }
+
+}
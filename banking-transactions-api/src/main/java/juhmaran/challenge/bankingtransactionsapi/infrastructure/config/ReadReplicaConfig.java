@@ -0,0 +1,58 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.out.replica.ReplicaRoutingDataSource;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.out.replica.SnapshotReplicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Beans da réplica de leitura ({@code banking.read-replica.enabled=true}). <br>
+ * O {@link ReplicaRoutingDataSource} declarado aqui substitui o {@code DataSource} da auto-configuração do Spring
+ * Boot: o pool do banco principal continua configurado por {@code spring.datasource.*}, e todos os componentes
+ * (JPA, {@code JdbcTemplate}) passam por ele, usando a réplica apenas nas consultas encaminhadas a ela.
+ *
+ * @author Juliane Maran
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "banking.read-replica", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+  @Bean(destroyMethod = "close")
+  public ReplicaRoutingDataSource dataSource(DataSourceProperties dataSourceProperties,
+                                             ReadReplicaProperties readReplicaProperties,
+                                             ShardProperties shardProperties,
+                                             Environment environment) {
+    if (shardProperties.enabled()) {
+      throw new IllegalStateException(
+        "banking.read-replica não é suportado com banking.shards: as contas ficam nos shards.");
+    }
+    if (readReplicaProperties.url() == null || readReplicaProperties.url().isBlank()) {
+      throw new IllegalArgumentException("banking.read-replica.url deve ser informada.");
+    }
+    HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+
+    HikariConfig config = new HikariConfig();
+    config.setPoolName("read-replica");
+    config.setJdbcUrl(readReplicaProperties.url());
+    config.setUsername(readReplicaProperties.username());
+    config.setPassword(readReplicaProperties.password());
+    config.setMaximumPoolSize(readReplicaProperties.maximumPoolSize());
+    return new ReplicaRoutingDataSource(primary, new HikariDataSource(config));
+  }
+
+  @Bean
+  public SnapshotReplicator snapshotReplicator(ReplicaRoutingDataSource dataSource,
+                                               ReadReplicaProperties readReplicaProperties) {
+    return new SnapshotReplicator(dataSource.primary(), dataSource.replica(),
+      readReplicaProperties.replicationInterval());
+  }
+
+}
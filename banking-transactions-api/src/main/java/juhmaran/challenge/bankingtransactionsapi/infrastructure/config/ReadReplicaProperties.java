@@ -0,0 +1,31 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configurações da réplica de leitura das consultas de saldo ({@code banking.read-replica.*}).
+ *
+ * @param enabled             Encaminha as consultas de saldo à réplica enquanto ela estiver dentro de
+ *                            {@code maxStaleness}.
+ * @param url                 URL JDBC do banco da réplica.
+ * @param maximumPoolSize     Conexões do pool próprio da réplica.
+ * @param maxStaleness        Defasagem máxima da réplica; acima dela as consultas voltam ao banco principal.
+ * @param replicationInterval Intervalo da cópia do banco principal para a réplica feita pela própria aplicação, que
+ *                            substitui a replicação do banco em ambientes locais com H2.
+ * @author Juliane Maran
+ */
+@ConfigurationProperties(prefix = "banking.read-replica")
+public record ReadReplicaProperties(
+  @DefaultValue("false") boolean enabled,
+  String url,
+  @DefaultValue("sa") String username,
+  @DefaultValue("") String password,
+  @DefaultValue("10") int maximumPoolSize,
+  @DefaultValue("1s") Duration maxStaleness,
+  @DefaultValue("100ms") Duration replicationInterval
+) {
+
+}
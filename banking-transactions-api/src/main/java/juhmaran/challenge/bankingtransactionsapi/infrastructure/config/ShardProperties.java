@@ -0,0 +1,36 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * Configurações da persistência de contas particionada entre vários bancos ({@code banking.shards.*}).
+ *
+ * @param enabled     Grava as contas nos bancos de {@code datasources}, escolhidos pelo hash do número da conta, em
+ *                    vez do banco principal.
+ * @param datasources Um banco por shard. A posição na lista é o número do shard: alterar a quantidade ou a ordem dos
+ *                    bancos muda o shard das contas já gravadas.
+ * @author Juliane Maran
+ */
+@ConfigurationProperties(prefix = "banking.shards")
+public record ShardProperties(
+  @DefaultValue("false") boolean enabled,
+  @DefaultValue List<Shard> datasources
+) {
+
+  /**
+   * @param url             URL JDBC do banco do shard.
+   * @param maximumPoolSize Conexões do pool próprio do shard.
+   */
+  public record Shard(
+    String url,
+    @DefaultValue("sa") String username,
+    @DefaultValue("") String password,
+    @DefaultValue("10") int maximumPoolSize
+  ) {
+
+  }
+
+}
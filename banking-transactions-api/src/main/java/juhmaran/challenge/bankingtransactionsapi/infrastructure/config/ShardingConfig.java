@@ -0,0 +1,45 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.config;
+
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.out.shard.ShardedDataSources;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.out.shard.ShardedTransactionManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Beans da persistência particionada entre shards ({@code banking.shards.enabled=true}). <br>
+ * O {@link TransactionTemplate} declarado aqui substitui o da auto-configuração do Spring Boot: as transações abertas
+ * pelos componentes que acessam as contas (lotes, criação e importação de contas, recuperação do journal e gravação
+ * do ledger em memória) passam a ser do {@link ShardedTransactionManager}. Esses componentes não usam
+ * {@code @Transactional}, que abriria uma transação JPA no banco principal sem abranger os shards. <br>
+ * Os recursos que dependem de uma transação no banco principal são recusados na inicialização: o saldo dividido em
+ * slots e as chaves de idempotência em {@code jdbc}, cuja conclusão seria confirmada antes dos lançamentos.
+ *
+ * @author Juliane Maran
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "banking.shards", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+  @Bean(destroyMethod = "close")
+  public ShardedDataSources shardedDataSources(ShardProperties shardProperties,
+                                               SplitBalanceProperties splitBalanceProperties,
+                                               IdempotencyProperties idempotencyProperties) {
+    if (splitBalanceProperties.enabled() && !splitBalanceProperties.accounts().isEmpty()) {
+      throw new IllegalStateException(
+        "banking.split-balance não é suportado com banking.shards: os slots ficam no banco principal.");
+    }
+    if ("jdbc".equals(idempotencyProperties.store())) {
+      throw new IllegalStateException("banking.idempotency.store=jdbc não é suportado com banking.shards: as chaves "
+        + "ficam no banco principal, fora da transação do lote.");
+    }
+    return new ShardedDataSources(shardProperties);
+  }
+
+  @Bean
+  public TransactionTemplate transactionOperations(ShardedDataSources shardedDataSources) {
+    return new TransactionTemplate(new ShardedTransactionManager(shardedDataSources));
+  }
+
+}
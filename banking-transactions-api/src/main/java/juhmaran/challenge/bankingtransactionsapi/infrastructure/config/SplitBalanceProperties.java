@@ -0,0 +1,26 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Configurações do saldo dividido em slots ({@code banking.split-balance.*}).
+ *
+ * @param enabled           Ativa a divisão do saldo das contas listadas em {@code accounts}.
+ * @param accounts          Quantidade de slots por número de conta. Em YAML, números com hífen usam a notação de
+ *                          colchetes ({@code "[1001-1]": 8}). Contas ausentes, ou com menos de dois slots, usam apenas
+ *                          a linha da tabela {@code accounts}.
+ * @param rebalanceInterval Intervalo entre os rebalanceamentos dos slots em segundo plano.
+ * @author Juliane Maran
+ */
+@ConfigurationProperties(prefix = "banking.split-balance")
+public record SplitBalanceProperties(
+  @DefaultValue("false") boolean enabled,
+  @DefaultValue Map<String, Integer> accounts,
+  @DefaultValue("1s") Duration rebalanceInterval
+) {
+
+}
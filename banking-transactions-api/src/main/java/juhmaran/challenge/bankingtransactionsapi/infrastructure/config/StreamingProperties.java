@@ -0,0 +1,17 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configurações da ingestão de lançamentos em fluxo ({@code banking.streaming.*}).
+ *
+ * @param chunkSize Quantidade de lançamentos acumulados antes de cada processamento. Cada bloco é processado como um
+ *                  lote independente, e a memória usada pela requisição fica limitada a um bloco.
+ * @author Juliane Maran
+ */
+@ConfigurationProperties(prefix = "banking.streaming")
+public record StreamingProperties(
+  @DefaultValue("1000") int chunkSize
+) {
+}
@@ -0,0 +1,30 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configurações do processamento assíncrono de lotes ({@code banking.jobs.*}).
+ *
+ * @param threads         Quantidade de threads que consomem a fila de lotes.
+ * @param queueCapacity   Quantidade máxima de lotes aguardando processamento. Com a fila cheia, novos envios são
+ *                        rejeitados com {@code 429}, limitando a memória ocupada por picos de envio.
+ * @param chunkSize       Lançamentos por bloco; cada bloco é processado como um lote independente.
+ * @param maxItems        Quantidade máxima de lançamentos por lote. Lotes maiores são rejeitados com {@code 400};
+ *                        junto com {@code queueCapacity}, limita os lançamentos retidos em memória pela fila.
+ * @param retention       Tempo durante o qual o resultado de um lote finalizado pode ser consultado.
+ * @param maxRetainedJobs Quantidade máxima de lotes finalizados mantidos para consulta (os mais antigos saem primeiro).
+ * @author Juliane Maran
+ */
+@ConfigurationProperties(prefix = "banking.jobs")
+public record TransactionJobProperties(
+  @DefaultValue("2") int threads,
+  @DefaultValue("100") int queueCapacity,
+  @DefaultValue("1000") int chunkSize,
+  @DefaultValue("10000") int maxItems,
+  @DefaultValue("15m") Duration retention,
+  @DefaultValue("1000") int maxRetainedJobs
+) {
+}
@@ -0,0 +1,115 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configurações do processamento de lotes de transações pelo motor JPA ({@code banking.transactions.*}).
+ *
+ * @param strategy        Estratégia usada por {@code AccountService} para aplicar um lote.
+ * @param stripedLocks    Configuração do gerenciador de locks em memória ({@code AccountLockManager}).
+ * @param optimistic      Configuração das novas tentativas da estratégia {@link Strategy#OPTIMISTIC}.
+ * @param connectionLimit Limite de operações simultâneas no banco ({@code DatabaseConcurrencyLimiter}).
+ * @param parallel        Execução paralela dos lotes particionados por conta ({@code PartitionedBatchExecutor}).
+ * @param coalescing      Agrupamento de lotes concorrentes da mesma conta ({@code AccountRequestCoalescer}).
+ * @author Juliane Maran
+ */
+@ConfigurationProperties(prefix = "banking.transactions")
+public record TransactionProperties(
+  @DefaultValue("per-item") Strategy strategy,
+  @DefaultValue StripedLocks stripedLocks,
+  @DefaultValue Optimistic optimistic,
+  @DefaultValue ConnectionLimit connectionLimit,
+  @DefaultValue Parallel parallel,
+  @DefaultValue Coalescing coalescing
+) {
+
+  public enum Strategy {
+    /**
+     * Cada item busca e bloqueia sua conta individualmente ({@code SingleTransactionProcessor}).
+     */
+    PER_ITEM,
+    /**
+     * Todas as contas do lote são bloqueadas com uma única consulta ordenada, os itens são aplicados em memória
+     * e as alterações são gravadas em um único lote JDBC ({@code BulkTransactionProcessor}).
+     */
+    BULK,
+    /**
+     * As contas são lidas sem lock e conflitos são detectados no commit pela coluna de versão de {@code Account}.
+     * O lote em conflito é executado novamente com espera exponencial com jitter ({@code OptimisticRetryExecutor}).
+     */
+    OPTIMISTIC,
+    /**
+     * Cada item é aplicado como um único {@code UPDATE} condicional no banco, sem leitura prévia da conta
+     * ({@code DeltaTransactionProcessor}).
+     */
+    ATOMIC_DELTA
+  }
+
+  /**
+   * @param enabled Quando ativo, as contas do lote são bloqueadas na JVM antes de abrir a transação no banco.
+   * @param stripes Quantidade de locks (arredondada para a próxima potência de dois).
+   * @param timeout Tempo máximo de espera pelos locks do lote.
+   */
+  public record StripedLocks(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("1024") int stripes,
+    @DefaultValue("5s") Duration timeout
+  ) {
+  }
+
+  /**
+   * @param maxAttempts    Quantidade máxima de execuções do lote, incluindo a primeira.
+   * @param initialBackoff Espera máxima antes da primeira nova tentativa; dobra a cada tentativa.
+   * @param maxBackoff     Limite superior da espera entre tentativas.
+   */
+  public record Optimistic(
+    @DefaultValue("5") int maxAttempts,
+    @DefaultValue("5ms") Duration initialBackoff,
+    @DefaultValue("200ms") Duration maxBackoff
+  ) {
+  }
+
+  /**
+   * @param enabled       Quando ativo, lotes e consultas de saldo aguardam uma vaga antes de usar o banco.
+   * @param maxConcurrent Operações simultâneas no banco ({@code 0} = tamanho do pool de conexões).
+   * @param timeout       Tempo máximo de espera por uma vaga.
+   */
+  public record ConnectionLimit(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("0") int maxConcurrent,
+    @DefaultValue("30s") Duration timeout
+  ) {
+  }
+
+  /**
+   * @param enabled      Quando ativo, os lançamentos de lotes com várias contas são divididos por conta e aplicados em
+   *                     memória em paralelo, na transação do lote.
+   * @param parallelism  Quantidade máxima de partições simultâneas de lotes paralelos
+   *                     ({@code 0} = quantidade de processadores).
+   * @param minBatchSize Tamanho mínimo do lote para a execução paralela; lotes menores seguem o caminho sequencial.
+   */
+  public record Parallel(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("0") int parallelism,
+    @DefaultValue("64") int minBatchSize
+  ) {
+  }
+
+  /**
+   * @param enabled      Quando ativo, lotes concorrentes de uma única conta são aplicados em grupo, com um único lock,
+   *                     leitura, gravação e commit.
+   * @param window       Espera adicional do primeiro lote do grupo por outros lotes antes de disputar o lock da conta
+   *                     ({@code 0s} = nenhuma; o grupo reúne os lotes que chegam enquanto o lock é aguardado).
+   * @param maxGroupSize Quantidade máxima de lotes por grupo.
+   */
+  public record Coalescing(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("0ms") Duration window,
+    @DefaultValue("64") int maxGroupSize
+  ) {
+  }
+
+}
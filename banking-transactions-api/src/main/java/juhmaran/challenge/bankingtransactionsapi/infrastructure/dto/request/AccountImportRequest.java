@@ -0,0 +1,19 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+
+@Schema(description = "Conta a ser criada na importação em massa.")
+public record AccountImportRequest(
+  @Schema(description = "Número da conta bancária.", example = "1001-1", type = "string")
+  @NotBlank(message = "O número da conta não pode estar em branco.")
+  String accountNumber,
+
+  @Schema(description = "Saldo inicial, com no máximo 2 casas decimais.", example = "1000.00",
+    type = "number", format = "double")
+  @NotNull(message = "O saldo inicial não pode ser nulo.")
+  Money balance
+) {
+}
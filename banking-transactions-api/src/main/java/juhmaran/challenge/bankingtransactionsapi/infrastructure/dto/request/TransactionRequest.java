@@ -1,28 +1,59 @@
 package juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.request;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
-import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.AccountKey;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
 import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.enums.TransactionType;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.validation.PositiveAmount;
 
-import java.math.BigDecimal;
-
+/**
+ * @param accountKey Chave numérica de {@code accountNumber} ({@link AccountKey}), interpretada uma única vez na
+ *                   criação do lançamento e repassada às buscas e atualizações da conta; {@link AccountKey#NONE} para
+ *                   números fora do formato canônico. Não faz parte do JSON.
+ */
 @Schema(description = "Detalhes de uma transação a ser realizada (débito ou crédito).")
 public record TransactionRequest(
   @Schema(description = "Número da conta bancária.", example = "1001-1", type = "string")
   @NotBlank(message = "O número da conta não pode estar em branco.")
   String accountNumber,
 
-  @Schema(description = "Valor da transação.", example = "150.75",
+  @Schema(description = "Valor da transação, com no máximo 2 casas decimais.", example = "150.75",
     type = "number", format = "double", minimum = "0.01")
   @NotNull(message = "O valor da transação não pode ser nulo.")
-  @DecimalMin(value = "0.01", inclusive = false, message = "O valor da transação deve ser positivo.")
-  BigDecimal amount,
+  @PositiveAmount(message = "O valor da transação deve ser positivo.")
+  Money amount,
 
   @Schema(description = "Tipo da transação (DEBIT ou CREDIT).", example = "CREDIT",
     type = "string", allowableValues = {"DEBIT", "CREDIT"})
   @NotNull(message = "O tipo da transação não pode ser nulo.")
-  TransactionType type
+  TransactionType type,
+
+  @Schema(description = "Chave de idempotência do lançamento (opcional). Um lançamento reenviado com a mesma chave "
+    + "não é aplicado novamente.", example = "pedido-4711-item-1", type = "string", maxLength = 128)
+  @Size(max = 128, message = "A chave de idempotência deve ter no máximo 128 caracteres.")
+  String idempotencyKey,
+
+  @Schema(hidden = true)
+  @JsonIgnore
+  long accountKey
 ) {
+
+  @JsonCreator
+  public TransactionRequest(@JsonProperty("accountNumber") String accountNumber,
+                            @JsonProperty("amount") Money amount,
+                            @JsonProperty("type") TransactionType type,
+                            @JsonProperty("idempotencyKey") String idempotencyKey) {
+    this(accountNumber, amount, type, idempotencyKey, AccountKey.parse(accountNumber));
+  }
+
+  public TransactionRequest(String accountNumber, Money amount, TransactionType type) {
+    this(accountNumber, amount, type, null);
+  }
+
 }
\ No newline at end of file
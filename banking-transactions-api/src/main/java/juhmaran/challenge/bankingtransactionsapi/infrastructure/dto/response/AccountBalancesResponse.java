@@ -0,0 +1,39 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Schema(description = "Saldos de várias contas, com um item por conta consultada, na ordem de envio.")
+public record AccountBalancesResponse(
+  @Schema(description = "Quantidade de contas encontradas.", example = "2")
+  int found,
+  @Schema(description = "Quantidade de contas não encontradas.", example = "1")
+  int notFound,
+  @Schema(description = "Saldo ou ausência de cada conta, na ordem de envio.")
+  List<Item> items
+) {
+
+  public enum Status {
+    FOUND, NOT_FOUND
+  }
+
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public record Item(
+    @Schema(description = "Número da conta bancária.", example = "1001-1")
+    String accountNumber,
+    @Schema(description = "Se a conta foi encontrada.", example = "FOUND")
+    Status status,
+    @Schema(description = "Saldo atual da conta, quando encontrada.", example = "1250.75")
+    BigDecimal balance
+  ) {
+
+    public static Item notFound(String accountNumber) {
+      return new Item(accountNumber, Status.NOT_FOUND, null);
+    }
+
+  }
+
+}
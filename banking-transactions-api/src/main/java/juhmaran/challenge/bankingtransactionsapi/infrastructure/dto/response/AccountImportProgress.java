@@ -0,0 +1,53 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Linha de progresso da importação de contas (uma por bloco processado).")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AccountImportProgress(
+  @Schema(description = "Situação do bloco ou da importação.", example = "CHUNK_PROCESSED")
+  Status status,
+  @Schema(description = "Número do bloco (a partir de 1).", example = "3")
+  long chunk,
+  @Schema(description = "Total de contas criadas até o momento.", example = "14000")
+  long imported,
+  @Schema(description = "Total de contas ignoradas por já existirem ou por se repetirem no bloco.", example = "1000")
+  long skipped,
+  @Schema(description = "Contas processadas (criadas e ignoradas) por segundo desde o início da importação.",
+    example = "52000")
+  long accountsPerSecond,
+  @Schema(description = "Motivo da falha, quando houver.", example = "Linha 15001: Saldo inicial inválido.")
+  String message
+) {
+
+  public enum Status {
+    /**
+     * Bloco processado com sucesso.
+     */
+    CHUNK_PROCESSED,
+    /**
+     * Todas as contas foram processadas. Última linha da resposta.
+     */
+    COMPLETED,
+    /**
+     * A importação foi interrompida. Os blocos anteriores permanecem gravados; o bloco atual e os seguintes não.
+     * Última linha da resposta.
+     */
+    FAILED
+  }
+
+  public static AccountImportProgress chunkProcessed(long chunk, long imported, long skipped, long accountsPerSecond) {
+    return new AccountImportProgress(Status.CHUNK_PROCESSED, chunk, imported, skipped, accountsPerSecond, null);
+  }
+
+  public static AccountImportProgress completed(long chunks, long imported, long skipped, long accountsPerSecond) {
+    return new AccountImportProgress(Status.COMPLETED, chunks, imported, skipped, accountsPerSecond, null);
+  }
+
+  public static AccountImportProgress failed(long chunk, long imported, long skipped, long accountsPerSecond,
+                                             String message) {
+    return new AccountImportProgress(Status.FAILED, chunk, imported, skipped, accountsPerSecond, message);
+  }
+
+}
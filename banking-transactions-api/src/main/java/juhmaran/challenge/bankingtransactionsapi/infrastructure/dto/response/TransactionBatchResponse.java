@@ -0,0 +1,46 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import juhmaran.challenge.bankingtransactionsapi.application.port.in.BatchAtomicity;
+import juhmaran.challenge.bankingtransactionsapi.application.port.in.TransactionBatchResult;
+
+import java.util.List;
+
+@Schema(description = "Resultado de um lote de lançamentos, com o desfecho de cada item na ordem de envio.")
+public record TransactionBatchResponse(
+  @Schema(description = "Atomicidade usada no lote.", example = "PER_ITEM")
+  BatchAtomicity.Mode atomicity,
+  @Schema(description = "Quantidade de lançamentos aplicados.", example = "9")
+  int applied,
+  @Schema(description = "Quantidade de lançamentos com erro, que podem ser reenviados.", example = "1")
+  int failed,
+  @Schema(description = "Quantidade de lançamentos ignorados por já terem sido aplicados com a mesma chave de "
+    + "idempotência.", example = "0")
+  int duplicates,
+  @Schema(description = "Desfecho de cada lançamento, na ordem de envio.")
+  List<Item> items
+) {
+
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public record Item(
+    @Schema(description = "Posição do lançamento no lote enviado.", example = "3")
+    int index,
+    @Schema(description = "Número da conta do lançamento.", example = "1001-1")
+    String accountNumber,
+    @Schema(description = "Desfecho do lançamento.", example = "FAILED")
+    TransactionBatchResult.Outcome outcome,
+    @Schema(description = "Motivo da falha, quando houver.")
+    String message
+  ) {
+  }
+
+  public static TransactionBatchResponse from(TransactionBatchResult result) {
+    List<Item> items = result.items().stream()
+      .map(item -> new Item(item.index(), item.accountNumber(), item.outcome(), item.message()))
+      .toList();
+    return new TransactionBatchResponse(result.atomicity(), result.applied(), result.failed(), result.duplicates(),
+      items);
+  }
+
+}
@@ -0,0 +1,47 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.job.TransactionJob;
+
+import java.time.Instant;
+import java.util.List;
+
+@Schema(description = "Situação de um lote de lançamentos processado de forma assíncrona.")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TransactionJobResponse(
+  @Schema(description = "Identificador do lote.", example = "3f2b8c1e-7d4a-4b6e-9a61-2c5d8e0f1a23")
+  String jobId,
+  @Schema(description = "Situação do lote.", example = "RUNNING")
+  TransactionJob.Status status,
+  @Schema(description = "Quantidade de lançamentos do lote.", example = "5000")
+  int total,
+  @Schema(description = "Lançamentos aplicados.", example = "3000")
+  int applied,
+  @Schema(description = "Lançamentos que falharam; o bloco de cada um foi desfeito.", example = "0")
+  int rejected,
+  @Schema(description = "Lançamentos desfeitos com o bloco de um lançamento que falhou.", example = "0")
+  int rolledBack,
+  @Schema(description = "Lançamentos não processados por causa de uma falha anterior.", example = "0")
+  int skipped,
+  @Schema(description = "Lançamentos aguardando processamento.", example = "2000")
+  int pending,
+  @Schema(description = "Momento do envio.", type = "string", format = "date-time")
+  Instant submittedAt,
+  @Schema(description = "Início do processamento.", type = "string", format = "date-time")
+  Instant startedAt,
+  @Schema(description = "Fim do processamento.", type = "string", format = "date-time")
+  Instant finishedAt,
+  @Schema(description = "Motivo da falha, quando houver.")
+  String message,
+  @Schema(description = "Resultado de cada lançamento, na ordem de envio.")
+  List<TransactionJob.ItemResult> items
+) {
+
+  public static TransactionJobResponse from(TransactionJob.Snapshot snapshot) {
+    return new TransactionJobResponse(snapshot.id(), snapshot.status(), snapshot.total(), snapshot.applied(),
+      snapshot.rejected(), snapshot.rolledBack(), snapshot.skipped(), snapshot.pending(), snapshot.submittedAt(),
+      snapshot.startedAt(), snapshot.finishedAt(), snapshot.message(), snapshot.items());
+  }
+
+}
@@ -0,0 +1,49 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Linha de progresso da ingestão de lançamentos em fluxo (uma por bloco processado).")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TransactionStreamProgress(
+  @Schema(description = "Situação do bloco ou da ingestão.", example = "CHUNK_PROCESSED")
+  Status status,
+  @Schema(description = "Número do bloco (a partir de 1).", example = "3")
+  long chunk,
+  @Schema(description = "Quantidade de lançamentos do bloco (ausente na linha COMPLETED).", example = "1000")
+  Integer chunkSize,
+  @Schema(description = "Total de lançamentos processados com sucesso até o momento.", example = "3000")
+  long processed,
+  @Schema(description = "Motivo da falha, quando houver.", example = "Item 3001: O valor da transação não pode ser nulo.")
+  String message
+) {
+
+  public enum Status {
+    /**
+     * Bloco processado com sucesso.
+     */
+    CHUNK_PROCESSED,
+    /**
+     * Todos os lançamentos foram processados. Última linha da resposta.
+     */
+    COMPLETED,
+    /**
+     * A ingestão foi interrompida. Os blocos anteriores permanecem aplicados; o bloco atual e os seguintes não.
+     * Última linha da resposta.
+     */
+    FAILED
+  }
+
+  public static TransactionStreamProgress chunkProcessed(long chunk, int chunkSize, long processed) {
+    return new TransactionStreamProgress(Status.CHUNK_PROCESSED, chunk, chunkSize, processed, null);
+  }
+
+  public static TransactionStreamProgress completed(long chunks, long processed) {
+    return new TransactionStreamProgress(Status.COMPLETED, chunks, null, processed, null);
+  }
+
+  public static TransactionStreamProgress failed(long chunk, int chunkSize, long processed, String message) {
+    return new TransactionStreamProgress(Status.FAILED, chunk, chunkSize, processed, message);
+  }
+
+}
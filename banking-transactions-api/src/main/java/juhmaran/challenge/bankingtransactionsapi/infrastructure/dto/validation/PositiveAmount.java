@@ -0,0 +1,28 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Valida que um {@link juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money} é maior que zero.
+ * Valores nulos são considerados válidos (use {@code @NotNull} em conjunto).
+ *
+ * @author Juliane Maran
+ */
+@Target({ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+@Constraint(validatedBy = PositiveAmountValidator.class)
+public @interface PositiveAmount {
+
+  String message() default "O valor deve ser positivo.";
+
+  Class<?>[] groups() default {};
+
+  Class<? extends Payload>[] payload() default {};
+
+}
@@ -0,0 +1,14 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+
+public class PositiveAmountValidator implements ConstraintValidator<PositiveAmount, Money> {
+
+  @Override
+  public boolean isValid(Money value, ConstraintValidatorContext context) {
+    return value == null || value.isPositive();
+  }
+
+}
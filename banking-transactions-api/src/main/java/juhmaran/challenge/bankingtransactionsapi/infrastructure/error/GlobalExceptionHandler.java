@@ -1,12 +1,21 @@
 package juhmaran.challenge.bankingtransactionsapi.infrastructure.error;
 
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.AccountLockTimeoutException;
 import juhmaran.challenge.bankingtransactionsapi.domain.exception.AccountNotFoundException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.ConcurrentUpdateException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.DatabaseBusyException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.IdempotencyKeyInProgressException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.IdempotencyKeyMismatchException;
 import juhmaran.challenge.bankingtransactionsapi.domain.exception.InsufficientFundsException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.JobQueueFullException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.TransactionJobNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -28,6 +37,24 @@ public class GlobalExceptionHandler {
     return new ResponseEntity<>(errorResponse, status);
   }
 
+  @ExceptionHandler(TransactionJobNotFoundException.class)
+  public ResponseEntity<ErrorResponse> handleTransactionJobNotFoundException(TransactionJobNotFoundException ex, WebRequest request) {
+    HttpStatus status = HttpStatus.NOT_FOUND; // 404
+    String path = ((ServletWebRequest) request).getRequest().getRequestURI();
+    logger.warn("Lote assíncrono não encontrado: {} - Path: {}", ex.getMessage(), path);
+    ErrorResponse errorResponse = ErrorResponse.fromStatusAndMessage(status, ex.getMessage(), path);
+    return new ResponseEntity<>(errorResponse, status);
+  }
+
+  @ExceptionHandler(JobQueueFullException.class)
+  public ResponseEntity<ErrorResponse> handleJobQueueFullException(JobQueueFullException ex, WebRequest request) {
+    HttpStatus status = HttpStatus.TOO_MANY_REQUESTS; // 429
+    String path = ((ServletWebRequest) request).getRequest().getRequestURI();
+    logger.warn("Fila de lotes assíncronos cheia: {} - Path: {}", ex.getMessage(), path);
+    ErrorResponse errorResponse = ErrorResponse.fromStatusAndMessage(status, ex.getMessage(), path);
+    return ResponseEntity.status(status).header(HttpHeaders.RETRY_AFTER, "1").body(errorResponse);
+  }
+
   @ExceptionHandler(InsufficientFundsException.class)
   public ResponseEntity<ErrorResponse> handleInsufficientFundsException(InsufficientFundsException ex, WebRequest request) {
     HttpStatus status = HttpStatus.CONFLICT; // 409
@@ -37,6 +64,51 @@ public class GlobalExceptionHandler {
     return new ResponseEntity<>(errorResponse, status);
   }
 
+  @ExceptionHandler(ConcurrentUpdateException.class)
+  public ResponseEntity<ErrorResponse> handleConcurrentUpdateException(ConcurrentUpdateException ex, WebRequest request) {
+    HttpStatus status = HttpStatus.CONFLICT; // 409
+    String path = ((ServletWebRequest) request).getRequest().getRequestURI();
+    logger.warn("Conflito de atualização concorrente: {} - Path: {}", ex.getMessage(), path);
+    ErrorResponse errorResponse = ErrorResponse.fromStatusAndMessage(status, ex.getMessage(), path);
+    return new ResponseEntity<>(errorResponse, status);
+  }
+
+  @ExceptionHandler(IdempotencyKeyInProgressException.class)
+  public ResponseEntity<ErrorResponse> handleIdempotencyKeyInProgressException(IdempotencyKeyInProgressException ex, WebRequest request) {
+    HttpStatus status = HttpStatus.CONFLICT; // 409
+    String path = ((ServletWebRequest) request).getRequest().getRequestURI();
+    logger.warn("Requisição com a mesma chave de idempotência em processamento: {} - Path: {}", ex.getMessage(), path);
+    ErrorResponse errorResponse = ErrorResponse.fromStatusAndMessage(status, ex.getMessage(), path);
+    return ResponseEntity.status(status).header(HttpHeaders.RETRY_AFTER, "1").body(errorResponse);
+  }
+
+  @ExceptionHandler(IdempotencyKeyMismatchException.class)
+  public ResponseEntity<ErrorResponse> handleIdempotencyKeyMismatchException(IdempotencyKeyMismatchException ex, WebRequest request) {
+    HttpStatus status = HttpStatus.UNPROCESSABLE_ENTITY; // 422
+    String path = ((ServletWebRequest) request).getRequest().getRequestURI();
+    logger.warn("Chave de idempotência reutilizada com outro conteúdo: {} - Path: {}", ex.getMessage(), path);
+    ErrorResponse errorResponse = ErrorResponse.fromStatusAndMessage(status, ex.getMessage(), path);
+    return new ResponseEntity<>(errorResponse, status);
+  }
+
+  @ExceptionHandler(AccountLockTimeoutException.class)
+  public ResponseEntity<ErrorResponse> handleAccountLockTimeoutException(AccountLockTimeoutException ex, WebRequest request) {
+    HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE; // 503
+    String path = ((ServletWebRequest) request).getRequest().getRequestURI();
+    logger.warn("Tempo esgotado aguardando lock de conta: {} - Path: {}", ex.getMessage(), path);
+    ErrorResponse errorResponse = ErrorResponse.fromStatusAndMessage(status, ex.getMessage(), path);
+    return new ResponseEntity<>(errorResponse, status);
+  }
+
+  @ExceptionHandler(DatabaseBusyException.class)
+  public ResponseEntity<ErrorResponse> handleDatabaseBusyException(DatabaseBusyException ex, WebRequest request) {
+    HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE; // 503
+    String path = ((ServletWebRequest) request).getRequest().getRequestURI();
+    logger.warn("Tempo esgotado aguardando vaga no banco de dados: {} - Path: {}", ex.getMessage(), path);
+    ErrorResponse errorResponse = ErrorResponse.fromStatusAndMessage(status, ex.getMessage(), path);
+    return new ResponseEntity<>(errorResponse, status);
+  }
+
   @ExceptionHandler(IllegalArgumentException.class)
   public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex, WebRequest request) {
     HttpStatus status = HttpStatus.UNPROCESSABLE_ENTITY;
@@ -62,6 +134,16 @@ public class GlobalExceptionHandler {
     return new ResponseEntity<>(errorResponse, status);
   }
 
+  @ExceptionHandler(HttpMessageNotReadableException.class)
+  public ResponseEntity<ErrorResponse> handleHttpMessageNotReadableException(HttpMessageNotReadableException ex, WebRequest request) {
+    HttpStatus status = HttpStatus.BAD_REQUEST; // 400
+    String path = ((ServletWebRequest) request).getRequest().getRequestURI();
+    String message = "Corpo da requisição inválido: " + ex.getMostSpecificCause().getMessage();
+    logger.warn("Corpo da requisição inválido: {} - Path: {}", ex.getMessage(), path);
+    ErrorResponse errorResponse = ErrorResponse.fromStatusAndMessage(status, message, path);
+    return new ResponseEntity<>(errorResponse, status);
+  }
+
   @ExceptionHandler({MethodArgumentNotValidException.class, MethodArgumentTypeMismatchException.class})
   public ResponseEntity<ErrorResponse> handleBadRequestExceptions(Exception ex, WebRequest request) {
     HttpStatus status = HttpStatus.BAD_REQUEST; // 400
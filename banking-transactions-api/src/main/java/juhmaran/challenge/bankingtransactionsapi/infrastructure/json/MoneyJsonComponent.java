@@ -0,0 +1,52 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+/**
+ * (De)serialização JSON de {@link Money} como número decimal ({@code 150.75}). <br>
+ * A leitura interpreta os caracteres do token numérico diretamente para unidades mínimas,
+ * sem passar por {@link java.math.BigDecimal}.
+ *
+ * @author Juliane Maran
+ */
+@JsonComponent
+public class MoneyJsonComponent {
+
+  public static class Serializer extends JsonSerializer<Money> {
+
+    @Override
+    public void serialize(Money value, JsonGenerator generator, SerializerProvider serializers) throws IOException {
+      generator.writeNumber(value.toBigDecimal());
+    }
+
+  }
+
+  public static class Deserializer extends JsonDeserializer<Money> {
+
+    @Override
+    public Money deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+      JsonToken token = parser.currentToken();
+      if (token != JsonToken.VALUE_NUMBER_INT && token != JsonToken.VALUE_NUMBER_FLOAT
+        && token != JsonToken.VALUE_STRING) {
+        return (Money) context.handleUnexpectedToken(Money.class, parser);
+      }
+      try {
+        return Money.parse(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+      } catch (IllegalArgumentException e) {
+        return (Money) context.handleWeirdStringValue(Money.class, parser.getText(), e.getMessage());
+      }
+    }
+
+  }
+
+}
@@ -1,11 +1,18 @@
 package juhmaran.challenge.bankingtransactionsapi.infrastructure.mapper;
 
 import juhmaran.challenge.bankingtransactionsapi.domain.entity.Account;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
 import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.response.AccountBalanceResponse;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.response.AccountBalancesResponse;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 @Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
 public interface AccountMapper {
 
@@ -13,4 +20,30 @@ public interface AccountMapper {
   @Mapping(target = "balance", source = "balance")
   AccountBalanceResponse toResponse(Account account);
 
+  @Mapping(target = "status", constant = "FOUND")
+  AccountBalancesResponse.Item toItem(Account account);
+
+  /**
+   * Monta a resposta da consulta de várias contas: um item por número consultado, na ordem recebida, com o saldo da
+   * conta encontrada ou {@link AccountBalancesResponse.Status#NOT_FOUND}.
+   */
+  default AccountBalancesResponse toBalancesResponse(List<String> accountNumbers, Map<String, Account> accounts) {
+    List<AccountBalancesResponse.Item> items = new ArrayList<>(accountNumbers.size());
+    int found = 0;
+    for (String accountNumber : accountNumbers) {
+      Account account = accounts.get(accountNumber);
+      if (account == null) {
+        items.add(AccountBalancesResponse.Item.notFound(accountNumber));
+      } else {
+        items.add(toItem(account));
+        found++;
+      }
+    }
+    return new AccountBalancesResponse(found, items.size() - found, items);
+  }
+
+  default BigDecimal toBigDecimal(Money money) {
+    return money == null ? null : money.toBigDecimal();
+  }
+
 }
@@ -1,9 +1,18 @@
 package juhmaran.challenge.bankingtransactionsapi.infrastructure.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import juhmaran.challenge.bankingtransactionsapi.domain.entity.Account;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,6 +20,55 @@ public interface AccountJpaRepository extends JpaRepository<Account, Long> {
 
   Optional<Account> findByAccountNumber(String accountNumber);
 
+  List<Account> findAllByAccountNumberIn(Collection<String> accountNumbers);
+
   boolean existsByAccountNumber(String accountNumber);
 
+  @Query("select a.accountNumber from Account a where a.accountNumber in :accountNumbers")
+  List<String> findAccountNumbersIn(@Param("accountNumbers") Collection<String> accountNumbers);
+
+  @Query(value = "select next value for " + Account.ID_SEQUENCE, nativeQuery = true)
+  long nextIdSequenceValue();
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "5000"))
+  @Query("select a from Account a where a.accountNumber = :accountNumber")
+  Optional<Account> findByAccountNumberWithLock(@Param("accountNumber") String accountNumber);
+
+  @Query("select a.id from Account a where a.accountKey = :accountKey")
+  Optional<Long> findIdByAccountKey(@Param("accountKey") long accountKey);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "5000"))
+  @Query("select a from Account a where a.id = :id")
+  Optional<Account> findByIdWithLock(@Param("id") long id);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select a from Account a where a.accountNumber in :accountNumbers order by a.accountNumber")
+  List<Account> findAllByAccountNumberInWithLock(@Param("accountNumbers") Collection<String> accountNumbers);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select a from Account a where a.accountKey in :accountKeys order by a.accountKey")
+  List<Account> findAllByAccountKeyInWithLock(@Param("accountKeys") Collection<Long> accountKeys);
+
+  @Modifying
+  @Query(value = "update accounts set balance = balance - :amount, version = version + 1 " +
+    "where account_number = :accountNumber and balance >= :amount", nativeQuery = true)
+  int debitIfSufficientFunds(@Param("accountNumber") String accountNumber, @Param("amount") long amountMinorUnits);
+
+  @Modifying
+  @Query(value = "update accounts set balance = balance + :amount, version = version + 1 " +
+    "where account_number = :accountNumber", nativeQuery = true)
+  int credit(@Param("accountNumber") String accountNumber, @Param("amount") long amountMinorUnits);
+
+  @Modifying
+  @Query(value = "update accounts set balance = balance - :amount, version = version + 1 " +
+    "where id = :id and balance >= :amount", nativeQuery = true)
+  int debitByIdIfSufficientFunds(@Param("id") long id, @Param("amount") long amountMinorUnits);
+
+  @Modifying
+  @Query(value = "update accounts set balance = balance + :amount, version = version + 1 " +
+    "where id = :id", nativeQuery = true)
+  int creditById(@Param("id") long id, @Param("amount") long amountMinorUnits);
+
 }
@@ -0,0 +1,25 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.repository.converter;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+
+/**
+ * Persiste {@link Money} como {@code BIGINT} em unidades mínimas (centavos).
+ *
+ * @author Juliane Maran
+ */
+@Converter
+public class MoneyAttributeConverter implements AttributeConverter<Money, Long> {
+
+  @Override
+  public Long convertToDatabaseColumn(Money money) {
+    return money == null ? null : money.minorUnits();
+  }
+
+  @Override
+  public Money convertToEntityAttribute(Long minorUnits) {
+    return minorUnits == null ? null : Money.ofMinorUnits(minorUnits);
+  }
+
+}
@@ -0,0 +1,89 @@
+package juhmaran.challenge.bankingtransactionsapi.application.usecase;
+
+import juhmaran.challenge.bankingtransactionsapi.application.port.in.BatchAtomicity;
+import juhmaran.challenge.bankingtransactionsapi.application.port.in.TransactionBatchResult;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.TransactionProcessingException;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.enums.TransactionType;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.request.TransactionRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica os modos de atomicidade com o banco real, incluindo os savepoints do JPA.
+ */
+@SpringBootTest(properties = {
+  "spring.jpa.show-sql=false",
+  "logging.level.org.hibernate.SQL=WARN",
+  "logging.level.org.hibernate.orm.jdbc.bind=WARN",
+  "logging.level.juhmaran.challenge.bankingtransactionsapi=WARN"
+})
+class AccountServiceAtomicityTest {
+
+  @Autowired
+  private AccountService accountService;
+
+  private static List<TransactionRequest> batchWithFailures(String account) {
+    return List.of(
+      new TransactionRequest(account, Money.parse("30.00"), TransactionType.DEBIT),
+      new TransactionRequest(account, Money.parse("500.00"), TransactionType.DEBIT),
+      new TransactionRequest(account, Money.parse("10.00"), TransactionType.CREDIT),
+      new TransactionRequest("ATOM-INEXISTENTE", Money.parse("1.00"), TransactionType.CREDIT),
+      new TransactionRequest(account, Money.parse("5.00"), TransactionType.DEBIT)
+    );
+  }
+
+  private Money balance(String account) {
+    return accountService.getAccountBalance(account).getBalance();
+  }
+
+  @Test
+  @DisplayName("Deve desfazer apenas os itens com erro usando savepoints na atomicidade PER_ITEM")
+  void shouldRollBackOnlyFailedItemsWithPerItemAtomicity() {
+    accountService.createAccountIfNotFound("ATOM-1", Money.parse("100.00"));
+
+    TransactionBatchResult result = accountService.performTransactions(batchWithFailures("ATOM-1"),
+      BatchAtomicity.perItem());
+
+    assertEquals(3, result.applied());
+    assertEquals(2, result.failed());
+    assertEquals(List.of(TransactionBatchResult.Outcome.APPLIED, TransactionBatchResult.Outcome.FAILED,
+        TransactionBatchResult.Outcome.APPLIED, TransactionBatchResult.Outcome.FAILED,
+        TransactionBatchResult.Outcome.APPLIED),
+      result.items().stream().map(TransactionBatchResult.ItemResult::outcome).toList());
+    assertTrue(result.items().get(1).message().contains("Saldo insuficiente"));
+    assertEquals(Money.parse("75.00"), balance("ATOM-1"));
+  }
+
+  @Test
+  @DisplayName("Deve confirmar a cada bloco e manter os índices originais na atomicidade CHUNKED")
+  void shouldCommitPerChunkWithChunkedAtomicity() {
+    accountService.createAccountIfNotFound("ATOM-2", Money.parse("100.00"));
+
+    TransactionBatchResult result = accountService.performTransactions(batchWithFailures("ATOM-2"),
+      BatchAtomicity.chunked(2));
+
+    assertEquals(3, result.applied());
+    assertEquals(List.of(1, 3), result.items().stream()
+      .filter(item -> item.outcome() == TransactionBatchResult.Outcome.FAILED)
+      .map(TransactionBatchResult.ItemResult::index).toList());
+    assertEquals(Money.parse("75.00"), balance("ATOM-2"));
+  }
+
+  @Test
+  @DisplayName("Deve desfazer o lote inteiro na atomicidade ALL_OR_NOTHING")
+  void shouldRollBackWholeBatchWithAllOrNothingAtomicity() {
+    accountService.createAccountIfNotFound("ATOM-3", Money.parse("100.00"));
+
+    assertThrows(TransactionProcessingException.class, () -> accountService.performTransactions(
+      batchWithFailures("ATOM-3"), BatchAtomicity.allOrNothing()));
+    assertEquals(Money.parse("100.00"), balance("ATOM-3"));
+  }
+
+}
@@ -0,0 +1,177 @@
+package juhmaran.challenge.bankingtransactionsapi.application.usecase;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.processor.DeltaTransactionProcessor;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.processor.SingleTransactionProcessor;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.retry.OptimisticRetryExecutor;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.TransactionProperties;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.enums.TransactionType;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.request.TransactionRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Teste de estresse concorrente: várias threads disputam as mesmas contas e, ao final, o saldo de cada conta
+ * deve ser exatamente o saldo inicial somado aos lançamentos aplicados.
+ */
+@SpringBootTest(properties = {
+  "banking.transactions.striped-locks.enabled=true",
+  "spring.jpa.show-sql=false",
+  "logging.level.org.hibernate.SQL=WARN",
+  "logging.level.org.hibernate.orm.jdbc.bind=WARN",
+  "logging.level.juhmaran.challenge.bankingtransactionsapi=WARN"
+})
+class AccountServiceConcurrencyTest {
+
+  private static final int THREADS = 16;
+  private static final Money INITIAL_BALANCE = Money.parse("100000.00");
+
+  @Autowired
+  private AccountService accountService;
+
+  @Autowired
+  private SingleTransactionProcessor singleTransactionProcessor;
+
+  @Autowired
+  private DeltaTransactionProcessor deltaTransactionProcessor;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @Test
+  @DisplayName("Deve manter saldos corretos com lotes concorrentes usando locks em memória")
+  void shouldKeepBalancesConsistentWithStripedLocks() throws Exception {
+    String[] accounts = {"STRESS-1", "STRESS-2", "STRESS-3"};
+    for (String account : accounts) {
+      accountService.createAccountIfNotFound(account, INITIAL_BALANCE);
+    }
+    AtomicLongArray expectedCents = new AtomicLongArray(accounts.length);
+
+    runConcurrently(() -> {
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      for (int b = 0; b < 50; b++) {
+        List<TransactionRequest> batch = new ArrayList<>();
+        long[] deltas = new long[accounts.length];
+        for (int i = 0; i < 4; i++) {
+          int account = random.nextInt(accounts.length);
+          long cents = 1 + random.nextInt(1000);
+          boolean credit = random.nextBoolean();
+          batch.add(new TransactionRequest(accounts[account], Money.ofMinorUnits(cents),
+            credit ? TransactionType.CREDIT : TransactionType.DEBIT));
+          deltas[account] += credit ? cents : -cents;
+        }
+        accountService.performTransactions(batch);
+        for (int a = 0; a < accounts.length; a++) {
+          expectedCents.addAndGet(a, deltas[a]);
+        }
+      }
+      return null;
+    });
+
+    for (int a = 0; a < accounts.length; a++) {
+      Money expected = INITIAL_BALANCE.plus(Money.ofMinorUnits(expectedCents.get(a)));
+      assertEquals(0, expected.compareTo(accountService.getAccountBalance(accounts[a]).getBalance()),
+        "Saldo incorreto para " + accounts[a]);
+    }
+  }
+
+  @Test
+  @DisplayName("Deve evitar atualizações perdidas apenas com o lock pessimista do banco")
+  void shouldNotLoseUpdatesWithDatabasePessimisticLock() throws Exception {
+    String account = "STRESS-DB";
+    accountService.createAccountIfNotFound(account, INITIAL_BALANCE);
+    int operationsPerThread = 50;
+
+    runConcurrently(() -> {
+      for (int i = 0; i < operationsPerThread; i++) {
+        transactionTemplate.executeWithoutResult(status -> singleTransactionProcessor.process(
+          new TransactionRequest(account, Money.parse("1.00"), TransactionType.DEBIT)));
+      }
+      return null;
+    });
+
+    Money expected = INITIAL_BALANCE.minus(Money.ofMinorUnits(100L * THREADS * operationsPerThread));
+    assertEquals(0, expected.compareTo(accountService.getAccountBalance(account).getBalance()));
+  }
+
+  @Test
+  @DisplayName("Deve aplicar débitos concorrentes sem perdas com atualizações atômicas no banco")
+  void shouldNotLoseUpdatesWithAtomicDeltaUpdates() throws Exception {
+    String account = "STRESS-DELTA";
+    accountService.createAccountIfNotFound(account, INITIAL_BALANCE);
+    int operationsPerThread = 50;
+
+    runConcurrently(() -> {
+      for (int i = 0; i < operationsPerThread; i++) {
+        transactionTemplate.executeWithoutResult(status -> deltaTransactionProcessor.process(
+          new TransactionRequest(account, Money.parse("1.00"), TransactionType.DEBIT)));
+      }
+      return null;
+    });
+
+    Money expected = INITIAL_BALANCE.minus(Money.ofMinorUnits(100L * THREADS * operationsPerThread));
+    assertEquals(0, expected.compareTo(accountService.getAccountBalance(account).getBalance()));
+  }
+
+  @Test
+  @DisplayName("Deve detectar conflitos de versão e manter saldos corretos na estratégia otimista")
+  void shouldKeepBalancesConsistentWithOptimisticRetries() throws Exception {
+    String account = "STRESS-OPT";
+    accountService.createAccountIfNotFound(account, INITIAL_BALANCE);
+    int operationsPerThread = 20;
+    TransactionProperties properties = new TransactionProperties(TransactionProperties.Strategy.OPTIMISTIC,
+      new TransactionProperties.StripedLocks(false, 1, Duration.ofSeconds(5)),
+      new TransactionProperties.Optimistic(1000, Duration.ofMillis(1), Duration.ofMillis(20)),
+      new TransactionProperties.ConnectionLimit(false, 0, Duration.ofSeconds(30)),
+      new TransactionProperties.Parallel(false, 0, 64),
+      new TransactionProperties.Coalescing(false, Duration.ZERO, 64));
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    OptimisticRetryExecutor retryExecutor = new OptimisticRetryExecutor(properties, meterRegistry);
+
+    runConcurrently(() -> {
+      for (int i = 0; i < operationsPerThread; i++) {
+        retryExecutor.execute(() -> transactionTemplate.executeWithoutResult(status ->
+          singleTransactionProcessor.processOptimistic(
+            new TransactionRequest(account, Money.parse("1.00"), TransactionType.CREDIT))));
+      }
+      return null;
+    });
+
+    Money expected = INITIAL_BALANCE.plus(Money.ofMinorUnits(100L * THREADS * operationsPerThread));
+    assertEquals(0, expected.compareTo(accountService.getAccountBalance(account).getBalance()));
+    assertEquals(THREADS * operationsPerThread + meterRegistry.counter("banking.transactions.optimistic.retries").count(),
+      meterRegistry.counter("banking.transactions.optimistic.attempts").count());
+  }
+
+  private static void runConcurrently(Callable<Void> task) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      List<Future<Void>> futures = new ArrayList<>();
+      for (int t = 0; t < THREADS; t++) {
+        futures.add(executor.submit(task));
+      }
+      for (Future<Void> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+}
@@ -1,24 +1,49 @@
 package juhmaran.challenge.bankingtransactionsapi.application.usecase;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import juhmaran.challenge.bankingtransactionsapi.application.port.out.AccountRepositoryPort;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.JournalEntry;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.TransactionJournalPort;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.TransactionSavepointPort;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.cache.AccountBalanceCache;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.coalescing.AccountRequestCoalescer;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.hotspot.HotAccountTracker;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.lock.AccountLockManager;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.lock.DatabaseConcurrencyLimiter;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.metrics.TransactionMetrics;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.parallel.PartitionedBatchExecutor;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.processor.BulkTransactionProcessor;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.processor.DeltaTransactionProcessor;
 import juhmaran.challenge.bankingtransactionsapi.application.usecase.processor.SingleTransactionProcessor;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.processor.SplitBalanceTransactionProcessor;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.retry.OptimisticRetryExecutor;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.split.SplitBalanceManager;
 import juhmaran.challenge.bankingtransactionsapi.domain.entity.Account;
 import juhmaran.challenge.bankingtransactionsapi.domain.exception.AccountNotFoundException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.ConcurrentUpdateException;
 import juhmaran.challenge.bankingtransactionsapi.domain.exception.InsufficientFundsException;
+import juhmaran.challenge.bankingtransactionsapi.domain.service.AccountOperationService;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.out.replica.PrimaryOnlyReadAdapter;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.BalanceCacheProperties;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.HotAccountProperties;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.TransactionProperties;
 import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.enums.TransactionType;
 import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.request.TransactionRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionOperations;
 
-import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -33,31 +58,133 @@ class AccountServiceTest {
   @Mock
   private SingleTransactionProcessor singleTransactionProcessor;
 
-  @InjectMocks
+  @Mock
+  private BulkTransactionProcessor bulkTransactionProcessor;
+
+  @Mock
+  private DeltaTransactionProcessor deltaTransactionProcessor;
+
+  @Mock
+  private TransactionJournalPort transactionJournalPort;
+
+  @Mock
+  private TransactionSavepointPort transactionSavepointPort;
+
+  @Mock
+  private SplitBalanceManager splitBalanceManager;
+
+  @Mock
+  private SplitBalanceTransactionProcessor splitBalanceTransactionProcessor;
+
   private AccountService accountService;
 
   private Account account;
   private final String accountNumber = "12345";
-  private final BigDecimal initialBalance = new BigDecimal("1000.00");
+  private final Money initialBalance = Money.parse("1000.00");
 
   @BeforeEach
   void setUp() {
     account = new Account(1L, accountNumber, initialBalance);
+    accountService = newAccountService(TransactionProperties.Strategy.PER_ITEM);
+  }
+
+  private AccountService newAccountService(TransactionProperties.Strategy strategy) {
+    return newAccountService(strategy, new BalanceCacheProperties(false, 100, Duration.ZERO));
+  }
+
+  private AccountService newAccountService(TransactionProperties.Strategy strategy,
+                                           BalanceCacheProperties balanceCacheProperties) {
+    TransactionProperties properties = new TransactionProperties(strategy,
+      new TransactionProperties.StripedLocks(false, 1024, Duration.ofSeconds(5)),
+      new TransactionProperties.Optimistic(3, Duration.ZERO, Duration.ZERO),
+      new TransactionProperties.ConnectionLimit(false, 0, Duration.ofSeconds(30)),
+      new TransactionProperties.Parallel(false, 0, 64),
+      new TransactionProperties.Coalescing(false, Duration.ZERO, 64));
+    TransactionMetrics transactionMetrics = new TransactionMetrics(properties, new SimpleMeterRegistry());
+    AccountLockManager accountLockManager = new AccountLockManager(properties);
+    DatabaseConcurrencyLimiter databaseConcurrencyLimiter = new DatabaseConcurrencyLimiter(properties, 10, transactionMetrics);
+    AccountRequestCoalescer accountRequestCoalescer = new AccountRequestCoalescer(properties, accountRepositoryPort,
+      new AccountOperationService(), accountLockManager, databaseConcurrencyLimiter,
+      TransactionOperations.withoutTransaction(), transactionJournalPort, transactionMetrics,
+      new HotAccountTracker(new HotAccountProperties(false, Duration.ofMinutes(5), 30, 1024, 4, 20)),
+      new SimpleMeterRegistry());
+    return new AccountService(accountRepositoryPort, singleTransactionProcessor, bulkTransactionProcessor,
+      deltaTransactionProcessor, properties, accountLockManager, TransactionOperations.withoutTransaction(),
+      new OptimisticRetryExecutor(properties, new SimpleMeterRegistry()), transactionJournalPort,
+      new AccountBalanceCache(balanceCacheProperties, new SimpleMeterRegistry()), databaseConcurrencyLimiter,
+      new PartitionedBatchExecutor(properties, accountRepositoryPort, new AccountOperationService(),
+        transactionMetrics),
+      transactionSavepointPort, transactionMetrics, accountRequestCoalescer, splitBalanceManager,
+      splitBalanceTransactionProcessor, new PrimaryOnlyReadAdapter());
   }
 
   @Test
   @DisplayName("Deve processar um lote de transações delegando ao processador individual")
   void shouldPerformTransactionsByDelegatingToSingleProcessor() {
-    var tx1 = new TransactionRequest("1001", new BigDecimal("100"), TransactionType.CREDIT);
-    var tx2 = new TransactionRequest("1002", new BigDecimal("50"), TransactionType.DEBIT);
+    var tx1 = new TransactionRequest("1001", Money.parse("100"), TransactionType.CREDIT);
+    var tx2 = new TransactionRequest("1002", Money.parse("50"), TransactionType.DEBIT);
     List<TransactionRequest> transactions = Arrays.asList(tx1, tx2);
     doNothing().when(singleTransactionProcessor).process(any(TransactionRequest.class));
     accountService.performTransactions(transactions);
     verify(singleTransactionProcessor, times(1)).process(tx1);
     verify(singleTransactionProcessor, times(1)).process(tx2);
+    verify(transactionJournalPort).append(List.of(
+      new JournalEntry(JournalEntry.Type.CREDIT, "1001", Money.parse("100")),
+      new JournalEntry(JournalEntry.Type.DEBIT, "1002", Money.parse("50"))));
+    verifyNoInteractions(accountRepositoryPort);
+  }
+
+  @Test
+  @DisplayName("Deve processar o lote inteiro com bloqueio em massa quando a estratégia for BULK")
+  void shouldPerformTransactionsWithBulkProcessorWhenStrategyIsBulk() {
+    accountService = newAccountService(TransactionProperties.Strategy.BULK);
+    var tx1 = new TransactionRequest("1001", Money.parse("100"), TransactionType.CREDIT);
+    var tx2 = new TransactionRequest("1002", Money.parse("50"), TransactionType.DEBIT);
+    List<TransactionRequest> transactions = Arrays.asList(tx1, tx2);
+    accountService.performTransactions(transactions);
+    verify(bulkTransactionProcessor, times(1)).process(transactions);
+    verifyNoInteractions(singleTransactionProcessor);
     verifyNoInteractions(accountRepositoryPort);
   }
 
+  @Test
+  @DisplayName("Deve aplicar cada item com atualização atômica quando a estratégia for ATOMIC_DELTA")
+  void shouldPerformTransactionsWithDeltaProcessorWhenStrategyIsAtomicDelta() {
+    accountService = newAccountService(TransactionProperties.Strategy.ATOMIC_DELTA);
+    var tx1 = new TransactionRequest("1001", Money.parse("100"), TransactionType.CREDIT);
+    var tx2 = new TransactionRequest("1002", Money.parse("50"), TransactionType.DEBIT);
+    accountService.performTransactions(Arrays.asList(tx1, tx2));
+    verify(deltaTransactionProcessor, times(1)).process(tx1);
+    verify(deltaTransactionProcessor, times(1)).process(tx2);
+    verifyNoInteractions(singleTransactionProcessor);
+    verifyNoInteractions(accountRepositoryPort);
+  }
+
+  @Test
+  @DisplayName("Deve executar o lote novamente quando houver conflito de versão na estratégia OPTIMISTIC")
+  void shouldRetryBatchOnOptimisticConflictWhenStrategyIsOptimistic() {
+    accountService = newAccountService(TransactionProperties.Strategy.OPTIMISTIC);
+    var tx1 = new TransactionRequest("1001", Money.parse("100"), TransactionType.CREDIT);
+    doThrow(new ObjectOptimisticLockingFailureException(Account.class, 1L))
+      .doNothing()
+      .when(singleTransactionProcessor).processOptimistic(tx1);
+    accountService.performTransactions(List.of(tx1));
+    verify(singleTransactionProcessor, times(2)).processOptimistic(tx1);
+    verify(singleTransactionProcessor, never()).process(any(TransactionRequest.class));
+  }
+
+  @Test
+  @DisplayName("Deve lançar ConcurrentUpdateException quando os conflitos de versão esgotarem as tentativas")
+  void shouldThrowConcurrentUpdateExceptionWhenOptimisticRetriesAreExhausted() {
+    accountService = newAccountService(TransactionProperties.Strategy.OPTIMISTIC);
+    var tx1 = new TransactionRequest("1001", Money.parse("100"), TransactionType.CREDIT);
+    doThrow(new ObjectOptimisticLockingFailureException(Account.class, 1L))
+      .when(singleTransactionProcessor).processOptimistic(tx1);
+    List<TransactionRequest> transactions = List.of(tx1);
+    assertThrows(ConcurrentUpdateException.class, () -> accountService.performTransactions(transactions));
+    verify(singleTransactionProcessor, times(3)).processOptimistic(tx1);
+  }
+
   @Test
   @DisplayName("Não deve processar transações se a lista for nula")
   void shouldNotProcessTransactionsIfListIsNull() {
@@ -77,8 +204,8 @@ class AccountServiceTest {
   @Test
   @DisplayName("Deve propagar exceção se o processador individual falhar")
   void shouldPropagateExceptionIfSingleProcessorFails() {
-    var tx1 = new TransactionRequest("1001", new BigDecimal("100"), TransactionType.CREDIT);
-    var tx2 = new TransactionRequest("1002", new BigDecimal("50"), TransactionType.DEBIT);
+    var tx1 = new TransactionRequest("1001", Money.parse("100"), TransactionType.CREDIT);
+    var tx2 = new TransactionRequest("1002", Money.parse("50"), TransactionType.DEBIT);
     List<TransactionRequest> transactions = Arrays.asList(tx1, tx2);
     doThrow(new InsufficientFundsException("Simulated Insufficient Funds"))
       .when(singleTransactionProcessor).process(tx1);
@@ -86,6 +213,7 @@ class AccountServiceTest {
     verify(singleTransactionProcessor, times(1)).process(tx1);
     verify(singleTransactionProcessor, never()).process(tx2);
     verifyNoInteractions(accountRepositoryPort);
+    verifyNoInteractions(transactionJournalPort);
   }
 
   @Test
@@ -102,6 +230,46 @@ class AccountServiceTest {
     verifyNoInteractions(singleTransactionProcessor);
   }
 
+  @Test
+  @DisplayName("Deve servir o saldo do cache e recarregá-lo após um lote que altera a conta")
+  void shouldServeBalanceFromCacheAndReloadAfterBatch() {
+    accountService = newAccountService(TransactionProperties.Strategy.PER_ITEM,
+      new BalanceCacheProperties(true, 100, Duration.ZERO));
+    Account updated = new Account(1L, accountNumber, Money.parse("900.00"));
+    when(accountRepositoryPort.findByAccountNumber(accountNumber))
+      .thenReturn(Optional.of(account))
+      .thenReturn(Optional.of(updated));
+
+    assertEquals(initialBalance, accountService.getAccountBalance(accountNumber).getBalance());
+    assertEquals(initialBalance, accountService.getAccountBalance(accountNumber).getBalance());
+    accountService.performTransactions(
+      List.of(new TransactionRequest(accountNumber, Money.parse("100.00"), TransactionType.DEBIT)));
+    assertEquals(Money.parse("900.00"), accountService.getAccountBalance(accountNumber).getBalance());
+
+    verify(accountRepositoryPort, times(2)).findByAccountNumber(accountNumber);
+  }
+
+  @Test
+  @DisplayName("Deve buscar o saldo de várias contas com uma única consulta, usando o cache e omitindo inexistentes")
+  void shouldGetBalancesWithSingleQueryAndCacheHits() {
+    accountService = newAccountService(TransactionProperties.Strategy.PER_ITEM,
+      new BalanceCacheProperties(true, 100, Duration.ZERO));
+    Account other = new Account(2L, "67890", Money.parse("50.00"));
+    when(accountRepositoryPort.findByAccountNumber(accountNumber)).thenReturn(Optional.of(account));
+    when(accountRepositoryPort.findAllByAccountNumber(List.of("67890", "99999"))).thenReturn(List.of(other));
+    accountService.getAccountBalance(accountNumber);
+
+    Map<String, Account> balances = accountService.getAccountBalances(
+      List.of(accountNumber, "67890", "99999", "67890"));
+
+    assertEquals(2, balances.size());
+    assertEquals(initialBalance, balances.get(accountNumber).getBalance());
+    assertEquals(Money.parse("50.00"), balances.get("67890").getBalance());
+    verify(accountRepositoryPort).findAllByAccountNumber(List.of("67890", "99999"));
+    verify(accountRepositoryPort, times(1)).findByAccountNumber(accountNumber);
+    verifyNoMoreInteractions(accountRepositoryPort);
+  }
+
   @Test
   @DisplayName("Deve lançar AccountNotFoundException ao buscar saldo de conta inexistente")
   void shouldThrowAccountNotFoundExceptionWhenGettingBalanceForNonExistentAccount() {
@@ -126,13 +294,15 @@ class AccountServiceTest {
   @DisplayName("Deve criar conta se não existir durante a inicialização")
   void shouldCreateAccountIfNotFound() {
     String newAccountNumber = "99999";
-    BigDecimal newInitialBalance = new BigDecimal("500.00");
+    Money newInitialBalance = Money.parse("500.00");
     when(accountRepositoryPort.existsByAccountNumber(newAccountNumber)).thenReturn(false);
     when(accountRepositoryPort.save(any(Account.class)))
       .thenAnswer(invocation -> invocation.getArgument(0));
     accountService.createAccountIfNotFound(newAccountNumber, newInitialBalance);
     verify(accountRepositoryPort, times(1)).existsByAccountNumber(newAccountNumber);
     verify(accountRepositoryPort, times(1)).save(any(Account.class));
+    verify(transactionJournalPort).append(
+      List.of(new JournalEntry(JournalEntry.Type.OPEN, newAccountNumber, newInitialBalance)));
     verifyNoMoreInteractions(accountRepositoryPort);
     verifyNoInteractions(singleTransactionProcessor);
   }
@@ -142,18 +312,19 @@ class AccountServiceTest {
   void shouldNotCreateAccountIfAlreadyExists() {
     String existingAccountNumber = "1001-1";
     when(accountRepositoryPort.existsByAccountNumber(existingAccountNumber)).thenReturn(true);
-    accountService.createAccountIfNotFound(existingAccountNumber, new BigDecimal("5000.00"));
+    accountService.createAccountIfNotFound(existingAccountNumber, Money.parse("5000.00"));
     verify(accountRepositoryPort, times(1)).existsByAccountNumber(existingAccountNumber);
     verify(accountRepositoryPort, never()).save(any(Account.class));
     verifyNoMoreInteractions(accountRepositoryPort);
     verifyNoInteractions(singleTransactionProcessor);
+    verifyNoInteractions(transactionJournalPort);
   }
 
   @Test
   @DisplayName("Deve lançar NullPointerException ao criar conta com número nulo")
   void shouldThrowNullPointerExceptionWhenCreateAccountWithNullAccountNumber() {
     assertThrows(NullPointerException.class, () -> accountService
-      .createAccountIfNotFound(null, new BigDecimal("100.00")));
+      .createAccountIfNotFound(null, Money.parse("100.00")));
     verifyNoInteractions(accountRepositoryPort);
     verifyNoInteractions(singleTransactionProcessor);
   }
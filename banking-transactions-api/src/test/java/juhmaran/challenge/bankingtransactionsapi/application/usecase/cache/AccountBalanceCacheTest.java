@@ -0,0 +1,101 @@
+package juhmaran.challenge.bankingtransactionsapi.application.usecase.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import juhmaran.challenge.bankingtransactionsapi.domain.entity.Account;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.AccountNotFoundException;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.BalanceCacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountBalanceCacheTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private AccountBalanceCache cache;
+  private AtomicInteger loads;
+  private Function<String, Account> loader;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    cache = new AccountBalanceCache(new BalanceCacheProperties(true, 100, Duration.ZERO), meterRegistry);
+    loads = new AtomicInteger();
+    loader = number -> {
+      loads.incrementAndGet();
+      return new Account(1L, number, Money.parse("100.00"));
+    };
+  }
+
+  private double gets(String result) {
+    return meterRegistry.get("cache.gets").tag("cache", AccountBalanceCache.CACHE_NAME).tag("result", result)
+      .functionCounter().count();
+  }
+
+  @Test
+  @DisplayName("Deve carregar a conta uma única vez e registrar acertos e faltas")
+  void shouldLoadOnceAndRecordHitsAndMisses() {
+    cache.get("1001-1", loader);
+    cache.get("1001-1", loader);
+    cache.get("1001-1", loader);
+
+    assertEquals(1, loads.get());
+    assertEquals(1.0, gets("miss"));
+    assertEquals(2.0, gets("hit"));
+  }
+
+  @Test
+  @DisplayName("Deve retornar cópias, sem expor a instância armazenada")
+  void shouldReturnCopies() {
+    Account first = cache.get("1001-1", loader);
+    first.setBalance(Money.ZERO);
+
+    assertEquals(Money.parse("100.00"), cache.get("1001-1", loader).getBalance());
+  }
+
+  @Test
+  @DisplayName("Deve recarregar a conta após a invalidação")
+  void shouldReloadAfterInvalidation() {
+    cache.get("1001-1", loader);
+    cache.invalidateAll(List.of("1001-1"));
+    cache.get("1001-1", loader);
+
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  @DisplayName("Não deve armazenar nada quando a carga falhar")
+  void shouldNotCacheLoaderFailures() {
+    Function<String, Account> missing = number -> {
+      loads.incrementAndGet();
+      throw new AccountNotFoundException("Conta não encontrada: " + number);
+    };
+
+    assertThrows(AccountNotFoundException.class, () -> cache.get("9999-9", missing));
+    assertThrows(AccountNotFoundException.class, () -> cache.get("9999-9", missing));
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  @DisplayName("Deve remover entradas ao exceder a capacidade e contar as remoções")
+  void shouldEvictWhenMaximumSizeIsExceeded() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    AccountBalanceCache small = new AccountBalanceCache(new BalanceCacheProperties(true, 10, Duration.ZERO), registry);
+    for (int i = 0; i < 100; i++) {
+      small.get("ACC-" + i, loader);
+    }
+    small.cleanUp();
+
+    double evictions = registry.get("cache.evictions").tag("cache", AccountBalanceCache.CACHE_NAME)
+      .functionCounter().count();
+    assertTrue(evictions >= 90, "Remoções: " + evictions);
+  }
+
+}
@@ -0,0 +1,125 @@
+package juhmaran.challenge.bankingtransactionsapi.application.usecase.coalescing;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.AccountService;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.AccountNotFoundException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.InsufficientFundsException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.TransactionProcessingException;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.enums.TransactionType;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.request.TransactionRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Lotes concorrentes de uma mesma conta com a coalescência ativa: cada lote recebe o próprio resultado e o saldo final
+ * corresponde exatamente aos lotes confirmados.
+ */
+@SpringBootTest(properties = {
+  "banking.transactions.striped-locks.enabled=true",
+  "banking.transactions.coalescing.enabled=true",
+  "banking.transactions.coalescing.window=20ms",
+  "banking.transactions.coalescing.max-group-size=8",
+  "spring.jpa.show-sql=false",
+  "logging.level.org.hibernate.SQL=WARN",
+  "logging.level.org.hibernate.orm.jdbc.bind=WARN",
+  "logging.level.juhmaran.challenge.bankingtransactionsapi=OFF"
+})
+class AccountRequestCoalescerTest {
+
+  private static final int THREADS = 16;
+  private static final int BATCHES_PER_THREAD = 20;
+
+  @Autowired
+  private AccountService accountService;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Test
+  @DisplayName("Deve agrupar lotes concorrentes da conta e rejeitar individualmente os débitos sem saldo")
+  void shouldCoalesceBatchesAndRejectDebitsIndividually() throws Exception {
+    String account = "COALESCE-1";
+    Money initialBalance = Money.parse("50.00");
+    accountService.createAccountIfNotFound(account, initialBalance);
+    DistributionSummary groupSize = meterRegistry.get("banking.transactions.coalescing.group.size").summary();
+    long groupsBefore = groupSize.count();
+    AtomicLong appliedCents = new AtomicLong();
+    AtomicInteger rejectedDebits = new AtomicInteger();
+
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < THREADS; t++) {
+        int thread = t;
+        futures.add(executor.submit(() -> {
+          for (int b = 0; b < BATCHES_PER_THREAD; b++) {
+            boolean credit = (thread + b) % 3 == 0;
+            long cents = credit ? 100 : 700;
+            try {
+              accountService.performTransactions(List.of(new TransactionRequest(account, Money.ofMinorUnits(cents),
+                credit ? TransactionType.CREDIT : TransactionType.DEBIT)));
+              appliedCents.addAndGet(credit ? cents : -cents);
+            } catch (TransactionProcessingException e) {
+              assertFalse(credit, "Crédito rejeitado: " + e.getMessage());
+              assertInstanceOf(InsufficientFundsException.class, e.getCause());
+              rejectedDebits.incrementAndGet();
+            }
+          }
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    Money balance = accountService.getAccountBalance(account).getBalance();
+    assertEquals(initialBalance.plus(Money.ofMinorUnits(appliedCents.get())), balance);
+    assertTrue(balance.minorUnits() >= 0);
+    assertTrue(rejectedDebits.get() > 0);
+    assertTrue(groupSize.count() - groupsBefore < THREADS * BATCHES_PER_THREAD,
+      "Nenhum lote foi agrupado com outro");
+  }
+
+  @Test
+  @DisplayName("Deve aplicar todos os itens de um lote ou nenhum, mesmo agrupado")
+  void shouldKeepEachBatchAtomic() {
+    String account = "COALESCE-2";
+    accountService.createAccountIfNotFound(account, Money.parse("10.00"));
+
+    TransactionProcessingException exception = assertThrows(TransactionProcessingException.class,
+      () -> accountService.performTransactions(List.of(
+        new TransactionRequest(account, Money.parse("5.00"), TransactionType.DEBIT),
+        new TransactionRequest(account, Money.parse("6.00"), TransactionType.DEBIT))));
+
+    assertInstanceOf(InsufficientFundsException.class, exception.getCause());
+    assertEquals(Money.parse("10.00"), accountService.getAccountBalance(account).getBalance());
+  }
+
+  @Test
+  @DisplayName("Deve rejeitar lotes de uma conta inexistente")
+  void shouldRejectUnknownAccount() {
+    TransactionProcessingException exception = assertThrows(TransactionProcessingException.class,
+      () -> accountService.performTransactions(List.of(
+        new TransactionRequest("COALESCE-MISSING", Money.parse("1.00"), TransactionType.CREDIT))));
+
+    assertInstanceOf(AccountNotFoundException.class, exception.getCause());
+  }
+
+}
@@ -0,0 +1,101 @@
+package juhmaran.challenge.bankingtransactionsapi.application.usecase.hotspot;
+
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.HotAccountProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotAccountTrackerTest {
+
+  private final MutableClock clock = new MutableClock();
+
+  private HotAccountTracker newTracker(boolean enabled) {
+    return new HotAccountTracker(new HotAccountProperties(enabled, Duration.ofMinutes(1), 6, 256, 4, 3), clock);
+  }
+
+  @Test
+  @DisplayName("Deve identificar as contas mais disputadas entre muitas contas pouco usadas")
+  void shouldFindHeavyHittersAmongColdAccounts() {
+    HotAccountTracker tracker = newTracker(true);
+    for (int i = 0; i < 5000; i++) {
+      tracker.record("COLD-" + i, 1_000);
+      if (i % 10 == 0) {
+        tracker.record("HOT-1", 5_000_000);
+      }
+      if (i % 20 == 0) {
+        tracker.record("HOT-2", 2_000_000);
+      }
+    }
+
+    List<HotAccountTracker.HotAccount> byLockWait =
+      tracker.top(Duration.ofMinutes(1), HotAccountTracker.Ranking.LOCK_WAIT, 2);
+    assertEquals(List.of("HOT-1", "HOT-2"), byLockWait.stream().map(HotAccountTracker.HotAccount::accountNumber).toList());
+    assertTrue(byLockWait.get(0).requests() >= 500);
+    assertTrue(byLockWait.get(0).lockWaitMillis() >= 2500.0);
+
+    List<HotAccountTracker.HotAccount> byRequests =
+      tracker.top(Duration.ofMinutes(1), HotAccountTracker.Ranking.REQUESTS, 1);
+    assertEquals("HOT-1", byRequests.get(0).accountNumber());
+  }
+
+  @Test
+  @DisplayName("Deve considerar apenas as faixas de tempo da janela consultada")
+  void shouldOnlyCountBucketsInsideWindow() {
+    HotAccountTracker tracker = newTracker(true);
+    tracker.record("OLD", 1_000_000);
+    clock.advance(Duration.ofSeconds(30));
+    tracker.record("RECENT", 1_000_000);
+
+    List<HotAccountTracker.HotAccount> recent = tracker.top(Duration.ofSeconds(10), HotAccountTracker.Ranking.LOCK_WAIT, 10);
+    assertEquals(List.of("RECENT"), recent.stream().map(HotAccountTracker.HotAccount::accountNumber).toList());
+    assertEquals(2, tracker.top(Duration.ofMinutes(1), HotAccountTracker.Ranking.LOCK_WAIT, 10).size());
+
+    clock.advance(Duration.ofSeconds(40));
+    List<HotAccountTracker.HotAccount> afterSpan = tracker.top(Duration.ofMinutes(1), HotAccountTracker.Ranking.LOCK_WAIT, 10);
+    assertEquals(List.of("RECENT"), afterSpan.stream().map(HotAccountTracker.HotAccount::accountNumber).toList());
+  }
+
+  @Test
+  @DisplayName("Não deve registrar nada quando a detecção estiver desativada")
+  void shouldIgnoreRecordsWhenDisabled() {
+    HotAccountTracker tracker = newTracker(false);
+    tracker.record("HOT-1", 1_000_000);
+
+    assertFalse(tracker.isEnabled());
+    assertTrue(tracker.top(Duration.ofMinutes(1), HotAccountTracker.Ranking.LOCK_WAIT, 10).isEmpty());
+  }
+
+  private static final class MutableClock extends Clock {
+
+    private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+
+  }
+
+}
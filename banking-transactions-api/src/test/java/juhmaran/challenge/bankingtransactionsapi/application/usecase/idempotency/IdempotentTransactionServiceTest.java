@@ -0,0 +1,148 @@
+package juhmaran.challenge.bankingtransactionsapi.application.usecase.idempotency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import juhmaran.challenge.bankingtransactionsapi.application.port.in.AccountServicePort;
+import juhmaran.challenge.bankingtransactionsapi.application.port.in.BatchAtomicity;
+import juhmaran.challenge.bankingtransactionsapi.application.port.in.TransactionBatchResult;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.IdempotencyKeyMismatchException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.TransactionProcessingException;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.out.idempotency.InMemoryIdempotencyStore;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.IdempotencyProperties;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.enums.TransactionType;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.request.TransactionRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotentTransactionServiceTest {
+
+  @Mock
+  private AccountServicePort accountServicePort;
+
+  private IdempotentTransactionService service;
+
+  @BeforeEach
+  void setUp() {
+    IdempotencyProperties properties =
+      new IdempotencyProperties("memory", Duration.ofHours(1), Duration.ofMinutes(5), 6, 1000);
+    service = new IdempotentTransactionService(accountServicePort,
+      new InMemoryIdempotencyStore(properties, new SimpleMeterRegistry()));
+  }
+
+  @Test
+  @DisplayName("Deve devolver o resultado original ao reenviar o lote com a mesma chave, sem reaplicar")
+  void shouldReplayBatchResultWithoutReapplying() {
+    List<TransactionRequest> batch = List.of(
+      new TransactionRequest("1001-1", Money.parse("10.00"), TransactionType.CREDIT),
+      new TransactionRequest("1002-2", Money.parse("500.00"), TransactionType.DEBIT));
+    when(accountServicePort.performTransactions(anyList(), any(BatchAtomicity.class)))
+      .thenReturn(TransactionBatchResult.of(BatchAtomicity.Mode.PER_ITEM, List.of(
+        TransactionBatchResult.ItemResult.applied(0, "1001-1"),
+        TransactionBatchResult.ItemResult.failed(1, "1002-2", "Saldo insuficiente"))));
+
+    TransactionBatchResult first = service.performTransactions("lote-1", batch, BatchAtomicity.perItem());
+    TransactionBatchResult replayed = service.performTransactions("lote-1", batch, BatchAtomicity.perItem());
+
+    assertEquals(first, replayed);
+    verify(accountServicePort, times(1)).performTransactions(anyList(), any(BatchAtomicity.class));
+  }
+
+  @Test
+  @DisplayName("Deve rejeitar a reutilização da chave do lote com outro conteúdo")
+  void shouldRejectBatchKeyReusedWithDifferentContent() {
+    List<TransactionRequest> batch = List.of(
+      new TransactionRequest("1001-1", Money.parse("10.00"), TransactionType.CREDIT));
+    when(accountServicePort.performTransactions(anyList(), any(BatchAtomicity.class)))
+      .thenReturn(TransactionBatchResult.allApplied(BatchAtomicity.Mode.ALL_OR_NOTHING, batch));
+    service.performTransactions("lote-1", batch, BatchAtomicity.allOrNothing());
+
+    List<TransactionRequest> other = List.of(
+      new TransactionRequest("1001-1", Money.parse("20.00"), TransactionType.CREDIT));
+    assertThrows(IdempotencyKeyMismatchException.class,
+      () -> service.performTransactions("lote-1", other, BatchAtomicity.allOrNothing()));
+  }
+
+  @Test
+  @DisplayName("Deve liberar a chave do lote quando o lote falhar, permitindo o reenvio")
+  void shouldReleaseBatchKeyWhenBatchFails() {
+    List<TransactionRequest> batch = List.of(
+      new TransactionRequest("1001-1", Money.parse("10.00"), TransactionType.DEBIT));
+    when(accountServicePort.performTransactions(anyList(), any(BatchAtomicity.class)))
+      .thenThrow(new TransactionProcessingException("Saldo insuficiente", new IllegalStateException()))
+      .thenReturn(TransactionBatchResult.allApplied(BatchAtomicity.Mode.ALL_OR_NOTHING, batch));
+
+    assertThrows(TransactionProcessingException.class,
+      () -> service.performTransactions("lote-1", batch, BatchAtomicity.allOrNothing()));
+    TransactionBatchResult retried = service.performTransactions("lote-1", batch, BatchAtomicity.allOrNothing());
+
+    assertEquals(1, retried.applied());
+    verify(accountServicePort, times(2)).performTransactions(anyList(), any(BatchAtomicity.class));
+  }
+
+  @Test
+  @DisplayName("Deve processar apenas os itens cujas chaves ainda não foram aplicadas")
+  void shouldSkipItemsAlreadyAppliedWithSameKey() {
+    TransactionRequest first = new TransactionRequest("1001-1", Money.parse("10.00"), TransactionType.CREDIT, "i-1");
+    TransactionRequest second = new TransactionRequest("1001-1", Money.parse("5.00"), TransactionType.DEBIT, "i-2");
+    when(accountServicePort.performTransactions(anyList(), any(BatchAtomicity.class)))
+      .thenAnswer(invocation -> TransactionBatchResult.allApplied(BatchAtomicity.Mode.ALL_OR_NOTHING,
+        invocation.getArgument(0)));
+    service.performTransactions(null, List.of(first), BatchAtomicity.allOrNothing());
+
+    TransactionBatchResult result = service.performTransactions(null, List.of(first, second),
+      BatchAtomicity.allOrNothing());
+
+    assertEquals(1, result.applied());
+    assertEquals(1, result.duplicates());
+    assertEquals(TransactionBatchResult.Outcome.DUPLICATE, result.items().get(0).outcome());
+    assertEquals(1, result.items().get(1).index());
+    verify(accountServicePort).performTransactions(eq(List.of(second)), any(BatchAtomicity.class));
+  }
+
+  @Test
+  @DisplayName("Deve concluir as chaves dentro da transação dos lançamentos quando o armazenamento é transacional")
+  void shouldCompleteKeysBeforeCommitWithTransactionalStore() {
+    IdempotencyProperties properties =
+      new IdempotencyProperties("jdbc", Duration.ofHours(1), Duration.ofMinutes(5), 6, 1000);
+    InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(properties, new SimpleMeterRegistry()) {
+      @Override
+      public boolean isTransactional() {
+        return true;
+      }
+    };
+    service = new IdempotentTransactionService(accountServicePort, store);
+    TransactionRequest item = new TransactionRequest("1001-1", Money.parse("10.00"), TransactionType.CREDIT, "i-1");
+    when(accountServicePort.performTransactions(anyList(), any(BatchAtomicity.class), any()))
+      .thenAnswer(invocation -> {
+        TransactionBatchResult result = TransactionBatchResult.allApplied(BatchAtomicity.Mode.ALL_OR_NOTHING,
+          invocation.getArgument(0));
+        Consumer<TransactionBatchResult> beforeCommit = invocation.getArgument(2);
+        assertFalse(store.reserve("batch:lote-tx", 0L).orElseThrow().completed());
+        beforeCommit.accept(result);
+        assertTrue(store.reserve("batch:lote-tx", 0L).orElseThrow().completed());
+        assertTrue(store.reserve("item:i-1", 0L).orElseThrow().completed());
+        return result;
+      });
+
+    TransactionBatchResult result = service.performTransactions("lote-tx", List.of(item),
+      BatchAtomicity.allOrNothing());
+
+    assertEquals(1, result.applied());
+    verify(accountServicePort, never()).performTransactions(anyList(), any(BatchAtomicity.class));
+  }
+
+}
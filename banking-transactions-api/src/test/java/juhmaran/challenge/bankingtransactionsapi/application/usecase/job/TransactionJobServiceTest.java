@@ -0,0 +1,168 @@
+package juhmaran.challenge.bankingtransactionsapi.application.usecase.job;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import juhmaran.challenge.bankingtransactionsapi.application.port.in.AccountServicePort;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.InsufficientFundsException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.JobQueueFullException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.TransactionProcessingException;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.TransactionJobProperties;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.enums.TransactionType;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.request.TransactionRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionJobServiceTest {
+
+  @Mock
+  private AccountServicePort accountServicePort;
+
+  private TransactionJobService service;
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    if (service != null) {
+      service.shutdown();
+    }
+  }
+
+  private TransactionJobService newService(int threads, int queueCapacity, int chunkSize) {
+    service = new TransactionJobService(accountServicePort,
+      new TransactionJobProperties(threads, queueCapacity, chunkSize, 100, Duration.ofMinutes(15), 1000),
+      new SimpleMeterRegistry(), false);
+    return service;
+  }
+
+  private static List<TransactionRequest> transactions(int count) {
+    List<TransactionRequest> transactions = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      transactions.add(new TransactionRequest("1001-" + i, Money.parse("1.00"), TransactionType.CREDIT));
+    }
+    return transactions;
+  }
+
+  private static TransactionJob.Snapshot awaitFinished(TransactionJob job) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (System.nanoTime() < deadline) {
+      TransactionJob.Snapshot snapshot = job.snapshot(true);
+      if (snapshot.status() == TransactionJob.Status.COMPLETED || snapshot.status() == TransactionJob.Status.FAILED) {
+        return snapshot;
+      }
+      Thread.sleep(10);
+    }
+    return fail("Lote não finalizou a tempo.");
+  }
+
+  @Test
+  @DisplayName("Deve processar o lote em blocos e concluir com todos os itens aplicados")
+  void shouldProcessJobInChunks() throws InterruptedException {
+    newService(1, 10, 2);
+
+    TransactionJob job = service.submit(transactions(5));
+    TransactionJob.Snapshot snapshot = awaitFinished(job);
+
+    assertEquals(TransactionJob.Status.COMPLETED, snapshot.status());
+    assertEquals(5, snapshot.applied());
+    assertEquals(0, snapshot.pending());
+    assertTrue(snapshot.items().stream().allMatch(item -> item.outcome() == TransactionJob.ItemOutcome.APPLIED));
+    verify(accountServicePort, times(3)).performTransactions(anyList());
+  }
+
+  @Test
+  @DisplayName("Deve rejeitar o item com erro, marcar o restante do bloco como desfeito e os seguintes como não "
+    + "processados")
+  void shouldStopAtFirstFailingChunk() throws InterruptedException {
+    newService(1, 10, 2);
+    doNothing()
+      .doAnswer(invocation -> {
+        List<TransactionRequest> chunk = invocation.getArgument(0);
+        throw new TransactionProcessingException("Saldo insuficiente",
+          new InsufficientFundsException("Saldo insuficiente"), chunk.get(1));
+      })
+      .when(accountServicePort).performTransactions(anyList());
+
+    TransactionJob.Snapshot snapshot = awaitFinished(service.submit(transactions(5)));
+
+    assertEquals(TransactionJob.Status.FAILED, snapshot.status());
+    assertEquals(2, snapshot.applied());
+    assertEquals(1, snapshot.rejected());
+    assertEquals(1, snapshot.rolledBack());
+    assertEquals(1, snapshot.skipped());
+    assertEquals("Saldo insuficiente", snapshot.message());
+    assertEquals(TransactionJob.ItemOutcome.ROLLED_BACK, snapshot.items().get(2).outcome());
+    assertNull(snapshot.items().get(2).message());
+    assertEquals(TransactionJob.ItemOutcome.REJECTED, snapshot.items().get(3).outcome());
+    assertEquals("Saldo insuficiente", snapshot.items().get(3).message());
+    assertEquals(TransactionJob.ItemOutcome.SKIPPED, snapshot.items().get(4).outcome());
+    verify(accountServicePort, times(2)).performTransactions(anyList());
+  }
+
+  @Test
+  @DisplayName("Deve marcar todo o bloco como desfeito quando a falha não for de um item")
+  void shouldRollBackWholeChunkOnInfrastructureFailure() throws InterruptedException {
+    newService(1, 10, 2);
+    doThrow(new TransactionProcessingException("Erro interno", new IllegalStateException("Banco indisponível")))
+      .when(accountServicePort).performTransactions(anyList());
+
+    TransactionJob.Snapshot snapshot = awaitFinished(service.submit(transactions(3)));
+
+    assertEquals(TransactionJob.Status.FAILED, snapshot.status());
+    assertEquals(0, snapshot.rejected());
+    assertEquals(2, snapshot.rolledBack());
+    assertEquals(1, snapshot.skipped());
+    assertEquals("Erro interno", snapshot.items().get(1).message());
+  }
+
+  @Test
+  @DisplayName("Deve rejeitar o lote acima do limite de lançamentos sem enfileirá-lo")
+  void shouldRejectJobAboveMaxItems() {
+    newService(1, 10, 2);
+
+    assertThrows(IllegalArgumentException.class, () -> service.submit(transactions(101)));
+    assertNotNull(service.submit(transactions(100)));
+  }
+
+  @Test
+  @DisplayName("Deve rejeitar o envio quando a fila de lotes estiver cheia")
+  void shouldRejectWhenQueueIsFull() throws InterruptedException {
+    newService(1, 1, 10);
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      started.countDown();
+      release.await(5, TimeUnit.SECONDS);
+      return null;
+    }).when(accountServicePort).performTransactions(anyList());
+
+    service.submit(transactions(1));
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    service.submit(transactions(1));
+
+    assertThrows(JobQueueFullException.class, () -> service.submit(transactions(1)));
+    release.countDown();
+  }
+
+  @Test
+  @DisplayName("Deve retornar vazio para lote desconhecido")
+  void shouldReturnEmptyForUnknownJob() {
+    newService(1, 1, 10);
+
+    assertTrue(service.find("inexistente").isEmpty());
+  }
+
+}
@@ -0,0 +1,102 @@
+package juhmaran.challenge.bankingtransactionsapi.application.usecase.journal;
+
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.AccountRepositoryPort;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.JournalEntry;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.TransactionJournalPort;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.split.SplitBalanceManager;
+import juhmaran.challenge.bankingtransactionsapi.domain.entity.Account;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.LedgerProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JournalRecoveryServiceTest {
+
+  @Mock
+  private TransactionJournalPort transactionJournalPort;
+
+  @Mock
+  private AccountRepositoryPort accountRepositoryPort;
+
+  @Mock
+  private SplitBalanceManager splitBalanceManager;
+
+  private final Account existing = new Account(1L, "1001-1", Money.parse("80.00"));
+
+  @BeforeEach
+  void setUp() {
+    Map<String, Money> balances = new LinkedHashMap<>();
+    balances.put("1001-1", Money.parse("100.00"));
+    balances.put("1002-2", Money.parse("50.00"));
+    when(transactionJournalPort.balances()).thenReturn(balances);
+    when(accountRepositoryPort.findAllByAccountNumberWithLock(any())).thenReturn(List.of(existing));
+  }
+
+  private JournalRecoveryService service(String engine) {
+    return new JournalRecoveryService(transactionJournalPort, accountRepositoryPort,
+      new LedgerProperties(engine, 0, Duration.ofMillis(200)), splitBalanceManager,
+      TransactionOperations.withoutTransaction());
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<Account> savedAccounts() {
+    ArgumentCaptor<Collection<Account>> captor = ArgumentCaptor.forClass(Collection.class);
+    verify(accountRepositoryPort).saveAll(captor.capture());
+    return new ArrayList<>(captor.getValue());
+  }
+
+  @Test
+  @DisplayName("Deve recriar as contas ausentes e manter o saldo do banco, realinhando o journal a ele")
+  void shouldKeepDatabaseBalanceAndRealignJournal() {
+    assertEquals(1, service("jpa").restoreBalances());
+
+    List<Account> saved = savedAccounts();
+    assertEquals(1, saved.size());
+    assertEquals("1002-2", saved.get(0).getAccountNumber());
+    assertEquals(Money.parse("50.00"), saved.get(0).getBalance());
+    assertEquals(Money.parse("80.00"), existing.getBalance());
+    verify(transactionJournalPort).append(
+      List.of(new JournalEntry(JournalEntry.Type.OPEN, "1001-1", Money.parse("80.00"))));
+  }
+
+  @Test
+  @DisplayName("Deve aplicar o saldo do journal no banco com o ledger em memória, cuja gravação no banco é atrasada")
+  void shouldApplyJournalBalanceWithShardedLedger() {
+    assertEquals(2, service("sharded").restoreBalances());
+
+    assertEquals(2, savedAccounts().size());
+    assertEquals(Money.parse("100.00"), existing.getBalance());
+    verify(transactionJournalPort, never()).append(any());
+  }
+
+  @Test
+  @DisplayName("Deve somar os slots das contas com saldo dividido à linha da conta antes de reconciliar")
+  void shouldMergeSplitSlotsBeforeReconciling() {
+    service("sharded").restoreBalances();
+
+    InOrder inOrder = inOrder(splitBalanceManager, accountRepositoryPort);
+    inOrder.verify(splitBalanceManager).mergeSlots(Set.of("1001-1", "1002-2"));
+    inOrder.verify(accountRepositoryPort).findAllByAccountNumberWithLock(any());
+  }
+
+}
@@ -0,0 +1,145 @@
+package juhmaran.challenge.bankingtransactionsapi.application.usecase.journal;
+
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.JournalEntry;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.TransactionJournalPort;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalWriteAheadTest {
+
+  private final RecordingJournal journal = new RecordingJournal();
+  private final List<String> events = journal.events;
+  private final StubTransactionManager transactionManager = new StubTransactionManager(events);
+  private final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+  private static final JournalEntry OPEN = new JournalEntry(JournalEntry.Type.OPEN, "1001-1", Money.parse("100.00"));
+  private static final JournalEntry DEBIT = new JournalEntry(JournalEntry.Type.DEBIT, "1001-1", Money.parse("30.00"));
+
+  @Test
+  @DisplayName("Deve gravar no journal antes do commit, e não durante o trabalho da transação")
+  void shouldAppendBeforeCommit() {
+    transactionTemplate.executeWithoutResult(status -> {
+      JournalWriteAhead.appendBeforeCommit(journal, List.of(OPEN, DEBIT));
+      events.add("work");
+    });
+
+    assertEquals(List.of("work", "append", "commit"), events);
+    assertEquals(List.of(List.of(OPEN, DEBIT)), journal.records);
+  }
+
+  @Test
+  @DisplayName("Deve desfazer a transação quando a gravação no journal falhar")
+  void shouldRollBackWhenAppendFails() {
+    journal.failure = new IllegalStateException("Disco cheio");
+
+    assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(
+      status -> JournalWriteAhead.appendBeforeCommit(journal, List.of(OPEN))));
+
+    assertEquals(List.of("rollback"), events);
+    assertTrue(journal.records.isEmpty());
+  }
+
+  @Test
+  @DisplayName("Não deve gravar no journal quando a transação for desfeita antes do commit")
+  void shouldNotAppendWhenTransactionRollsBack() {
+    transactionTemplate.executeWithoutResult(status -> {
+      JournalWriteAhead.appendBeforeCommit(journal, List.of(OPEN));
+      status.setRollbackOnly();
+    });
+
+    assertEquals(List.of("rollback"), events);
+    assertTrue(journal.records.isEmpty());
+  }
+
+  @Test
+  @DisplayName("Deve gravar os estornos quando o commit falhar depois da gravação no journal")
+  void shouldAppendReversalWhenCommitFails() {
+    transactionManager.commitFailure = new IllegalStateException("Conflito no flush do commit");
+
+    assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(
+      status -> JournalWriteAhead.appendBeforeCommit(journal, List.of(OPEN, DEBIT))));
+
+    assertEquals(List.of("append", "rollback", "append"), events);
+    assertEquals(List.of(List.of(OPEN, DEBIT), List.of(DEBIT.reversal(), OPEN.reversal())), journal.records);
+    assertEquals(JournalEntry.Type.CREDIT, DEBIT.reversal().type());
+    assertEquals(JournalEntry.Type.CLOSE, OPEN.reversal().type());
+  }
+
+  @Test
+  @DisplayName("Deve gravar imediatamente quando não houver transação")
+  void shouldAppendImmediatelyWithoutTransaction() {
+    JournalWriteAhead.appendBeforeCommit(journal, List.of(OPEN));
+
+    assertEquals(List.of(List.of(OPEN)), journal.records);
+  }
+
+  private static final class RecordingJournal implements TransactionJournalPort {
+
+    private final List<String> events = new ArrayList<>();
+    private final List<List<JournalEntry>> records = new ArrayList<>();
+    private RuntimeException failure;
+
+    @Override
+    public void append(List<JournalEntry> entries) {
+      if (failure != null) {
+        throw failure;
+      }
+      events.add("append");
+      records.add(entries);
+    }
+
+    @Override
+    public Map<String, Money> balances() {
+      return Map.of();
+    }
+
+  }
+
+  /**
+   * Gerenciador de transações sem recurso, que registra commits e rollbacks e pode falhar no commit.
+   */
+  private static final class StubTransactionManager extends AbstractPlatformTransactionManager {
+
+    private final List<String> events;
+    private RuntimeException commitFailure;
+
+    private StubTransactionManager(List<String> events) {
+      this.events = events;
+    }
+
+    @Override
+    protected Object doGetTransaction() {
+      return new Object();
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+      if (commitFailure != null) {
+        throw commitFailure;
+      }
+      events.add("commit");
+    }
+
+    @Override
+    protected void doRollback(DefaultTransactionStatus status) {
+      events.add("rollback");
+    }
+
+  }
+
+}
@@ -0,0 +1,92 @@
+package juhmaran.challenge.bankingtransactionsapi.application.usecase.ledger;
+
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.AccountRepositoryPort;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.TransactionJournalPort;
+import juhmaran.challenge.bankingtransactionsapi.domain.entity.Account;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.TransactionProcessingException;
+import juhmaran.challenge.bankingtransactionsapi.domain.service.AccountOperationService;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.enums.TransactionType;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.request.TransactionRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerShardTest {
+
+  @Mock
+  private AccountRepositoryPort accountRepositoryPort;
+
+  @Mock
+  private TransactionJournalPort transactionJournalPort;
+
+  private LedgerShard shard;
+
+  @BeforeEach
+  void setUp() {
+    shard = new LedgerShard(0, accountRepositoryPort, new AccountOperationService(), transactionJournalPort);
+    when(accountRepositoryPort.findByAccountNumber("1001-1"))
+      .thenReturn(Optional.of(new Account(1L, "1001-1", Money.parse("100.00"))));
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    shard.shutdown();
+  }
+
+  private static List<TransactionRequest> debit(String amount) {
+    return List.of(new TransactionRequest("1001-1", Money.parse(amount), TransactionType.DEBIT));
+  }
+
+  private Money balance() {
+    return shard.read("1001-1").join().getBalance();
+  }
+
+  @Test
+  @DisplayName("Deve reservar o menor saldo atingido pelo sub-lote preparado sem publicar o saldo")
+  void shouldReserveLowestPointOfPreparedSubBatch() {
+    LedgerShard.Staged staged = shard.prepare(List.of(
+      new TransactionRequest("1001-1", Money.parse("70.00"), TransactionType.DEBIT),
+      new TransactionRequest("1001-1", Money.parse("50.00"), TransactionType.CREDIT)
+    )).join();
+
+    assertEquals(Money.parse("-20.00"), staged.deltas().get("1001-1"));
+    assertEquals(Money.parse("70.00"), staged.reservations().get("1001-1"));
+    assertEquals(Money.parse("100.00"), balance());
+
+    CompletionException rejected = assertThrows(CompletionException.class, () -> shard.apply(debit("40.00")).join());
+    assertInstanceOf(TransactionProcessingException.class, rejected.getCause());
+    shard.apply(debit("30.00")).join();
+
+    shard.commit(staged).join();
+    assertEquals(Money.parse("50.00"), balance());
+    shard.apply(debit("50.00")).join();
+    assertEquals(Money.ZERO, balance());
+  }
+
+  @Test
+  @DisplayName("Deve liberar a reserva sem alterar o saldo ao descartar o sub-lote preparado")
+  void shouldReleaseReservationOnAbort() {
+    LedgerShard.Staged staged = shard.prepare(debit("100.00")).join();
+    assertThrows(CompletionException.class, () -> shard.apply(debit("0.01")).join());
+
+    shard.abort(staged).join();
+
+    assertEquals(Money.parse("100.00"), balance());
+    shard.apply(debit("100.00")).join();
+    assertEquals(Money.ZERO, balance());
+  }
+
+}
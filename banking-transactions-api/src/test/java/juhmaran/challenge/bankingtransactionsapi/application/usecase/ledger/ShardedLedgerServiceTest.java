@@ -0,0 +1,180 @@
+package juhmaran.challenge.bankingtransactionsapi.application.usecase.ledger;
+
+import juhmaran.challenge.bankingtransactionsapi.application.port.in.BatchAtomicity;
+import juhmaran.challenge.bankingtransactionsapi.application.port.in.TransactionBatchResult;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.AccountRepositoryPort;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.TransactionJournalPort;
+import juhmaran.challenge.bankingtransactionsapi.domain.entity.Account;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.AccountNotFoundException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.TransactionProcessingException;
+import juhmaran.challenge.bankingtransactionsapi.domain.service.AccountOperationService;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.LedgerProperties;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.enums.TransactionType;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.request.TransactionRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ShardedLedgerServiceTest {
+
+  @Mock
+  private AccountRepositoryPort accountRepositoryPort;
+
+  @Mock
+  private LedgerPersistenceWriter persistenceWriter;
+
+  @Mock
+  private TransactionJournalPort transactionJournalPort;
+
+  private ShardedLedgerService ledgerService;
+
+  @BeforeEach
+  void setUp() {
+    LedgerProperties properties = new LedgerProperties("sharded", 4, Duration.ofHours(1));
+    ledgerService = new ShardedLedgerService(accountRepositoryPort, new AccountOperationService(),
+      persistenceWriter, transactionJournalPort, properties);
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    ledgerService.shutdown();
+  }
+
+  @Test
+  @DisplayName("Deve aplicar débitos e créditos em memória carregando a conta apenas uma vez")
+  void shouldApplyTransactionsInMemoryLoadingAccountOnce() {
+    when(accountRepositoryPort.findByAccountNumber("1001-1"))
+      .thenReturn(Optional.of(new Account(1L, "1001-1", Money.parse("100.00"))));
+
+    ledgerService.performTransactions(List.of(
+      new TransactionRequest("1001-1", Money.parse("50.00"), TransactionType.CREDIT),
+      new TransactionRequest("1001-1", Money.parse("30.00"), TransactionType.DEBIT)
+    ));
+
+    assertEquals(Money.parse("120.00"), ledgerService.getAccountBalance("1001-1").getBalance());
+    verify(accountRepositoryPort, times(1)).findByAccountNumber("1001-1");
+    verify(accountRepositoryPort, never()).save(any(Account.class));
+  }
+
+  @Test
+  @DisplayName("Não deve alterar o saldo do shard quando um item do sub-lote falhar")
+  void shouldKeepShardBalanceWhenSubBatchFails() {
+    when(accountRepositoryPort.findByAccountNumber("1001-1"))
+      .thenReturn(Optional.of(new Account(1L, "1001-1", Money.parse("100.00"))));
+
+    List<TransactionRequest> transactions = List.of(
+      new TransactionRequest("1001-1", Money.parse("50.00"), TransactionType.CREDIT),
+      new TransactionRequest("1001-1", Money.parse("500.00"), TransactionType.DEBIT)
+    );
+
+    assertThrows(TransactionProcessingException.class, () -> ledgerService.performTransactions(transactions));
+    assertEquals(Money.parse("100.00"), ledgerService.getAccountBalance("1001-1").getBalance());
+  }
+
+  @Test
+  @DisplayName("Não deve alterar nenhum shard quando o sub-lote de um deles falhar")
+  void shouldKeepEveryShardBalanceWhenCrossShardBatchFails() {
+    when(accountRepositoryPort.findByAccountNumber("1001-1"))
+      .thenReturn(Optional.of(new Account(1L, "1001-1", Money.parse("100.00"))));
+    when(accountRepositoryPort.findByAccountNumber("1002-2"))
+      .thenReturn(Optional.of(new Account(2L, "1002-2", Money.parse("100.00"))));
+
+    List<TransactionRequest> transactions = List.of(
+      new TransactionRequest("1001-1", Money.parse("40.00"), TransactionType.DEBIT),
+      new TransactionRequest("1002-2", Money.parse("40.00"), TransactionType.CREDIT),
+      new TransactionRequest("1002-2", Money.parse("500.00"), TransactionType.DEBIT)
+    );
+
+    assertThrows(TransactionProcessingException.class, () -> ledgerService.performTransactions(transactions));
+    assertEquals(Money.parse("100.00"), ledgerService.getAccountBalance("1001-1").getBalance());
+    assertEquals(Money.parse("100.00"), ledgerService.getAccountBalance("1002-2").getBalance());
+    verify(transactionJournalPort, never()).append(anyList());
+
+    ledgerService.performTransactions(transactions.subList(0, 2));
+    assertEquals(Money.parse("60.00"), ledgerService.getAccountBalance("1001-1").getBalance());
+    assertEquals(Money.parse("140.00"), ledgerService.getAccountBalance("1002-2").getBalance());
+    verify(transactionJournalPort, times(1)).append(anyList());
+  }
+
+  @Test
+  @DisplayName("Não deve alterar nenhum shard quando a gravação do lote entre shards no journal falhar")
+  void shouldKeepEveryShardBalanceWhenCrossShardJournalFails() {
+    when(accountRepositoryPort.findByAccountNumber("1001-1"))
+      .thenReturn(Optional.of(new Account(1L, "1001-1", Money.parse("100.00"))));
+    when(accountRepositoryPort.findByAccountNumber("1002-2"))
+      .thenReturn(Optional.of(new Account(2L, "1002-2", Money.parse("100.00"))));
+    doThrow(new IllegalStateException("disco cheio")).when(transactionJournalPort).append(anyList());
+
+    assertThrows(TransactionProcessingException.class, () -> ledgerService.performTransactions(List.of(
+      new TransactionRequest("1001-1", Money.parse("100.00"), TransactionType.DEBIT),
+      new TransactionRequest("1002-2", Money.parse("100.00"), TransactionType.DEBIT)
+    )));
+
+    assertEquals(Money.parse("100.00"), ledgerService.getAccountBalance("1001-1").getBalance());
+    assertEquals(Money.parse("100.00"), ledgerService.getAccountBalance("1002-2").getBalance());
+    reset(transactionJournalPort);
+    ledgerService.performTransactions(List.of(
+      new TransactionRequest("1001-1", Money.parse("100.00"), TransactionType.DEBIT)));
+    assertEquals(Money.ZERO, ledgerService.getAccountBalance("1001-1").getBalance());
+  }
+
+  @Test
+  @DisplayName("Deve desfazer apenas os itens com erro na atomicidade PER_ITEM")
+  void shouldSkipOnlyFailedItemsWithPerItemAtomicity() {
+    when(accountRepositoryPort.findByAccountNumber("1001-1"))
+      .thenReturn(Optional.of(new Account(1L, "1001-1", Money.parse("100.00"))));
+
+    TransactionBatchResult result = ledgerService.performTransactions(List.of(
+      new TransactionRequest("1001-1", Money.parse("50.00"), TransactionType.CREDIT),
+      new TransactionRequest("1001-1", Money.parse("500.00"), TransactionType.DEBIT),
+      new TransactionRequest("1001-1", Money.parse("30.00"), TransactionType.DEBIT)
+    ), BatchAtomicity.perItem());
+
+    assertEquals(2, result.applied());
+    assertEquals(TransactionBatchResult.Outcome.FAILED, result.items().get(1).outcome());
+    assertEquals(Money.parse("120.00"), ledgerService.getAccountBalance("1001-1").getBalance());
+  }
+
+  @Test
+  @DisplayName("Deve lançar AccountNotFoundException ao buscar saldo de conta inexistente")
+  void shouldThrowAccountNotFoundExceptionForUnknownAccount() {
+    when(accountRepositoryPort.findByAccountNumber("9999-9")).thenReturn(Optional.empty());
+    assertThrows(AccountNotFoundException.class, () -> ledgerService.getAccountBalance("9999-9"));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  @DisplayName("Deve gravar no banco apenas os saldos alterados desde a última gravação")
+  void shouldFlushOnlyDirtyBalances() {
+    when(accountRepositoryPort.findByAccountNumber("1001-1"))
+      .thenReturn(Optional.of(new Account(1L, "1001-1", Money.parse("100.00"))));
+    ledgerService.performTransactions(List.of(
+      new TransactionRequest("1001-1", Money.parse("10.00"), TransactionType.CREDIT)));
+
+    ledgerService.flush();
+    ledgerService.flush();
+
+    ArgumentCaptor<Map<String, Money>> captor = ArgumentCaptor.forClass(Map.class);
+    verify(persistenceWriter, atLeastOnce()).persist(captor.capture());
+    List<Map<String, Money>> nonEmpty = captor.getAllValues().stream().filter(m -> !m.isEmpty()).toList();
+    assertEquals(1, nonEmpty.size());
+    assertEquals(Money.parse("110.00"), nonEmpty.get(0).get("1001-1"));
+  }
+
+}
@@ -0,0 +1,94 @@
+package juhmaran.challenge.bankingtransactionsapi.application.usecase.lock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.metrics.TransactionMetrics;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.DatabaseBusyException;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.TransactionProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatabaseConcurrencyLimiterTest {
+
+  private static DatabaseConcurrencyLimiter newLimiter(boolean enabled, int maxConcurrent, Duration timeout) {
+    TransactionProperties properties = new TransactionProperties(TransactionProperties.Strategy.PER_ITEM,
+      new TransactionProperties.StripedLocks(false, 1024, Duration.ofSeconds(5)),
+      new TransactionProperties.Optimistic(5, Duration.ZERO, Duration.ZERO),
+      new TransactionProperties.ConnectionLimit(enabled, maxConcurrent, timeout),
+      new TransactionProperties.Parallel(false, 0, 64),
+      new TransactionProperties.Coalescing(false, Duration.ZERO, 64));
+    return new DatabaseConcurrencyLimiter(properties, 10, new TransactionMetrics(properties, new SimpleMeterRegistry()));
+  }
+
+  @Test
+  @DisplayName("Deve usar o tamanho do pool de conexões quando o limite não for informado")
+  void shouldDefaultToPoolSize() {
+    DatabaseConcurrencyLimiter limiter = newLimiter(true, 0, Duration.ofSeconds(1));
+
+    assertTrue(limiter.isEnabled());
+    assertEquals(10, limiter.getMaxConcurrent());
+  }
+
+  @Test
+  @DisplayName("Deve limitar as operações simultâneas em threads virtuais")
+  void shouldBoundConcurrentOperations() throws Exception {
+    DatabaseConcurrencyLimiter limiter = newLimiter(true, 3, Duration.ofSeconds(10));
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < 200; i++) {
+        futures.add(executor.submit(() -> limiter.run(() -> {
+          maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+          try {
+            Thread.sleep(2);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          running.decrementAndGet();
+        })));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    }
+
+    assertEquals(3, maxRunning.get());
+  }
+
+  @Test
+  @DisplayName("Deve lançar DatabaseBusyException quando nenhuma vaga for liberada a tempo")
+  void shouldThrowWhenTimeoutExpires() throws Exception {
+    DatabaseConcurrencyLimiter limiter = newLimiter(true, 1, Duration.ofMillis(50));
+    CountDownLatch holding = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Thread holder = Thread.ofVirtual().start(() -> limiter.run(() -> {
+      holding.countDown();
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }));
+    assertTrue(holding.await(5, TimeUnit.SECONDS));
+
+    assertThrows(DatabaseBusyException.class, () -> limiter.run(() -> fail("Não deveria executar.")));
+
+    release.countDown();
+    holder.join();
+    assertEquals("ok", limiter.execute(() -> "ok"));
+  }
+
+}
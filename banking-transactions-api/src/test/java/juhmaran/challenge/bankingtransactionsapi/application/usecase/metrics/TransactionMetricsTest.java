@@ -0,0 +1,69 @@
+package juhmaran.challenge.bankingtransactionsapi.application.usecase.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.AccountLockTimeoutException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.DatabaseBusyException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.InsufficientFundsException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.TransactionProcessingException;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.TransactionProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TransactionMetricsTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private final TransactionMetrics metrics = new TransactionMetrics(new TransactionProperties(
+    TransactionProperties.Strategy.PER_ITEM,
+    new TransactionProperties.StripedLocks(false, 1024, Duration.ofSeconds(5)),
+    new TransactionProperties.Optimistic(5, Duration.ZERO, Duration.ZERO),
+    new TransactionProperties.ConnectionLimit(false, 0, Duration.ofSeconds(30)),
+    new TransactionProperties.Parallel(false, 0, 64),
+    new TransactionProperties.Coalescing(false, Duration.ZERO, 64)), meterRegistry);
+
+  private double outcomes(String outcome) {
+    return meterRegistry.get("banking.transactions.outcomes")
+      .tags("strategy", "per-item", "outcome", outcome).counter().count();
+  }
+
+  @Test
+  @DisplayName("Deve classificar a falha pela causa reconhecida na cadeia de exceções")
+  void shouldClassifyFailureByCause() {
+    var lockTimeout = new TransactionProcessingException("falha",
+      new CannotAcquireLockException("timeout", new RuntimeException()));
+    var insufficientFunds = new TransactionProcessingException("falha", new InsufficientFundsException("saldo"));
+
+    assertEquals(TransactionMetrics.Outcome.LOCK_TIMEOUT, TransactionMetrics.Outcome.of(lockTimeout));
+    assertEquals(TransactionMetrics.Outcome.INSUFFICIENT_FUNDS, TransactionMetrics.Outcome.of(insufficientFunds));
+    assertEquals(TransactionMetrics.Outcome.UNEXPECTED_ERROR,
+      TransactionMetrics.Outcome.of(new IllegalStateException("erro")));
+  }
+
+  @Test
+  @DisplayName("Deve contar falhas de lote fora dos processadores e ignorar as já contadas no item")
+  void shouldCountBatchFailuresNotCountedByProcessors() {
+    metrics.recordBatchFailure(new AccountLockTimeoutException("lock"));
+    metrics.recordBatchFailure(new DatabaseBusyException("ocupado"));
+    metrics.recordBatchFailure(new TransactionProcessingException("falha", new InsufficientFundsException("saldo")));
+
+    assertEquals(1, outcomes("lock-timeout"));
+    assertEquals(1, outcomes("database-busy"));
+    assertEquals(0, outcomes("insufficient-funds"));
+  }
+
+  @Test
+  @DisplayName("Deve registrar a duração e o desfecho do item")
+  void shouldRecordItemDurationAndOutcome() {
+    metrics.recordItem(TransactionMetrics.Outcome.APPLIED, System.nanoTime());
+
+    assertEquals(1, meterRegistry.get("banking.transactions.item")
+      .tags("strategy", "per-item", "outcome", "applied").timer().count());
+    assertEquals(1, outcomes("applied"));
+  }
+
+}
@@ -0,0 +1,187 @@
+package juhmaran.challenge.bankingtransactionsapi.application.usecase.parallel;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.AccountRepositoryPort;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.metrics.TransactionMetrics;
+import juhmaran.challenge.bankingtransactionsapi.domain.entity.Account;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.TransactionProcessingException;
+import juhmaran.challenge.bankingtransactionsapi.domain.service.AccountOperationService;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.AccountKey;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.TransactionProperties;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.enums.TransactionType;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.request.TransactionRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PartitionedBatchExecutorTest {
+
+  private final AccountRepositoryPort accountRepositoryPort = mock(AccountRepositoryPort.class);
+  private final Set<String> threads = ConcurrentHashMap.newKeySet();
+  private final AccountOperationService accountOperationService = new AccountOperationService() {
+    @Override
+    public void applyCredit(Account account, Money amount) {
+      threads.add(Thread.currentThread().getName());
+      super.applyCredit(account, amount);
+    }
+  };
+  private PartitionedBatchExecutor executor;
+
+  @BeforeEach
+  void setUp() {
+    when(accountRepositoryPort.findAllByAccountKeyWithLock(any())).thenAnswer(invocation -> {
+      Map<String, Long> accountKeys = invocation.getArgument(0);
+      return accountKeys.keySet().stream().map(number -> new Account(null, number, Money.parse("10.00"))).toList();
+    });
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    if (executor != null) {
+      executor.shutdown();
+    }
+  }
+
+  private static TransactionProperties properties(boolean enabled, int parallelism) {
+    return new TransactionProperties(TransactionProperties.Strategy.PER_ITEM,
+      new TransactionProperties.StripedLocks(false, 1024, Duration.ofSeconds(5)),
+      new TransactionProperties.Optimistic(5, Duration.ZERO, Duration.ZERO),
+      new TransactionProperties.ConnectionLimit(false, 0, Duration.ofSeconds(30)),
+      new TransactionProperties.Parallel(enabled, parallelism, 4),
+      new TransactionProperties.Coalescing(false, Duration.ZERO, 64));
+  }
+
+  private PartitionedBatchExecutor newExecutor(boolean enabled, int parallelism) {
+    TransactionProperties properties = properties(enabled, parallelism);
+    return new PartitionedBatchExecutor(properties, accountRepositoryPort, accountOperationService,
+      new TransactionMetrics(properties, new SimpleMeterRegistry()));
+  }
+
+  private static TransactionRequest credit(String accountNumber, String amount) {
+    return new TransactionRequest(accountNumber, Money.parse(amount), TransactionType.CREDIT);
+  }
+
+  private static TransactionRequest debit(String accountNumber, String amount) {
+    return new TransactionRequest(accountNumber, Money.parse(amount), TransactionType.DEBIT);
+  }
+
+  private static List<TransactionRequest> interleavedBatch(int accounts, int itemsPerAccount) {
+    List<TransactionRequest> batch = new ArrayList<>();
+    for (int item = 0; item < itemsPerAccount; item++) {
+      for (int account = 0; account < accounts; account++) {
+        batch.add(credit("A" + account, (item + 1) + ".00"));
+      }
+    }
+    return batch;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<String, Money> savedBalances() {
+    ArgumentCaptor<Collection<Account>> captor = ArgumentCaptor.forClass(Collection.class);
+    verify(accountRepositoryPort).saveAll(captor.capture());
+    return captor.getValue().stream()
+      .collect(Collectors.toMap(Account::getAccountNumber, Account::getBalance));
+  }
+
+  @Test
+  @DisplayName("Deve particionar por conta mantendo a ordem original dentro de cada conta")
+  void shouldPartitionByAccountKeepingOrder() {
+    List<TransactionRequest> batch = List.of(
+      credit("A", "1.00"), credit("B", "1.00"), credit("A", "2.00"), credit("C", "1.00"), credit("A", "3.00"));
+
+    List<List<Integer>> buckets = PartitionedBatchExecutor.partition(batch, 2);
+
+    assertEquals(List.of(List.of(0, 2, 4), List.of(1, 3)), buckets);
+  }
+
+  @Test
+  @DisplayName("Deve aplicar as partições em paralelo sobre uma única leitura com lock e gravar uma única vez")
+  void shouldApplyPartitionsInParallelOnOneLockedRead() {
+    executor = newExecutor(true, 4);
+
+    assertTrue(executor.tryProcess(interleavedBatch(8, 5)));
+
+    assertEquals(4, threads.size());
+    verify(accountRepositoryPort, times(1)).findAllByAccountKeyWithLock(Map.of("A0", AccountKey.NONE,
+      "A1", AccountKey.NONE, "A2", AccountKey.NONE, "A3", AccountKey.NONE, "A4", AccountKey.NONE, "A5", AccountKey.NONE,
+      "A6", AccountKey.NONE, "A7", AccountKey.NONE));
+    Map<String, Money> saved = savedBalances();
+    assertEquals(8, saved.size());
+    saved.values().forEach(balance -> assertEquals(Money.parse("25.00"), balance));
+  }
+
+  @Test
+  @DisplayName("Deve lançar o erro do item com a menor posição no lote, sem gravar nenhuma conta")
+  void shouldThrowFailureWithLowestIndexWithoutSaving() {
+    executor = newExecutor(true, 2);
+    List<TransactionRequest> batch = new ArrayList<>(List.of(
+      credit("A", "1.00"), credit("B", "1.00"), credit("C", "1.00"), debit("C", "50.00"), debit("B", "30.00")));
+    batch.addAll(List.of(debit("A", "99.00"), debit("C", "1.00"), credit("D", "1.00")));
+
+    TransactionProcessingException thrown =
+      assertThrows(TransactionProcessingException.class, () -> executor.tryProcess(batch));
+
+    assertTrue(thrown.isItemFailure());
+    assertEquals("Erro ao processar transação para conta C: Saldo insuficiente para a conta C. Débito solicitado: "
+      + "50.00", thrown.getMessage());
+    verify(accountRepositoryPort, never()).saveAll(any());
+  }
+
+  @Test
+  @DisplayName("Deve lançar o mesmo erro da execução sequencial para conta inexistente")
+  void shouldThrowAccountNotFoundLikeSequentialExecution() {
+    doAnswer(invocation -> {
+      Map<String, Long> accountKeys = invocation.getArgument(0);
+      return accountKeys.keySet().stream().filter(number -> !number.equals("A3"))
+        .map(number -> new Account(null, number, Money.parse("10.00"))).toList();
+    }).when(accountRepositoryPort).findAllByAccountKeyWithLock(any());
+    executor = newExecutor(true, 4);
+
+    TransactionProcessingException thrown =
+      assertThrows(TransactionProcessingException.class, () -> executor.tryProcess(interleavedBatch(8, 2)));
+
+    assertEquals("Erro ao processar transação para conta A3: Conta não encontrada: A3", thrown.getMessage());
+    verify(accountRepositoryPort, never()).saveAll(any());
+  }
+
+  @Test
+  @DisplayName("Deve recusar lotes pequenos ou de uma única conta, deixando-os para o caminho sequencial")
+  void shouldDeclineSmallOrSingleAccountBatches() {
+    executor = newExecutor(true, 4);
+
+    assertFalse(executor.tryProcess(interleavedBatch(3, 1)));
+    assertFalse(executor.tryProcess(interleavedBatch(1, 10)));
+    assertFalse(newExecutor(false, 4).tryProcess(interleavedBatch(8, 5)));
+    verifyNoInteractions(accountRepositoryPort);
+  }
+
+  @Test
+  @DisplayName("Deve usar as threads do pool mesmo com mais contas que partições")
+  void shouldSpreadManyAccountsOverPartitions() {
+    executor = newExecutor(true, 3);
+
+    assertTrue(executor.tryProcess(interleavedBatch(20, 3)));
+
+    assertEquals(3, threads.size());
+    Map<String, Money> saved = savedBalances();
+    assertEquals(20, saved.size());
+    assertEquals(Set.of(Money.parse("16.00")), Set.copyOf(saved.values()));
+  }
+
+}
@@ -0,0 +1,91 @@
+package juhmaran.challenge.bankingtransactionsapi.application.usecase.processor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.AccountRepositoryPort;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.hotspot.HotAccountTracker;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.metrics.TransactionMetrics;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.AccountNotFoundException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.InsufficientFundsException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.TransactionProcessingException;
+import juhmaran.challenge.bankingtransactionsapi.domain.service.AccountOperationService;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.HotAccountProperties;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.TransactionProperties;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.enums.TransactionType;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.request.TransactionRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeltaTransactionProcessorTest {
+
+  @Mock
+  private AccountRepositoryPort accountRepositoryPort;
+
+  private DeltaTransactionProcessor processor;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private final Money amount = Money.parse("50.00");
+
+  @BeforeEach
+  void setUp() {
+    TransactionProperties properties = new TransactionProperties(TransactionProperties.Strategy.ATOMIC_DELTA,
+      new TransactionProperties.StripedLocks(false, 1024, Duration.ofSeconds(5)),
+      new TransactionProperties.Optimistic(5, Duration.ZERO, Duration.ZERO),
+      new TransactionProperties.ConnectionLimit(false, 0, Duration.ofSeconds(30)),
+      new TransactionProperties.Parallel(false, 0, 64),
+      new TransactionProperties.Coalescing(false, Duration.ZERO, 64));
+    processor = new DeltaTransactionProcessor(accountRepositoryPort, new AccountOperationService(),
+      new TransactionMetrics(properties, meterRegistry),
+      new HotAccountTracker(new HotAccountProperties(false, Duration.ofMinutes(5), 30, 1024, 4, 20)));
+  }
+
+  private double outcomes(String outcome) {
+    return meterRegistry.get("banking.transactions.outcomes")
+      .tags("strategy", "atomic-delta", "outcome", outcome).counter().count();
+  }
+
+  @Test
+  @DisplayName("Deve aplicar o débito com um único comando pela chave da conta, sem consultar a conta")
+  void shouldDebitWithSingleStatement() {
+    when(accountRepositoryPort.debitIfSufficientFunds("1001-1", 10011L, amount)).thenReturn(1);
+    processor.process(new TransactionRequest("1001-1", amount, TransactionType.DEBIT));
+    verify(accountRepositoryPort, times(1)).debitIfSufficientFunds("1001-1", 10011L, amount);
+    verifyNoMoreInteractions(accountRepositoryPort);
+    assertEquals(1, outcomes("applied"));
+  }
+
+  @Test
+  @DisplayName("Deve reportar saldo insuficiente quando nenhuma linha for alterada e a conta existir")
+  void shouldReportInsufficientFundsWhenNoRowUpdatedAndAccountExists() {
+    when(accountRepositoryPort.debitIfSufficientFunds("1001-1", 10011L, amount)).thenReturn(0);
+    when(accountRepositoryPort.existsByAccountNumber("1001-1", 10011L)).thenReturn(true);
+    var transaction = new TransactionRequest("1001-1", amount, TransactionType.DEBIT);
+    var exception = assertThrows(TransactionProcessingException.class, () -> processor.process(transaction));
+    assertInstanceOf(InsufficientFundsException.class, exception.getCause());
+    assertEquals(1, outcomes("insufficient-funds"));
+    assertEquals(0, outcomes("applied"));
+  }
+
+  @Test
+  @DisplayName("Deve reportar conta inexistente quando nenhuma linha for alterada e a conta não existir")
+  void shouldReportAccountNotFoundWhenNoRowUpdatedAndAccountDoesNotExist() {
+    when(accountRepositoryPort.credit("9999-9", 99999L, amount)).thenReturn(0);
+    when(accountRepositoryPort.existsByAccountNumber("9999-9", 99999L)).thenReturn(false);
+    var transaction = new TransactionRequest("9999-9", amount, TransactionType.CREDIT);
+    var exception = assertThrows(TransactionProcessingException.class, () -> processor.process(transaction));
+    assertInstanceOf(AccountNotFoundException.class, exception.getCause());
+    assertEquals(1, outcomes("account-not-found"));
+  }
+
+}
@@ -0,0 +1,225 @@
+package juhmaran.challenge.bankingtransactionsapi.application.usecase.split;
+
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.AccountRepositoryPort;
+import juhmaran.challenge.bankingtransactionsapi.application.port.in.BatchAtomicity;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.AccountSlotRepositoryPort;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.AccountService;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.AccountNotFoundException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.InsufficientFundsException;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.TransactionProcessingException;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.enums.TransactionType;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.request.TransactionRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Contas com saldo dividido em slots: o saldo consultado é a soma dos slots, débitos reúnem saldo de vários slots e
+ * lançamentos concorrentes não perdem atualizações.
+ */
+@SpringBootTest(properties = {
+  "banking.split-balance.enabled=true",
+  "banking.split-balance.accounts[SPLIT-1]=4",
+  "banking.split-balance.accounts[SPLIT-2]=4",
+  "banking.split-balance.accounts[SPLIT-3]=8",
+  "banking.split-balance.accounts[SPLIT-4]=2",
+  "banking.split-balance.accounts[SPLIT-5]=4",
+  "banking.split-balance.accounts[SPLIT-6]=4",
+  "banking.split-balance.accounts[SPLIT-7]=2",
+  "banking.split-balance.rebalance-interval=1h",
+  "banking.transactions.striped-locks.enabled=true",
+  "spring.jpa.show-sql=false",
+  "logging.level.org.hibernate.SQL=WARN",
+  "logging.level.org.hibernate.orm.jdbc.bind=WARN",
+  "logging.level.juhmaran.challenge.bankingtransactionsapi=OFF"
+})
+class SplitBalanceManagerTest {
+
+  private static final int THREADS = 16;
+
+  @Autowired
+  private AccountService accountService;
+
+  @Autowired
+  private SplitBalanceManager splitBalanceManager;
+
+  @Autowired
+  private AccountSlotRepositoryPort accountSlotRepositoryPort;
+
+  @Autowired
+  private AccountRepositoryPort accountRepositoryPort;
+
+  @Test
+  @DisplayName("Deve distribuir o saldo da conta entre os slots e retornar a soma na consulta")
+  void shouldSpreadBalanceAcrossSlots() {
+    accountService.createAccountIfNotFound("SPLIT-1", Money.parse("100.01"));
+    assertFalse(splitBalanceManager.isSplit("SPLIT-1"));
+
+    splitBalanceManager.rebalanceAll();
+
+    assertTrue(splitBalanceManager.isSplit("SPLIT-1"));
+    assertEquals(Money.ZERO, accountRepositoryPort.findByAccountNumber("SPLIT-1").orElseThrow().getBalance());
+    assertEquals(List.of(Money.parse("25.01"), Money.parse("25.00"), Money.parse("25.00"), Money.parse("25.00")),
+      accountSlotRepositoryPort.findSlotBalances("SPLIT-1"));
+    assertEquals(Money.parse("100.01"), accountService.getAccountBalance("SPLIT-1").getBalance());
+  }
+
+  @Test
+  @DisplayName("Deve reunir o saldo de vários slots no débito e rejeitar apenas quando o total não cobre o valor")
+  void shouldCollectDebitFromOtherSlots() {
+    accountService.createAccountIfNotFound("SPLIT-2", Money.parse("100.00"));
+    splitBalanceManager.rebalanceAll();
+
+    accountService.performTransactions(List.of(
+      new TransactionRequest("SPLIT-2", Money.parse("60.00"), TransactionType.DEBIT)));
+    assertEquals(Money.parse("40.00"), accountService.getAccountBalance("SPLIT-2").getBalance());
+
+    TransactionProcessingException exception = assertThrows(TransactionProcessingException.class,
+      () -> accountService.performTransactions(List.of(
+        new TransactionRequest("SPLIT-2", Money.parse("40.01"), TransactionType.DEBIT))));
+    assertInstanceOf(InsufficientFundsException.class, exception.getCause());
+    assertEquals(Money.parse("40.00"), accountService.getAccountBalance("SPLIT-2").getBalance());
+
+    splitBalanceManager.rebalanceAll();
+    assertEquals(List.of(Money.parse("10.00"), Money.parse("10.00"), Money.parse("10.00"), Money.parse("10.00")),
+      accountSlotRepositoryPort.findSlotBalances("SPLIT-2"));
+  }
+
+  @Test
+  @DisplayName("Deve somar os slots de volta à linha da conta, como na recuperação do journal")
+  void shouldMergeSlotsBackIntoAccountRow() {
+    accountService.createAccountIfNotFound("SPLIT-4", Money.parse("30.00"));
+    splitBalanceManager.rebalanceAll();
+    assertTrue(splitBalanceManager.isSplit("SPLIT-4"));
+
+    assertEquals(1, splitBalanceManager.mergeSlots(Set.of("SPLIT-4", "SEM-SLOTS")));
+
+    assertFalse(splitBalanceManager.isSplit("SPLIT-4"));
+    assertEquals(List.of(), accountSlotRepositoryPort.findSlotBalances("SPLIT-4"));
+    assertEquals(Money.parse("30.00"),
+      accountRepositoryPort.findByAccountNumber("SPLIT-4").orElseThrow().getBalance());
+  }
+
+  @Test
+  @DisplayName("Deve manter o saldo correto com créditos, débitos e rebalanceamentos concorrentes")
+  void shouldKeepBalanceConsistentUnderConcurrency() throws Exception {
+    Money initialBalance = Money.parse("500.00");
+    accountService.createAccountIfNotFound("SPLIT-3", initialBalance);
+    splitBalanceManager.rebalanceAll();
+    AtomicLong appliedCents = new AtomicLong();
+
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < THREADS; t++) {
+        int thread = t;
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < 50; i++) {
+            boolean credit = (thread + i) % 2 == 0;
+            long cents = credit ? 300 : 500;
+            try {
+              accountService.performTransactions(List.of(new TransactionRequest("SPLIT-3",
+                Money.ofMinorUnits(cents), credit ? TransactionType.CREDIT : TransactionType.DEBIT)));
+              appliedCents.addAndGet(credit ? cents : -cents);
+            } catch (TransactionProcessingException e) {
+              assertFalse(credit, "Crédito rejeitado: " + e.getMessage());
+              assertInstanceOf(InsufficientFundsException.class, e.getCause());
+            }
+          }
+          return null;
+        }));
+      }
+      futures.add(executor.submit(() -> {
+        for (int i = 0; i < 20; i++) {
+          splitBalanceManager.rebalanceAll();
+          Thread.sleep(5);
+        }
+        return null;
+      }));
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    Money balance = accountService.getAccountBalance("SPLIT-3").getBalance();
+    assertEquals(initialBalance.plus(Money.ofMinorUnits(appliedCents.get())), balance);
+    for (Money slot : accountSlotRepositoryPort.findSlotBalances("SPLIT-3")) {
+      assertFalse(slot.minorUnits() < 0);
+    }
+  }
+
+  @Test
+  @DisplayName("Deve aplicar lotes concorrentes com vários itens de contas divididas sem deadlock")
+  void shouldApplyConcurrentMultiItemBatchesWithoutDeadlock() throws Exception {
+    accountService.createAccountIfNotFound("SPLIT-5", Money.parse("200.00"));
+    accountService.createAccountIfNotFound("SPLIT-6", Money.parse("200.00"));
+    splitBalanceManager.rebalanceAll();
+    AtomicLong appliedCents = new AtomicLong();
+
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < THREADS; t++) {
+        boolean reversed = t % 2 == 0;
+        BatchAtomicity atomicity = t % 4 < 2 ? BatchAtomicity.allOrNothing() : BatchAtomicity.perItem();
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < 20; i++) {
+            // Crédito no slot da thread seguido de débitos maiores que um slot, que bloqueiam todos os slots.
+            List<TransactionRequest> batch = List.of(
+              new TransactionRequest(reversed ? "SPLIT-6" : "SPLIT-5", Money.parse("1.00"), TransactionType.CREDIT),
+              new TransactionRequest(reversed ? "SPLIT-5" : "SPLIT-6", Money.parse("1.00"), TransactionType.CREDIT),
+              new TransactionRequest(reversed ? "SPLIT-6" : "SPLIT-5", Money.parse("60.00"), TransactionType.DEBIT),
+              new TransactionRequest(reversed ? "SPLIT-5" : "SPLIT-6", Money.parse("60.00"), TransactionType.DEBIT),
+              new TransactionRequest(reversed ? "SPLIT-6" : "SPLIT-5", Money.parse("60.00"), TransactionType.CREDIT),
+              new TransactionRequest(reversed ? "SPLIT-5" : "SPLIT-6", Money.parse("60.00"), TransactionType.CREDIT));
+            accountService.performTransactions(batch, atomicity);
+            appliedCents.addAndGet(200);
+          }
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    Money total = accountService.getAccountBalance("SPLIT-5").getBalance()
+      .plus(accountService.getAccountBalance("SPLIT-6").getBalance());
+    assertEquals(Money.parse("400.00").plus(Money.ofMinorUnits(appliedCents.get())), total);
+  }
+
+  @Test
+  @DisplayName("Deve lançar o erro do primeiro item do lote, mesmo que um item posterior seja de conta dividida")
+  void shouldThrowFirstFailureInSubmissionOrder() {
+    accountService.createAccountIfNotFound("SPLIT-7", Money.parse("10.00"));
+    splitBalanceManager.rebalanceAll();
+
+    List<TransactionRequest> batch = List.of(
+      new TransactionRequest("SPLIT-INEXISTENTE", Money.parse("1.00"), TransactionType.CREDIT),
+      new TransactionRequest("SPLIT-7", Money.parse("50.00"), TransactionType.DEBIT));
+
+    TransactionProcessingException exception = assertThrows(TransactionProcessingException.class,
+      () -> accountService.performTransactions(batch));
+
+    assertInstanceOf(AccountNotFoundException.class, exception.getCause());
+    assertSame(batch.getFirst(), exception.getFailedItem().orElseThrow());
+    assertEquals(Money.parse("10.00"), accountService.getAccountBalance("SPLIT-7").getBalance());
+  }
+
+}
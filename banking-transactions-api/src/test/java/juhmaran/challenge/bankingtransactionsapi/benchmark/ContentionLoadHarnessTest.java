@@ -0,0 +1,337 @@
+package juhmaran.challenge.bankingtransactionsapi.benchmark;
+
+import juhmaran.challenge.bankingtransactionsapi.BankingTransactionsApiApplication;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.AccountRepositoryPort;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.AccountService;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Harness de carga e de corretude para disputa pelas mesmas contas. Inicia a aplicação em uma porta aleatória, com o
+ * H2 em memória, e dispara de várias threads lotes de débitos e créditos em {@code POST /accounts/transactions} e
+ * consultas em {@code GET /accounts/{accountNumber}/balance}, misturando poucas contas muito disputadas
+ * (quentes) com muitas contas pouco disputadas (frias). Ao final informa a vazão, as latências p50/p99/p999 de
+ * escritas e leituras e as contagens por desfecho, e verifica que o saldo de cada conta é exatamente o saldo inicial
+ * somado aos lançamentos das requisições bem-sucedidas. Executado apenas com {@code mvn test -Pbenchmark}.
+ * <p>
+ * Configuração por propriedades de sistema:
+ * <ul>
+ *   <li>{@code harness.threads} (padrão {@code 32}): threads clientes simultâneas;</li>
+ *   <li>{@code harness.duration} (padrão {@code 20s}): duração da carga;</li>
+ *   <li>{@code harness.hot-accounts} / {@code harness.cold-accounts} (padrão {@code 4} / {@code 1000});</li>
+ *   <li>{@code harness.hot-ratio} (padrão {@code 0.8}): fração dos lançamentos em contas quentes;</li>
+ *   <li>{@code harness.read-ratio} (padrão {@code 0.2}): fração das requisições que são consultas de saldo;</li>
+ *   <li>{@code harness.batch-size} (padrão {@code 1}): lançamentos por requisição de escrita;</li>
+ *   <li>{@code harness.app} (padrão vazio): propriedades da aplicação separadas por {@code ;}, por exemplo
+ *   {@code banking.transactions.strategy=bulk;banking.transactions.striped-locks.enabled=true}.</li>
+ * </ul>
+ * <p>
+ * Respostas {@code 503} são contadas como esgotamento de espera por lock (locks em memória ou vaga no banco). Cada
+ * lote é enviado com um {@code Idempotency-Key}; se a requisição falhar no cliente (timeout, conexão encerrada), ela
+ * é reenviada com a mesma chave para descobrir o desfecho original sem aplicar o lote duas vezes, o que mantém a
+ * verificação de saldos exata.
+ * </p>
+ */
+@Tag("benchmark")
+class ContentionLoadHarnessTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(ContentionLoadHarnessTest.class);
+
+  private static final Money INITIAL_BALANCE = Money.parse("1000000.00");
+  private static final int MAX_AMOUNT_CENTS = 100;
+  private static final int CLIENT_ATTEMPTS = 3;
+  private static final Duration IN_PROGRESS_WAIT = Duration.ofSeconds(1);
+  private static final int MAX_IN_PROGRESS_WAITS = 120;
+
+  private final int threads = Integer.getInteger("harness.threads", 32);
+  private final Duration duration = Duration.parse("PT" + System.getProperty("harness.duration", "20s"));
+  private final int hotAccounts = Integer.getInteger("harness.hot-accounts", 4);
+  private final int coldAccounts = Integer.getInteger("harness.cold-accounts", 1000);
+  private final double hotRatio = Double.parseDouble(System.getProperty("harness.hot-ratio", "0.8"));
+  private final double readRatio = Double.parseDouble(System.getProperty("harness.read-ratio", "0.2"));
+  private final int batchSize = Integer.getInteger("harness.batch-size", 1);
+
+  @Test
+  @DisplayName("Benchmark: carga concorrente em contas quentes e frias com verificação dos saldos finais")
+  void runContentionHarness() throws Exception {
+    int accounts = hotAccounts + coldAccounts;
+    try (ConfigurableApplicationContext context = start()) {
+      int port = Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+      AccountService accountService = context.getBean(AccountService.class);
+      for (int i = 0; i < accounts; i++) {
+        accountService.createAccountIfNotFound(accountNumber(i), INITIAL_BALANCE);
+      }
+
+      AtomicLongArray expectedDeltas = new AtomicLongArray(accounts);
+      List<Stats> stats = run(port, expectedDeltas);
+      Stats total = Stats.merge(stats);
+      report(total);
+
+      assertTrue(total.writesSucceeded > 0, "Nenhuma escrita foi aplicada.");
+      assertEquals(0, total.unknown, "Requisições sem desfecho conhecido impedem a verificação exata dos saldos.");
+      AccountRepositoryPort repository = context.getBean(AccountRepositoryPort.class);
+      for (int i = 0; i < accounts; i++) {
+        long expected = INITIAL_BALANCE.minorUnits() + expectedDeltas.get(i);
+        long actual = repository.findByAccountNumber(accountNumber(i)).orElseThrow().getBalance().minorUnits();
+        assertEquals(expected, actual, "Saldo incorreto para " + accountNumber(i));
+      }
+    }
+  }
+
+  private ConfigurableApplicationContext start() {
+    List<String> args = new ArrayList<>(List.of(
+      "--server.port=0",
+      "--spring.datasource.url=jdbc:h2:mem:harness;DB_CLOSE_DELAY=-1",
+      "--spring.jpa.show-sql=false",
+      "--logging.level.org.hibernate.SQL=WARN",
+      "--logging.level.org.hibernate.orm.jdbc.bind=WARN",
+      "--logging.level.org.hibernate.orm.jdbc.batch=WARN",
+      "--logging.level.org.springframework.web=WARN",
+      "--logging.level.juhmaran.challenge.bankingtransactionsapi=WARN"));
+    for (String property : System.getProperty("harness.app", "").split(";")) {
+      if (!property.isBlank()) {
+        args.add("--" + property.trim());
+      }
+    }
+    return new SpringApplicationBuilder(BankingTransactionsApiApplication.class).run(args.toArray(String[]::new));
+  }
+
+  private List<Stats> run(int port, AtomicLongArray expectedDeltas) throws Exception {
+    String base = "http://localhost:" + port + "/api/v1/accounts";
+    long deadline = System.nanoTime() + duration.toNanos();
+    List<Stats> results = new ArrayList<>(threads);
+    try (HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+         ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+      List<Future<Stats>> futures = new ArrayList<>(threads);
+      for (int t = 0; t < threads; t++) {
+        futures.add(executor.submit(() -> {
+          Stats stats = new Stats();
+          while (System.nanoTime() < deadline) {
+            if (ThreadLocalRandom.current().nextDouble() < readRatio) {
+              read(client, base, stats);
+            } else {
+              write(client, base, stats, expectedDeltas);
+            }
+          }
+          return stats;
+        }));
+      }
+      for (Future<Stats> future : futures) {
+        results.add(future.get());
+      }
+    }
+    return results;
+  }
+
+  private void read(HttpClient client, String base, Stats stats) {
+    HttpRequest request = HttpRequest.newBuilder(URI.create(base + "/" + accountNumber(pickAccount()) + "/balance"))
+      .timeout(Duration.ofSeconds(30)).GET().build();
+    long sent = System.nanoTime();
+    try {
+      int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+      if (status / 100 == 2) {
+        stats.readsSucceeded++;
+      } else {
+        stats.countFailure(status);
+      }
+    } catch (IOException | InterruptedException e) {
+      stats.otherErrors++;
+    }
+    stats.readLatencies.add(System.nanoTime() - sent);
+  }
+
+  private void write(HttpClient client, String base, Stats stats, AtomicLongArray expectedDeltas) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int[] accounts = new int[batchSize];
+    long[] deltas = new long[batchSize];
+    StringBuilder body = new StringBuilder("[");
+    for (int i = 0; i < batchSize; i++) {
+      accounts[i] = pickAccount();
+      long cents = 1 + random.nextInt(MAX_AMOUNT_CENTS);
+      boolean credit = random.nextBoolean();
+      deltas[i] = credit ? cents : -cents;
+      if (i > 0) {
+        body.append(',');
+      }
+      body.append("{\"accountNumber\":\"").append(accountNumber(accounts[i])).append("\",\"amount\":")
+        .append(Money.ofMinorUnits(cents)).append(",\"type\":\"").append(credit ? "CREDIT" : "DEBIT").append("\"}");
+    }
+    body.append(']');
+    HttpRequest request = HttpRequest.newBuilder(URI.create(base + "/transactions"))
+      .timeout(Duration.ofSeconds(30))
+      .header("Content-Type", "application/json")
+      .header("Idempotency-Key", UUID.randomUUID().toString())
+      .POST(HttpRequest.BodyPublishers.ofString(body.toString())).build();
+
+    long sent = System.nanoTime();
+    Integer status = send(client, request, stats);
+    stats.writeLatencies.add(System.nanoTime() - sent);
+
+    if (status == null) {
+      stats.unknown++;
+    } else if (status / 100 == 2) {
+      stats.writesSucceeded++;
+      for (int i = 0; i < batchSize; i++) {
+        expectedDeltas.addAndGet(accounts[i], deltas[i]);
+      }
+    } else {
+      stats.countFailure(status);
+    }
+  }
+
+  /**
+   * Envia o lote e devolve o status final, ou {@code null} se o desfecho continuar desconhecido. Depois de uma falha
+   * no cliente, o reenvio com a mesma chave pode receber {@code 409} enquanto o envio original ainda está em
+   * processamento no servidor; nesse caso o reenvio é repetido até o desfecho original ficar disponível.
+   */
+  private static Integer send(HttpClient client, HttpRequest request, Stats stats) {
+    int failures = 0;
+    int waits = 0;
+    while (failures < CLIENT_ATTEMPTS && waits < MAX_IN_PROGRESS_WAITS) {
+      try {
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status != 409 || failures == 0) {
+          return status;
+        }
+        waits++;
+        Thread.sleep(IN_PROGRESS_WAIT.toMillis());
+      } catch (IOException e) {
+        failures++;
+        stats.clientRetries++;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return null;
+      }
+    }
+    return null;
+  }
+
+  private int pickAccount() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    if (coldAccounts == 0 || (hotAccounts > 0 && random.nextDouble() < hotRatio)) {
+      return random.nextInt(hotAccounts);
+    }
+    return hotAccounts + random.nextInt(coldAccounts);
+  }
+
+  private void report(Stats total) {
+    double seconds = duration.toNanos() / 1_000_000_000.0;
+    long[] writes = total.writeLatencies.sorted();
+    long[] reads = total.readLatencies.sorted();
+    logger.warn("Harness: {} threads, {} contas quentes / {} frias, {}% em contas quentes, {}% leituras, lotes de {}",
+      threads, hotAccounts, coldAccounts, Math.round(hotRatio * 100), Math.round(readRatio * 100), batchSize);
+    logger.warn("Escritas: {} req/s ({} lançamentos/s), p50={} ms, p99={} ms, p999={} ms",
+      Math.round(writes.length / seconds), Math.round(total.writesSucceeded * batchSize / seconds),
+      millis(writes, 0.50), millis(writes, 0.99), millis(writes, 0.999));
+    logger.warn("Leituras: {} req/s, p50={} ms, p99={} ms, p999={} ms",
+      Math.round(reads.length / seconds), millis(reads, 0.50), millis(reads, 0.99), millis(reads, 0.999));
+    logger.warn("Desfechos: {} escritas e {} leituras com sucesso, {} timeouts de lock (503), {} conflitos (409), "
+        + "{} outros erros, {} reenvios no cliente, {} sem desfecho", total.writesSucceeded, total.readsSucceeded,
+      total.lockTimeouts, total.conflicts, total.otherErrors, total.clientRetries, total.unknown);
+  }
+
+  private static String millis(long[] sortedNanos, double percentile) {
+    if (sortedNanos.length == 0) {
+      return "-";
+    }
+    int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+    return String.format("%.2f", sortedNanos[Math.max(0, index)] / 1_000_000.0);
+  }
+
+  private static String accountNumber(int index) {
+    return "H" + index;
+  }
+
+  /**
+   * Contadores de uma thread cliente, sem sincronização; somados ao final.
+   */
+  private static final class Stats {
+
+    private final LongList writeLatencies = new LongList();
+    private final LongList readLatencies = new LongList();
+    private long writesSucceeded;
+    private long readsSucceeded;
+    private long lockTimeouts;
+    private long conflicts;
+    private long otherErrors;
+    private long clientRetries;
+    private long unknown;
+
+    void countFailure(int status) {
+      switch (status) {
+        case 503 -> lockTimeouts++;
+        case 409 -> conflicts++;
+        default -> otherErrors++;
+      }
+    }
+
+    static Stats merge(List<Stats> all) {
+      Stats total = new Stats();
+      for (Stats stats : all) {
+        total.writeLatencies.addAll(stats.writeLatencies);
+        total.readLatencies.addAll(stats.readLatencies);
+        total.writesSucceeded += stats.writesSucceeded;
+        total.readsSucceeded += stats.readsSucceeded;
+        total.lockTimeouts += stats.lockTimeouts;
+        total.conflicts += stats.conflicts;
+        total.otherErrors += stats.otherErrors;
+        total.clientRetries += stats.clientRetries;
+        total.unknown += stats.unknown;
+      }
+      return total;
+    }
+
+  }
+
+  private static final class LongList {
+
+    private long[] values = new long[1024];
+    private int size;
+
+    void add(long value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+      values[size++] = value;
+    }
+
+    void addAll(LongList other) {
+      for (int i = 0; i < other.size; i++) {
+        add(other.values[i]);
+      }
+    }
+
+    long[] sorted() {
+      long[] copy = Arrays.copyOf(values, size);
+      Arrays.sort(copy);
+      return copy;
+    }
+
+  }
+
+}
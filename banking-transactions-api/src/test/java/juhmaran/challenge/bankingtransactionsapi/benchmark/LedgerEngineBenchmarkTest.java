@@ -0,0 +1,138 @@
+package juhmaran.challenge.bankingtransactionsapi.benchmark;
+
+import juhmaran.challenge.bankingtransactionsapi.application.port.in.AccountServicePort;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.AccountRepositoryPort;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.TransactionJournalPort;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.AccountService;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.ledger.LedgerPersistenceWriter;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.ledger.ShardedLedgerService;
+import juhmaran.challenge.bankingtransactionsapi.domain.service.AccountOperationService;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.LedgerProperties;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.enums.TransactionType;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.request.TransactionRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara a vazão do caminho JPA atual ({@link AccountService}) com o ledger em memória
+ * ({@link ShardedLedgerService}). Executado apenas com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+  "spring.jpa.show-sql=false",
+  "logging.level.org.hibernate.SQL=WARN",
+  "logging.level.org.hibernate.orm.jdbc.bind=WARN",
+  "logging.level.juhmaran.challenge.bankingtransactionsapi=WARN"
+})
+class LedgerEngineBenchmarkTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(LedgerEngineBenchmarkTest.class);
+
+  private static final int ACCOUNTS = 200;
+  private static final int THREADS = 16;
+  private static final int BATCHES_PER_THREAD = 200;
+  private static final int BATCH_SIZE = 10;
+
+  @Autowired
+  private AccountService accountService;
+
+  @Autowired
+  private AccountRepositoryPort accountRepositoryPort;
+
+  @Autowired
+  private LedgerPersistenceWriter persistenceWriter;
+
+  @Autowired
+  private TransactionJournalPort transactionJournalPort;
+
+  @BeforeEach
+  void setUp() {
+    for (int i = 0; i < ACCOUNTS; i++) {
+      accountService.createAccountIfNotFound(accountNumber(i), Money.parse("1000000.00"));
+    }
+  }
+
+  @Test
+  @DisplayName("Benchmark: caminho JPA com lock pessimista x ledger em memória particionado")
+  void compareJpaAndShardedEngines() throws Exception {
+    Result jpa = measure(accountService);
+
+    ShardedLedgerService ledgerService = new ShardedLedgerService(accountRepositoryPort, new AccountOperationService(),
+      persistenceWriter, transactionJournalPort, new LedgerProperties("sharded", 0, Duration.ofMillis(200)));
+    Result sharded;
+    try {
+      sharded = measure(ledgerService);
+    } finally {
+      ledgerService.shutdown();
+    }
+
+    logger.warn("Ledger benchmark: jpa={} ops/s ({} lotes com falha), sharded={} ops/s ({} lotes com falha)",
+      Math.round(jpa.opsPerSecond()), jpa.failedBatches(), Math.round(sharded.opsPerSecond()), sharded.failedBatches());
+    assertTrue(jpa.opsPerSecond() > 0 && sharded.opsPerSecond() > 0);
+  }
+
+  private Result measure(AccountServicePort servicePort) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      long start = System.nanoTime();
+      List<Future<Integer>> futures = new ArrayList<>();
+      for (int t = 0; t < THREADS; t++) {
+        futures.add(executor.submit(() -> {
+          int failed = 0;
+          for (int b = 0; b < BATCHES_PER_THREAD; b++) {
+            try {
+              servicePort.performTransactions(randomBatch());
+            } catch (RuntimeException e) {
+              failed++;
+            }
+          }
+          return failed;
+        }));
+      }
+      int failedBatches = 0;
+      for (Future<Integer> future : futures) {
+        failedBatches += future.get();
+      }
+      double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+      int succeededBatches = THREADS * BATCHES_PER_THREAD - failedBatches;
+      return new Result(succeededBatches * BATCH_SIZE / seconds, failedBatches);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private static List<TransactionRequest> randomBatch() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    List<TransactionRequest> batch = new ArrayList<>(BATCH_SIZE);
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      TransactionType type = random.nextBoolean() ? TransactionType.CREDIT : TransactionType.DEBIT;
+      batch.add(new TransactionRequest(accountNumber(random.nextInt(ACCOUNTS)), Money.parse("1.00"), type));
+    }
+    return batch;
+  }
+
+  private static String accountNumber(int index) {
+    return "B" + index;
+  }
+
+  private record Result(double opsPerSecond, int failedBatches) {
+  }
+
+}
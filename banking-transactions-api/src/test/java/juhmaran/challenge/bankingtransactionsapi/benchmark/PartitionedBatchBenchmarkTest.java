@@ -0,0 +1,166 @@
+package juhmaran.challenge.bankingtransactionsapi.benchmark;
+
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.AccountRepositoryPort;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.AccountService;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.metrics.TransactionMetrics;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.parallel.PartitionedBatchExecutor;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.processor.BulkTransactionProcessor;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.processor.SingleTransactionProcessor;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.TransactionProcessingException;
+import juhmaran.challenge.bankingtransactionsapi.domain.service.AccountOperationService;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.TransactionProperties;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.enums.TransactionType;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.request.TransactionRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Mede a execução de lotes com muitas contas distintas no caminho sequencial (um item por vez e em massa) e no
+ * {@link PartitionedBatchExecutor} com paralelismo crescente, e confere que os saldos finais são os mesmos. Executado
+ * apenas com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+  "spring.jpa.show-sql=false",
+  "spring.datasource.hikari.maximum-pool-size=20",
+  "logging.level.org.hibernate.SQL=WARN",
+  "logging.level.org.hibernate.orm.jdbc.bind=WARN",
+  "logging.level.juhmaran.challenge.bankingtransactionsapi=WARN"
+})
+class PartitionedBatchBenchmarkTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(PartitionedBatchBenchmarkTest.class);
+
+  private static final int ACCOUNTS = 500;
+  private static final int BATCH_SIZE = 1000;
+  private static final int BATCHES = 20;
+  private static final Money INITIAL_BALANCE = Money.parse("1000000.00");
+
+  @Autowired
+  private AccountService accountService;
+
+  @Autowired
+  private AccountRepositoryPort accountRepositoryPort;
+
+  @Autowired
+  private SingleTransactionProcessor singleTransactionProcessor;
+
+  @Autowired
+  private BulkTransactionProcessor bulkTransactionProcessor;
+
+  @Autowired
+  private TransactionOperations transactionOperations;
+
+  @Autowired
+  private AccountOperationService accountOperationService;
+
+  @Autowired
+  private TransactionMetrics transactionMetrics;
+
+  @BeforeEach
+  void setUp() {
+    for (int i = 0; i < ACCOUNTS; i++) {
+      accountService.createAccountIfNotFound(accountNumber(i), INITIAL_BALANCE);
+    }
+  }
+
+  @Test
+  @DisplayName("Benchmark: lote sequencial x lote particionado por conta com paralelismo crescente")
+  void compareSequentialAndPartitionedExecution() throws InterruptedException {
+    List<TransactionRequest> batch = batch();
+
+    transactionOperations.executeWithoutResult(status -> batch.forEach(singleTransactionProcessor::process));
+    long expected = balanceSum();
+    double sequential = measure(() -> transactionOperations.executeWithoutResult(
+      status -> batch.forEach(singleTransactionProcessor::process)));
+    expected += BATCHES * netMinorUnits(batch);
+    double bulk = measure(() -> transactionOperations.executeWithoutResult(
+      status -> bulkTransactionProcessor.process(batch)));
+    expected += BATCHES * netMinorUnits(batch);
+    assertEquals(expected, balanceSum());
+    logger.warn("Lote particionado: sequencial={} itens/s, em massa={} itens/s ({} processadores)",
+      Math.round(sequential), Math.round(bulk), Runtime.getRuntime().availableProcessors());
+
+    for (int parallelism : new int[]{2, 4, 8}) {
+      PartitionedBatchExecutor executor = new PartitionedBatchExecutor(properties(parallelism), accountRepositoryPort,
+        accountOperationService, transactionMetrics);
+      try {
+        double parallel = measure(() -> assertEquals(Boolean.TRUE,
+          transactionOperations.execute(status -> executor.tryProcess(batch))));
+        expected += BATCHES * netMinorUnits(batch);
+        assertEquals(expected, balanceSum(), "O resultado deve ser idêntico ao da execução sequencial");
+        logger.warn("Lote particionado: paralelismo={} -> {} itens/s ({}x o sequencial, {}x o em massa)",
+          parallelism, Math.round(parallel), String.format("%.2f", parallel / sequential),
+          String.format("%.2f", parallel / bulk));
+
+        List<TransactionRequest> failing = new ArrayList<>(batch);
+        failing.add(new TransactionRequest(accountNumber(7), Money.parse("999999999.00"), TransactionType.DEBIT));
+        assertThrows(TransactionProcessingException.class,
+          () -> transactionOperations.executeWithoutResult(status -> executor.tryProcess(failing)));
+        assertEquals(expected, balanceSum(), "Um item com erro deve desfazer o lote inteiro");
+      } finally {
+        executor.shutdown();
+      }
+    }
+  }
+
+  private double measure(Runnable batchExecution) {
+    long start = System.nanoTime();
+    for (int i = 0; i < BATCHES; i++) {
+      batchExecution.run();
+    }
+    return BATCHES * BATCH_SIZE / ((System.nanoTime() - start) / 1_000_000_000.0);
+  }
+
+  private long balanceSum() {
+    long sum = 0;
+    for (int i = 0; i < ACCOUNTS; i++) {
+      sum += accountRepositoryPort.findByAccountNumber(accountNumber(i)).orElseThrow().getBalance().minorUnits();
+    }
+    return sum;
+  }
+
+  private static TransactionProperties properties(int parallelism) {
+    return new TransactionProperties(TransactionProperties.Strategy.PER_ITEM,
+      new TransactionProperties.StripedLocks(false, 1024, Duration.ofSeconds(5)),
+      new TransactionProperties.Optimistic(5, Duration.ZERO, Duration.ZERO),
+      new TransactionProperties.ConnectionLimit(false, 0, Duration.ofSeconds(30)),
+      new TransactionProperties.Parallel(true, parallelism, 64),
+      new TransactionProperties.Coalescing(false, Duration.ZERO, 64));
+  }
+
+  private static List<TransactionRequest> batch() {
+    List<TransactionRequest> batch = new ArrayList<>(BATCH_SIZE);
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      TransactionType type = i % 3 == 0 ? TransactionType.DEBIT : TransactionType.CREDIT;
+      batch.add(new TransactionRequest(accountNumber(i % ACCOUNTS), Money.parse("1.00"), type));
+    }
+    return batch;
+  }
+
+  private static long netMinorUnits(List<TransactionRequest> batch) {
+    return batch.stream()
+      .mapToLong(tx -> tx.type() == TransactionType.CREDIT ? tx.amount().minorUnits() : -tx.amount().minorUnits())
+      .sum();
+  }
+
+  private static String accountNumber(int index) {
+    return "P" + index;
+  }
+
+}
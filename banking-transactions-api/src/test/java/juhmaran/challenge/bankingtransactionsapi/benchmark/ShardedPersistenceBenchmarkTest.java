@@ -0,0 +1,110 @@
+package juhmaran.challenge.bankingtransactionsapi.benchmark;
+
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.metrics.TransactionMetrics;
+import juhmaran.challenge.bankingtransactionsapi.domain.entity.Account;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.out.shard.ShardedAccountJdbcAdapter;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.out.shard.ShardedDataSources;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.out.shard.ShardedTransactionManager;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.ShardProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Mede a vazão de créditos concorrentes, cada um em uma transação com lock da linha, com as contas distribuídas entre
+ * 1, 2 e 4 shards H2 em memória, e confere o saldo final de cada conta. Executado apenas com
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class ShardedPersistenceBenchmarkTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(ShardedPersistenceBenchmarkTest.class);
+
+  private static final int THREADS = 16;
+  private static final int ACCOUNTS = 64;
+  private static final int CREDITS_PER_THREAD = 2000;
+  private static final int POOL_SIZE_PER_SHARD = 4;
+  private static final Money AMOUNT = Money.parse("1.00");
+
+  @Test
+  @DisplayName("Benchmark: créditos concorrentes com 1, 2 e 4 shards")
+  void compareCreditThroughputByShards() throws Exception {
+    double baseline = 0;
+    for (int shards : new int[]{1, 2, 4}) {
+      double throughput = measure(shards);
+      baseline = baseline == 0 ? throughput : baseline;
+      logger.warn("Shards: {} -> {} créditos/s ({}x, {} processadores)", shards, Math.round(throughput),
+        String.format("%.2f", throughput / baseline), Runtime.getRuntime().availableProcessors());
+    }
+  }
+
+  private double measure(int shards) throws Exception {
+    List<ShardProperties.Shard> datasources = new ArrayList<>();
+    for (int i = 0; i < shards; i++) {
+      datasources.add(new ShardProperties.Shard("jdbc:h2:mem:shardbench" + shards + "-" + i
+        + ";DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000", "sa", "", POOL_SIZE_PER_SHARD));
+    }
+    try (ShardedDataSources dataSources = new ShardedDataSources(new ShardProperties(true, datasources))) {
+      ShardedAccountJdbcAdapter adapter = new ShardedAccountJdbcAdapter(dataSources,
+        mock(TransactionMetrics.class, withSettings().stubOnly()));
+      TransactionTemplate transactions = new TransactionTemplate(new ShardedTransactionManager(dataSources));
+      for (int a = 0; a < ACCOUNTS; a++) {
+        adapter.save(new Account(null, "BENCH-" + a, Money.ZERO));
+      }
+
+      credit(adapter, transactions, CREDITS_PER_THREAD / 10);
+      long start = System.nanoTime();
+      credit(adapter, transactions, CREDITS_PER_THREAD);
+      double throughput = THREADS * CREDITS_PER_THREAD / ((System.nanoTime() - start) / 1_000_000_000.0);
+
+      long total = 0;
+      for (int a = 0; a < ACCOUNTS; a++) {
+        total += adapter.findByAccountNumber("BENCH-" + a).orElseThrow().getBalance().minorUnits();
+      }
+      assertEquals(AMOUNT.minorUnits() * THREADS * (CREDITS_PER_THREAD + CREDITS_PER_THREAD / 10L), total);
+      return throughput;
+    }
+  }
+
+  private void credit(ShardedAccountJdbcAdapter adapter, TransactionTemplate transactions, int creditsPerThread)
+    throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < THREADS; t++) {
+        int thread = t;
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < creditsPerThread; i++) {
+            String accountNumber = "BENCH-" + ((thread + i * THREADS) % ACCOUNTS);
+            transactions.executeWithoutResult(status -> {
+              Account account = adapter.findByAccountNumberWithLock(accountNumber).orElseThrow();
+              account.setBalance(account.getBalance().plus(AMOUNT));
+              adapter.save(account);
+            });
+          }
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+}
@@ -0,0 +1,110 @@
+package juhmaran.challenge.bankingtransactionsapi.benchmark;
+
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.AccountService;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.split.SplitBalanceManager;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.enums.TransactionType;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.request.TransactionRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Mede a vazão de créditos concorrentes em uma única conta conforme a quantidade de slots do saldo dividido cresce
+ * ({@code K = 1} é a linha única da tabela {@code accounts}, na estratégia configurada), e confere o saldo final de
+ * cada conta. Executado apenas com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+  "banking.split-balance.enabled=true",
+  "banking.split-balance.accounts[K2]=2",
+  "banking.split-balance.accounts[K4]=4",
+  "banking.split-balance.accounts[K8]=8",
+  "banking.split-balance.accounts[K16]=16",
+  "banking.split-balance.rebalance-interval=1h",
+  "banking.balance-cache.enabled=false",
+  "spring.jpa.show-sql=false",
+  "spring.datasource.hikari.maximum-pool-size=20",
+  "logging.level.org.hibernate.SQL=WARN",
+  "logging.level.org.hibernate.orm.jdbc.bind=WARN",
+  "logging.level.juhmaran.challenge.bankingtransactionsapi=WARN"
+})
+class SplitBalanceBenchmarkTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(SplitBalanceBenchmarkTest.class);
+
+  private static final int THREADS = 16;
+  private static final int CREDITS_PER_THREAD = 500;
+  private static final Money AMOUNT = Money.parse("1.00");
+
+  @Autowired
+  private AccountService accountService;
+
+  @Autowired
+  private SplitBalanceManager splitBalanceManager;
+
+  @Test
+  @DisplayName("Benchmark: créditos concorrentes em uma conta com 1, 2, 4, 8 e 16 slots")
+  void compareCreditThroughputBySlots() throws Exception {
+    String[] accounts = {"K1", "K2", "K4", "K8", "K16"};
+    for (String account : accounts) {
+      accountService.createAccountIfNotFound(account, Money.ZERO);
+    }
+    splitBalanceManager.rebalanceAll();
+
+    for (String account : accounts) {
+      credit(account, 50);
+    }
+
+    double baseline = 0;
+    for (String account : accounts) {
+      double throughput = measure(account);
+      baseline = baseline == 0 ? throughput : baseline;
+      logger.warn("Saldo dividido: {} slots -> {} créditos/s ({}x, {} processadores)", account.substring(1),
+        Math.round(throughput), String.format("%.2f", throughput / baseline),
+        Runtime.getRuntime().availableProcessors());
+      assertEquals(Money.ofMinorUnits(AMOUNT.minorUnits() * (THREADS * 50L + THREADS * (long) CREDITS_PER_THREAD)),
+        accountService.getAccountBalance(account).getBalance());
+    }
+  }
+
+  private double measure(String account) throws Exception {
+    long start = System.nanoTime();
+    credit(account, CREDITS_PER_THREAD);
+    return THREADS * CREDITS_PER_THREAD / ((System.nanoTime() - start) / 1_000_000_000.0);
+  }
+
+  private void credit(String account, int creditsPerThread) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < THREADS; t++) {
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < creditsPerThread; i++) {
+            accountService.performTransactions(List.of(
+              new TransactionRequest(account, AMOUNT, TransactionType.CREDIT)));
+          }
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+}
@@ -0,0 +1,173 @@
+package juhmaran.challenge.bankingtransactionsapi.benchmark;
+
+import juhmaran.challenge.bankingtransactionsapi.BankingTransactionsApiApplication;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.AccountRepositoryPort;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.AccountService;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara a API com o pool de threads de plataforma do Tomcat e com o perfil {@code virtual} (threads virtuais e
+ * limite de operações simultâneas no banco) sob 1k a 10k clientes HTTP simultâneos disputando poucas contas.
+ * Executado apenas com {@code mvn test -Pbenchmark}.
+ * <p>
+ * Os níveis de concorrência vêm de {@code -Dloadtest.clients} (padrão {@code 1000,5000}). Cada cliente mantém uma
+ * conexão aberta, e cliente e servidor rodam na mesma JVM: {@code 10000} clientes exigem um limite de arquivos
+ * abertos ({@code ulimit -n}) acima de 20000.
+ * </p>
+ */
+@Tag("benchmark")
+class ThreadingModeLoadTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(ThreadingModeLoadTest.class);
+
+  private static final int ACCOUNTS = 50;
+  private static final int REQUESTS_PER_CLIENT = 2;
+  private static final Money INITIAL_BALANCE = Money.parse("1000000.00");
+
+  @Test
+  @DisplayName("Benchmark: threads de plataforma x threads virtuais com milhares de clientes simultâneos")
+  void comparePlatformAndVirtualThreads() throws Exception {
+    int[] clientLevels = Arrays.stream(System.getProperty("loadtest.clients", "1000,5000").split(","))
+      .map(String::trim).mapToInt(Integer::parseInt).toArray();
+
+    for (String mode : List.of("platform", "virtual")) {
+      try (ConfigurableApplicationContext context = start(mode)) {
+        int port = Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+        AccountService accountService = context.getBean(AccountService.class);
+        for (int i = 0; i < ACCOUNTS; i++) {
+          accountService.createAccountIfNotFound(accountNumber(i), INITIAL_BALANCE);
+        }
+
+        long applied = 0;
+        for (int clients : clientLevels) {
+          Result result = run(port, clients);
+          applied += result.succeeded();
+          logger.warn("Carga {} com {} clientes: {} req/s, p50={} ms, p99={} ms, {} falhas, pico de {} threads",
+            mode, clients, Math.round(result.requestsPerSecond()), result.p50Millis(), result.p99Millis(),
+            result.failed(), result.peakThreads());
+          assertTrue(result.succeeded() > 0);
+        }
+
+        AccountRepositoryPort repository = context.getBean(AccountRepositoryPort.class);
+        long total = 0;
+        for (int i = 0; i < ACCOUNTS; i++) {
+          total += repository.findByAccountNumber(accountNumber(i)).orElseThrow().getBalance().minorUnits();
+        }
+        assertEquals(INITIAL_BALANCE.minorUnits() * ACCOUNTS + applied * 100L, total,
+          "Cada requisição bem-sucedida deve creditar exatamente 1.00");
+      }
+    }
+  }
+
+  private static ConfigurableApplicationContext start(String mode) {
+    SpringApplicationBuilder builder = new SpringApplicationBuilder(BankingTransactionsApiApplication.class)
+      .properties(
+        "server.port=0",
+        "server.tomcat.max-connections=12000",
+        "server.tomcat.accept-count=2000",
+        "spring.datasource.url=jdbc:h2:mem:load-" + mode + ";DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.orm.jdbc.bind=WARN",
+        "logging.level.juhmaran.challenge.bankingtransactionsapi=WARN",
+        "logging.level.juhmaran.challenge.bankingtransactionsapi.benchmark=INFO");
+    if ("virtual".equals(mode)) {
+      builder.profiles("virtual");
+    }
+    return builder.run();
+  }
+
+  private static Result run(int port, int clients) throws Exception {
+    URI uri = URI.create("http://localhost:" + port + "/api/v1/accounts/transactions");
+    ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    threads.resetPeakThreadCount();
+    long[] latencies = new long[clients * REQUESTS_PER_CLIENT];
+    CountDownLatch ready = new CountDownLatch(clients);
+    CountDownLatch go = new CountDownLatch(1);
+
+    long start;
+    int succeeded = 0;
+    int failed = 0;
+    try (HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+         ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      List<Future<int[]>> futures = new ArrayList<>(clients);
+      for (int c = 0; c < clients; c++) {
+        int slot = c * REQUESTS_PER_CLIENT;
+        futures.add(executor.submit(() -> {
+          int[] outcome = new int[2];
+          ready.countDown();
+          go.await();
+          for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+            String body = "[{\"accountNumber\":\"" + accountNumber(ThreadLocalRandom.current().nextInt(ACCOUNTS))
+              + "\",\"amount\":1.00,\"type\":\"CREDIT\"}]";
+            HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(120))
+              .header("Content-Type", "application/json")
+              .POST(HttpRequest.BodyPublishers.ofString(body)).build();
+            long sent = System.nanoTime();
+            try {
+              int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+              outcome[status / 100 == 2 ? 0 : 1]++;
+            } catch (Exception e) {
+              outcome[1]++;
+            }
+            latencies[slot + r] = System.nanoTime() - sent;
+          }
+          return outcome;
+        }));
+      }
+      ready.await();
+      start = System.nanoTime();
+      go.countDown();
+      for (Future<int[]> future : futures) {
+        int[] outcome = future.get();
+        succeeded += outcome[0];
+        failed += outcome[1];
+      }
+    }
+    double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+    Arrays.sort(latencies);
+    return new Result((succeeded + failed) / seconds, percentileMillis(latencies, 0.50),
+      percentileMillis(latencies, 0.99), succeeded, failed, threads.getPeakThreadCount());
+  }
+
+  private static long percentileMillis(long[] sortedNanos, double percentile) {
+    int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+    return sortedNanos[Math.max(0, index)] / 1_000_000;
+  }
+
+  private static String accountNumber(int index) {
+    return "L" + index;
+  }
+
+  private record Result(double requestsPerSecond, long p50Millis, long p99Millis, int succeeded, int failed,
+                        int peakThreads) {
+  }
+
+}
@@ -0,0 +1,149 @@
+package juhmaran.challenge.bankingtransactionsapi.benchmark;
+
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.JournalEntry;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.out.journal.MappedTransactionJournal;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.JournalProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Mede a vazão de gravação do {@link MappedTransactionJournal} (group commit x sem {@code fsync}) e o tempo de
+ * recuperação com e sem snapshot. Executado apenas com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class TransactionJournalBenchmarkTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(TransactionJournalBenchmarkTest.class);
+
+  private static final int ACCOUNTS = 1_000;
+  private static final int THREADS = 16;
+  private static final int BATCHES_PER_THREAD = 2_000;
+  private static final int BATCH_SIZE = 10;
+  private static final int RECOVERY_BATCHES = 200_000;
+
+  @TempDir
+  private Path directory;
+
+  @Test
+  @DisplayName("Benchmark: vazão de gravação do journal com group commit x sem fsync")
+  void measureAppendThroughput() throws Exception {
+    double group = measureAppends(directory.resolve("group"), JournalProperties.Fsync.GROUP);
+    double none = measureAppends(directory.resolve("none"), JournalProperties.Fsync.NONE);
+
+    logger.warn("Journal ({} threads, lotes de {} lançamentos): group commit = {} lotes/s | sem fsync = {} lotes/s",
+      THREADS, BATCH_SIZE, String.format("%.0f", group), String.format("%.0f", none));
+  }
+
+  @Test
+  @DisplayName("Benchmark: tempo de recuperação do journal com e sem snapshot")
+  void measureRecoveryTime() {
+    Path full = directory.resolve("full");
+    Path snapshot = directory.resolve("snapshot");
+    writeRecoveryJournal(full, false);
+    writeRecoveryJournal(snapshot, true);
+
+    long fullMillis = measureRecovery(full, RECOVERY_BATCHES + 1L);
+    long snapshotMillis = measureRecovery(snapshot, RECOVERY_BATCHES / 10);
+
+    logger.warn("Recuperação de {} lotes: replay completo = {} ms | snapshot + 10% finais = {} ms",
+      RECOVERY_BATCHES, fullMillis, snapshotMillis);
+  }
+
+  private double measureAppends(Path path, JournalProperties.Fsync fsync) throws Exception {
+    MappedTransactionJournal journal = new MappedTransactionJournal(properties(path, fsync));
+    try {
+      journal.append(openings());
+      ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+      try {
+        long started = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+          int thread = t;
+          futures.add(executor.submit(() -> {
+            for (int b = 0; b < BATCHES_PER_THREAD; b++) {
+              journal.append(batch(thread * BATCHES_PER_THREAD + b));
+            }
+          }));
+        }
+        for (Future<?> future : futures) {
+          future.get();
+        }
+        return THREADS * BATCHES_PER_THREAD / ((System.nanoTime() - started) / 1_000_000_000.0);
+      } finally {
+        executor.shutdown();
+      }
+    } finally {
+      journal.close();
+    }
+  }
+
+  private void writeRecoveryJournal(Path path, boolean snapshotBeforeTail) {
+    MappedTransactionJournal journal = new MappedTransactionJournal(properties(path, JournalProperties.Fsync.NONE));
+    try {
+      journal.append(openings());
+      for (int b = 0; b < RECOVERY_BATCHES; b++) {
+        if (snapshotBeforeTail && b == RECOVERY_BATCHES - RECOVERY_BATCHES / 10) {
+          journal.snapshot();
+        }
+        journal.append(batch(b));
+      }
+    } finally {
+      journal.close();
+    }
+  }
+
+  private long measureRecovery(Path path, long expectedRecords) {
+    long started = System.nanoTime();
+    MappedTransactionJournal journal = new MappedTransactionJournal(properties(path, JournalProperties.Fsync.NONE));
+    long elapsed = (System.nanoTime() - started) / 1_000_000;
+    try {
+      assertEquals(ACCOUNTS, journal.balances().size());
+      assertEquals(expectedRecords, journal.recoveredRecords());
+    } finally {
+      journal.close();
+    }
+    return elapsed;
+  }
+
+  private static JournalProperties properties(Path path, JournalProperties.Fsync fsync) {
+    return new JournalProperties(true, path, DataSize.ofMegabytes(64), fsync, Duration.ZERO);
+  }
+
+  private static List<JournalEntry> openings() {
+    List<JournalEntry> entries = new ArrayList<>(ACCOUNTS);
+    for (int i = 0; i < ACCOUNTS; i++) {
+      entries.add(new JournalEntry(JournalEntry.Type.OPEN, accountNumber(i), Money.ofMinorUnits(1_000_000L)));
+    }
+    return entries;
+  }
+
+  private static List<JournalEntry> batch(int seed) {
+    List<JournalEntry> entries = new ArrayList<>(BATCH_SIZE);
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      JournalEntry.Type type = i % 2 == 0 ? JournalEntry.Type.CREDIT : JournalEntry.Type.DEBIT;
+      entries.add(new JournalEntry(type, accountNumber(seed * BATCH_SIZE + i), Money.ofMinorUnits(100L)));
+    }
+    return entries;
+  }
+
+  private static String accountNumber(int index) {
+    return "ACC-" + Math.floorMod(index, ACCOUNTS);
+  }
+
+}
@@ -0,0 +1,27 @@
+package juhmaran.challenge.bankingtransactionsapi.domain.valueobject;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AccountKeyTest {
+
+  @Test
+  @DisplayName("Deve converter números de conta canônicos em chaves numéricas")
+  void shouldParseCanonicalAccountNumbers() {
+    assertEquals(10011L, AccountKey.parse("1001-1"));
+    assertEquals(0L, AccountKey.parse("0-0"));
+    assertEquals(999_999_999_999_999_999L, AccountKey.parse("99999999999999999-9"));
+  }
+
+  @Test
+  @DisplayName("Deve recusar números fora do formato canônico")
+  void shouldRejectNonCanonicalAccountNumbers() {
+    for (String accountNumber : new String[]{null, "", "-1", "1001", "1001-12", "1001-x", "10a1-1", "01001-1",
+      "1001_1", "SHARD-A-0", "999999999999999999-9"}) {
+      assertEquals(AccountKey.NONE, AccountKey.parse(accountNumber), String.valueOf(accountNumber));
+    }
+  }
+
+}
@@ -0,0 +1,55 @@
+package juhmaran.challenge.bankingtransactionsapi.domain.valueobject;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+  @Test
+  @DisplayName("Deve interpretar valores decimais em unidades mínimas")
+  void shouldParseDecimalTextToMinorUnits() {
+    assertEquals(15075L, Money.parse("150.75").minorUnits());
+    assertEquals(15070L, Money.parse("150.7").minorUnits());
+    assertEquals(15000L, Money.parse("150").minorUnits());
+    assertEquals(15070L, Money.parse("150.700").minorUnits());
+    assertEquals(-50L, Money.parse("-0.50").minorUnits());
+  }
+
+  @Test
+  @DisplayName("Deve rejeitar valores com mais de duas casas decimais significativas")
+  void shouldRejectTooManyDecimalPlaces() {
+    assertThrows(IllegalArgumentException.class, () -> Money.parse("10.001"));
+    assertThrows(IllegalArgumentException.class, () -> Money.of(new BigDecimal("10.001")));
+  }
+
+  @Test
+  @DisplayName("Deve rejeitar textos que não são números decimais simples")
+  void shouldRejectInvalidFormat() {
+    assertThrows(IllegalArgumentException.class, () -> Money.parse("1e2"));
+    assertThrows(IllegalArgumentException.class, () -> Money.parse("."));
+    assertThrows(IllegalArgumentException.class, () -> Money.parse(""));
+  }
+
+  @Test
+  @DisplayName("Deve detectar estouro de capacidade na leitura e nas operações")
+  void shouldDetectOverflow() {
+    assertThrows(IllegalArgumentException.class, () -> Money.parse("99999999999999999999"));
+    Money max = Money.ofMinorUnits(Long.MAX_VALUE);
+    assertThrows(IllegalArgumentException.class, () -> max.plus(Money.ofMinorUnits(1)));
+    assertThrows(IllegalArgumentException.class, () -> Money.ofMinorUnits(Long.MIN_VALUE).minus(Money.ofMinorUnits(1)));
+  }
+
+  @Test
+  @DisplayName("Deve converter de e para BigDecimal preservando a escala")
+  void shouldConvertToAndFromBigDecimal() {
+    Money money = Money.of(new BigDecimal("2500.75"));
+    assertEquals(250075L, money.minorUnits());
+    assertEquals(new BigDecimal("2500.75"), money.toBigDecimal());
+    assertEquals("2500.75", money.toString());
+  }
+
+}
@@ -0,0 +1,100 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.in.stream;
+
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.AccountService;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.AccountNotFoundException;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.response.AccountImportProgress;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Importação de contas no banco H2 da aplicação, em blocos de duas contas.
+ */
+@SpringBootTest(properties = {
+  "banking.account-import.chunk-size=2",
+  "spring.jpa.show-sql=false",
+  "logging.level.org.hibernate.SQL=WARN",
+  "logging.level.org.hibernate.orm.jdbc.bind=WARN",
+  "logging.level.juhmaran.challenge.bankingtransactionsapi=OFF"
+})
+class AccountStreamImporterTest {
+
+  @Autowired
+  private AccountStreamImporter importer;
+
+  @Autowired
+  private AccountService accountService;
+
+  private final List<AccountImportProgress> lines = new ArrayList<>();
+
+  private AccountImportProgress importAccounts(String body, AccountStreamImporter.Format format) throws IOException {
+    return importer.importAccounts(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), format,
+      lines::add);
+  }
+
+  private Money balance(String accountNumber) {
+    return accountService.getAccountBalance(accountNumber).getBalance();
+  }
+
+  @Test
+  @DisplayName("Deve importar CSV em blocos, ignorando contas existentes e repetidas")
+  void shouldImportCsvSkippingExistingAccounts() throws IOException {
+    accountService.createAccountIfNotFound("7001-1", Money.parse("5.00"));
+
+    AccountImportProgress result = importAccounts("""
+      accountNumber,balance
+      7001-1,100.00
+      7002-2,200.50
+
+      7003-3, 0
+      IMPORT-A,10
+      7003-3,99
+      """, AccountStreamImporter.Format.CSV);
+
+    assertEquals(AccountImportProgress.Status.COMPLETED, result.status());
+    assertEquals(3, result.chunk());
+    assertEquals(3, result.imported());
+    assertEquals(2, result.skipped());
+    assertEquals(4, lines.size());
+    assertEquals(List.of(1L, 3L, 3L), lines.subList(0, 3).stream().map(AccountImportProgress::imported).toList());
+    assertEquals(List.of(1L, 1L, 2L), lines.subList(0, 3).stream().map(AccountImportProgress::skipped).toList());
+    assertEquals(result, lines.getLast());
+    assertEquals(Money.parse("5.00"), balance("7001-1"));
+    assertEquals(Money.parse("200.50"), balance("7002-2"));
+    assertEquals(Money.ZERO, balance("7003-3"));
+    assertEquals(Money.parse("10.00"), balance("IMPORT-A"));
+
+    accountService.createAccountIfNotFound("7004-4", Money.parse("1.00"));
+    assertEquals(Money.parse("1.00"), balance("7004-4"));
+  }
+
+  @Test
+  @DisplayName("Deve interromper a importação NDJSON no primeiro item inválido, mantendo os blocos anteriores")
+  void shouldStopNdjsonImportAtFirstInvalidItem() throws IOException {
+    AccountImportProgress result = importAccounts("""
+      {"accountNumber":"8001-1","balance":1.00}
+      {"accountNumber":"8002-2","balance":2.00}
+      {"accountNumber":"8003-3","balance":3.00}
+      {"accountNumber":"","balance":4.00}
+      """, AccountStreamImporter.Format.NDJSON);
+
+    assertEquals(AccountImportProgress.Status.FAILED, result.status());
+    assertEquals(2, result.chunk());
+    assertEquals(2, result.imported());
+    assertEquals("Item 4: O número da conta não pode estar em branco.", result.message());
+    assertEquals(result, lines.getLast());
+    assertEquals(Money.parse("2.00"), balance("8002-2"));
+    assertThrows(AccountNotFoundException.class, () -> balance("8003-3"));
+  }
+
+}
@@ -0,0 +1,150 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.in.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import jakarta.validation.Validation;
+import juhmaran.challenge.bankingtransactionsapi.application.port.in.AccountServicePort;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.InsufficientFundsException;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.StreamingProperties;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.request.TransactionRequest;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.response.TransactionStreamProgress;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.json.MoneyJsonComponent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionStreamIngestorTest {
+
+  @Mock
+  private AccountServicePort accountServicePort;
+
+  private ObjectMapper objectMapper;
+  private TransactionStreamIngestor ingestor;
+  private ByteArrayOutputStream output;
+  private List<List<TransactionRequest>> chunks;
+
+  @BeforeEach
+  void setUp() {
+    objectMapper = new ObjectMapper().registerModule(new SimpleModule()
+      .addSerializer(Money.class, new MoneyJsonComponent.Serializer())
+      .addDeserializer(Money.class, new MoneyJsonComponent.Deserializer()));
+    ingestor = new TransactionStreamIngestor(accountServicePort,
+      Validation.buildDefaultValidatorFactory().getValidator(), objectMapper, new StreamingProperties(2));
+    output = new ByteArrayOutputStream();
+    chunks = new ArrayList<>();
+    lenient().doAnswer(invocation -> chunks.add(List.copyOf(invocation.getArgument(0))))
+      .when(accountServicePort).performTransactions(anyList());
+  }
+
+  private TransactionStreamProgress ingest(String body) throws IOException {
+    return ingestor.ingest(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), output);
+  }
+
+  private List<TransactionStreamProgress> progressLines() throws IOException {
+    List<TransactionStreamProgress> lines = new ArrayList<>();
+    for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+      lines.add(objectMapper.readValue(line, TransactionStreamProgress.class));
+    }
+    return lines;
+  }
+
+  private static String item(String accountNumber, String amount, String type) {
+    return "{\"accountNumber\":\"" + accountNumber + "\",\"amount\":" + amount + ",\"type\":\"" + type + "\"}";
+  }
+
+  @Test
+  @DisplayName("Deve processar NDJSON em blocos e informar o progresso de cada bloco")
+  void shouldProcessNdjsonInChunks() throws IOException {
+    String body = String.join("\n",
+      item("1001-1", "10.00", "DEBIT"),
+      item("1002-2", "10.00", "CREDIT"),
+      item("1001-1", "5.50", "CREDIT"),
+      item("1003-3", "1", "CREDIT"),
+      item("1004-4", "2", "DEBIT")) + "\n";
+
+    TransactionStreamProgress result = ingest(body);
+
+    assertEquals(TransactionStreamProgress.Status.COMPLETED, result.status());
+    assertEquals(5, result.processed());
+    assertEquals(List.of(2, 2, 1), chunks.stream().map(List::size).toList());
+    assertEquals(Money.parse("5.50"), chunks.get(1).get(0).amount());
+    List<TransactionStreamProgress> lines = progressLines();
+    assertEquals(4, lines.size());
+    assertEquals(TransactionStreamProgress.chunkProcessed(2, 2, 4), lines.get(1));
+    assertEquals(TransactionStreamProgress.completed(3, 5), lines.get(3));
+  }
+
+  @Test
+  @DisplayName("Deve aceitar também um array JSON")
+  void shouldAcceptJsonArray() throws IOException {
+    String body = "[" + item("1001-1", "10.00", "DEBIT") + "," + item("1002-2", "10.00", "CREDIT") + "]";
+
+    TransactionStreamProgress result = ingest(body);
+
+    assertEquals(TransactionStreamProgress.Status.COMPLETED, result.status());
+    assertEquals(1, chunks.size());
+    assertEquals(2, chunks.get(0).size());
+    assertEquals(10011L, chunks.get(0).get(0).accountKey());
+  }
+
+  @Test
+  @DisplayName("Deve interromper no primeiro item inválido, mantendo os blocos anteriores")
+  void shouldStopAtFirstInvalidItem() throws IOException {
+    String body = String.join("\n",
+      item("1001-1", "10.00", "DEBIT"),
+      item("1002-2", "10.00", "CREDIT"),
+      item("1003-3", "1.00", "CREDIT"),
+      item("1004-4", "-1.00", "CREDIT"),
+      item("1001-1", "1.00", "CREDIT"));
+
+    TransactionStreamProgress result = ingest(body);
+
+    assertEquals(TransactionStreamProgress.Status.FAILED, result.status());
+    assertEquals(2, result.processed());
+    assertEquals(2, result.chunk());
+    assertTrue(result.message().startsWith("Item 4: "), result.message());
+    assertEquals(1, chunks.size());
+  }
+
+  @Test
+  @DisplayName("Deve interromper em JSON malformado")
+  void shouldStopAtMalformedJson() throws IOException {
+    TransactionStreamProgress result = ingest(item("1001-1", "10.00", "DEBIT") + "\n{\"accountNumber\": ");
+
+    assertEquals(TransactionStreamProgress.Status.FAILED, result.status());
+    assertTrue(result.message().startsWith("Item 2: JSON inválido"), result.message());
+    verifyNoInteractions(accountServicePort);
+  }
+
+  @Test
+  @DisplayName("Deve interromper quando o processamento de um bloco falhar")
+  void shouldStopWhenChunkProcessingFails() throws IOException {
+    doThrow(new InsufficientFundsException("Saldo insuficiente para a conta 1001-1."))
+      .when(accountServicePort).performTransactions(anyList());
+
+    TransactionStreamProgress result = ingest(item("1001-1", "10.00", "DEBIT") + "\n" + item("1001-1", "1", "DEBIT")
+      + "\n" + item("1001-1", "1", "DEBIT"));
+
+    assertEquals(TransactionStreamProgress.Status.FAILED, result.status());
+    assertEquals(0, result.processed());
+    assertEquals("Saldo insuficiente para a conta 1001-1.", result.message());
+    verify(accountServicePort, times(1)).performTransactions(anyList());
+  }
+
+}
@@ -0,0 +1,68 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.out;
+
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.AccountService;
+import juhmaran.challenge.bankingtransactionsapi.domain.entity.Account;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.AccountKey;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica os comandos pela chave numérica da conta com o banco real.
+ */
+@SpringBootTest(properties = {
+  "spring.jpa.show-sql=false",
+  "logging.level.org.hibernate.SQL=WARN",
+  "logging.level.org.hibernate.orm.jdbc.bind=WARN",
+  "logging.level.juhmaran.challenge.bankingtransactionsapi=WARN"
+})
+class AccountJpaAdapterTest {
+
+  @Autowired
+  private AccountJpaAdapter accountJpaAdapter;
+
+  @Autowired
+  private AccountService accountService;
+
+  private Money balance(String account) {
+    return accountService.getAccountBalance(account).getBalance();
+  }
+
+  @Test
+  @DisplayName("Deve debitar e creditar pela chave da conta, sem alterar contas inexistentes")
+  void shouldDebitAndCreditByAccountKey() {
+    accountService.createAccountIfNotFound("7001-1", Money.parse("100.00"));
+
+    assertEquals(1, accountJpaAdapter.debitIfSufficientFunds("7001-1", 70011L, Money.parse("30.00")));
+    assertEquals(0, accountJpaAdapter.debitIfSufficientFunds("7001-1", 70011L, Money.parse("500.00")));
+    assertEquals(1, accountJpaAdapter.credit("7001-1", 70011L, Money.parse("5.00")));
+    assertEquals(0, accountJpaAdapter.credit("7009-9", 70099L, Money.parse("5.00")));
+
+    assertEquals(Money.parse("75.00"), balance("7001-1"));
+    assertTrue(accountJpaAdapter.existsByAccountNumber("7001-1", 70011L));
+    assertFalse(accountJpaAdapter.existsByAccountNumber("7009-9", 70099L));
+  }
+
+  @Test
+  @DisplayName("Deve bloquear em lote contas com e sem chave numérica")
+  void shouldLockAccountsWithAndWithoutKey() {
+    accountService.createAccountIfNotFound("7002-2", Money.parse("10.00"));
+    accountService.createAccountIfNotFound("7003-3", Money.parse("20.00"));
+    accountService.createAccountIfNotFound("ADAPTER-1", Money.parse("30.00"));
+
+    Map<String, Money> locked = accountJpaAdapter.findAllByAccountKeyWithLock(Map.of(
+        "7002-2", 70022L, "7003-3", 70033L, "7009-9", 70099L, "ADAPTER-1", AccountKey.NONE))
+      .stream().collect(Collectors.toMap(Account::getAccountNumber, Account::getBalance));
+
+    assertEquals(Map.of("7002-2", Money.parse("10.00"), "7003-3", Money.parse("20.00"),
+      "ADAPTER-1", Money.parse("30.00")), locked);
+  }
+
+}
@@ -0,0 +1,59 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.out;
+
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.AccountKeyProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AccountKeyIndexTest {
+
+  @Test
+  @DisplayName("Deve mapear chaves para identificadores com inclusões concorrentes")
+  void shouldMapKeysToIdsWithConcurrentPuts() throws Exception {
+    AccountKeyIndex index = new AccountKeyIndex(new AccountKeyProperties(10_000));
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        futures.add(executor.submit(() -> {
+          for (long key = 0; key < 10_000; key++) {
+            index.put(key, key + 1);
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    assertEquals(10_000, index.size());
+    for (long key = 0; key < 10_000; key++) {
+      assertEquals(key + 1, index.get(key));
+    }
+    assertEquals(AccountKeyIndex.ABSENT, index.get(10_000));
+  }
+
+  @Test
+  @DisplayName("Não deve incluir novas chaves além do tamanho configurado")
+  void shouldStopAddingKeysWhenFull() {
+    AccountKeyIndex index = new AccountKeyIndex(new AccountKeyProperties(2));
+    index.put(10011L, 1L);
+    index.put(10022L, 2L);
+    index.put(10033L, 3L);
+
+    assertEquals(2, index.size());
+    assertEquals(1L, index.get(10011L));
+    assertEquals(2L, index.get(10022L));
+    assertEquals(AccountKeyIndex.ABSENT, index.get(10033L));
+  }
+
+}
@@ -0,0 +1,109 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.out.idempotency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.IdempotencyRecord;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.IdempotencyProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryIdempotencyStoreTest {
+
+  private final MutableClock clock = new MutableClock();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @Test
+  @DisplayName("Deve devolver o registro existente ao reservar uma chave já reservada ou concluída")
+  void shouldReturnExistingRecordOnSecondReservation() {
+    InMemoryIdempotencyStore store = newStore(100);
+
+    assertTrue(store.reserve("k1", 42L).isEmpty());
+    IdempotencyRecord reserved = store.reserve("k1", 42L).orElseThrow();
+    assertFalse(reserved.completed());
+
+    store.complete("k1", IdempotencyRecord.applied(42L));
+    IdempotencyRecord completed = store.reserve("k1", 42L).orElseThrow();
+    assertTrue(completed.completed());
+    assertEquals(1, store.size());
+  }
+
+  @Test
+  @DisplayName("Deve expirar as chaves por faixa de tempo depois do ttl")
+  void shouldExpireKeysByTimeBucket() {
+    InMemoryIdempotencyStore store = newStore(100);
+    store.reserve("k1", 1L);
+    store.complete("k1", IdempotencyRecord.applied(1L));
+
+    clock.advance(Duration.ofMinutes(59));
+    assertTrue(store.reserve("k1", 1L).isPresent());
+
+    clock.advance(Duration.ofMinutes(12));
+    assertTrue(store.reserve("k1", 1L).isEmpty());
+  }
+
+  @Test
+  @DisplayName("Deve descartar as chaves mais antigas ao atingir o limite de tamanho")
+  void shouldEvictOldestKeysWhenFull() {
+    InMemoryIdempotencyStore store = newStore(3);
+    for (int i = 1; i <= 5; i++) {
+      store.reserve("k" + i, i);
+      clock.advance(Duration.ofSeconds(1));
+    }
+
+    assertEquals(3, store.size());
+    assertEquals(2.0, meterRegistry.counter("banking.idempotency.evictions").count());
+    assertTrue(store.reserve("k5", 5L).isPresent());
+    assertTrue(store.reserve("k1", 1L).isEmpty());
+  }
+
+  @Test
+  @DisplayName("Deve permitir reprocessar a chave após liberá-la")
+  void shouldAllowReservationAfterRelease() {
+    InMemoryIdempotencyStore store = newStore(100);
+    store.reserve("k1", 1L);
+
+    store.release("k1");
+
+    assertEquals(0, store.size());
+    assertTrue(store.reserve("k1", 1L).isEmpty());
+  }
+
+  private InMemoryIdempotencyStore newStore(int maxEntries) {
+    IdempotencyProperties properties =
+      new IdempotencyProperties("memory", Duration.ofHours(1), Duration.ofMinutes(5), 6, maxEntries);
+    return new InMemoryIdempotencyStore(properties, meterRegistry, clock);
+  }
+
+  private static final class MutableClock extends Clock {
+
+    private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+
+  }
+
+}
@@ -0,0 +1,173 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.out.idempotency;
+
+import juhmaran.challenge.bankingtransactionsapi.application.port.in.BatchAtomicity;
+import juhmaran.challenge.bankingtransactionsapi.application.port.in.TransactionBatchResult;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.IdempotencyRecord;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.AccountService;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.IdempotencyProperties;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.enums.TransactionType;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.request.TransactionRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Chaves de idempotência na tabela {@code idempotency_keys} do banco H2 da aplicação, com reservas de um minuto e
+ * resultados lembrados por uma hora.
+ */
+@SpringBootTest(properties = {
+  "spring.jpa.show-sql=false",
+  "logging.level.org.hibernate.SQL=WARN",
+  "logging.level.org.hibernate.orm.jdbc.bind=WARN",
+  "logging.level.juhmaran.challenge.bankingtransactionsapi=OFF"
+})
+class JdbcIdempotencyStoreTest {
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Autowired
+  private AccountService accountService;
+
+  private final MutableClock clock = new MutableClock();
+  private JdbcIdempotencyStore store;
+
+  @BeforeEach
+  void setUp() {
+    IdempotencyProperties properties =
+      new IdempotencyProperties("jdbc", Duration.ofHours(1), Duration.ofMinutes(1), 6, 1000);
+    store = new JdbcIdempotencyStore(jdbcTemplate, properties, clock);
+  }
+
+  @AfterEach
+  void tearDown() {
+    store.shutdown();
+  }
+
+  @Test
+  @DisplayName("Deve devolver a reserva existente e, após a conclusão, o resultado com os itens com erro")
+  void shouldReturnReservationAndCompletedResult() {
+    assertTrue(store.reserve("jdbc-k1", 42L).isEmpty());
+    IdempotencyRecord reserved = store.reserve("jdbc-k1", 42L).orElseThrow();
+    assertFalse(reserved.completed());
+    assertEquals(42L, reserved.fingerprint());
+
+    store.complete("jdbc-k1", IdempotencyRecord.completed(42L, TransactionBatchResult.of(BatchAtomicity.Mode.PER_ITEM,
+      List.of(TransactionBatchResult.ItemResult.applied(0, "1001-1"),
+        TransactionBatchResult.ItemResult.failed(1, "1002-2", "Saldo\ninsuficiente")))));
+
+    IdempotencyRecord completed = store.reserve("jdbc-k1", 42L).orElseThrow();
+    assertTrue(completed.completed());
+    assertEquals(BatchAtomicity.Mode.PER_ITEM, completed.atomicity());
+    assertEquals(2, completed.size());
+    assertArrayEquals(new int[]{1}, completed.failedIndexes());
+    assertArrayEquals(new String[]{"Saldo insuficiente"}, completed.failureMessages());
+  }
+
+  @Test
+  @DisplayName("Deve liberar a reserva abandonada após a validade da reserva e manter o resultado até o ttl")
+  void shouldExpireReservationAfterLeaseAndResultAfterTtl() {
+    store.reserve("jdbc-lease", 1L);
+    store.reserve("jdbc-ttl", 2L);
+    store.complete("jdbc-ttl", IdempotencyRecord.applied(2L));
+
+    clock.advance(Duration.ofMinutes(2));
+    assertTrue(store.reserve("jdbc-lease", 1L).isEmpty());
+    assertTrue(store.reserve("jdbc-ttl", 2L).orElseThrow().completed());
+
+    clock.advance(Duration.ofMinutes(59));
+    store.deleteExpired();
+    assertEquals(0, count("jdbc-ttl"));
+    assertEquals(0, count("jdbc-lease"));
+  }
+
+  @Test
+  @DisplayName("Deve confirmar ou desfazer a conclusão junto com a transação corrente")
+  void shouldCompleteWithinCurrentTransaction() {
+    TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+    store.reserve("jdbc-tx", 7L);
+
+    transactionTemplate.executeWithoutResult(status -> {
+      store.complete("jdbc-tx", IdempotencyRecord.applied(7L));
+      status.setRollbackOnly();
+    });
+    assertFalse(store.reserve("jdbc-tx", 7L).orElseThrow().completed());
+
+    transactionTemplate.executeWithoutResult(status -> store.complete("jdbc-tx", IdempotencyRecord.applied(7L)));
+    assertTrue(store.reserve("jdbc-tx", 7L).orElseThrow().completed());
+  }
+
+  @Test
+  @DisplayName("Deve gravar a conclusão na mesma transação dos lançamentos")
+  void shouldCompleteInBalanceTransaction() {
+    accountService.createAccountIfNotFound("9301-1", Money.parse("10.00"));
+    List<TransactionRequest> batch = List.of(
+      new TransactionRequest("9301-1", Money.parse("5.00"), TransactionType.CREDIT));
+    store.reserve("jdbc-batch", 3L);
+
+    assertThrows(IllegalStateException.class, () -> accountService.performTransactions(batch,
+      BatchAtomicity.allOrNothing(), result -> {
+        store.complete("jdbc-batch", IdempotencyRecord.completed(3L, result));
+        throw new IllegalStateException("falha antes do commit");
+      }));
+    assertEquals(Money.parse("10.00"), accountService.getAccountBalance("9301-1").getBalance());
+    assertFalse(store.reserve("jdbc-batch", 3L).orElseThrow().completed());
+
+    accountService.performTransactions(batch, BatchAtomicity.perItem(),
+      result -> store.complete("jdbc-batch", IdempotencyRecord.completed(3L, result)));
+    assertEquals(Money.parse("15.00"), accountService.getAccountBalance("9301-1").getBalance());
+    IdempotencyRecord completed = store.reserve("jdbc-batch", 3L).orElseThrow();
+    assertTrue(completed.completed());
+    assertEquals(BatchAtomicity.Mode.PER_ITEM, completed.atomicity());
+  }
+
+  private int count(String key) {
+    return jdbcTemplate.queryForObject("select count(*) from idempotency_keys where idempotency_key = ?",
+      Integer.class, key);
+  }
+
+  private static final class MutableClock extends Clock {
+
+    private Instant now = Instant.now();
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+
+  }
+
+}
@@ -0,0 +1,155 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.out.journal;
+
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.JournalEntry;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.JournalProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedTransactionJournalTest {
+
+  @TempDir
+  private Path directory;
+
+  private MappedTransactionJournal open(DataSize segmentSize) {
+    return new MappedTransactionJournal(new JournalProperties(true, directory, segmentSize,
+      JournalProperties.Fsync.GROUP, Duration.ZERO));
+  }
+
+  private static JournalEntry entry(JournalEntry.Type type, String accountNumber, String amount) {
+    return new JournalEntry(type, accountNumber, Money.parse(amount));
+  }
+
+  @Test
+  @DisplayName("Deve reconstruir os saldos a partir do journal após reabrir")
+  void shouldRebuildBalancesAfterReopening() {
+    MappedTransactionJournal journal = open(DataSize.ofMegabytes(1));
+    journal.append(List.of(
+      entry(JournalEntry.Type.OPEN, "1001-1", "1000.00"),
+      entry(JournalEntry.Type.OPEN, "1002-2", "500.00")));
+    journal.append(List.of(
+      entry(JournalEntry.Type.DEBIT, "1001-1", "250.50"),
+      entry(JournalEntry.Type.CREDIT, "1002-2", "250.50"),
+      entry(JournalEntry.Type.CREDIT, "9999-9", "10.00")));
+    journal.close();
+
+    MappedTransactionJournal reopened = open(DataSize.ofMegabytes(1));
+    try {
+      assertEquals(Map.of("1001-1", Money.parse("749.50"), "1002-2", Money.parse("750.50")), reopened.balances());
+      assertEquals(2, reopened.recoveredRecords());
+    } finally {
+      reopened.close();
+    }
+  }
+
+  @Test
+  @DisplayName("Deve anular um lote com o registro de estornos, inclusive a abertura de conta")
+  void shouldCancelBatchWithReversalRecord() {
+    MappedTransactionJournal journal = open(DataSize.ofMegabytes(1));
+    journal.append(List.of(entry(JournalEntry.Type.OPEN, "1001-1", "100.00")));
+    List<JournalEntry> batch = List.of(
+      entry(JournalEntry.Type.OPEN, "1002-2", "50.00"),
+      entry(JournalEntry.Type.DEBIT, "1001-1", "30.00"));
+    journal.append(batch);
+    journal.append(List.of(batch.get(1).reversal(), batch.get(0).reversal()));
+    journal.close();
+
+    MappedTransactionJournal reopened = open(DataSize.ofMegabytes(1));
+    try {
+      assertEquals(Map.of("1001-1", Money.parse("100.00")), reopened.balances());
+      assertEquals(3, reopened.recoveredRecords());
+    } finally {
+      reopened.close();
+    }
+  }
+
+  @Test
+  @DisplayName("Deve criar novos segmentos quando o atual enche e recuperar todos eles")
+  void shouldRollSegmentsAndRecoverAllOfThem() throws IOException {
+    MappedTransactionJournal journal = open(DataSize.ofKilobytes(1));
+    journal.append(List.of(entry(JournalEntry.Type.OPEN, "1001-1", "0.00")));
+    for (int i = 0; i < 200; i++) {
+      journal.append(List.of(entry(JournalEntry.Type.CREDIT, "1001-1", "1.00")));
+    }
+    journal.close();
+
+    assertTrue(segmentCount() > 1);
+    MappedTransactionJournal reopened = open(DataSize.ofKilobytes(1));
+    try {
+      assertEquals(Money.parse("200.00"), reopened.balances().get("1001-1"));
+    } finally {
+      reopened.close();
+    }
+  }
+
+  @Test
+  @DisplayName("Deve reaplicar apenas os registros posteriores ao snapshot e remover os segmentos antigos")
+  void shouldReplayOnlyRecordsAfterSnapshot() throws IOException {
+    MappedTransactionJournal journal = open(DataSize.ofKilobytes(1));
+    journal.append(List.of(entry(JournalEntry.Type.OPEN, "1001-1", "100.00")));
+    for (int i = 0; i < 100; i++) {
+      journal.append(List.of(entry(JournalEntry.Type.CREDIT, "1001-1", "1.00")));
+    }
+    journal.snapshot();
+    journal.append(List.of(entry(JournalEntry.Type.DEBIT, "1001-1", "50.00")));
+    journal.close();
+
+    assertEquals(1, segmentCount());
+    MappedTransactionJournal reopened = open(DataSize.ofKilobytes(1));
+    try {
+      assertEquals(Money.parse("150.00"), reopened.balances().get("1001-1"));
+      assertEquals(1, reopened.recoveredRecords());
+    } finally {
+      reopened.close();
+    }
+  }
+
+  @Test
+  @DisplayName("Deve descartar um registro incompleto no final do segmento e continuar gravando")
+  void shouldDiscardTornRecordAtTail() throws IOException {
+    MappedTransactionJournal journal = open(DataSize.ofKilobytes(4));
+    journal.append(List.of(entry(JournalEntry.Type.OPEN, "1001-1", "100.00")));
+    journal.append(List.of(entry(JournalEntry.Type.CREDIT, "1001-1", "1.00")));
+    journal.close();
+
+    Path segment = directory.resolve(JournalSegment.fileName(0));
+    try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      byte[] content = Files.readAllBytes(segment);
+      int firstFrame = JournalSegment.HEADER_BYTES + ByteBuffer.wrap(content).getInt(0);
+      channel.write(ByteBuffer.wrap(new byte[]{(byte) 0xFF}), firstFrame + JournalSegment.HEADER_BYTES + 2);
+    }
+
+    MappedTransactionJournal reopened = open(DataSize.ofKilobytes(4));
+    reopened.append(List.of(entry(JournalEntry.Type.CREDIT, "1001-1", "5.00")));
+    reopened.close();
+
+    MappedTransactionJournal recovered = open(DataSize.ofKilobytes(4));
+    try {
+      assertEquals(Money.parse("105.00"), recovered.balances().get("1001-1"));
+    } finally {
+      recovered.close();
+    }
+  }
+
+  private long segmentCount() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.filter(file -> JournalSegment.indexOf(file) >= 0).count();
+    }
+  }
+
+}
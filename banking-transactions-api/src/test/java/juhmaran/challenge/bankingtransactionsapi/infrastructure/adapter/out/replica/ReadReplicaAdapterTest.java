@@ -0,0 +1,116 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.out.replica;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.AccountService;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.config.ReadReplicaProperties;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.enums.TransactionType;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.request.TransactionRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Consultas de saldo com a réplica de leitura: um segundo banco H2 recebe as cópias do {@link SnapshotReplicator},
+ * disparadas pelo teste (o intervalo configurado não é atingido durante a execução).
+ */
+@SpringBootTest(properties = {
+  "banking.read-replica.enabled=true",
+  "banking.read-replica.url=jdbc:h2:mem:replicatest;DB_CLOSE_DELAY=-1",
+  "banking.read-replica.max-staleness=1h",
+  "banking.read-replica.replication-interval=1h",
+  "spring.jpa.show-sql=false",
+  "logging.level.org.hibernate.SQL=WARN",
+  "logging.level.org.hibernate.orm.jdbc.bind=WARN",
+  "logging.level.juhmaran.challenge.bankingtransactionsapi=OFF"
+})
+class ReadReplicaAdapterTest {
+
+  @Autowired
+  private AccountService accountService;
+
+  @Autowired
+  private SnapshotReplicator snapshotReplicator;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  private void credit(String accountNumber, String amount) {
+    accountService.performTransactions(List.of(
+      new TransactionRequest(accountNumber, Money.parse(amount), TransactionType.CREDIT)));
+  }
+
+  private Money balance(String accountNumber, String consistencyToken) {
+    return accountService.getAccountBalance(accountNumber, consistencyToken).getBalance();
+  }
+
+  private double replicaReads() {
+    return meterRegistry.get("banking.read-replica.reads").counter().count();
+  }
+
+  @Test
+  @DisplayName("Deve ler o saldo da réplica dentro da defasagem máxima, sem guardá-lo em cache")
+  void shouldReadFromReplicaWithinMaxStaleness() {
+    accountService.createAccountIfNotFound("REPLICA-A", Money.parse("100.00"));
+    snapshotReplicator.replicate();
+    credit("REPLICA-A", "10.00");
+
+    double reads = replicaReads();
+    assertEquals(Money.parse("100.00"), balance("REPLICA-A", null));
+    assertEquals(reads + 1, replicaReads());
+
+    snapshotReplicator.replicate();
+    assertEquals(Money.parse("110.00"), balance("REPLICA-A", null));
+  }
+
+  @Test
+  @DisplayName("Deve ler do banco principal enquanto a réplica não contém os lançamentos do token")
+  void shouldReadYourWritesWithConsistencyToken() throws InterruptedException {
+    accountService.createAccountIfNotFound("REPLICA-B", Money.parse("100.00"));
+    snapshotReplicator.replicate();
+    credit("REPLICA-B", "25.00");
+    String token = accountService.consistencyToken();
+
+    double reads = replicaReads();
+    assertEquals(Money.parse("125.00"), balance("REPLICA-B", token));
+    assertEquals(reads, replicaReads());
+    assertEquals(Money.parse("100.00"), balance("REPLICA-B", null));
+
+    Thread.sleep(5);
+    snapshotReplicator.replicate();
+    reads = replicaReads();
+    assertEquals(Money.parse("125.00"), balance("REPLICA-B", token));
+    assertEquals(reads + 1, replicaReads());
+  }
+
+  @Test
+  @DisplayName("Deve recusar a réplica sem cópias ou além da defasagem máxima e tokens inválidos")
+  void shouldRejectStaleReplicaAndInvalidToken() {
+    ReadReplicaProperties properties = new ReadReplicaProperties(true, "jdbc:h2:mem:unused", "sa", "", 1,
+      Duration.ofSeconds(1), Duration.ofMillis(100));
+    ReadReplicaAdapter neverReplicated = new ReadReplicaAdapter(properties, () -> 0L, transactionManager,
+      new SimpleMeterRegistry());
+    ReadReplicaAdapter stale = new ReadReplicaAdapter(properties, () -> System.currentTimeMillis() - 5000,
+      transactionManager, new SimpleMeterRegistry());
+    ReadReplicaAdapter fresh = new ReadReplicaAdapter(properties, System::currentTimeMillis, transactionManager,
+      new SimpleMeterRegistry());
+
+    assertFalse(neverReplicated.canRead(null));
+    assertFalse(stale.canRead(null));
+    assertTrue(fresh.canRead(null));
+    assertFalse(fresh.canRead(Long.toString(System.currentTimeMillis() + 1000)));
+    assertThrows(IllegalArgumentException.class, () -> fresh.canRead("abc"));
+  }
+
+}
@@ -0,0 +1,212 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.adapter.out.shard;
+
+import juhmaran.challenge.bankingtransactionsapi.application.port.in.BatchAtomicity;
+import juhmaran.challenge.bankingtransactionsapi.application.port.in.TransactionBatchResult;
+import juhmaran.challenge.bankingtransactionsapi.application.port.out.TransactionJournalPort;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.AccountService;
+import juhmaran.challenge.bankingtransactionsapi.application.usecase.provisioning.AccountImportService;
+import juhmaran.challenge.bankingtransactionsapi.domain.entity.Account;
+import juhmaran.challenge.bankingtransactionsapi.domain.exception.TransactionProcessingException;
+import juhmaran.challenge.bankingtransactionsapi.domain.valueobject.Money;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.enums.TransactionType;
+import juhmaran.challenge.bankingtransactionsapi.infrastructure.dto.request.TransactionRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+
+/**
+ * Lotes com contas de vários shards: cada conta é gravada apenas no banco do seu shard, e a transação do lote abrange
+ * todos os shards acessados.
+ */
+@SpringBootTest(properties = {
+  "banking.shards.enabled=true",
+  "banking.shards.datasources[0].url=jdbc:h2:mem:shardtest0;DB_CLOSE_DELAY=-1",
+  "banking.shards.datasources[1].url=jdbc:h2:mem:shardtest1;DB_CLOSE_DELAY=-1",
+  "banking.shards.datasources[2].url=jdbc:h2:mem:shardtest2;DB_CLOSE_DELAY=-1",
+  "spring.jpa.show-sql=false",
+  "logging.level.org.hibernate.SQL=WARN",
+  "logging.level.org.hibernate.orm.jdbc.bind=WARN",
+  "logging.level.juhmaran.challenge.bankingtransactionsapi=OFF"
+})
+class ShardedAccountJdbcAdapterTest {
+
+  @Autowired
+  private AccountService accountService;
+
+  @Autowired
+  private ShardedDataSources shardedDataSources;
+
+  @Autowired
+  private AccountImportService accountImportService;
+
+  @MockitoBean
+  private TransactionJournalPort transactionJournalPort;
+
+  /**
+   * Uma conta por shard, com o prefixo informado.
+   */
+  private List<String> oneAccountPerShard(String prefix) {
+    String[] accounts = new String[shardedDataSources.size()];
+    int found = 0;
+    for (int i = 0; found < accounts.length; i++) {
+      String accountNumber = prefix + "-" + i;
+      int shard = shardedDataSources.shardOf(accountNumber);
+      if (accounts[shard] == null) {
+        accounts[shard] = accountNumber;
+        found++;
+      }
+    }
+    return List.of(accounts);
+  }
+
+  private Long balanceInShard(int shard, String accountNumber) {
+    List<Long> balances = new JdbcTemplate(shardedDataSources.dataSource(shard))
+      .queryForList("select balance from accounts where account_number = ?", Long.class, accountNumber);
+    return balances.isEmpty() ? null : balances.getFirst();
+  }
+
+  private Money balance(String accountNumber) {
+    return accountService.getAccountBalance(accountNumber).getBalance();
+  }
+
+  @Test
+  @DisplayName("Deve gravar cada conta somente no banco do seu shard e aplicar lotes entre shards")
+  void shouldStoreEachAccountOnlyInItsShard() {
+    List<String> accounts = oneAccountPerShard("SHARD-A");
+    for (String account : accounts) {
+      accountService.createAccountIfNotFound(account, Money.parse("100.00"));
+    }
+
+    List<TransactionRequest> batch = new ArrayList<>();
+    for (String account : accounts) {
+      batch.add(new TransactionRequest(account, Money.parse("10.00"), TransactionType.DEBIT));
+      batch.add(new TransactionRequest(account, Money.parse("2.50"), TransactionType.CREDIT));
+    }
+    accountService.performTransactions(batch);
+
+    for (int shard = 0; shard < accounts.size(); shard++) {
+      for (int other = 0; other < accounts.size(); other++) {
+        Long stored = balanceInShard(shard, accounts.get(other));
+        if (other == shard) {
+          assertEquals(9250L, stored);
+        } else {
+          assertNull(stored, "Conta " + accounts.get(other) + " gravada no shard " + shard);
+        }
+      }
+      assertEquals(Money.parse("92.50"), balance(accounts.get(shard)));
+    }
+  }
+
+  @Test
+  @DisplayName("Deve desfazer todos os shards quando um item do lote falha")
+  void shouldRollBackEveryShardWhenAnItemFails() {
+    List<String> accounts = oneAccountPerShard("SHARD-B");
+    for (String account : accounts) {
+      accountService.createAccountIfNotFound(account, Money.parse("50.00"));
+    }
+
+    List<TransactionRequest> batch = new ArrayList<>();
+    for (String account : accounts) {
+      batch.add(new TransactionRequest(account, Money.parse("20.00"), TransactionType.CREDIT));
+    }
+    batch.add(new TransactionRequest(accounts.getLast(), Money.parse("1000.00"), TransactionType.DEBIT));
+
+    assertThrows(TransactionProcessingException.class, () -> accountService.performTransactions(batch));
+
+    for (String account : accounts) {
+      assertEquals(Money.parse("50.00"), balance(account));
+    }
+  }
+
+  @Test
+  @DisplayName("Deve desfazer apenas os itens com erro em todos os shards na atomicidade PER_ITEM")
+  void shouldRollBackOnlyFailedItemsAcrossShards() {
+    List<String> accounts = oneAccountPerShard("SHARD-C");
+    for (String account : accounts) {
+      accountService.createAccountIfNotFound(account, Money.parse("40.00"));
+    }
+
+    TransactionBatchResult result = accountService.performTransactions(List.of(
+      new TransactionRequest(accounts.get(0), Money.parse("5.00"), TransactionType.CREDIT),
+      new TransactionRequest(accounts.get(1), Money.parse("100.00"), TransactionType.DEBIT),
+      new TransactionRequest(accounts.get(2), Money.parse("15.00"), TransactionType.DEBIT),
+      new TransactionRequest("SHARD-C-INEXISTENTE", Money.parse("1.00"), TransactionType.CREDIT),
+      new TransactionRequest(accounts.get(1), Money.parse("10.00"), TransactionType.DEBIT)
+    ), BatchAtomicity.perItem());
+
+    assertEquals(3, result.applied());
+    assertEquals(List.of(1, 3), result.items().stream()
+      .filter(item -> item.outcome() == TransactionBatchResult.Outcome.FAILED)
+      .map(TransactionBatchResult.ItemResult::index).toList());
+    assertEquals(Money.parse("45.00"), balance(accounts.get(0)));
+    assertEquals(Money.parse("30.00"), balance(accounts.get(1)));
+    assertEquals(Money.parse("25.00"), balance(accounts.get(2)));
+  }
+
+  @Test
+  @DisplayName("Deve buscar o saldo de contas de vários shards em uma consulta por shard")
+  void shouldGetBalancesAcrossShards() {
+    List<String> accounts = oneAccountPerShard("SHARD-D");
+    for (String account : accounts) {
+      accountService.createAccountIfNotFound(account, Money.parse("30.00"));
+    }
+    List<String> lookup = new ArrayList<>(accounts);
+    lookup.add("SHARD-D-INEXISTENTE");
+
+    Map<String, Account> balances = accountService.getAccountBalances(lookup);
+
+    assertEquals(accounts.size(), balances.size());
+    for (String account : accounts) {
+      assertEquals(Money.parse("30.00"), balances.get(account).getBalance());
+    }
+    assertFalse(balances.containsKey("SHARD-D-INEXISTENTE"));
+  }
+
+  @Test
+  @DisplayName("Deve importar contas em lote no shard de cada conta, ignorando as existentes")
+  void shouldImportAccountsIntoTheirShards() {
+    List<String> accounts = oneAccountPerShard("SHARD-E");
+    accountService.createAccountIfNotFound(accounts.getFirst(), Money.parse("1.00"));
+    List<Map.Entry<String, Money>> chunk = new ArrayList<>();
+    for (String account : accounts) {
+      chunk.add(Map.entry(account, Money.parse("40.00")));
+    }
+
+    AccountImportService.ChunkResult result = accountImportService.importChunk(chunk);
+
+    assertEquals(new AccountImportService.ChunkResult(accounts.size() - 1, 1), result);
+    assertEquals(100L, balanceInShard(shardedDataSources.shardOf(accounts.getFirst()), accounts.getFirst()));
+    for (String account : accounts.subList(1, accounts.size())) {
+      assertEquals(4000L, balanceInShard(shardedDataSources.shardOf(account), account));
+    }
+  }
+
+  @Test
+  @DisplayName("Deve desfazer a importação do bloco em todos os shards quando o journal falha")
+  void shouldRollBackImportInEveryShardWhenJournalFails() {
+    List<String> accounts = oneAccountPerShard("SHARD-F");
+    List<Map.Entry<String, Money>> chunk = new ArrayList<>();
+    for (String account : accounts) {
+      chunk.add(Map.entry(account, Money.parse("40.00")));
+    }
+    doThrow(new IllegalStateException("journal indisponível")).when(transactionJournalPort).append(anyList());
+
+    assertThrows(IllegalStateException.class, () -> accountImportService.importChunk(chunk));
+
+    for (String account : accounts) {
+      assertNull(balanceInShard(shardedDataSources.shardOf(account), account));
+    }
+  }
+
+}
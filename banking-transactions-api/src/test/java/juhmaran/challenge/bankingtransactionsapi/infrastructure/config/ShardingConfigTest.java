@@ -0,0 +1,41 @@
+package juhmaran.challenge.bankingtransactionsapi.infrastructure.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardingConfigTest {
+
+  private final ShardProperties shardProperties = new ShardProperties(true, List.of());
+  private final SplitBalanceProperties noSplitBalance =
+    new SplitBalanceProperties(false, Map.of(), Duration.ofSeconds(1));
+
+  private static IdempotencyProperties idempotency(String store) {
+    return new IdempotencyProperties(store, Duration.ofHours(24), Duration.ofMinutes(5), 24, 100000);
+  }
+
+  @Test
+  @DisplayName("Deve recusar chaves de idempotência em jdbc com shards")
+  void shouldRejectJdbcIdempotencyStoreWithShards() {
+    IllegalStateException thrown = assertThrows(IllegalStateException.class,
+      () -> new ShardingConfig().shardedDataSources(shardProperties, noSplitBalance, idempotency("jdbc")));
+
+    assertTrue(thrown.getMessage().startsWith("banking.idempotency.store=jdbc não é suportado com banking.shards"));
+  }
+
+  @Test
+  @DisplayName("Deve recusar o saldo dividido em slots com shards")
+  void shouldRejectSplitBalanceWithShards() {
+    SplitBalanceProperties splitBalance = new SplitBalanceProperties(true, Map.of("1001-1", 4), Duration.ofSeconds(1));
+
+    assertThrows(IllegalStateException.class,
+      () -> new ShardingConfig().shardedDataSources(shardProperties, splitBalance, idempotency("memory")));
+  }
+
+}